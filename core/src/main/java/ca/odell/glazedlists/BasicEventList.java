@@ -51,6 +51,12 @@ public final class BasicEventList<E> extends AbstractEventList<E> implements Ser
     /** the underlying data list */
     private List<E> data;
 
+    /** whether {@link #data} is shared with a snapshot, so it must be copied before it's next changed */
+    private transient volatile boolean dataShared = false;
+
+    /** whether {@link #data} was given by the caller, so it must never be replaced by a copy */
+    private transient boolean dataBorrowed = false;
+
     /**
      * Creates a {@link BasicEventList}.
      */
@@ -105,6 +111,10 @@ public final class BasicEventList<E> extends AbstractEventList<E> implements Ser
      * {@link BasicEventList} interface. Otherwise this {@link BasicEventList} will
      * become out of sync and operations will fail.
      *
+     * <p>This {@link BasicEventList} keeps using the specified {@link List}
+     * for as long as it lives, so {@link #snapshot()} copies it rather than
+     * sharing it.
+     *
      * @deprecated As of 2005/03/06, this constructor has been declared unsafe
      *     because the source list is exposed. This allows it to be modified without
      *     the required events being fired. This constructor has been replaced by
@@ -114,6 +124,7 @@ public final class BasicEventList<E> extends AbstractEventList<E> implements Ser
     public BasicEventList(List<E> list) {
         super(null);
         this.data = list;
+        this.dataBorrowed = true;
         this.readWriteLock = LockFactory.DEFAULT.createReadWriteLock();
     }
 
@@ -124,6 +135,7 @@ public final class BasicEventList<E> extends AbstractEventList<E> implements Ser
         updates.beginEvent();
         updates.elementInserted(index, element);
         // do the actual add
+        prepareForWrite();
         data.add(index, element);
         // fire the event
         updates.commitEvent();
@@ -136,6 +148,7 @@ public final class BasicEventList<E> extends AbstractEventList<E> implements Ser
         updates.beginEvent();
         updates.elementInserted(size(), element);
         // do the actual add
+        prepareForWrite();
         boolean result = data.add(element);
         // fire the event
         updates.commitEvent();
@@ -154,16 +167,18 @@ public final class BasicEventList<E> extends AbstractEventList<E> implements Ser
         // don't do an add of an empty set
         if (collection.isEmpty()) return false;
 
+        // snapshot the values, so the change event can carry them as one block
+        final List<E> values = Arrays.asList((E[]) collection.toArray());
+
         // create the change event
         updates.beginEvent();
-        for (E value : collection) {
-            updates.elementInserted(index, value);
-            data.add(index, value);
-            index++;
-        }
+        updates.elementsInserted(index, values);
+        // do the actual add
+        prepareForWrite();
+        data.addAll(index, values);
         // fire the event
         updates.commitEvent();
-        return !collection.isEmpty();
+        return true;
     }
 
     /** {@inheritDoc} */
@@ -172,6 +187,7 @@ public final class BasicEventList<E> extends AbstractEventList<E> implements Ser
         // create the change event
         updates.beginEvent();
         // do the actual remove
+        prepareForWrite();
         E removed = data.remove(index);
         // fire the event
         updates.elementDeleted(index, removed);
@@ -195,8 +211,9 @@ public final class BasicEventList<E> extends AbstractEventList<E> implements Ser
         if(isEmpty()) return;
         // create the change event
         updates.beginEvent();
-        data.forEach(e -> updates.elementDeleted(0, e));
+        updates.elementsDeleted(0, new ArrayList<>(data));
         // do the actual clear
+        prepareForWrite();
         data.clear();
         // fire the event
         updates.commitEvent();
@@ -208,6 +225,7 @@ public final class BasicEventList<E> extends AbstractEventList<E> implements Ser
         // create the change event
         updates.beginEvent();
         // do the actual set
+        prepareForWrite();
         E previous = data.set(index, element);
         // fire the event
         updates.elementUpdated(index, previous, element);
@@ -232,18 +250,32 @@ public final class BasicEventList<E> extends AbstractEventList<E> implements Ser
     public boolean removeIf(Predicate<? super E> filter) {
         if (isEmpty()) return false;
 
-        boolean changed = false;
+        // test each element exactly once, remembering the survivors
+        final List<E> values = Arrays.asList((E[]) data.toArray());
+        final boolean[] removed = new boolean[values.size()];
+        final List<E> retained = new ArrayList<>(values.size());
+        for (int i = 0; i < removed.length; i++) {
+            removed[i] = filter.test(values.get(i));
+            if (!removed[i]) retained.add(values.get(i));
+        }
+        if (retained.size() == values.size()) return false;
+
+        // fire one delete block per contiguous run of removed elements
         updates.beginEvent();
-        // Work backwards to prevent index changes
-        for (int i = data.size() - 1; i >= 0; i--) {
-            if (filter.test(data.get(i))) {
-                E removed = data.remove(i);
-                updates.elementDeleted(i, removed);
-                changed = true;
-            }
+        int removedSoFar = 0;
+        for (int start = 0; start < removed.length; start++) {
+            if (!removed[start]) continue;
+            int end = start + 1;
+            while (end < removed.length && removed[end]) end++;
+            updates.elementsDeleted(start - removedSoFar, values.subList(start, end));
+            removedSoFar += end - start;
+            start = end;
         }
+        prepareForWrite();
+        data.clear();
+        data.addAll(retained);
         updates.commitEvent();
-        return changed;
+        return true;
     }
 
     /**
@@ -251,14 +283,24 @@ public final class BasicEventList<E> extends AbstractEventList<E> implements Ser
      */
     @Override
     public void replaceAll(UnaryOperator<E> operator) {
+        final List<E> oldValues = Arrays.asList((E[]) data.toArray());
+        final List<E> newValues = new ArrayList<>(oldValues.size());
+        for (E oldValue : oldValues) {
+            newValues.add(operator.apply(oldValue));
+        }
+
+        // fire one update block per contiguous run of replaced elements
         updates.beginEvent();
-        for (int i = size() - 1; i >= 0; i--) {
-            E oldValue = data.get(i);
-            E newValue = operator.apply(oldValue);
-            if (oldValue != newValue) {               // instance check
-                data.set(i, newValue);
-                updates.elementUpdated(i, oldValue, newValue);
+        prepareForWrite();
+        for (int start = 0; start < oldValues.size(); start++) {
+            if (oldValues.get(start) == newValues.get(start)) continue;   // instance check
+            int end = start + 1;
+            while (end < oldValues.size() && oldValues.get(end) != newValues.get(end)) end++;
+            for (int i = start; i < end; i++) {
+                data.set(i, newValues.get(i));
             }
+            updates.elementsUpdated(start, oldValues.subList(start, end), newValues.subList(start, end));
+            start = end;
         }
         updates.commitEvent();
     }
@@ -295,6 +337,43 @@ public final class BasicEventList<E> extends AbstractEventList<E> implements Ser
         return data.spliterator();
     }
 
+    /**
+     * Get an unmodifiable view of this list as it is now, which doesn't change
+     * when this list changes. Creating the view takes constant time and holds
+     * the read lock only while doing so. Afterwards the view can be read from
+     * any thread without locking, so long-running readers don't block writers.
+     *
+     * <p>The view shares its storage with this list, which is copied the
+     * next time this list changes. Taking a snapshot is therefore cheap, but
+     * the first write after it costs <code>O(N)</code>.
+     *
+     * <p>If this list was created with the deprecated
+     * {@link #BasicEventList(List)} constructor, its storage is the caller's
+     * {@link List}, which must keep seeing this list's changes. The snapshot
+     * is then copied immediately, which costs <code>O(N)</code>.
+     */
+    public List<E> snapshot() {
+        getReadWriteLock().readLock().lock();
+        try {
+            if(dataBorrowed) return Collections.unmodifiableList(new ArrayList<>(data));
+            dataShared = true;
+            return Collections.unmodifiableList(data);
+        } finally {
+            getReadWriteLock().readLock().unlock();
+        }
+    }
+
+    /**
+     * Copy the data if it's shared with a snapshot, so that the snapshot
+     * doesn't see the upcoming change.
+     */
+    private void prepareForWrite() {
+        if(dataShared) {
+            data = new ArrayList<>(data);
+            dataShared = false;
+        }
+    }
+
     /**
      * This method does nothing. It is not necessary to dispose a BasicEventList.
      */
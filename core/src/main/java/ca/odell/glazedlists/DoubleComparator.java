@@ -0,0 +1,35 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import java.util.Comparator;
+
+/**
+ * A {@link Comparator} of numbers that compares their <code>double</code>
+ * values.
+ *
+ * <p>A {@link SortedList} whose source is a {@link DoubleEventList},
+ * {@link LongEventList} or {@link IntEventList} reads the source values with
+ * their primitive getters and passes them to {@link #compareDouble}, so
+ * sorting doesn't box them. Any other source is compared through
+ * {@link #compare(Number, Number)}.
+ *
+ * <p>For example, <code>new SortedList&lt;Double&gt;(prices, (DoubleComparator) Double::compare)</code>.
+ *
+ * @see LongComparator
+ */
+@FunctionalInterface
+public interface DoubleComparator extends Comparator<Number> {
+
+    /**
+     * Compares two values for order, as specified by {@link Comparator#compare}.
+     */
+    int compareDouble(double alpha, double beta);
+
+    /** {@inheritDoc} */
+    @Override
+    default int compare(Number alpha, Number beta) {
+        return compareDouble(alpha.doubleValue(), beta.doubleValue());
+    }
+}
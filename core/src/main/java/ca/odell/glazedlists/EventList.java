@@ -170,4 +170,23 @@ public interface EventList<E> extends List<E> {
     default <R> R applyWithWriteLock(Function<EventList<E>, R> function) {
         return Guard.applyWithWriteLock(this, function);
     }
-}
\ No newline at end of file
+
+    /**
+     * Applies the given function without acquiring the read lock of this EventList, if its lock
+     * supports optimistic reads. This avoids contention between many threads that read the same
+     * list. The function is applied again if a write happens in the meantime, so it must not have
+     * side effects.
+     * <p>
+     * Optimistic reads require a lock created by
+     * {@link ca.odell.glazedlists.util.concurrent.StampedLockFactory}. With any other lock, this
+     * behaves like {@link #applyWithReadLock(Function)}.
+     *
+     * @param function the function != null
+     * @param <R> the result type of the function
+     * @return the result of the function
+     * @see Guard#readOptimistic(EventList, Function)
+     */
+    default <R> R readOptimistic(Function<EventList<E>, R> function) {
+        return Guard.readOptimistic(this, function);
+    }
+}
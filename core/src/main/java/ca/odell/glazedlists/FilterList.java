@@ -5,12 +5,23 @@ package ca.odell.glazedlists;
 
 // the core Glazed Lists packages
 import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.impl.PrimitiveLists;
 import ca.odell.glazedlists.impl.adt.Barcode;
 import ca.odell.glazedlists.impl.adt.BarcodeIterator;
+import ca.odell.glazedlists.impl.adt.barcode2.Element;
+import ca.odell.glazedlists.impl.adt.barcode2.SimpleTree;
+import ca.odell.glazedlists.impl.matchers.IndexedMatcher;
+import ca.odell.glazedlists.impl.matchers.ParallelMatcherEvaluator;
+import ca.odell.glazedlists.impl.matchers.PreparedMatcher;
 import ca.odell.glazedlists.matchers.Matcher;
 import ca.odell.glazedlists.matchers.MatcherEditor;
 import ca.odell.glazedlists.matchers.Matchers;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.Executor;
+import java.util.function.IntPredicate;
+
 /**
  * An {@link EventList} that shows a subset of the elements of a source
  * {@link EventList}. This subset is composed of all elements of the source
@@ -19,6 +30,12 @@ import ca.odell.glazedlists.matchers.Matchers;
  * <p>The filter can be static or dynamic. Changing the behaviour of the filter
  * will change which elements of the source list are included.
  *
+ * <p>If the source is a {@link DoubleEventList}, {@link LongEventList} or
+ * {@link IntEventList}, a {@link ca.odell.glazedlists.matchers.DoubleMatcher}
+ * or {@link ca.odell.glazedlists.matchers.LongMatcher} tests the source values
+ * without boxing them. Only the values that enter or leave this list are
+ * boxed, for the {@link ListEvent}s.
+ *
  * <p><strong><font color="#FF0000">Warning:</font></strong> This class
  * breaks the contract required by {@link java.util.List}. See {@link EventList}
  * for an example.
@@ -56,6 +73,30 @@ public final class FilterList<E> extends TransformedList<E,E> {
     /** the matcher determines whether elements get filtered in or out */
     private Matcher<? super E> currentMatcher = Matchers.trueMatcher();
 
+    /** tests the source element at an index with the current matcher without boxing it, or <code>null</code> if the matcher isn't primitive */
+    private IntPredicate primitiveMatcher = null;
+
+    /** the matcher that prepared the elements, which is the current matcher unless it matches all or none; <code>null</code> if elements aren't prepared */
+    private PreparedMatcher<? super E, Object> preparer = null;
+
+    /** the prepared form of each source element, kept while there is a {@link #preparer} */
+    private SimpleTree<Object> preparations = null;
+
+    /** the index of the prepared forms, kept with them if the {@link #preparer} is an {@link IndexedMatcher} that uses one */
+    private IndexedMatcher.Index<Object> index = null;
+
+    /** the node of the prepared form last read, or <code>null</code> if the tree has changed since */
+    private Element<Object> preparationCursor = null;
+
+    /** the source index of {@link #preparationCursor} */
+    private int preparationCursorIndex = -1;
+
+    /** the furthest {@link #preparationCursor} steps forward rather than searching the tree */
+    private static final int PREPARATION_CURSOR_STEPS = 16;
+
+    /** all nodes of {@link #preparations} are the same colour */
+    private static final byte ALL_COLORS = 1;
+
     /** the editor changes the matcher and fires events */
     private MatcherEditor<? super E> currentEditor = null;
 
@@ -65,6 +106,15 @@ public final class FilterList<E> extends TransformedList<E,E> {
     /** is this list already disposed? */
     private volatile boolean disposed;
 
+    /** evaluates the matcher concurrently when the filter changes, or <code>null</code> to match on the calling thread */
+    private Executor matcherExecutor = null;
+
+    /** the fewest elements that must be rematched before {@link #matcherExecutor} is used */
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+    /** the default value of {@link #parallelThreshold} */
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 10000;
+
     /**
      * Creates a {@link FilterList} that includes a subset of the specified
      * source {@link EventList}.
@@ -90,7 +140,8 @@ public final class FilterList<E> extends TransformedList<E,E> {
         if (matcher == null) return;
 
         currentMatcher = matcher;
-        changed();
+        updatePreparations(false);
+        rebuildFlagList();
     }
 
     /**
@@ -106,9 +157,105 @@ public final class FilterList<E> extends TransformedList<E,E> {
         currentEditor = matcherEditor;
         currentEditor.addMatcherEditorListener(listener);
         currentMatcher = currentEditor.getMatcher();
-        changed();
+        updatePreparations(false);
+        rebuildFlagList();
+    }
+
+    /**
+     * Matches every source element and bulk loads the flag list from the
+     * results. This fires no {@link ListEvent}s, so it's only suitable while
+     * this list is being constructed.
+     */
+    private void rebuildFlagList() {
+        final boolean[] matches = new boolean[source.size()];
+        for(int i = 0; i < matches.length; i++) {
+            matches[i] = matches(i);
+        }
+        flagList.bulkLoad(matches);
+    }
+
+    /**
+     * Returns true if the element at the specified source index matches the
+     * current matcher, using its prepared form if there is one. The element
+     * isn't boxed if the matcher is primitive.
+     */
+    private boolean matches(int sourceIndex) {
+        if (currentMatcher == preparer) return preparer.matchesPrepared(getPreparation(sourceIndex));
+        if (primitiveMatcher != null) return primitiveMatcher.test(sourceIndex);
+        return currentMatcher.matches(source.get(sourceIndex));
+    }
+
+    /**
+     * Get the prepared form of the source element at the specified index.
+     * Refiltering reads them in source order, so this steps forward from the
+     * last one read rather than searching the tree when it's close by.
+     */
+    private Object getPreparation(int sourceIndex) {
+        final int steps = sourceIndex - preparationCursorIndex;
+        if (preparationCursor != null && steps >= 0 && steps <= PREPARATION_CURSOR_STEPS) {
+            for (int i = 0; i < steps; i++) {
+                preparationCursor = preparationCursor.next();
+            }
+        } else {
+            preparationCursor = preparations.get(sourceIndex);
+        }
+        preparationCursorIndex = sourceIndex;
+        return preparationCursor.get();
+    }
+
+    /**
+     * Prepare the elements for the current matcher if it's a
+     * {@link PreparedMatcher}. The prepared forms are kept if they were
+     * prepared by a matcher with an equal preparation key, so changing the
+     * filter doesn't prepare the elements again.
+     *
+     * <p>This also adapts the current matcher to the source's primitive
+     * values, if it's a primitive matcher.
+     *
+     * @param keep <tt>true</tt> to keep the prepared forms for a later matcher
+     *      if the current matcher doesn't prepare elements
+     */
+    @SuppressWarnings("unchecked")
+    private void updatePreparations(boolean keep) {
+        primitiveMatcher = PrimitiveLists.matcherAt(source, currentMatcher);
+
+        if (currentMatcher instanceof PreparedMatcher) {
+            final PreparedMatcher<? super E, Object> matcher = (PreparedMatcher<? super E, Object>) currentMatcher;
+            final Object key = matcher.getPreparationKey();
+            if (key != null) {
+                final boolean reusable = preparer != null && key.equals(preparer.getPreparationKey());
+                preparer = matcher;
+                if (!reusable) {
+                    final Object[] prepared = new Object[source.size()];
+                    for (int i = 0; i < prepared.length; i++) {
+                        prepared[i] = preparer.prepare(source.get(i));
+                    }
+                    final Element<Object>[] nodes = new Element[prepared.length];
+                    preparations = new SimpleTree<>();
+                    preparations.bulkLoad(prepared, nodes);
+                    preparationCursor = null;
+
+                    // index the prepared forms if the matcher uses an index
+                    index = preparer instanceof IndexedMatcher ? ((IndexedMatcher<? super E, Object>) preparer).createIndex() : null;
+                    if (index != null) {
+                        for (int i = 0; i < nodes.length; i++) {
+                            index.add(nodes[i]);
+                        }
+                    }
+                }
+                return;
+            }
+        }
+
+        if (!keep) {
+            preparer = null;
+            preparations = null;
+            preparationCursor = null;
+            index = null;
+        }
     }
 
+
     /**
      * Set the {@link Matcher} which specifies which elements shall be filtered.
      *
@@ -151,6 +298,51 @@ public final class FilterList<E> extends TransformedList<E,E> {
         }
     }
 
+    /**
+     * Set the {@link Executor} used to evaluate the {@link Matcher} when the
+     * filter is changed, constrained or relaxed. The source elements are split
+     * into chunks that are matched concurrently, and the resulting changes are
+     * then applied to this list in a single pass on the calling thread. The
+     * {@link ListEvent}s fired are identical to those of serial filtering.
+     *
+     * <p>This is worthwhile for large lists with expensive {@link Matcher}s,
+     * such as regular expressions or reflective bean lookups. Every
+     * {@link Matcher} used by this list must then be safe to call from
+     * multiple threads at once. The Matchers of the text
+     * {@link MatcherEditor}s and of {@link Matchers} are, but custom Matchers
+     * that recycle state between calls are not. A typical executor is
+     * {@link java.util.concurrent.ForkJoinPool#commonPool()}.
+     *
+     * <p>Changes to individual elements of the source list are always matched
+     * on the thread that delivers the {@link ListEvent}.
+     *
+     * @param executor the executor to match on, or <code>null</code> to
+     *      match every element on the calling thread, which is the default
+     */
+    public void setMatcherExecutor(Executor executor) {
+        getReadWriteLock().writeLock().lock();
+        try {
+            matcherExecutor = executor;
+        } finally {
+            getReadWriteLock().writeLock().unlock();
+        }
+    }
+
+    /**
+     * Set the number of elements that must be rematched before the
+     * {@link Executor} set by {@link #setMatcherExecutor(Executor)} is used.
+     * Smaller refilters are matched on the calling thread.
+     */
+    public void setParallelThreshold(int parallelThreshold) {
+        if (parallelThreshold < 0) throw new IllegalArgumentException("parallelThreshold must be non-negative: " + parallelThreshold);
+        getReadWriteLock().writeLock().lock();
+        try {
+            this.parallelThreshold = parallelThreshold;
+        } finally {
+            getReadWriteLock().writeLock().unlock();
+        }
+    }
+
     /** @inheritDoc */
     @Override
     public void dispose() {
@@ -165,6 +357,10 @@ public final class FilterList<E> extends TransformedList<E,E> {
         disposed = true;
         currentEditor = null;
         currentMatcher = null;
+        preparer = null;
+        preparations = null;
+        preparationCursor = null;
+        index = null;
     }
 
     /** {@inheritDoc} */
@@ -187,6 +383,24 @@ public final class FilterList<E> extends TransformedList<E,E> {
                 if(flag != Barcode.WHITE) filterReorderMap[flagList.getBlackIndex(i)] = previousFlagList.getBlackIndex(sourceReorderMap[i]);
             }
 
+            // move the prepared forms with their elements
+            if (preparations != null) {
+                final Element<Object>[] previousNodes = new Element[sourceReorderMap.length];
+                final Object[] prepared = new Object[sourceReorderMap.length];
+                for(int i = 0; i < sourceReorderMap.length; i++) {
+                    previousNodes[i] = preparations.get(sourceReorderMap[i]);
+                    prepared[i] = previousNodes[i].get();
+                }
+                final Element<Object>[] nodes = new Element[prepared.length];
+                preparations.bulkLoad(prepared, nodes);
+                preparationCursor = null;
+                if (index != null) {
+                    for(int i = 0; i < nodes.length; i++) {
+                        index.move(previousNodes[i], nodes[i]);
+                    }
+                }
+            }
+
             // fire the reorder
             updates.reorder(filterReorderMap);
 
@@ -213,19 +427,29 @@ public final class FilterList<E> extends TransformedList<E,E> {
 
                     // remove this entry from the flag list
                     flagList.remove(sourceIndex, 1);
+                    if (preparations != null) {
+                        final Element<Object> node = preparations.get(sourceIndex);
+                        if (index != null) index.remove(node);
+                        preparations.remove(node);
+                        preparationCursor = null;
+                    }
 
                 // handle insert events
                 } else if(changeType == ListEvent.INSERT) {
 
                     // whether we should add this item
-                    E element = source.get(sourceIndex);
-                    boolean include = currentMatcher.matches(element);
+                    if (preparations != null) {
+                        final Element<Object> node = preparations.add(sourceIndex, preparer.prepare(source.get(sourceIndex)), 1);
+                        if (index != null) index.add(node);
+                        preparationCursor = null;
+                    }
+                    boolean include = matches(sourceIndex);
 
                     // if this value should be included, add a change and add the item
                     if(include) {
                         flagList.addBlack(sourceIndex, 1);
                         int filteredIndex = flagList.getBlackIndex(sourceIndex);
-                        updates.elementInserted(filteredIndex, element);
+                        updates.elementInserted(filteredIndex, source.get(sourceIndex));
 
                     // if this value should not be included, just add the item
                     } else {
@@ -239,8 +463,13 @@ public final class FilterList<E> extends TransformedList<E,E> {
                     int filteredIndex = flagList.getBlackIndex(sourceIndex);
                     boolean wasIncluded = filteredIndex != -1;
                     // whether we should add this item
-                    E updated = source.get(sourceIndex);
-                    boolean include = currentMatcher.matches(updated);
+                    if (preparations != null) {
+                        if (index != null) index.remove(preparations.get(sourceIndex));
+                        final Element<Object> node = preparations.set(sourceIndex, preparer.prepare(source.get(sourceIndex)), 1);
+                        if (index != null) index.add(node);
+                        preparationCursor = null;
+                    }
+                    boolean include = matches(sourceIndex);
 
                     // if this element is being removed as a result of the change
                     if(wasIncluded && !include) {
@@ -250,11 +479,11 @@ public final class FilterList<E> extends TransformedList<E,E> {
                     // if this element is being added as a result of the change
                     } else if(!wasIncluded && include) {
                         flagList.setBlack(sourceIndex, 1);
-                        updates.elementInserted(flagList.getBlackIndex(sourceIndex), updated);
+                        updates.elementInserted(flagList.getBlackIndex(sourceIndex), source.get(sourceIndex));
 
                     // this element is still here
                     } else if(wasIncluded && include) {
-                        updates.elementUpdated(filteredIndex, listChanges.getOldValue(), updated);
+                        updates.elementUpdated(filteredIndex, listChanges.getOldValue(), source.get(sourceIndex));
 
                     }
                 }
@@ -291,12 +520,14 @@ public final class FilterList<E> extends TransformedList<E,E> {
             // ensure the MatcherEvent is from OUR MatcherEditor
             if (currentEditor != matcherEditor) throw new IllegalStateException();
 
+            // an editor that matches all or none for now keeps the prepared
+            // elements, since it's likely to prepare them identically later
             switch (changeType) {
-                case MatcherEditor.Event.CONSTRAINED: currentMatcher = matcher; this.constrained(); break;
-                case MatcherEditor.Event.RELAXED: currentMatcher = matcher; this.relaxed(); break;
-                case MatcherEditor.Event.CHANGED: currentMatcher = matcher; this.changed(); break;
-                case MatcherEditor.Event.MATCH_ALL: currentMatcher = Matchers.trueMatcher(); this.matchAll(); break;
-                case MatcherEditor.Event.MATCH_NONE: currentMatcher = Matchers.falseMatcher(); this.matchNone(); break;
+                case MatcherEditor.Event.CONSTRAINED: currentMatcher = matcher; updatePreparations(false); this.constrained(); break;
+                case MatcherEditor.Event.RELAXED: currentMatcher = matcher; updatePreparations(false); this.relaxed(); break;
+                case MatcherEditor.Event.CHANGED: currentMatcher = matcher; updatePreparations(false); this.changed(); break;
+                case MatcherEditor.Event.MATCH_ALL: currentMatcher = Matchers.trueMatcher(); updatePreparations(currentEditor != null); this.matchAll(); break;
+                case MatcherEditor.Event.MATCH_NONE: currentMatcher = Matchers.falseMatcher(); updatePreparations(currentEditor != null); this.matchNone(); break;
             }
         }
     }
@@ -359,15 +590,27 @@ public final class FilterList<E> extends TransformedList<E,E> {
      * due to the relaxation of the filter.
      */
     private void relaxed() {
+        // test only the indexed candidates if there are fewer than filtered items
+        final int[] indexed = matchIndexed(flagList.whiteSize());
+        if (indexed != null) {
+            refilter(indexed);
+            return;
+        }
+
         // all of these changes to this list happen "atomically"
         updates.beginEvent();
 
+        // match the filtered items concurrently if that's worthwhile
+        final boolean[] matches = matchInParallel(Barcode.WHITE);
+        int matchIndex = 0;
+
         // for all filtered items, see what the change is
         for(BarcodeIterator i = flagList.iterator(); i.hasNextWhite();) {
             i.nextWhite();
-            E element = source.get(i.getIndex());
-            if(currentMatcher.matches(element)) {
-                updates.elementInserted(i.setBlack(), element);
+            int sourceIndex = i.getIndex();
+            boolean include = matches != null ? matches[matchIndex++] : matches(sourceIndex);
+            if(include) {
+                updates.elementInserted(i.setBlack(), source.get(sourceIndex));
             }
         }
 
@@ -381,17 +624,29 @@ public final class FilterList<E> extends TransformedList<E,E> {
      * to the constraining of the filter.
      */
     private void constrained() {
+        // test only the indexed candidates if there are fewer than unfiltered items
+        final int[] indexed = matchIndexed(flagList.blackSize());
+        if (indexed != null) {
+            refilter(indexed);
+            return;
+        }
+
         // all of these changes to this list happen "atomically"
         updates.beginEvent();
 
+        // match the unfiltered items concurrently if that's worthwhile
+        final boolean[] matches = matchInParallel(Barcode.BLACK);
+        int matchIndex = 0;
+
         // for all unfiltered items, see what the change is
         for(BarcodeIterator i = flagList.iterator(); i.hasNextBlack();) {
             i.nextBlack();
-            E value = source.get(i.getIndex());
-            if(!currentMatcher.matches(value)) {
+            int sourceIndex = i.getIndex();
+            boolean include = matches != null ? matches[matchIndex++] : matches(sourceIndex);
+            if(!include) {
                 int blackIndex = i.getBlackIndex();
                 i.setWhite();
-                updates.elementDeleted(blackIndex, value);
+                updates.elementDeleted(blackIndex, source.get(sourceIndex));
             }
         }
 
@@ -404,9 +659,19 @@ public final class FilterList<E> extends TransformedList<E,E> {
      * of this {@link EventList} as elements are filtered and unfiltered.
      */
     private void changed() {
+        // test only the indexed candidates if there are fewer than source items
+        final int[] indexed = matchIndexed(flagList.size());
+        if (indexed != null) {
+            refilter(indexed);
+            return;
+        }
+
         // all of these changes to this list happen "atomically"
         updates.beginEvent();
 
+        // match all source items concurrently if that's worthwhile
+        final boolean[] matches = matchInParallel(null);
+
         // for all source items, see what the change is
         for(BarcodeIterator i = flagList.iterator();i.hasNext();) {
             i.next();
@@ -415,17 +680,97 @@ public final class FilterList<E> extends TransformedList<E,E> {
             int filteredIndex = i.getBlackIndex();
             boolean wasIncluded = filteredIndex != -1;
             // whether we should add this item
-            E value = source.get(i.getIndex());
-            boolean include = currentMatcher.matches(value);
+            int sourceIndex = i.getIndex();
+            boolean include = matches != null ? matches[sourceIndex] : matches(sourceIndex);
 
             // this element is being removed as a result of the change
             if(wasIncluded && !include) {
                 i.setWhite();
-                updates.elementDeleted(filteredIndex, value);
+                updates.elementDeleted(filteredIndex, source.get(sourceIndex));
 
             // this element is being added as a result of the change
             } else if(!wasIncluded && include) {
-                updates.elementInserted(i.setBlack(), value);
+                updates.elementInserted(i.setBlack(), source.get(sourceIndex));
+            }
+        }
+
+        // commit the changes and notify listeners
+        updates.commitEvent();
+    }
+
+    /**
+     * Tests the candidates found in the index against the current
+     * {@link Matcher}.
+     *
+     * @param limit the number of candidates at which the index is no help
+     * @return the sorted source indices of the matching candidates, or
+     *      <code>null</code> if there is no index or it can't narrow the
+     *      candidates below the <code>limit</code>
+     */
+    @SuppressWarnings("unchecked")
+    private int[] matchIndexed(int limit) {
+        if (index == null || currentMatcher != preparer) return null;
+
+        final Collection<Element<Object>> candidates = ((IndexedMatcher<? super E, Object>) preparer).getCandidates(index, limit);
+        if (candidates == null) return null;
+
+        final int[] matched = new int[candidates.size()];
+        int count = 0;
+        for (Element<Object> candidate : candidates) {
+            if (preparer.matchesPrepared(candidate.get())) {
+                matched[count++] = preparations.indexOfNode(candidate, ALL_COLORS);
+            }
+        }
+        Arrays.sort(matched, 0, count);
+        return Arrays.copyOf(matched, count);
+    }
+
+    /**
+     * Handles a change to the filter whose matching source elements are
+     * already known. Only the elements that match before or after the change
+     * are visited, so this takes time proportional to their number rather
+     * than to the size of the source.
+     *
+     * @param matched the sorted source indices of the elements that match
+     */
+    private void refilter(int[] matched) {
+        // all of these changes to this list happen "atomically"
+        updates.beginEvent();
+
+        // the source indices of the elements that matched before the change
+        final int[] previous = new int[flagList.blackSize()];
+        int p = 0;
+        for(BarcodeIterator i = flagList.iterator(); i.hasNextBlack();) {
+            i.nextBlack();
+            previous[p++] = i.getIndex();
+        }
+
+        // merge the two in source order, so changes are fired in order and
+        // the filtered index is the number of elements included so far
+        p = 0;
+        int m = 0;
+        int filteredIndex = 0;
+        while(p < previous.length || m < matched.length) {
+            final int wasIncluded = p < previous.length ? previous[p] : Integer.MAX_VALUE;
+            final int include = m < matched.length ? matched[m] : Integer.MAX_VALUE;
+
+            // this element is being removed as a result of the change
+            if(wasIncluded < include) {
+                flagList.setWhite(wasIncluded, 1);
+                updates.elementDeleted(filteredIndex, source.get(wasIncluded));
+                p++;
+
+            // this element is being added as a result of the change
+            } else if(include < wasIncluded) {
+                flagList.setBlack(include, 1);
+                updates.elementInserted(filteredIndex++, source.get(include));
+                m++;
+
+            // this element is still here
+            } else {
+                filteredIndex++;
+                p++;
+                m++;
             }
         }
 
@@ -433,6 +778,42 @@ public final class FilterList<E> extends TransformedList<E,E> {
         updates.commitEvent();
     }
 
+    /**
+     * Evaluates the current {@link Matcher} against the source elements of the
+     * given colour using the {@link #matcherExecutor}. The results are in
+     * source order, so they can be consumed by iterating the flag list for
+     * the same colour.
+     *
+     * @param colour the colour of the elements to match, or <code>null</code>
+     *      to match all elements
+     * @return the match results, or <code>null</code> if the elements should
+     *      be matched serially instead
+     */
+    private boolean[] matchInParallel(Object colour) {
+        if (matcherExecutor == null) return null;
+
+        final int count = colour == null ? flagList.size() : flagList.colourSize(colour);
+        if (count < parallelThreshold) return null;
+
+        // gather the values up front, only the matching itself is concurrent
+        final boolean prepared = currentMatcher == preparer;
+        final Object[] values = new Object[count];
+        int v = 0;
+        if (colour == null) {
+            for (int i = 0; i < count; i++) {
+                values[v++] = prepared ? getPreparation(i) : source.get(i);
+            }
+        } else {
+            for (BarcodeIterator i = flagList.iterator(); i.hasNextColour(colour);) {
+                i.nextColour(colour);
+                values[v++] = prepared ? getPreparation(i.getIndex()) : source.get(i.getIndex());
+            }
+        }
+
+        if (prepared) return ParallelMatcherEvaluator.matches(preparer::matchesPrepared, values, matcherExecutor);
+        return ParallelMatcherEvaluator.matches(currentMatcher, values, matcherExecutor);
+    }
+
     /**
      * Listens to changes from the current {@link MatcherEditor} and handles them.
      */
@@ -0,0 +1,289 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.impl.HashGrouper;
+import ca.odell.glazedlists.impl.Preconditions;
+import ca.odell.glazedlists.impl.adt.barcode2.Element;
+import ca.odell.glazedlists.impl.adt.barcode2.SimpleTree;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * An {@link EventList} of {@link Summary summaries}, one for each group of
+ * source elements whose keys are equal. Each summary holds the count, sum,
+ * minimum, maximum and average of a numeric value of its group's elements.
+ *
+ * <p>Groups are found by the {@link Object#hashCode() hashCode} and
+ * {@link Object#equals(Object) equals} of their keys and are kept in the order
+ * they were first seen, like a {@link GroupingList} created by
+ * {@link GroupingList#createHashed(EventList, Function)}. Rather than
+ * recalculating a group when it changes, each summary is adjusted by the value
+ * of the inserted, updated or deleted element. The count, sum and average are
+ * adjusted in constant time. The values of each group are also kept sorted, so
+ * the minimum and maximum are adjusted in <code>O(log G)</code> time for a
+ * group of <code>G</code> elements.
+ *
+ * <p>Each element's value is kept as it was last aggregated, and that's what
+ * is removed from the summary when the element is updated or deleted. An
+ * element that was changed in place, so its old and new value are the same
+ * object, is therefore aggregated correctly when the source reports the update.
+ *
+ * <p>Summaries are updated in place, so an updated summary is the same object
+ * before and after its change.
+ *
+ * <p><strong><font color="#FF0000">Warning:</font></strong> This class is
+ * thread ready but not thread safe. See {@link EventList} for an example
+ * of thread safe code.
+ *
+ * <p><table border="1" width="100%" cellpadding="3" cellspacing="0">
+ * <tr class="TableHeadingColor"><td colspan=2><font size="+2"><b>EventList Overview</b></font></td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Writable:</b></td><td>no</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Concurrency:</b></td><td>thread ready, not thread safe</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Performance:</b></td><td>reads: O(log N), writes O(log N)</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Memory:</b></td><td>124 bytes per element, plus a summary per group</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Unit Tests:</b></td><td>GroupAggregateListTest</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Issues:</b></td><td>N/A</td></tr>
+ * </table>
+ */
+public final class GroupAggregateList<E> extends TransformedList<E, GroupAggregateList.Summary<E>> {
+
+    /** the groups of equal keys */
+    private final HashGrouper<E> grouper;
+
+    /** the value of each element to aggregate */
+    private final ToDoubleFunction<? super E> valueFunction;
+
+    /** the summaries, in the same order as the groups */
+    private final SimpleTree<Summary<E>> summaries = new SimpleTree<>();
+
+    /** the summary of each group, so that changes to the members can be applied */
+    private final Map<HashGrouper<E>.Group, Summary<E>> summariesByGroup = new IdentityHashMap<>();
+
+    /**
+     * Creates a {@link GroupAggregateList} that summarizes the values of the
+     * elements of the <code>source</code> whose keys are equal.
+     *
+     * @param source the {@link EventList} containing elements to be summarized
+     * @param keyFunction produces the key of each element. Keys must implement
+     *      {@link Object#hashCode()} and {@link Object#equals(Object)}, and
+     *      <code>null</code> keys are allowed.
+     * @param valueFunction produces the value of each element to aggregate
+     */
+    public static <E> GroupAggregateList<E> create(EventList<E> source, Function<? super E, ?> keyFunction, ToDoubleFunction<? super E> valueFunction) {
+        return new GroupAggregateList<>(source, keyFunction, valueFunction);
+    }
+
+    /**
+     * Creates a {@link GroupAggregateList} that summarizes the values of the
+     * elements of the <code>source</code> whose keys are equal.
+     * <p>Usage of factory method {@link #create(EventList, Function, ToDoubleFunction)} is preferable.
+     *
+     * @param source the {@link EventList} containing elements to be summarized
+     * @param keyFunction produces the key of each element
+     * @param valueFunction produces the value of each element to aggregate
+     */
+    public GroupAggregateList(EventList<E> source, Function<? super E, ?> keyFunction, ToDoubleFunction<? super E> valueFunction) {
+        super(source);
+        Preconditions.checkNotNull(keyFunction, "key function is undefined");
+        this.valueFunction = Preconditions.checkNotNull(valueFunction, "value function is undefined");
+
+        this.grouper = new HashGrouper<>(source, keyFunction, new HashGrouperClient());
+
+        // summarize the initial groups
+        for (int i = 0, n = grouper.size(); i < n; i++) {
+            final HashGrouper<E>.Group group = grouper.getGroup(i);
+            final Summary<E> summary = new Summary<>(group);
+            for (int m = 0, size = group.size(); m < size; m++) {
+                final HashGrouper.Member<E> member = group.getMember(m);
+                member.setAttachment(summary.add(valueFunction.applyAsDouble(member.getValue())));
+            }
+            summariesByGroup.put(group, summary);
+            summaries.add(i, summary, 1);
+        }
+
+        source.addListEventListener(this);
+    }
+
+    /**
+     * Handle changes to the groups and their members.
+     */
+    private class HashGrouperClient implements HashGrouper.Client<E> {
+        @Override
+        @SuppressWarnings("unchecked")
+        public void memberChanged(HashGrouper<E>.Group group, HashGrouper.Member<E> member, int memberChangeType, E oldValue, E newValue) {
+            Summary<E> summary = summariesByGroup.get(group);
+            if (summary == null) {
+                summary = new Summary<>(group);
+                summariesByGroup.put(group, summary);
+            }
+
+            // each member is attached to the node of its last aggregated value
+            if (memberChangeType == ListEvent.INSERT) {
+                member.setAttachment(summary.add(valueFunction.applyAsDouble(newValue)));
+            } else if (memberChangeType == ListEvent.DELETE) {
+                summary.remove((Element<Double>) member.getAttachment());
+                member.setAttachment(null);
+                if (group.isEmpty()) summariesByGroup.remove(group);
+            } else if (memberChangeType == ListEvent.UPDATE) {
+                summary.remove((Element<Double>) member.getAttachment());
+                member.setAttachment(summary.add(valueFunction.applyAsDouble(newValue)));
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+
+        @Override
+        public void groupChanged(int groupIndex, int groupChangeType, E oldValue, E newValue) {
+            if (groupChangeType == ListEvent.INSERT) {
+                final Summary<E> summary = summariesByGroup.get(grouper.getGroup(groupIndex));
+                summaries.add(groupIndex, summary, 1);
+                updates.elementInserted(groupIndex, summary);
+            } else if (groupChangeType == ListEvent.DELETE) {
+                final Summary<E> summary = summaries.get(groupIndex).get();
+                summaries.remove(groupIndex, 1);
+                updates.elementDeleted(groupIndex, summary);
+            } else if (groupChangeType == ListEvent.UPDATE) {
+                final Summary<E> summary = summaries.get(groupIndex).get();
+                updates.elementUpdated(groupIndex, summary, summary);
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected boolean isWritable() {
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void listChanged(ListEvent<E> listChanges) {
+        updates.beginEvent(true);
+        grouper.listChanged(listChanges);
+        updates.commitEvent();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Summary<E> get(int index) {
+        return summaries.get(index).get();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        return summaries.size();
+    }
+
+    /**
+     * Returns the index of the summary of the group to which the specified
+     * element would belong, or <code>-1</code> if there is no such group.
+     */
+    public int indexOfGroup(E groupElement) {
+        final HashGrouper<E>.Group group = grouper.getGroupOf(groupElement);
+        return group == null ? -1 : grouper.indexOfGroup(group);
+    }
+
+    /**
+     * The aggregates of a group of elements with equal keys. The sum is
+     * adjusted as elements change, so it is subject to floating point rounding
+     * in the same way as a running total.
+     */
+    public static final class Summary<E> {
+
+        /** the elements being summarized */
+        private final HashGrouper<E>.Group group;
+
+        /** the aggregated value of each element, in increasing order */
+        private final SimpleTree<Double> values = new SimpleTree<>(GlazedLists.<Double>comparableComparator());
+
+        private double sum = 0;
+
+        private Summary(HashGrouper<E>.Group group) {
+            this.group = group;
+        }
+
+        /**
+         * Include the specified value in this summary.
+         *
+         * @return the node holding the value, to remove it later
+         */
+        private Element<Double> add(double value) {
+            sum += value;
+            return values.addInSortedOrder((byte) 1, Double.valueOf(value), 1);
+        }
+
+        /**
+         * Exclude the value held by the specified node from this summary.
+         */
+        private void remove(Element<Double> node) {
+            sum -= node.get().doubleValue();
+            values.remove(node);
+        }
+
+        /**
+         * The key shared by the elements of this group.
+         */
+        public Object getKey() {
+            return group.getKey();
+        }
+
+        /**
+         * The elements of this group, in source order.
+         */
+        public List<E> getElements() {
+            return Collections.unmodifiableList(group);
+        }
+
+        /**
+         * The number of elements in this group.
+         */
+        public int getCount() {
+            return group.size();
+        }
+
+        /**
+         * The sum of the values of this group's elements.
+         */
+        public double getSum() {
+            return sum;
+        }
+
+        /**
+         * The mean of the values of this group's elements.
+         */
+        public double getAverage() {
+            return sum / group.size();
+        }
+
+        /**
+         * The smallest value of this group's elements.
+         */
+        public double getMin() {
+            return values.size() == 0 ? Double.POSITIVE_INFINITY : values.get(0).get().doubleValue();
+        }
+
+        /**
+         * The largest value of this group's elements.
+         */
+        public double getMax() {
+            return values.size() == 0 ? Double.NEGATIVE_INFINITY : values.get(values.size() - 1).get().doubleValue();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString() {
+            return getKey() + ": count=" + getCount() + ", sum=" + getSum() + ", min=" + getMin() + ", max=" + getMax();
+        }
+    }
+}
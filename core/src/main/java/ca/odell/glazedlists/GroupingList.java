@@ -5,6 +5,8 @@ package ca.odell.glazedlists;
 
 import ca.odell.glazedlists.event.ListEvent;
 import ca.odell.glazedlists.impl.Grouper;
+import ca.odell.glazedlists.impl.HashGrouper;
+import ca.odell.glazedlists.impl.Preconditions;
 import ca.odell.glazedlists.impl.adt.barcode2.Element;
 import ca.odell.glazedlists.impl.adt.barcode2.SimpleTree;
 
@@ -12,6 +14,7 @@ import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * A grouping list contains elements which are themselves Lists. Those Lists
@@ -22,6 +25,12 @@ import java.util.List;
  * that source elements may only participate in a single group within this
  * GroupingList.
  *
+ * <p>A GroupingList created by {@link #createHashed(EventList, Function)}
+ * instead groups elements whose keys are equal, as defined by
+ * {@link Object#hashCode() hashCode} and {@link Object#equals(Object) equals}.
+ * Its groups are kept in the order they were first seen rather than in sorted
+ * order, and each change finds its group in constant time.
+ *
  * <p>Further transformations may be layered on top of this GroupingList to
  * transform the group lists into any other desirable form.
  *
@@ -49,9 +58,15 @@ public final class GroupingList<E> extends TransformedList<E, List<E>> {
     /** The GroupLists defined by the comparator. They are stored in an SimpleTree so their indices can be quickly updated. */
     private SimpleTree<GroupList> groupLists = new SimpleTree<>();
 
-    /** The Grouper manages creating and deleting groups. */
+    /** The groups of a hashed GroupingList, stored like {@link #groupLists}. */
+    private SimpleTree<HashGroupList> hashGroupLists = new SimpleTree<>();
+
+    /** The Grouper manages creating and deleting groups, or <code>null</code> if hashed. */
     private final Grouper<E> grouper;
 
+    /** The HashGrouper manages groups of equal keys, or <code>null</code> if sorted. */
+    private final HashGrouper<E> hashGrouper;
+
     /**
      * Creates a {@link GroupingList} that determines groupings via the
      * {@link Comparable} interface which all elements of the <code>source</code>
@@ -61,6 +76,21 @@ public final class GroupingList<E> extends TransformedList<E, List<E>> {
         return new GroupingList<>(source);
     }
 
+    /**
+     * Creates a {@link GroupingList} that groups the elements of the
+     * <code>source</code> whose keys are equal. Groups are kept in the order
+     * their keys were first seen, and the elements of each group in source order.
+     *
+     * @param source the {@link EventList} containing elements to be grouped
+     * @param keyFunction produces the key of each element. Keys must implement
+     *      {@link Object#hashCode()} and {@link Object#equals(Object)}, and
+     *      <code>null</code> keys are allowed.
+     */
+    public static <E> GroupingList<E> createHashed(EventList<E> source, Function<? super E, ?> keyFunction) {
+        Preconditions.checkNotNull(keyFunction, "key function is undefined");
+        return new GroupingList<>(source, keyFunction);
+    }
+
     /**
      * Creates a {@link GroupingList} that determines groupings via the
      * {@link Comparable} interface which all elements of the <code>source</code>
@@ -96,6 +126,7 @@ public final class GroupingList<E> extends TransformedList<E, List<E>> {
 
         // the grouper handles changes to the SortedList
         this.grouper = new Grouper<>(source, new GrouperClient());
+        this.hashGrouper = null;
 
         // initialize the tree of GroupLists
         rebuildGroupListTreeFromBarcode();
@@ -103,6 +134,24 @@ public final class GroupingList<E> extends TransformedList<E, List<E>> {
         source.addListEventListener(this);
     }
 
+    /**
+     * A private constructor which groups the source {@link EventList} directly,
+     * by hashing the key of each element.
+     */
+    private GroupingList(EventList<E> source, Function<? super E, ?> keyFunction) {
+        super(source);
+
+        this.grouper = null;
+        this.hashGrouper = new HashGrouper<>(source, keyFunction, new HashGrouperClient());
+
+        // initialize the tree of HashGroupLists
+        for (int i = 0, n = hashGrouper.size(); i < n; i++) {
+            hashGroupLists.add(i, new HashGroupList(hashGrouper.getGroup(i)), 1);
+        }
+
+        source.addListEventListener(this);
+    }
+
     /**
      * After the barcode has been updated in response to a change in the
      * grouping {@link Comparator}, this method is used to rebuild the tree of
@@ -112,12 +161,15 @@ public final class GroupingList<E> extends TransformedList<E, List<E>> {
         // clear the contents of the GroupList tree
         groupLists.clear();
 
-        // fetch our GrouperClient
-        final GrouperClient grouperClient = (GrouperClient) grouper.getClient();
-
         // build the tree of GroupLists from the barcode
-        for (int i = 0, n = grouper.getBarcode().colourSize(Grouper.UNIQUE); i < n; i++) {
-            grouperClient.insertGroupList(i);
+        final GroupList[] groups = new GroupingList.GroupList[grouper.getBarcode().colourSize(Grouper.UNIQUE)];
+        for (int i = 0; i < groups.length; i++) {
+            groups[i] = new GroupList();
+        }
+        final Element<GroupList>[] treeNodes = new Element[groups.length];
+        groupLists.bulkLoad(groups, treeNodes);
+        for (int i = 0; i < groups.length; i++) {
+            groups[i].setTreeNode(treeNodes[i]);
         }
     }
 
@@ -134,6 +186,11 @@ public final class GroupingList<E> extends TransformedList<E, List<E>> {
      *      currently existing group would contain the <code>groupElement</code>
      */
     public int indexOfGroup(E groupElement) {
+        if (hashGrouper != null) {
+            final HashGrouper<E>.Group group = hashGrouper.getGroupOf(groupElement);
+            return group == null ? -1 : hashGrouper.indexOfGroup(group);
+        }
+
         // determine where the groupElement would be positioned in the source List
         final int sourceIndex = ((SortedList<E>) source).sortIndex(groupElement);
 
@@ -190,14 +247,38 @@ public final class GroupingList<E> extends TransformedList<E, List<E>> {
         }
     }
 
+    /**
+     * Handle changes to the hash grouper's groups.
+     */
+    private class HashGrouperClient implements HashGrouper.Client<E> {
+        @Override
+        public void groupChanged(int groupIndex, int groupChangeType, E oldValue, E newValue) {
+            if(groupChangeType == ListEvent.INSERT) {
+                hashGroupLists.add(groupIndex, new HashGroupList(hashGrouper.getGroup(groupIndex)), 1);
+                updates.addInsert(groupIndex);
+            } else if(groupChangeType == ListEvent.DELETE) {
+                hashGroupLists.remove(groupIndex, 1);
+                updates.addDelete(groupIndex);
+            } else if(groupChangeType == ListEvent.UPDATE) {
+                updates.addUpdate(groupIndex);
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+    }
+
     /**
      * Change the {@link Comparator} which determines the groupings presented
      * by this List
      *
      * @param comparator the {@link Comparator} used to determine groupings;
      *      <tt>null</tt> will be treated as {@link GlazedLists#comparableComparator()}
+     * @throws UnsupportedOperationException if this list was created by
+     *      {@link #createHashed(EventList, Function)}
      */
     public void setComparator(Comparator<? super E> comparator) {
+        if (hashGrouper != null)
+            throw new UnsupportedOperationException("a hashed GroupingList has no Comparator");
         if (comparator == null)
             comparator = (Comparator) GlazedLists.comparableComparator();
         ((SortedList<E>) source).setComparator(comparator);
@@ -206,6 +287,7 @@ public final class GroupingList<E> extends TransformedList<E, List<E>> {
     /** {@inheritDoc} */
     @Override
     protected int getSourceIndex(int index) {
+        if (hashGrouper != null) return hashGrouper.getGroup(index).getSourceIndex(0);
         return grouper.getBarcode().getIndex(index, Grouper.UNIQUE);
     }
 
@@ -220,6 +302,12 @@ public final class GroupingList<E> extends TransformedList<E, List<E>> {
     public void listChanged(ListEvent<E> listChanges) {
         updates.beginEvent(true);
 
+        if (hashGrouper != null) {
+            hashGrouper.listChanged(listChanges);
+            updates.commitEvent();
+            return;
+        }
+
         // check if this ListEvent was caused due to a change in the
         // Comparator that creates the groups
         final SortedList<E> sortedSource = (SortedList<E>) source;
@@ -250,6 +338,7 @@ public final class GroupingList<E> extends TransformedList<E, List<E>> {
     /** {@inheritDoc} */
     @Override
     public List<E> get(int index) {
+        if (hashGrouper != null) return hashGroupLists.get(index).get();
         return groupLists.get(index).get();
     }
 
@@ -300,13 +389,14 @@ public final class GroupingList<E> extends TransformedList<E, List<E>> {
     /** {@inheritDoc} */
     @Override
     public int size() {
+        if (hashGrouper != null) return hashGrouper.size();
         return grouper.getBarcode().colourSize(Grouper.UNIQUE);
     }
 
     /** {@inheritDoc} */
     @Override
     public void dispose() {
-        ((SortedList) source).dispose();
+        if (grouper != null) ((SortedList) source).dispose();
         super.dispose();
     }
 
@@ -399,4 +489,70 @@ public final class GroupingList<E> extends TransformedList<E, List<E>> {
             source.add(getSourceIndex(index), element);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * The List implementation used for the groups of a hashed GroupingList.
+     * Like {@link GroupList}, its mutator methods are mapped to mutations on
+     * the source list, using the source index of each member of the group.
+     */
+    private class HashGroupList extends AbstractList<E> {
+
+        /** the group's members, which is empty once the group is removed */
+        private final HashGrouper<E>.Group group;
+
+        private HashGroupList(HashGrouper<E>.Group group) {
+            this.group = group;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public E set(int index, E element) {
+            return source.set(group.getSourceIndex(index), element);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public E get(int index) {
+            return group.get(index);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int size() {
+            return group.size();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void clear() {
+            // find the source indices first, since the group may not change
+            // until the source fires its event
+            final int[] sourceIndices = new int[group.size()];
+            for (int i = 0; i < sourceIndices.length; i++) {
+                sourceIndices[i] = group.getSourceIndex(i);
+            }
+            for (int i = sourceIndices.length - 1; i >= 0; i--) {
+                source.remove(sourceIndices[i]);
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public E remove(int index) {
+            return source.remove(group.getSourceIndex(index));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void add(int index, E element) {
+            final int size = group.size();
+            if (index < size) {
+                source.add(group.getSourceIndex(index), element);
+            } else if (size > 0) {
+                source.add(group.getSourceIndex(size - 1) + 1, element);
+            } else {
+                source.add(element);
+            }
+        }
+    }
+}
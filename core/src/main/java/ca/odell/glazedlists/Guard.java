@@ -3,6 +3,9 @@
 /*                                                     O'Dell Engineering Ltd.*/
 package ca.odell.glazedlists;
 
+import ca.odell.glazedlists.util.concurrent.OptimisticReadWriteLock;
+import ca.odell.glazedlists.util.concurrent.ReadWriteLock;
+
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -31,6 +34,9 @@ import java.util.function.Function;
  * </pre>
  */
 public final class Guard {
+
+    /** how often an optimistic read is attempted before falling back to the read lock */
+    private static final int OPTIMISTIC_READ_ATTEMPTS = 2;
     /**
      * A dummy constructor to prevent instantiation of this class
      */
@@ -125,4 +131,49 @@ public final class Guard {
             list.getReadWriteLock().writeLock().unlock();
         }
     }
+
+    /**
+     * Applies the given function to the supplied {@link EventList} without acquiring its read lock,
+     * if the list's lock is an {@link OptimisticReadWriteLock}. If a write happens while the function
+     * is applied, its result is discarded and it is applied again. After a few attempts, or if the
+     * list's lock doesn't support optimistic reads, the function is applied while holding the read
+     * lock as with {@link #applyWithReadLock}.
+     * <p>
+     * Since a write may happen at any time, the function may see the list in an inconsistent state
+     * and must not have side effects. Any {@link RuntimeException} it throws during such an
+     * inconsistent read is ignored.
+     *
+     * @param list EventList != null
+     * @param function the function != null
+     * @param <E> the element type of the list
+     * @param <L> the concrete list type
+     * @param <R> the result type of the function
+     * @return the result of the function
+     * @see EventList#readOptimistic(Function)
+     */
+    public static <E, L extends EventList<E>, R> R readOptimistic(L list, Function<L, R> function) {
+        final ReadWriteLock lock = list.getReadWriteLock();
+        if (lock instanceof OptimisticReadWriteLock) {
+            final OptimisticReadWriteLock optimisticLock = (OptimisticReadWriteLock) lock;
+            for (int attempt = 0; attempt < OPTIMISTIC_READ_ATTEMPTS; attempt++) {
+                final long stamp = optimisticLock.tryOptimisticRead();
+                // the write lock is held, so wait for it
+                if (stamp == 0L) {
+                    break;
+                }
+                try {
+                    final R result = function.apply(list);
+                    if (optimisticLock.validate(stamp)) {
+                        return result;
+                    }
+                } catch (RuntimeException e) {
+                    // a concurrent write may have caused this, so retry
+                    if (optimisticLock.validate(stamp)) {
+                        throw e;
+                    }
+                }
+            }
+        }
+        return applyWithReadLock(list, function);
+    }
 }
@@ -0,0 +1,270 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.event.ListEventAssembler;
+import ca.odell.glazedlists.event.ListEventPublisher;
+import ca.odell.glazedlists.util.concurrent.LockFactory;
+import ca.odell.glazedlists.util.concurrent.ReadWriteLock;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.RandomAccess;
+
+/**
+ * An {@link EventList} of <code>int</code> values, stored in a
+ * <code>int[]</code> rather than as boxed {@link Integer}s.
+ *
+ * <p>Use {@link #getInt(int)}, {@link #setInt(int, int)} and
+ * {@link #addInt(int)} to read and write values without boxing. The
+ * {@link java.util.List} methods remain available and box on each access.
+ * Since this list cannot hold <code>null</code>, writing a <code>null</code>
+ * through them throws a {@link NullPointerException}.
+ *
+ * <p>{@link ca.odell.glazedlists.event.ListEventListener}s can read inserted and updated values without
+ * boxing by calling {@link ListEvent#getNewInt()}, which reads them from this
+ * list. Removed and replaced values are still stored as {@link Integer}s, and
+ * {@link ListEvent#getOldInt()} unboxes them; bulk changes box them only when
+ * they are read.
+ *
+ * <p>A {@link FilterList} with a {@link ca.odell.glazedlists.matchers.LongMatcher}
+ * and a {@link SortedList} with a {@link LongComparator} read the values of this list
+ * without boxing them.
+ *
+ * <p><table border="1" width="100%" cellpadding="3" cellspacing="0">
+ * <tr class="TableHeadingColor"><td colspan=2><font size="+2"><b>EventList Overview</b></font></td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Writable:</b></td><td>yes</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Concurrency:</b></td><td>thread ready, not thread safe</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Performance:</b></td><td>reads: O(1), writes O(1) amortized</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Memory:</b></td><td>4 bytes per element</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Unit Tests:</b></td><td>PrimitiveEventListTest</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Issues:</b></td><td>N/A</td></tr>
+ * </table>
+ */
+public final class IntEventList extends AbstractEventList<Integer> implements RandomAccess {
+
+    /** the values, of which only the first {@link #size} are in use */
+    private int[] data;
+
+    /** the number of values in this list */
+    private int size;
+
+    /**
+     * Creates an empty {@link IntEventList}.
+     */
+    public IntEventList() {
+        this(10);
+    }
+
+    /**
+     * Creates an empty {@link IntEventList} with the given
+     * <code>initialCapacity</code>.
+     */
+    public IntEventList(int initialCapacity) {
+        this(initialCapacity, null, LockFactory.DEFAULT.createReadWriteLock());
+    }
+
+    /**
+     * Creates an empty {@link IntEventList} using the specified initial
+     * capacity, {@link ListEventPublisher} and {@link ReadWriteLock}.
+     */
+    public IntEventList(int initialCapacity, ListEventPublisher publisher, ReadWriteLock readWriteLock) {
+        super(publisher);
+        if(initialCapacity < 0) throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        this.data = new int[initialCapacity];
+        this.readWriteLock = (readWriteLock == null) ? LockFactory.DEFAULT.createReadWriteLock() : readWriteLock;
+    }
+
+    /**
+     * Get the value at the specified index, without boxing it.
+     */
+    public int getInt(int index) {
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Cannot get at " + index + " on list of size " + size);
+        return data[index];
+    }
+
+    /**
+     * Replace the value at the specified index, without boxing it.
+     *
+     * @return the value previously at the specified index
+     */
+    public int setInt(int index, int value) {
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Cannot set at " + index + " on list of size " + size);
+        final int previous = data[index];
+        updates.beginEvent();
+        data[index] = value;
+        elementUpdated(updates, index, Integer.valueOf(previous));
+        updates.commitEvent();
+        return previous;
+    }
+
+    /**
+     * Append the specified value to the end of this list, without boxing it.
+     */
+    public void addInt(int value) {
+        addInt(size, value);
+    }
+
+    /**
+     * Insert the specified value at the specified index, without boxing it.
+     */
+    public void addInt(int index, int value) {
+        if(index < 0 || index > size) throw new IndexOutOfBoundsException("Cannot add at " + index + " on list of size " + size);
+        updates.beginEvent();
+        openGap(index, 1);
+        data[index] = value;
+        elementsInserted(updates, index, 1);
+        updates.commitEvent();
+    }
+
+    /**
+     * Append all of the specified values to the end of this list, as a
+     * single change.
+     */
+    public void addAll(int[] values) {
+        addAll(size, values);
+    }
+
+    /**
+     * Insert all of the specified values at the specified index, as a
+     * single change.
+     */
+    public void addAll(int index, int[] values) {
+        if(index < 0 || index > size) throw new IndexOutOfBoundsException("Cannot add at " + index + " on list of size " + size);
+        if(values.length == 0) return;
+        updates.beginEvent();
+        openGap(index, values.length);
+        System.arraycopy(values, 0, data, index, values.length);
+        elementsInserted(updates, index, values.length);
+        updates.commitEvent();
+    }
+
+    /**
+     * Remove the value at the specified index, without boxing it.
+     *
+     * @return the removed value
+     */
+    public int removeInt(int index) {
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Cannot remove at " + index + " on list of size " + size);
+        final int removed = data[index];
+        updates.beginEvent();
+        System.arraycopy(data, index + 1, data, index, size - index - 1);
+        size--;
+        updates.elementDeleted(index, Integer.valueOf(removed));
+        updates.commitEvent();
+        return removed;
+    }
+
+    /**
+     * Get a copy of the values in this list.
+     */
+    public int[] toIntArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    /**
+     * Make room for <code>length</code> values at the specified index.
+     */
+    private void openGap(int index, int length) {
+        if(size + length > data.length) {
+            data = Arrays.copyOf(data, Math.max(size + length, data.length + (data.length >> 1) + 1));
+        }
+        System.arraycopy(data, index, data, index + length, size - index);
+        size += length;
+    }
+
+    /**
+     * Records an insert without its values, so they needn't be boxed.
+     * Listeners read them from this list instead.
+     */
+    private static <E> void elementsInserted(ListEventAssembler<E> updates, int index, int length) {
+        updates.elementsInserted(index, Collections.nCopies(length, ListEvent.<E>unknownValue()));
+    }
+
+    /**
+     * Records an update without its new value, so it needn't be boxed.
+     */
+    private static <E> void elementUpdated(ListEventAssembler<E> updates, int index, E previous) {
+        updates.elementUpdated(index, previous, ListEvent.<E>unknownValue());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Integer get(int index) {
+        return Integer.valueOf(getInt(index));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Integer set(int index, Integer value) {
+        return Integer.valueOf(setInt(index, value.intValue()));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void add(int index, Integer value) {
+        addInt(index, value.intValue());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean add(Integer value) {
+        addInt(size, value.intValue());
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Integer remove(int index) {
+        return Integer.valueOf(removeInt(index));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clear() {
+        // don't do a clear on an empty set
+        if(isEmpty()) return;
+        updates.beginEvent();
+        updates.elementsDeleted(0, new BoxingList(Arrays.copyOf(data, size)));
+        size = 0;
+        updates.commitEvent();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * This method does nothing. It is not necessary to dispose a
+     * {@link IntEventList}.
+     */
+    @Override
+    public void dispose() { }
+
+    /**
+     * A read-only view of a <code>int[]</code> that boxes each value as it
+     * is read, so that removed values are only boxed if a listener asks for them.
+     */
+    private static final class BoxingList extends AbstractList<Integer> implements RandomAccess {
+        private final int[] values;
+
+        BoxingList(int[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Integer get(int index) {
+            return Integer.valueOf(values[index]);
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+    }
+}
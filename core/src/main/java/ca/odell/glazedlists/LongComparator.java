@@ -0,0 +1,34 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import java.util.Comparator;
+
+/**
+ * A {@link Comparator} of numbers that compares their <code>long</code>
+ * values.
+ *
+ * <p>A {@link SortedList} whose source is a {@link LongEventList} or
+ * {@link IntEventList} reads the source values with their primitive getters
+ * and passes them to {@link #compareLong}, so sorting doesn't box them. Any
+ * other source is compared through {@link #compare(Number, Number)}.
+ *
+ * <p>For example, <code>new SortedList&lt;Long&gt;(sizes, (LongComparator) Long::compare)</code>.
+ *
+ * @see DoubleComparator
+ */
+@FunctionalInterface
+public interface LongComparator extends Comparator<Number> {
+
+    /**
+     * Compares two values for order, as specified by {@link Comparator#compare}.
+     */
+    int compareLong(long alpha, long beta);
+
+    /** {@inheritDoc} */
+    @Override
+    default int compare(Number alpha, Number beta) {
+        return compareLong(alpha.longValue(), beta.longValue());
+    }
+}
@@ -25,4 +25,22 @@ public interface ObservableElementChangeHandler<E> {
      * @param listElement the list element which has been modified
      */
     void elementChanged(Object listElement);
-}
\ No newline at end of file
+
+    /**
+     * Start a group of changes. Until the matching {@link #endElementChanges()},
+     * changes reported through {@link #elementChanged(Object)} may be buffered
+     * and delivered together. Groups may be nested.
+     *
+     * <p>The default implementation does nothing.
+     */
+    default void beginElementChanges() {
+    }
+
+    /**
+     * End a group of changes started by {@link #beginElementChanges()}.
+     *
+     * <p>The default implementation does nothing.
+     */
+    default void endElementChanges() {
+    }
+}
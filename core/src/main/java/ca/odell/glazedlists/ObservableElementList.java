@@ -6,10 +6,19 @@ package ca.odell.glazedlists;
 import ca.odell.glazedlists.event.ListEvent;
 import ca.odell.glazedlists.impl.adt.Barcode;
 import ca.odell.glazedlists.impl.adt.BarcodeIterator;
+import ca.odell.glazedlists.impl.adt.IdentityMultimap;
+import ca.odell.glazedlists.impl.adt.barcode2.Element;
+import ca.odell.glazedlists.impl.adt.barcode2.SimpleTree;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.EventListener;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A list that fires update events whenever elements are modified in place.
@@ -22,6 +31,13 @@ import java.util.List;
  * The contract between a Connector and an ObservableElementList is defined
  * in interface {@link ObservableElementChangeHandler}.
  *
+ * <p>By default each change to an element is delivered as its own
+ * {@link ListEvent}. When elements change in bursts, the changes can instead
+ * be coalesced into fewer events with {@link #setCoalescing(boolean)},
+ * {@link #setCoalescingWindow(ScheduledExecutorService, long, TimeUnit)} or
+ * by grouping them between {@link #beginElementChanges()} and
+ * {@link #endElementChanges()}.
+ *
  * <p><strong><font color="#FF0000">Warning:</font></strong> This class is
  * thread ready but not thread safe. See {@link EventList} for an example
  * of thread safe code.
@@ -30,8 +46,8 @@ import java.util.List;
  * <tr class="TableHeadingColor"><td colspan=2><font size="+2"><b>EventList Overview</b></font></td></tr>
  * <tr><td class="TableSubHeadingColor"><b>Writable:</b></td><td>yes</td></tr>
  * <tr><td class="TableSubHeadingColor"><b>Concurrency:</b></td><td>thread ready, not thread safe; elementChanged(), however, is thread ready</td></tr>
- * <tr><td class="TableSubHeadingColor"><b>Performance:</b></td><td>inserts: O(1), deletes: O(1), updates: O(1), elementChanged: O(n)</td></tr>
- * <tr><td class="TableSubHeadingColor"><b>Memory:</b></td><td>8 bytes per element</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Performance:</b></td><td>inserts: O(log N), deletes: O(log N), updates: O(log N), elementChanged: O(log N) per occurrence</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Memory:</b></td><td>104 bytes per element</td></tr>
  * <tr><td class="TableSubHeadingColor"><b>Unit Tests:</b></td><td>ObservableElementListTest</td></tr>
  * <tr><td class="TableSubHeadingColor"><b>Issues:</b></td><td>N/A</td></tr>
  * </table>
@@ -46,13 +62,44 @@ import java.util.List;
 public class ObservableElementList<E> extends TransformedList<E, E> implements ObservableElementChangeHandler<E> {
 
     /**
-     * A list of the observed elements. It is necessary to track the observed
+     * A tree of the observed elements. It is necessary to track the observed
      * elements since list removals broadcast ListEvents which do not include
-     * the removed element as part of the ListEvent. We use this list to locate
+     * the removed element as part of the ListEvent. We use this tree to locate
      * removed elements for the purpose of unregistering listeners from them.
-     * todo remove this list when ListEvent can reliably furnish us with a deleted value
+     * todo remove this tree when ListEvent can reliably furnish us with a deleted value
+     */
+    private SimpleTree<E> observedElements;
+
+    /**
+     * The nodes of {@link #observedElements} holding each non-null element,
+     * so {@link #elementChanged} can find the element's indices without
+     * searching the whole list.
+     */
+    private IdentityMultimap<E, Element<E>> elementNodes;
+
+    /** the only color used in {@link #observedElements} */
+    private static final byte ALL_COLORS = 1;
+
+    /**
+     * The changed elements that haven't been delivered yet, because changes
+     * are being coalesced. The set's monitor guards it and all the other
+     * coalescing state.
      */
-    private List<E> observedElements;
+    private final Set<Object> pendingChanges = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /** <tt>true</tt> if changes are buffered until {@link #flush()} */
+    private boolean coalescing = false;
+
+    /** how deeply nested the groups started by {@link #beginElementChanges()} are */
+    private int elementChangesDepth = 0;
+
+    /** if non-null, buffered changes are flushed by this after {@link #flushDelay} */
+    private ScheduledExecutorService flushScheduler = null;
+    private long flushDelay;
+    private TimeUnit flushDelayUnit;
+
+    /** <tt>true</tt> if the {@link #flushScheduler} will flush the buffered changes */
+    private boolean flushScheduled = false;
 
     /**
      * The connector object containing the logic for registering and
@@ -118,7 +165,15 @@ public class ObservableElementList<E> extends TransformedList<E, E> implements O
         this.elementConnector.setObservableElementList(this);
 
         // for speed, we add all source elements together, rather than individually
-        this.observedElements = new ArrayList<>(source);
+        final E[] sourceElements = (E[]) source.toArray();
+        final Element<E>[] nodes = new Element[sourceElements.length];
+        this.observedElements = new SimpleTree<>();
+        this.observedElements.bulkLoad(sourceElements, nodes);
+        this.elementNodes = new IdentityMultimap<>();
+        for (int i = 0; i < nodes.length; i++) {
+            if (sourceElements[i] != null)
+                this.elementNodes.addValue(sourceElements[i], nodes[i]);
+        }
 
         // we initialize the single EventListener registry, as we optimistically
         // assume we'll be using a single listener for all observed elements
@@ -151,7 +206,9 @@ public class ObservableElementList<E> extends TransformedList<E, E> implements O
             // register a listener on the inserted object
             if (changeType == ListEvent.INSERT) {
                 final E inserted = get(changeIndex);
-                this.observedElements.add(changeIndex, inserted);
+                final Element<E> node = this.observedElements.add(changeIndex, inserted, 1);
+                if (inserted != null)
+                    this.elementNodes.addValue(inserted, node);
 
                 // connect a listener to the freshly inserted element
                 final EventListener listener = this.connectElement(inserted);
@@ -162,7 +219,11 @@ public class ObservableElementList<E> extends TransformedList<E, E> implements O
             } else if (changeType == ListEvent.DELETE) {
                 // try to get the previous value through the ListEvent
                 E deleted = listChanges.getOldValue();
-                E deletedElementFromPrivateCopy = this.observedElements.remove(changeIndex);
+                final Element<E> node = this.observedElements.get(changeIndex);
+                final E deletedElementFromPrivateCopy = node.get();
+                this.observedElements.remove(node);
+                if (deletedElementFromPrivateCopy != null)
+                    this.elementNodes.removeValue(deletedElementFromPrivateCopy, node);
 
                 // if the ListEvent could give us the previous value, use the value from our private copy of the source
                 if (deleted == ListEvent.UNKNOWN_VALUE)
@@ -179,13 +240,18 @@ public class ObservableElementList<E> extends TransformedList<E, E> implements O
 
                 // if the ListEvent could give us the previous value, use the value from our private copy of the source
                 if (previousValue == ListEvent.UNKNOWN_VALUE)
-                    previousValue = this.observedElements.get(changeIndex);
+                    previousValue = this.observedElements.get(changeIndex).get();
 
                 final E newValue = get(changeIndex);
 
                 // if a different object is present at the index
                 if (newValue != previousValue) {
-                    this.observedElements.set(changeIndex, newValue);
+                    final Element<E> node = this.observedElements.get(changeIndex);
+                    if (node.get() != null)
+                        this.elementNodes.removeValue(node.get(), node);
+                    node.set(newValue);
+                    if (newValue != null)
+                        this.elementNodes.addValue(newValue, node);
 
                     // disconnect the listener from the previous element at the index
                     this.disconnectElement(previousValue, this.getListener(changeIndex));
@@ -381,7 +447,7 @@ public class ObservableElementList<E> extends TransformedList<E, E> implements O
 
         // then remove all listeners from all list elements
         for (int i = 0, n = this.observedElements.size(); i < n; i++) {
-            final E element = this.observedElements.get(i);
+            final E element = this.observedElements.get(i).get();
             final EventListener listener = this.getListener(i);
             this.disconnectElement(element, listener);
         }
@@ -391,6 +457,10 @@ public class ObservableElementList<E> extends TransformedList<E, E> implements O
 
         // null out all references to internal data structures
         this.observedElements = null;
+        this.elementNodes = null;
+        synchronized (this.pendingChanges) {
+            this.pendingChanges.clear();
+        }
         this.multiEventListenerRegistry = null;
         this.singleEventListener = null;
         this.singleEventListenerRegistry = null;
@@ -418,16 +488,35 @@ public class ObservableElementList<E> extends TransformedList<E, E> implements O
         if (this.observedElements == null)
             throw new IllegalStateException("This list has been disposed and can no longer be used.");
 
+        // buffer the change if it will be delivered with others
+        synchronized (this.pendingChanges) {
+            if (this.coalescing || this.elementChangesDepth > 0) {
+                this.pendingChanges.add(listElement);
+                if (this.flushScheduler != null && !this.flushScheduled) {
+                    this.flushScheduled = true;
+                    this.flushScheduler.schedule(this::flush, this.flushDelay, this.flushDelayUnit);
+                }
+                return;
+            }
+        }
+
         getReadWriteLock().writeLock().lock();
         try {
             this.updates.beginEvent();
 
             // locate all indexes containing the given listElement
-            for (int i = 0, n = size(); i < n; i++) {
-            	final E currentElement = get(i);
-                if (listElement == currentElement) {
-                    this.updates.elementUpdated(i, currentElement);
-                }
+            final List<Element<E>> nodes = this.elementNodes.get(listElement);
+            if (nodes.size() == 1) {
+                final Element<E> node = nodes.get(0);
+                this.updates.elementUpdated(this.observedElements.indexOfNode(node, ALL_COLORS), node.get());
+            } else if (!nodes.isEmpty()) {
+                // fire the updates in increasing order
+                final int[] indices = new int[nodes.size()];
+                for (int i = 0; i < indices.length; i++)
+                    indices[i] = this.observedElements.indexOfNode(nodes.get(i), ALL_COLORS);
+                Arrays.sort(indices);
+                for (int i = 0; i < indices.length; i++)
+                    this.updates.elementUpdated(indices[i], nodes.get(0).get());
             }
 
             this.updates.commitEvent();
@@ -437,6 +526,122 @@ public class ObservableElementList<E> extends TransformedList<E, E> implements O
     }
 
 
+    /**
+     * Set whether changes reported through {@link #elementChanged(Object)} are
+     * buffered rather than delivered immediately. Buffered changes are
+     * delivered as a single {@link ListEvent} by {@link #flush()}, with each
+     * changed element reported once no matter how often it changed.
+     *
+     * <p>Turning coalescing off flushes any buffered changes.
+     *
+     * @see #setCoalescingWindow(ScheduledExecutorService, long, TimeUnit)
+     */
+    public void setCoalescing(boolean coalescing) {
+        synchronized (this.pendingChanges) {
+            this.coalescing = coalescing;
+            if (!coalescing) this.flushScheduler = null;
+        }
+        if (!coalescing) flush();
+    }
+
+    /**
+     * Coalesce changes, and flush them automatically once the specified
+     * delay has passed since the first change was buffered. This limits the
+     * events fired by this list to one per delay, however often the
+     * observed elements change.
+     *
+     * @param scheduler the {@link ScheduledExecutorService} that calls
+     *      {@link #flush()}. It must be shut down by its provider
+     * @param delay how long to buffer changes for
+     * @param unit the unit of <code>delay</code>
+     */
+    public void setCoalescingWindow(ScheduledExecutorService scheduler, long delay, TimeUnit unit) {
+        if (scheduler == null || unit == null) throw new NullPointerException("scheduler and unit may not be null");
+        synchronized (this.pendingChanges) {
+            this.coalescing = true;
+            this.flushScheduler = scheduler;
+            this.flushDelay = delay;
+            this.flushDelayUnit = unit;
+        }
+    }
+
+    /**
+     * Deliver all buffered changes as a single {@link ListEvent}, which has an
+     * update block for each run of adjacent changed elements. This does
+     * nothing if no changes are buffered.
+     *
+     * <p>Like {@link #elementChanged(Object)}, this method acquires the write
+     * lock for this list and may be called on any Thread.
+     */
+    public void flush() {
+        final Object[] changed;
+        synchronized (this.pendingChanges) {
+            this.flushScheduled = false;
+            if (this.pendingChanges.isEmpty()) return;
+            changed = this.pendingChanges.toArray();
+            this.pendingChanges.clear();
+        }
+
+        getReadWriteLock().writeLock().lock();
+        try {
+            // the list may have been disposed while the changes were buffered
+            if (this.observedElements == null) return;
+
+            // locate all indexes containing the changed elements, in increasing order
+            int indexCount = 0;
+            for (int e = 0; e < changed.length; e++)
+                indexCount += this.elementNodes.get(changed[e]).size();
+            final int[] indices = new int[indexCount];
+            int i = 0;
+            for (int e = 0; e < changed.length; e++) {
+                final List<Element<E>> nodes = this.elementNodes.get(changed[e]);
+                for (int n = 0; n < nodes.size(); n++)
+                    indices[i++] = this.observedElements.indexOfNode(nodes.get(n), ALL_COLORS);
+            }
+            Arrays.sort(indices);
+
+            this.updates.beginEvent();
+            for (i = 0; i < indices.length; i++)
+                this.updates.elementUpdated(indices[i], get(indices[i]));
+            this.updates.commitEvent();
+        } finally {
+            getReadWriteLock().writeLock().unlock();
+        }
+    }
+
+    /**
+     * Buffer changes until the matching {@link #endElementChanges()}, so that
+     * they are delivered as a single {@link ListEvent}. This is usually
+     * called by the {@link Connector}, for example by
+     * {@link ca.odell.glazedlists.impl.beans.BeanConnector#beginChanges()}.
+     * Groups may be nested, and may be started on different threads. The
+     * changes are delivered when all groups have ended.
+     */
+    @Override
+    public void beginElementChanges() {
+        synchronized (this.pendingChanges) {
+            this.elementChangesDepth++;
+        }
+    }
+
+    /**
+     * End a group of changes started by {@link #beginElementChanges()}. When
+     * the last group ends, the buffered changes are flushed, unless changes
+     * are being coalesced anyway.
+     *
+     * @throws IllegalStateException if no group has been started
+     */
+    @Override
+    public void endElementChanges() {
+        final boolean flush;
+        synchronized (this.pendingChanges) {
+            if (this.elementChangesDepth == 0) throw new IllegalStateException("No element changes have begun");
+            this.elementChangesDepth--;
+            flush = this.elementChangesDepth == 0 && !this.coalescing;
+        }
+        if (flush) flush();
+    }
+
     /**
      * An interface defining the methods required for registering and
      * unregistering change listeners on list elements within an {@link ObservableElementList}.
@@ -6,6 +6,7 @@ package ca.odell.glazedlists;
 import ca.odell.glazedlists.event.ListEvent;
 
 import java.util.Comparator;
+import java.util.function.Function;
 
 /**
  * An {@link EventList} that shows the unique elements from its source
@@ -49,6 +50,20 @@ public final class PopularityList<E> extends TransformedList<E, E> {
         return new PopularityList<>(UniqueList.create(source));
     }
 
+    /**
+     * Creates a new {@link PopularityList} that provides frequency-ranking
+     * for the specified {@link EventList}, counting elements whose keys are
+     * equal. Counting is done by a hashed {@link UniqueList}, so the elements
+     * need not be {@link Comparable} and each count takes constant time.
+     *
+     * @param keyFunction produces the key of each element. Keys must implement
+     *      {@link Object#hashCode()} and {@link Object#equals(Object)}.
+     * @see UniqueList#createHashed(EventList, Function)
+     */
+    public static <E> PopularityList<E> createHashed(EventList<E> source, Function<? super E, ?> keyFunction) {
+        return new PopularityList<>(UniqueList.createHashed(source, keyFunction));
+    }
+
     /**
      * Creates a new {@link PopularityList} that provides frequency-ranking
      * for the specified {@link EventList}. All elements of the source {@link EventList}
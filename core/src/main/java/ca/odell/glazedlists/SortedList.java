@@ -4,11 +4,13 @@
 package ca.odell.glazedlists;
 
 import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.impl.PrimitiveLists;
 import ca.odell.glazedlists.impl.adt.barcode2.Element;
 import ca.odell.glazedlists.impl.adt.barcode2.SimpleTree;
 import ca.odell.glazedlists.impl.adt.barcode2.SimpleTreeIterator;
 
 import java.util.*;
+import java.util.function.IntBinaryOperator;
 
 /**
  * An {@link EventList} that shows its source {@link EventList} in sorted order.
@@ -17,6 +19,10 @@ import java.util.*;
  * {@link Comparator} is specified, all of the elements of the source {@link EventList}
  * must implement {@link Comparable}.
  *
+ * <p>If the source is a {@link DoubleEventList}, {@link LongEventList} or
+ * {@link IntEventList}, a {@link DoubleComparator} or {@link LongComparator}
+ * compares the source values without boxing them.
+ *
  * <p>This {@link EventList} supports all write operations.
  *
  * <p><strong><font color="#FF0000">Warning:</font></strong> This class
@@ -72,6 +78,23 @@ public final class SortedList<E> extends TransformedList<E,E> {
      */
     public static final int AVOID_MOVING_ELEMENTS = 1;
 
+    // Determines whether setComparator() re-sorts with a bulk array sort, or by
+    // inserting each element into the sorted tree as it used to. The latter is
+    // only selected by the system property, to compare the two in benchmarks.
+    // Default behavior is to sort in bulk.
+    private static final boolean BULK_SORT;
+    static {
+        boolean bulk_sort = true;
+        try {
+            bulk_sort = System.getProperty(
+                "glazedlists.compat.tree_insert_sort") == null;
+        }
+        catch(SecurityException ex) { // probably running in an applet
+            // ignore
+        }
+        BULK_SORT = bulk_sort;
+    }
+
     /** a map from the unsorted index to the sorted index */
     private SimpleTree<Element> unsorted = null;
     /** a map from the sorted index to the unsorted index */
@@ -80,9 +103,23 @@ public final class SortedList<E> extends TransformedList<E,E> {
     /** the comparator that this list uses for sorting */
     private Comparator<? super E> comparator = null;
 
+    /** compares the source elements at two indices with the comparator without boxing them, or <code>null</code> if the comparator isn't primitive */
+    private IntBinaryOperator primitiveComparator = null;
+
     /** one of {@link #STRICT_SORT_ORDER} or {@link #AVOID_MOVING_ELEMENTS}. */
     private int mode = STRICT_SORT_ORDER;
 
+    /** the fewest inserts in a single source change that are sorted and inserted as a batch */
+    private int batchInsertThreshold = DEFAULT_BATCH_INSERT_THRESHOLD;
+
+    /** the default value of {@link #batchInsertThreshold} */
+    private static final int DEFAULT_BATCH_INSERT_THRESHOLD = 1000;
+
+    /** the nodes changed by the current event, kept so each event doesn't allocate new lists */
+    private final List<Element> insertNodes = new ArrayList<>();
+    private final List<Element<Element>> updateNodes = new ArrayList<>();
+    private final List<E> previousValues = new ArrayList<>();
+
     /**
      * Creates a {@link SortedList} that sorts the specified {@link EventList}.
      * All elements in the specified {@link EventList} must implement {@link Comparable}.
@@ -138,6 +175,22 @@ public final class SortedList<E> extends TransformedList<E,E> {
             setComparator(getComparator());
         }
     }
+    /**
+     * Set the fewest inserts in a single change to the source list that are
+     * sorted once and then inserted together. The inserts are fired in
+     * increasing index order, so adjacent elements form a single block. When
+     * the batch is large relative to this list, it is merged with the sorted
+     * elements in a single pass. Smaller changes insert each element with its
+     * own binary search.
+     *
+     * @param batchInsertThreshold the threshold, or {@link Integer#MAX_VALUE}
+     *      to always insert one element at a time
+     */
+    public void setBatchInsertThreshold(int batchInsertThreshold) {
+        if(batchInsertThreshold < 0) throw new IllegalArgumentException("batchInsertThreshold must be non-negative: " + batchInsertThreshold);
+        this.batchInsertThreshold = batchInsertThreshold;
+    }
+
     /**
      * Get the behaviour mode for this {@link SortedList}.
      *
@@ -231,9 +284,9 @@ public final class SortedList<E> extends TransformedList<E,E> {
         updates.beginEvent();
 
         // first update the offset tree for all changes, and keep the changed nodes in a list
-        LinkedList<Element> insertNodes = new LinkedList<>();
-        List<Element<Element>> updateNodes = new ArrayList<>();
-        List<E> previousValues = new ArrayList<>();
+        insertNodes.clear();
+        updateNodes.clear();
+        previousValues.clear();
 
         // Update the indexed tree so it matches the source.
         // Save the nodes to be inserted and updated as well
@@ -246,7 +299,7 @@ public final class SortedList<E> extends TransformedList<E,E> {
             // on insert, insert the index node
             if(changeType == ListEvent.INSERT) {
                 Element<Element> unsortedNode = unsorted.add(unsortedIndex, EMPTY_ELEMENT, 1);
-                insertNodes.addLast(unsortedNode);
+                insertNodes.add(unsortedNode);
 
             // on update, mark the updated node as unsorted and save it so it can be moved
             } else if(changeType == ListEvent.UPDATE) {
@@ -346,16 +399,160 @@ public final class SortedList<E> extends TransformedList<E,E> {
         }
 
         // fire insert events
-        while(!insertNodes.isEmpty()) {
-            Element insertNode = insertNodes.removeFirst();
-            int insertedIndex = insertByUnsortedNode(insertNode);
-            updates.addInsert(insertedIndex);
+        if(insertNodes.size() < batchInsertThreshold || !insertInBatch(insertNodes)) {
+            for(int i = 0, size = insertNodes.size(); i < size; i++) {
+                int insertedIndex = insertByUnsortedNode(insertNodes.get(i));
+                updates.addInsert(insertedIndex);
+            }
         }
 
+        // don't hold on to the changed nodes between events
+        insertNodes.clear();
+        updateNodes.clear();
+        previousValues.clear();
+
         // commit the changes and notify listeners
         updates.commitEvent();
     }
 
+    /**
+     * Inserts the specified unsorted nodes into the sorted tree and fires the
+     * inserts. The batch is sorted once, then inserted in increasing order so
+     * that the inserts are fired as contiguous blocks.
+     *
+     * <p>If the batch is large relative to this list, the sorted tree is rebuilt
+     * by merging the batch with the sorted elements in a single pass. That
+     * costs <code>O(N + K log K)</code>, rather than <code>O(K log N)</code>
+     * for inserting each element separately.
+     *
+     * @return <code>false</code> if the {@link Comparator} was rejected by the
+     *      array sort, in which case nothing has been inserted
+     */
+    private boolean insertInBatch(List<Element> insertNodes) {
+        final int batchSize = insertNodes.size();
+        final int existingSize = sorted.size();
+
+        // merging only makes sense while every element is in sorted order
+        final int depth = 32 - Integer.numberOfLeadingZeros(existingSize + batchSize);
+        final boolean merge = mode == STRICT_SORT_ORDER && (long)batchSize * depth >= existingSize;
+
+        // pair each inserted node with its value and source index
+        final SortEntry[] batch = new SortEntry[batchSize];
+        if(merge) {
+            int index = 0;
+            int b = 0;
+            for(SimpleTreeIterator<Element> i = new SimpleTreeIterator<>(unsorted); i.hasNext(); index++) {
+                i.next();
+                if(i.value() == EMPTY_ELEMENT) batch[b++] = new SortEntry(i.node(), source.get(index), index);
+            }
+        } else {
+            int b = 0;
+            for(Element insertNode : insertNodes) {
+                int index = unsorted.indexOfNode(insertNode, ALL_COLORS);
+                batch[b++] = new SortEntry(insertNode, source.get(index), index);
+            }
+        }
+
+        // sort the batch with the same tie-breaking as ElementComparator
+        final Comparator<SortEntry> entryComparator = sortEntryComparator();
+        try {
+            Arrays.sort(batch, entryComparator);
+        } catch(IllegalArgumentException e) {
+            // the comparator violates its contract, the tree tolerates that
+            return false;
+        }
+
+        if(!merge) {
+            // inserting in increasing order makes each insert land after the last
+            final Object[] values = new Object[batchSize];
+            int runStart = 0;
+            int runStartIndex = -1;
+            for(int b = 0; b < batchSize; b++) {
+                values[b] = batch[b].value;
+                int insertedIndex = insertByUnsortedNode(batch[b].unsortedNode);
+                if(b == 0) {
+                    runStartIndex = insertedIndex;
+                } else if(insertedIndex != runStartIndex + (b - runStart)) {
+                    updates.elementsInserted(runStartIndex, Arrays.asList((E[])values).subList(runStart, b));
+                    runStart = b;
+                    runStartIndex = insertedIndex;
+                }
+            }
+            updates.elementsInserted(runStartIndex, Arrays.asList((E[])values).subList(runStart, batchSize));
+            return true;
+        }
+
+        // stash each element's source index on its sorted node, which is
+        // being discarded so its sort flag is free to use
+        int index = 0;
+        for(SimpleTreeIterator<Element> i = new SimpleTreeIterator<>(unsorted); i.hasNext(); index++) {
+            i.next();
+            if(i.value() != EMPTY_ELEMENT) ((Element)i.value()).setSorted(index);
+        }
+
+        // merge the sorted elements with the batch
+        final int size = existingSize + batchSize;
+        final Element[] unsortedNodes = new Element[size];
+        final Object[] values = new Object[size];
+        final boolean[] inserted = new boolean[size];
+        int merged = 0;
+        int b = 0;
+        for(SimpleTreeIterator<Element> i = new SimpleTreeIterator<>(sorted); i.hasNext(); ) {
+            i.next();
+            final int sourceIndex = i.node().getSorted();
+            final SortEntry existing = new SortEntry(i.value(), source.get(sourceIndex), sourceIndex);
+            for(; b < batchSize && entryComparator.compare(batch[b], existing) < 0; b++, merged++) {
+                unsortedNodes[merged] = batch[b].unsortedNode;
+                values[merged] = batch[b].value;
+                inserted[merged] = true;
+            }
+            unsortedNodes[merged] = existing.unsortedNode;
+            values[merged] = existing.value;
+            merged++;
+        }
+        for(; b < batchSize; b++, merged++) {
+            unsortedNodes[merged] = batch[b].unsortedNode;
+            values[merged] = batch[b].value;
+            inserted[merged] = true;
+        }
+
+        // rebuild the balanced tree and link the unsorted nodes to it
+        final Element[] sortedNodes = new Element[size];
+        sorted.bulkLoad(unsortedNodes, sortedNodes);
+        for(int i = 0; i < size; i++) {
+            unsortedNodes[i].set(sortedNodes[i]);
+        }
+
+        // fire each run of adjacent inserts as a single block
+        final List<E> valueList = Arrays.asList((E[])values);
+        for(int start = 0; start < size; start++) {
+            if(!inserted[start]) continue;
+            int end = start + 1;
+            while(end < size && inserted[end]) end++;
+            updates.elementsInserted(start, valueList.subList(start, end));
+            start = end;
+        }
+        return true;
+    }
+
+    /**
+     * Compares {@link SortEntry}s by value using the current {@link Comparator},
+     * and by source index if their values are equal.
+     */
+    private Comparator<SortEntry> sortEntryComparator() {
+        final Comparator<? super E> valueComparator = comparator;
+        if(valueComparator == null) return (alpha, beta) -> alpha.index - beta.index;
+        final IntBinaryOperator indexComparator = primitiveComparator;
+        if(indexComparator != null) return (alpha, beta) -> {
+            int result = indexComparator.applyAsInt(alpha.index, beta.index);
+            return result != 0 ? result : alpha.index - beta.index;
+        };
+        return (alpha, beta) -> {
+            int result = valueComparator.compare((E)alpha.value, (E)beta.value);
+            return result != 0 ? result : alpha.index - beta.index;
+        };
+    }
+
     /**
      * Inserts the specified unsorted node as the value in the sorted tree
      * and returns the sorted order.
@@ -418,6 +615,8 @@ public final class SortedList<E> extends TransformedList<E,E> {
      * sort the source {@link EventList} into a new order.
      *
      * <p>Performance Note: sorting will take <code>O(N * Log N)</code> time.
+     * The source elements are sorted as an array, in parallel for large lists,
+     * and the sorted index is then rebuilt in <code>O(N)</code>.
      *
      * <p><strong><font color="#FF0000">Warning:</font></strong> This method is
      * thread ready but not thread safe. See {@link EventList} for an example
@@ -432,6 +631,7 @@ public final class SortedList<E> extends TransformedList<E,E> {
     public void setComparator(Comparator<? super E> comparator) {
         // save this comparator
         this.comparator = comparator;
+        this.primitiveComparator = PrimitiveLists.comparatorAt(source, comparator);
         // keep the old trees to construct the reordering
         SimpleTree previousSorted = sorted;
         // create the sorted list with a simple comparator
@@ -444,9 +644,12 @@ public final class SortedList<E> extends TransformedList<E,E> {
         if(previousSorted == null && unsorted == null) {
             unsorted = new SimpleTree<>();
             // add all elements in the source list, in order
-            for(int i = 0, n = source.size(); i < n; i++) {
-                Element unsortedNode = unsorted.add(i, EMPTY_ELEMENT, 1);
-                insertByUnsortedNode(unsortedNode);
+            unsorted.bulkLoad(new Element[source.size()], null);
+            // then sort them all at once, if the comparator allows it
+            if(BULK_SORT && sortInBulk(null)) return;
+            for(SimpleTreeIterator<Element> i = new SimpleTreeIterator<>(unsorted); i.hasNext(); ) {
+                i.next();
+                insertByUnsortedNode(i.node());
             }
             // this is the first sort so we're done
             return;
@@ -455,6 +658,17 @@ public final class SortedList<E> extends TransformedList<E,E> {
         // if the lists are empty, we're done
         if(source.isEmpty()) return;
 
+        // prefer rebuilding the sorted tree in bulk
+        if(BULK_SORT) {
+            int[] reorderMap = rebuildSortedInBulk(previousSorted);
+            if(reorderMap != null) {
+                updates.beginEvent();
+                updates.reorder(reorderMap);
+                updates.commitEvent();
+                return;
+            }
+        }
+
         // rebuild the sorted tree to reflect the new Comparator
         for(SimpleTreeIterator<Element> i = new SimpleTreeIterator<>(unsorted); i.hasNext(); ) {
             i.next();
@@ -480,6 +694,108 @@ public final class SortedList<E> extends TransformedList<E,E> {
         updates.commitEvent();
     }
 
+    /**
+     * Rebuilds the empty {@link #sorted} tree from scratch for the current
+     * {@link Comparator}, and computes the reorder map from the previous sort
+     * order in a single linear walk.
+     *
+     * @param previousSorted the sorted tree for the previous {@link Comparator},
+     *      which is discarded by this method
+     * @return the reorder map from the previous sort order to the new one, or
+     *      <code>null</code> if the {@link Comparator} was rejected by the array
+     *      sort and the tree must be rebuilt one element at a time
+     */
+    private int[] rebuildSortedInBulk(SimpleTree<Element> previousSorted) {
+        // stash each element's previous sorted index on its previous sorted
+        // node. That tree is being discarded so its sort flags are free to use
+        int previousIndex = 0;
+        for(SimpleTreeIterator<Element> i = new SimpleTreeIterator<>(previousSorted); i.hasNext(); previousIndex++) {
+            i.next();
+            i.node().setSorted(previousIndex);
+        }
+
+        final int[] reorderMap = new int[unsorted.size()];
+        return sortInBulk(reorderMap) ? reorderMap : null;
+    }
+
+    /**
+     * Builds the empty {@link #sorted} tree from scratch for the current
+     * {@link Comparator}. The source elements are sorted as an array in
+     * parallel, and the balanced tree is then built bottom-up in
+     * <code>O(N)</code>.
+     *
+     * <p>The array sort is stable, so elements that compare equally retain
+     * their source order, just as they do with {@link ElementComparator}.
+     *
+     * @param reorderMap if non-<code>null</code>, this is populated with the
+     *      previous sorted index of each element, read from the sort flag of
+     *      its previous sorted node
+     * @return <code>false</code> if the {@link Comparator} was rejected by the
+     *      array sort, in which case the sorted tree is left empty
+     */
+    private boolean sortInBulk(int[] reorderMap) {
+        final int size = unsorted.size();
+
+        // pair each unsorted node with its value, in source order. A primitive
+        // comparator reads the values by index, so they aren't boxed
+        final IntBinaryOperator indexComparator = primitiveComparator;
+        final SortEntry[] entries = new SortEntry[size];
+        int index = 0;
+        for(SimpleTreeIterator<Element> i = new SimpleTreeIterator<>(unsorted); i.hasNext(); index++) {
+            i.next();
+            entries[index] = new SortEntry(i.node(), indexComparator == null ? source.get(index) : null, index);
+        }
+
+        // sort by value, unless this list is unsorted and source order applies
+        if(indexComparator != null) {
+            try {
+                Arrays.parallelSort(entries, (alpha, beta) -> indexComparator.applyAsInt(alpha.index, beta.index));
+            } catch(IllegalArgumentException e) {
+                // the comparator violates its contract, the tree tolerates that
+                return false;
+            }
+        } else if(comparator != null) {
+            final Comparator<? super E> valueComparator = comparator;
+            try {
+                Arrays.parallelSort(entries, (alpha, beta) -> valueComparator.compare((E)alpha.value, (E)beta.value));
+            } catch(IllegalArgumentException e) {
+                // the comparator violates its contract, the tree tolerates that
+                return false;
+            }
+        }
+
+        // build the balanced tree of unsorted nodes
+        final Element[] unsortedNodes = new Element[size];
+        for(int i = 0; i < size; i++) {
+            unsortedNodes[i] = entries[i].unsortedNode;
+        }
+        final Element[] sortedNodes = new Element[size];
+        sorted.bulkLoad(unsortedNodes, sortedNodes);
+
+        // link the unsorted nodes to their sorted nodes
+        for(int i = 0; i < size; i++) {
+            if(reorderMap != null) reorderMap[i] = ((Element)unsortedNodes[i].get()).getSorted();
+            unsortedNodes[i].set(sortedNodes[i]);
+        }
+        return true;
+    }
+
+    /**
+     * An unsorted node with its source value and index, sorted together by
+     * {@link #sortInBulk} and {@link #insertInBatch}.
+     */
+    private static final class SortEntry {
+        private final Element unsortedNode;
+        private final Object value;
+        private final int index;
+
+        SortEntry(Element unsortedNode, Object value, int index) {
+            this.unsortedNode = unsortedNode;
+            this.value = value;
+            this.index = index;
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public int indexOf(Object object) {
@@ -638,13 +954,18 @@ public final class SortedList<E> extends TransformedList<E,E> {
             if(alpha instanceof Element) {
                 Element alphaTreeNode = (Element)alpha;
                 alphaIndex = unsorted.indexOfNode(alphaTreeNode, ALL_COLORS);
-                alphaObject = source.get(alphaIndex);
             }
             if(beta instanceof Element) {
                 Element betaTreeNode = (Element)beta;
                 betaIndex = unsorted.indexOfNode(betaTreeNode, ALL_COLORS);
-                betaObject = source.get(betaIndex);
             }
+            // compare two source elements without boxing them if possible
+            if(alphaIndex != -1 && betaIndex != -1 && primitiveComparator != null) {
+                int result = primitiveComparator.applyAsInt(alphaIndex, betaIndex);
+                return result != 0 ? result : alphaIndex - betaIndex;
+            }
+            if(alphaIndex != -1) alphaObject = source.get(alphaIndex);
+            if(betaIndex != -1) betaObject = source.get(betaIndex);
             int result = comparator.compare(alphaObject, betaObject);
             if(result != 0) return result;
             if(alphaIndex != -1 && betaIndex != -1) return alphaIndex - betaIndex;
@@ -0,0 +1,255 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.impl.Preconditions;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * An {@link EventList} that shows the elements of its source whose timestamps
+ * are within a window of time ending now, such as the trades of the last five
+ * minutes. Timestamps are in milliseconds since the epoch, like
+ * {@link System#currentTimeMillis()}.
+ *
+ * <p>Elements leave the window when {@link #expire} is called. If this list
+ * is created with a {@link ScheduledExecutorService}, that's done on every
+ * tick, and all of the elements that leave the window in that tick are
+ * removed from this list in a single {@link ListEvent}.
+ *
+ * <p>The source must be in timestamp order, as is usual for a stream of
+ * events, since elements leave the window from the start of the source. Once
+ * an element is in the window, so are all of the elements after it. This lets
+ * each element leave the window in constant time.
+ *
+ * <p>By default, expired elements are hidden rather than removed from the
+ * source. The source then grows without bound unless the caller removes them,
+ * for example by clearing the start of the source that's no longer in the
+ * window. Call {@link #setEvictExpired(boolean) setEvictExpired(true)} to have
+ * this list remove them from the source as they expire, while it holds the
+ * write lock. This requires a writable source, and only the expired elements
+ * at the start of the source are removed.
+ *
+ * <p><strong><font color="#FF0000">Warning:</font></strong> This class is
+ * thread ready but not thread safe. See {@link EventList} for an example
+ * of thread safe code. Its scheduled expiry holds the source's write lock, and
+ * notifies listeners on the scheduler's thread.
+ *
+ * <p><table border="1" width="100%" cellpadding="3" cellspacing="0">
+ * <tr class="TableHeadingColor"><td colspan=2><font size="+2"><b>EventList Overview</b></font></td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Writable:</b></td><td>yes</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Concurrency:</b></td><td>thread ready, not thread safe</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Performance:</b></td><td>reads: O(1), expiry: O(1) amortized per element</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Memory:</b></td><td>0 bytes per element</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Unit Tests:</b></td><td>TimeWindowListTest</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Issues:</b></td><td>N/A</td></tr>
+ * </table>
+ */
+public final class TimeWindowList<E> extends TransformedList<E, E> {
+
+    /** the timestamp of each element, in milliseconds since the epoch */
+    private final ToLongFunction<? super E> timestampFunction;
+
+    /** the length of the window, in milliseconds */
+    private final long windowMillis;
+
+    /** the number of elements at the start of the source that have left the window */
+    private int expired = 0;
+
+    /** whether expired elements are removed from the source, rather than hidden */
+    private boolean evictExpired = false;
+
+    /** the scheduled expiry, or <code>null</code> if {@link #expire} is called by hand */
+    private ScheduledFuture<?> expiry;
+
+    /**
+     * Creates a {@link TimeWindowList} whose elements leave the window when
+     * {@link #expire} is called.
+     *
+     * @param source the {@link EventList} of elements in timestamp order
+     * @param timestampFunction produces the timestamp of each element, in
+     *      milliseconds since the epoch
+     * @param window the length of the window
+     */
+    public TimeWindowList(EventList<E> source, ToLongFunction<? super E> timestampFunction, Duration window) {
+        super(source);
+        this.timestampFunction = Preconditions.checkNotNull(timestampFunction, "timestamp function is undefined");
+        this.windowMillis = window.toMillis();
+        Preconditions.checkArgument(windowMillis > 0, "window must be positive: %s", window);
+
+        source.addListEventListener(this);
+    }
+
+    /**
+     * Creates a {@link TimeWindowList} whose elements leave the window on
+     * each tick of the specified scheduler, starting immediately.
+     *
+     * @param source the {@link EventList} of elements in timestamp order
+     * @param timestampFunction produces the timestamp of each element, in
+     *      milliseconds since the epoch
+     * @param window the length of the window
+     * @param scheduler runs the expiry
+     * @param tick the time between expiries
+     */
+    public TimeWindowList(EventList<E> source, ToLongFunction<? super E> timestampFunction, Duration window, ScheduledExecutorService scheduler, Duration tick) {
+        this(source, timestampFunction, window);
+        final long tickMillis = tick.toMillis();
+        Preconditions.checkArgument(tickMillis > 0, "tick must be positive: %s", tick);
+        expiry = scheduler.scheduleAtFixedRate(this::expireNow, 0, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Expire the elements that have left the window by the current time,
+     * while holding the write lock.
+     */
+    private void expireNow() {
+        getReadWriteLock().writeLock().lock();
+        try {
+            expire(System.currentTimeMillis());
+        } finally {
+            getReadWriteLock().writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove the elements that have left a window ending at the specified
+     * time from this list, in a single {@link ListEvent}. If expired elements
+     * are {@link #setEvictExpired(boolean) evicted}, they are also removed from
+     * the source.
+     *
+     * <p>As with other changes to an {@link EventList}, the caller must hold
+     * the write lock.
+     *
+     * @param now the end of the window, in milliseconds since the epoch
+     */
+    public void expire(long now) {
+        final long start = now - windowMillis;
+        int count = 0;
+        while (expired + count < source.size() && timestampFunction.applyAsLong(source.get(expired + count)) < start) {
+            count++;
+        }
+        if (count == 0 && (expired == 0 || !evictExpired)) return;
+
+        // removing the expired prefix from the source fires its deletes
+        // through listChanged, which are gathered into a single event
+        if (evictExpired) {
+            updates.beginEvent(true);
+            source.subList(0, expired + count).clear();
+            updates.commitEvent();
+            return;
+        }
+
+        updates.beginEvent();
+        for (int i = 0; i < count; i++) {
+            updates.elementDeleted(0, source.get(expired + i));
+        }
+        expired += count;
+        updates.commitEvent();
+    }
+
+    /**
+     * Set whether expired elements are removed from the source, rather than
+     * only hidden from this list. Elements that have already expired are
+     * removed on the next call to {@link #expire}.
+     *
+     * @param evictExpired <code>true</code> to remove expired elements from
+     *      the source, which must then be writable
+     */
+    public void setEvictExpired(boolean evictExpired) {
+        this.evictExpired = evictExpired;
+    }
+
+    /**
+     * Get whether expired elements are removed from the source.
+     */
+    public boolean isEvictExpired() {
+        return evictExpired;
+    }
+
+    /**
+     * Get the length of the window, in milliseconds.
+     */
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        return source.size() - expired;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected int getSourceIndex(int mutationIndex) {
+        return mutationIndex + expired;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected boolean isWritable() {
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void listChanged(ListEvent<E> listChanges) {
+        // a reordering may move elements into or out of the window, so show
+        // them all until the next expiry
+        if (listChanges.isReordering()) {
+            updates.beginEvent();
+            final int[] reorderMap = listChanges.getReorderMap();
+            if (expired == 0) {
+                updates.reorder(reorderMap);
+            } else {
+                final int[] reorderedIndices = new int[reorderMap.length];
+                for (int i = 0; i < reorderMap.length; i++) {
+                    reorderedIndices[reorderMap[i]] = i;
+                }
+                for (int i = expired; i < reorderedIndices.length; i++) {
+                    updates.elementDeleted(0, source.get(reorderedIndices[i]));
+                }
+                expired = 0;
+                if (!source.isEmpty()) updates.addInsert(0, source.size() - 1);
+            }
+            updates.commitEvent();
+            return;
+        }
+
+        updates.beginEvent();
+        while (listChanges.next()) {
+            final int sourceIndex = listChanges.getIndex();
+            final int type = listChanges.getType();
+
+            // changes before the window only move it
+            if (sourceIndex < expired) {
+                if (type == ListEvent.INSERT) expired++;
+                else if (type == ListEvent.DELETE) expired--;
+                continue;
+            }
+
+            final int index = sourceIndex - expired;
+            if (type == ListEvent.INSERT) {
+                updates.elementInserted(index, listChanges.getNewValue());
+            } else if (type == ListEvent.DELETE) {
+                updates.elementDeleted(index, listChanges.getOldValue());
+            } else if (type == ListEvent.UPDATE) {
+                updates.elementUpdated(index, listChanges.getOldValue(), listChanges.getNewValue());
+            }
+        }
+        updates.commitEvent();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void dispose() {
+        if (expiry != null) expiry.cancel(false);
+        super.dispose();
+    }
+}
@@ -5,18 +5,29 @@ package ca.odell.glazedlists;
 
 import ca.odell.glazedlists.event.ListEvent;
 import ca.odell.glazedlists.impl.Grouper;
+import ca.odell.glazedlists.impl.HashGrouper;
+import ca.odell.glazedlists.impl.Preconditions;
 import ca.odell.glazedlists.impl.adt.BarcodeIterator;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * An {@link EventList} that shows the unique elements from its source
  * {@link EventList}. For example, the source list {A, A, B, C, C, C, D} would
  * be simplified to {A, B, C, D} by this UniqueList.
  *
+ * <p>By default, duplicates are found using a {@link Comparator} and the unique
+ * elements are kept in sorted order. A UniqueList created by
+ * {@link #createHashed(EventList, Function)} instead finds duplicates by the
+ * {@link Object#hashCode() hashCode} and {@link Object#equals(Object) equals}
+ * of a key, which takes constant time per change instead of logarithmic, and
+ * keeps the unique elements in the order they were first seen. Its
+ * {@link #getCount(int)} also takes constant time.
+ *
  * <p><strong><font color="#FF0000">Warning:</font></strong> This class breaks
  * the contract required by {@link List}. See {@link EventList} for an example.
  *
@@ -49,9 +60,12 @@ import java.util.List;
  */
 public final class UniqueList<E> extends TransformedList<E, E> {
 
-    /** the grouping service manages collapsing out duplicates */
+    /** the grouping service manages collapsing out duplicates, or <code>null</code> if hashed */
     private final Grouper<E> grouper;
 
+    /** the grouping service for hashed keys, or <code>null</code> if sorted */
+    private final HashGrouper<E> hashGrouper;
+
     /**
      * Creates a {@link UniqueList} that determines uniqueness via the
      * {@link Comparable} interface. All elements of the source {@link EventList}
@@ -63,6 +77,32 @@ public final class UniqueList<E> extends TransformedList<E, E> {
         return new UniqueList<>(source);
     }
 
+    /**
+     * Creates a {@link UniqueList} that determines uniqueness via
+     * {@link Object#equals(Object)}, keeping the unique elements in the order
+     * they were first seen in the source {@link EventList}.
+     *
+     * @param source the {@link EventList} containing duplicates to remove
+     */
+    public static <E> UniqueList<E> createHashed(EventList<E> source) {
+        return createHashed(source, Function.identity());
+    }
+
+    /**
+     * Creates a {@link UniqueList} that considers elements to be duplicates if
+     * their keys are equal, keeping the unique elements in the order they were
+     * first seen in the source {@link EventList}.
+     *
+     * @param source the {@link EventList} containing duplicates to remove
+     * @param keyFunction produces the key of each element. Keys must implement
+     *      {@link Object#hashCode()} and {@link Object#equals(Object)}, and
+     *      <code>null</code> keys are allowed.
+     */
+    public static <E> UniqueList<E> createHashed(EventList<E> source, Function<? super E, ?> keyFunction) {
+        Preconditions.checkNotNull(keyFunction, "key function is undefined");
+        return new UniqueList<>(source, keyFunction);
+    }
+
     /**
      * Creates a {@link UniqueList} that determines uniqueness via the
      * {@link Comparable} interface. All elements of the source {@link EventList}
@@ -108,6 +148,20 @@ public final class UniqueList<E> extends TransformedList<E, E> {
 
         // the grouper handles changes to the SortedList
         this.grouper = new Grouper<>(source, new GrouperClient());
+        this.hashGrouper = null;
+
+        source.addListEventListener(this);
+    }
+
+    /**
+     * A private constructor which groups the source {@link EventList} directly,
+     * by hashing the key of each element.
+     */
+    private UniqueList(EventList<E> source, Function<? super E, ?> keyFunction) {
+        super(source);
+
+        this.grouper = null;
+        this.hashGrouper = new HashGrouper<>(source, keyFunction, new HashGrouperClient());
 
         source.addListEventListener(this);
     }
@@ -127,14 +181,33 @@ public final class UniqueList<E> extends TransformedList<E, E> {
         }
     }
 
+    /**
+     * Handle changes to the hash grouper's groups.
+     */
+    private class HashGrouperClient implements HashGrouper.Client<E> {
+        @Override
+        public void groupChanged(int groupIndex, int groupChangeType, E oldValue, E newValue) {
+            switch (groupChangeType) {
+                case ListEvent.INSERT: updates.elementInserted(groupIndex, newValue); break;
+                case ListEvent.UPDATE: updates.elementUpdated(groupIndex, oldValue, newValue); break;
+                case ListEvent.DELETE: updates.elementDeleted(groupIndex, oldValue); break;
+                default: throw new IllegalStateException("Unrecognized groupChangeType: " + groupChangeType);
+            }
+        }
+    }
+
     /**
      * Change the {@link Comparator} which determines the unique elements
      * of this List.
      *
      * @param comparator the {@link Comparator} used to determine groupings;
      *      <tt>null</tt> will be treated as {@link GlazedLists#comparableComparator()}
+     * @throws UnsupportedOperationException if this list was created by
+     *      {@link #createHashed(EventList, Function)}
      */
     public void setComparator(Comparator<? super E> comparator) {
+        if (hashGrouper != null)
+            throw new UnsupportedOperationException("a hashed UniqueList has no Comparator");
         if (comparator == null)
             comparator = (Comparator) GlazedLists.comparableComparator();
         ((SortedList<E>) this.source).setComparator(comparator);
@@ -143,13 +216,22 @@ public final class UniqueList<E> extends TransformedList<E, E> {
     /** {@inheritDoc} */
     @Override
     public int size() {
+        if(hashGrouper != null) return hashGrouper.size();
         return grouper.getBarcode().colourSize(Grouper.UNIQUE);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public E get(int index) {
+        if(hashGrouper != null) return hashGrouper.getGroup(index).get(0);
+        return super.get(index);
+    }
+
     /** {@inheritDoc} */
     @Override
     protected int getSourceIndex(int index) {
         if(index == size()) return source.size();
+        if(hashGrouper != null) return hashGrouper.getGroup(index).getSourceIndex(0);
         return grouper.getBarcode().getIndex(index, Grouper.UNIQUE);
     }
 
@@ -174,6 +256,11 @@ public final class UniqueList<E> extends TransformedList<E, E> {
         E result = get(index);
 
         // remove all duplicates at this index
+        if(hashGrouper != null) {
+            removeDuplicates(hashGrouper.getGroup(index), 0);
+            updates.commitEvent();
+            return result;
+        }
         int startIndex = getSourceIndex(index);
         int endIndex = getEndIndex(index);
         ((SortedList)source).subList(startIndex, endIndex).clear();
@@ -191,10 +278,14 @@ public final class UniqueList<E> extends TransformedList<E, E> {
         updates.beginEvent(true);
 
         // remove all duplicates of this value first
-        int startIndex = getSourceIndex(index) + 1;
-        int endIndex = getEndIndex(index);
-        if(endIndex > startIndex) {
-            ((SortedList)source).subList(startIndex, endIndex).clear();
+        if(hashGrouper != null) {
+            removeDuplicates(hashGrouper.getGroup(index), 1);
+        } else {
+            int startIndex = getSourceIndex(index) + 1;
+            int endIndex = getEndIndex(index);
+            if(endIndex > startIndex) {
+                ((SortedList)source).subList(startIndex, endIndex).clear();
+            }
         }
 
         // now do the set
@@ -205,6 +296,21 @@ public final class UniqueList<E> extends TransformedList<E, E> {
         return result;
     }
 
+    /**
+     * Remove the members of the specified hashed group from the source, starting
+     * with the member at <code>fromIndex</code>. The source indices are found up
+     * front since the group may not change until the source fires its event.
+     */
+    private void removeDuplicates(HashGrouper<E>.Group group, int fromIndex) {
+        final int[] sourceIndices = new int[group.size() - fromIndex];
+        for(int i = 0; i < sourceIndices.length; i++) {
+            sourceIndices[i] = group.getSourceIndex(fromIndex + i);
+        }
+        for(int i = sourceIndices.length - 1; i >= 0; i--) {
+            source.remove(sourceIndices[i]);
+        }
+    }
+
     /**
      * Returns the index in this list of the first occurrence of the specified
      * <code>element</code>, or -1 if this list does not contain this
@@ -216,6 +322,9 @@ public final class UniqueList<E> extends TransformedList<E, E> {
      * since it does not guarantee that <tt>element.equals(get(i))</tt> where i
      * is a positive index returned from this method.
      *
+     * <p>If this list was created by {@link #createHashed(EventList, Function)},
+     * the element is found by its key instead of its order.
+     *
      * @param element the element to search for.
      * @return the index in this list of the first occurrence of the specified
      *         element, or -1 if this list does not contain this element
@@ -224,6 +333,10 @@ public final class UniqueList<E> extends TransformedList<E, E> {
      */
     @Override
     public int indexOf(Object element) {
+        if(hashGrouper != null) {
+            final HashGrouper<E>.Group group = hashGrouper.getGroupOf((E) element);
+            return group == null ? -1 : hashGrouper.indexOfGroup(group);
+        }
         final int index = Collections.binarySearch(this, (E) element, ((SortedList<E>)source).getComparator());
 
         // if the element is not found (index is negative) then return -1 to indicate the list does not contain it
@@ -241,6 +354,12 @@ public final class UniqueList<E> extends TransformedList<E, E> {
     public void listChanged(ListEvent<E> listChanges) {
         updates.beginEvent(true);
 
+        if (hashGrouper != null) {
+            hashGrouper.listChanged(listChanges);
+            updates.commitEvent();
+            return;
+        }
+
         // check if this ListEvent was caused due to a change in the
         // Comparator that defines uniqueness
         final SortedList<E> sortedSource = (SortedList<E>) source;
@@ -287,6 +406,7 @@ public final class UniqueList<E> extends TransformedList<E, E> {
      * Returns the number of duplicates of the value found at the specified index.
      */
     public int getCount(int index) {
+        if(hashGrouper != null) return hashGrouper.getGroup(index).size();
         int startIndex = getSourceIndex(index);
         int endIndex = getEndIndex(index);
         return endIndex - startIndex;
@@ -296,6 +416,10 @@ public final class UniqueList<E> extends TransformedList<E, E> {
      * Returns the number of duplicates of the specified value.
      */
     public int getCount(E value) {
+        if(hashGrouper != null) {
+            final HashGrouper<E>.Group group = hashGrouper.getGroupOf(value);
+            return group == null ? 0 : group.size();
+        }
         final int index = this.indexOf(value);
         if(index == -1) return 0;
         else return getCount(index);
@@ -306,6 +430,7 @@ public final class UniqueList<E> extends TransformedList<E, E> {
      * given <code>index</code> within this {@link UniqueList}.
      */
     public List<E> getAll(int index) {
+        if(hashGrouper != null) return new ArrayList<>(hashGrouper.getGroup(index));
         int startIndex = getSourceIndex(index);
         int endIndex = getEndIndex(index);
         return new ArrayList<>(source.subList(startIndex, endIndex));
@@ -323,7 +448,7 @@ public final class UniqueList<E> extends TransformedList<E, E> {
     /** {@inheritDoc} */
     @Override
     public void dispose() {
-        ((SortedList)source).dispose();
+        if(grouper != null) ((SortedList)source).dispose();
         super.dispose();
     }
 }
\ No newline at end of file
@@ -3,7 +3,10 @@
 /*                                                     O'Dell Engineering Ltd.*/
 package ca.odell.glazedlists.event;
 
+import ca.odell.glazedlists.DoubleEventList;
 import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.IntEventList;
+import ca.odell.glazedlists.LongEventList;
 import ca.odell.glazedlists.SortedList;
 import ca.odell.glazedlists.TransformedList;
 
@@ -345,6 +348,101 @@ public abstract class ListEvent<E> extends EventObject {
     @Deprecated
     public abstract E getNewValue();
 
+    /**
+     * Gets the current value for an inserted or updated number as an
+     * <code>int</code>. If the source is an {@link IntEventList}, the value
+     * is read from it without boxing.
+     *
+     * @throws ClassCastException if the value is not a {@link Number}
+     */
+    public int getNewInt() {
+        final EventList<E> source = getSourceList();
+        if(source instanceof IntEventList) return ((IntEventList)source).getInt(getIndex());
+        return getNewNumber().intValue();
+    }
+
+    /**
+     * Gets the current value for an inserted or updated number as a
+     * <code>long</code>. If the source is a {@link LongEventList} or an
+     * {@link IntEventList}, the value is read from it without boxing.
+     *
+     * @throws ClassCastException if the value is not a {@link Number}
+     */
+    public long getNewLong() {
+        final EventList<E> source = getSourceList();
+        if(source instanceof LongEventList) return ((LongEventList)source).getLong(getIndex());
+        if(source instanceof IntEventList) return ((IntEventList)source).getInt(getIndex());
+        return getNewNumber().longValue();
+    }
+
+    /**
+     * Gets the current value for an inserted or updated number as a
+     * <code>double</code>. If the source is a {@link DoubleEventList},
+     * {@link LongEventList} or {@link IntEventList}, the value is read from it
+     * without boxing.
+     *
+     * @throws ClassCastException if the value is not a {@link Number}
+     */
+    public double getNewDouble() {
+        final EventList<E> source = getSourceList();
+        if(source instanceof DoubleEventList) return ((DoubleEventList)source).getDouble(getIndex());
+        if(source instanceof LongEventList) return ((LongEventList)source).getLong(getIndex());
+        if(source instanceof IntEventList) return ((IntEventList)source).getInt(getIndex());
+        return getNewNumber().doubleValue();
+    }
+
+    /**
+     * Gets the previous value for a deleted or updated number as an
+     * <code>int</code>.
+     *
+     * @throws IllegalStateException if the previous value is not available
+     * @throws ClassCastException if the value is not a {@link Number}
+     */
+    public int getOldInt() {
+        return getOldNumber().intValue();
+    }
+
+    /**
+     * Gets the previous value for a deleted or updated number as a
+     * <code>long</code>.
+     *
+     * @throws IllegalStateException if the previous value is not available
+     * @throws ClassCastException if the value is not a {@link Number}
+     */
+    public long getOldLong() {
+        return getOldNumber().longValue();
+    }
+
+    /**
+     * Gets the previous value for a deleted or updated number as a
+     * <code>double</code>.
+     *
+     * @throws IllegalStateException if the previous value is not available
+     * @throws ClassCastException if the value is not a {@link Number}
+     */
+    public double getOldDouble() {
+        return getOldNumber().doubleValue();
+    }
+
+    /**
+     * Gets the current value as a {@link Number}, reading it from the source
+     * list if the event doesn't carry it.
+     */
+    private Number getNewNumber() {
+        final Object value = getNewValue();
+        if(value == UNKNOWN_VALUE) return (Number)getSourceList().get(getIndex());
+        return (Number)value;
+    }
+
+    /**
+     * Gets the previous value as a {@link Number}.
+     */
+    private Number getOldNumber() {
+        final Object value = getOldValue();
+        if(value == UNKNOWN_VALUE) throw new IllegalStateException("The previous value is not available");
+        return (Number)value;
+    }
+
     /**
      * Gets the number of blocks currently remaining in this atomic change.
      *
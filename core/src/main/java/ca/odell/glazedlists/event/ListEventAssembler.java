@@ -7,10 +7,12 @@ import ca.odell.glazedlists.EventList;
 import ca.odell.glazedlists.impl.Preconditions;
 import ca.odell.glazedlists.impl.WeakReferenceProxy;
 import ca.odell.glazedlists.impl.event.BlockSequence;
+import ca.odell.glazedlists.impl.event.FlightRecorderEvents;
 import ca.odell.glazedlists.impl.event.Tree4Deltas;
 
 import java.util.ConcurrentModificationException;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * Models a continuous stream of changes on a list. Changes of the same type
@@ -43,6 +45,9 @@ public final class ListEventAssembler<E> {
     private boolean useListBlocksLinear = false;
     /** fall back to list tree4deltas, which are capable of all list changes */
     private Tree4Deltas<E> listDeltas = new Tree4Deltas<>();
+    /** whether the tree4deltas must be reset to the specified size before use */
+    private boolean listDeltasStale = false;
+    private int listDeltasSourceSize;
 
     private final SequenceDependenciesEventPublisher publisher;
     private final ListEvent<E> listEvent;
@@ -58,6 +63,38 @@ public final class ListEventAssembler<E> {
         return new SequenceDependenciesEventPublisher();
     }
 
+    /**
+     * Create a new {@link ListEventPublisher} whose events are observed by the
+     * specified {@link ListEventRecorder}. Use this publisher for all the
+     * {@link EventList}s of a pipeline to record the events at each stage.
+     *
+     * <p>The recorder isn't serialized, so a deserialized pipeline doesn't
+     * record its events.
+     */
+    public static ListEventPublisher createListEventPublisher(ListEventRecorder recorder) {
+        Preconditions.checkNotNull(recorder, "ListEventRecorder is undefined");
+        return new SequenceDependenciesEventPublisher(null, 1, recorder);
+    }
+
+    /**
+     * Create a new {@link ListEventPublisher} that notifies independent
+     * branches of a pipeline concurrently. When a list has several listeners
+     * whose downstream {@link EventList}s have nothing in common, such as
+     * multiple {@link ca.odell.glazedlists.FilterList}s of one source, each is
+     * notified on a thread of the specified {@link Executor} while the thread
+     * that changed the list waits. Up to one branch per processor is notified
+     * at once. Listeners that depend on one another are
+     * still notified in order, on a single thread.
+     *
+     * <p>Since the changing thread holds the pipeline's write lock throughout,
+     * listeners must not acquire the pipeline's locks, and may only change the
+     * lists downstream of themselves.
+     */
+    public static ListEventPublisher createParallelListEventPublisher(Executor executor) {
+        Preconditions.checkNotNull(executor, "Executor is undefined");
+        return new SequenceDependenciesEventPublisher(executor, Runtime.getRuntime().availableProcessors(), null);
+    }
+
     /**
      * Creates a new ListEventAssembler that tracks changes for the specified list.
      */
@@ -143,6 +180,52 @@ public final class ListEventAssembler<E> {
         addChange(ListEvent.DELETE, index, index, oldValue, ListEvent.<E>unknownValue());
     }
 
+    /**
+     * Add to the current ListEvent the insert of a contiguous block of elements
+     * starting at the specified index. The block is recorded as a single change
+     * that carries each inserted value, which is cheaper than one call to
+     * {@link #elementInserted} per element.
+     *
+     * <p>The specified {@link List} must not be modified until the event has
+     * been committed.
+     */
+    public void elementsInserted(int index, List<? extends E> newValues) {
+        if(newValues.isEmpty()) return;
+        if(addValueRun(ListEvent.INSERT, index, null, newValues)) return;
+        for(int i = 0; i < newValues.size(); i++) {
+            listDeltas.targetInsert(index + i, index + i + 1, newValues.get(i));
+        }
+    }
+    /**
+     * Add to the current ListEvent the update of a contiguous block of elements
+     * starting at the specified index, with the specified previous values.
+     *
+     * <p>The specified {@link List}s must be the same size and must not be
+     * modified until the event has been committed.
+     */
+    public void elementsUpdated(int index, List<? extends E> oldValues, List<? extends E> newValues) {
+        if(oldValues.size() != newValues.size()) throw new IllegalArgumentException("Expected " + oldValues.size() + " new values but found " + newValues.size());
+        if(oldValues.isEmpty()) return;
+        if(addValueRun(ListEvent.UPDATE, index, oldValues, newValues)) return;
+        for(int i = 0; i < oldValues.size(); i++) {
+            listDeltas.targetUpdate(index + i, index + i + 1, oldValues.get(i), newValues.get(i));
+        }
+    }
+    /**
+     * Add to the current ListEvent the removal of a contiguous block of elements
+     * starting at the specified index, with the specified previous values.
+     *
+     * <p>The specified {@link List} must not be modified until the event has
+     * been committed.
+     */
+    public void elementsDeleted(int index, List<? extends E> oldValues) {
+        if(oldValues.isEmpty()) return;
+        if(addValueRun(ListEvent.DELETE, index, oldValues, null)) return;
+        for(int i = 0; i < oldValues.size(); i++) {
+            listDeltas.targetDelete(index, index + 1, oldValues.get(i));
+        }
+    }
+
     /**
      * @deprecated replaced with {@link #elementUpdated(int, Object, Object)}.
      */
@@ -242,9 +325,7 @@ public final class ListEventAssembler<E> {
             if (success)
                 return;
 
-            // convert from linear to tree4deltas
-            listDeltas.addAll(blockSequence);
-            useListBlocksLinear = false;
+            convertToListDeltas();
         }
 
         // try the good old reliable tree4deltas
@@ -255,6 +336,36 @@ public final class ListEventAssembler<E> {
         }
     }
 
+    /**
+     * Try to record a block of changes with one value per element in the linear
+     * holder. If that isn't possible, the linear holder is converted so that
+     * the caller can apply the changes to the tree4deltas instead.
+     *
+     * @return true if the change was recorded
+     */
+    private boolean addValueRun(int type, int startIndex, List<? extends E> oldValues, List<? extends E> newValues) {
+        if(useListBlocksLinear) {
+            if(blockSequence.addChange(type, startIndex, oldValues, newValues))
+                return true;
+
+            convertToListDeltas();
+        }
+        return false;
+    }
+
+    /**
+     * Move the changes recorded so far from the linear holder into the
+     * tree4deltas, which can describe changes in any order.
+     */
+    private void convertToListDeltas() {
+        if(listDeltasStale) {
+            listDeltas.reset(listDeltasSourceSize);
+            listDeltasStale = false;
+        }
+        listDeltas.addAll(blockSequence);
+        useListBlocksLinear = false;
+    }
+
     /**
      * Sets the current event as a reordering. Reordering events cannot be
      * combined with other events.
@@ -330,7 +441,14 @@ public final class ListEventAssembler<E> {
         }
 
         eventIsBeingPublished = true;
+        final Object flightRecording = FlightRecorderEvents.beginCommit(sourceList, listEvent);
+        final ListEventRecorder recorder = publisher.getRecorder();
+        if(recorder != null) {
+            listEvent.reset();
+            recorder.eventFired(sourceList, listEvent);
+        }
         publisher.fireEvent(sourceList, listEvent, eventFormat);
+        FlightRecorderEvents.end(flightRecording);
     }
 
     /**
@@ -424,7 +542,11 @@ public final class ListEventAssembler<E> {
     private void cleanup() {
         eventThread = null;
         blockSequence.reset();
-        listDeltas.reset(sourceList.size());
+        // most events never leave the linear holder, so only prepare the
+        // tree4deltas when it's needed. This saves allocating its nodes
+        if(!useListBlocksLinear) listDeltas.reset(0);
+        listDeltasSourceSize = sourceList.size();
+        listDeltasStale = true;
         reorderMap = null;
         listDeltas.setAllowContradictingEvents(false);
         // force cleanup of iterator which still could reference old data
@@ -438,7 +560,20 @@ public final class ListEventAssembler<E> {
         @Override
         public void fire(EventList<E> subject, ListEvent<E> event, ListEventListener<? super E> listener) {
             event.reset();
-            listener.listChanged((ListEvent) event);
+            final Object flightRecording = FlightRecorderEvents.beginListChanged(subject, listener, event);
+            final ListEventRecorder recorder = publisher.getRecorder();
+            if(recorder == null) {
+                listener.listChanged((ListEvent) event);
+            } else {
+                final long start = System.nanoTime();
+                listener.listChanged((ListEvent) event);
+                recorder.eventReceived(subject, listener, event, System.nanoTime() - start);
+            }
+            FlightRecorderEvents.end(flightRecording);
+        }
+        @Override
+        public ListEvent<E> copy(ListEvent<E> event) {
+            return event.copy();
         }
         @Override
         public void postEvent(EventList<E> subject) {
@@ -0,0 +1,42 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.event;
+
+import ca.odell.glazedlists.EventList;
+
+/**
+ * Observes the {@link ListEvent}s flowing through the {@link EventList}s that
+ * share a {@link ListEventPublisher}, for example to measure which stages of
+ * a pipeline are slow. A recorder is installed when the publisher is created
+ * by {@link ListEventAssembler#createListEventPublisher(ListEventRecorder)};
+ * publishers without one don't pay for recording.
+ *
+ * <p>A recorder is called while the pipeline's write lock is held, so it
+ * should be fast and must not change any {@link EventList}. If the publisher
+ * notifies independent branches concurrently, it may be called on several
+ * threads at once.
+ */
+public interface ListEventRecorder {
+
+    /**
+     * Called when an {@link EventList} fires an event, before any listeners
+     * are notified. The event has been reset and may be iterated, since it is
+     * reset again before each listener receives it.
+     *
+     * @param source the list whose change is described by the event
+     * @param event the event being fired
+     */
+    void eventFired(EventList<?> source, ListEvent<?> event);
+
+    /**
+     * Called after a listener has handled an event.
+     *
+     * @param source the list that fired the event
+     * @param listener the listener that handled it, which is usually the next
+     *      {@link EventList} of the pipeline
+     * @param event the event that was handled
+     * @param nanos the time spent in {@link ListEventListener#listChanged}
+     */
+    void eventReceived(EventList<?> source, ListEventListener<?> listener, ListEvent<?> event, long nanos);
+}
@@ -5,15 +5,24 @@ package ca.odell.glazedlists.event;
 
 import ca.odell.glazedlists.EventList;
 import ca.odell.glazedlists.impl.adt.IdentityMultimap;
+import ca.odell.glazedlists.impl.adt.IntArrayList;
+import ca.odell.glazedlists.impl.event.FlightRecorderEvents;
 
 import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.IdentityHashMap;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Manage listeners, firing events, and making sure that events arrive in order.
@@ -52,137 +61,150 @@ final class SequenceDependenciesEventPublisher implements ListEventPublisher, Se
     /** For versioning as a {@link Serializable} */
     private static final long serialVersionUID = -8228256898169043019L;
 
-    /** keep track of how many times the fireEvent() method is on the stack */
-    private transient int reentrantFireEventCount;
-
-    /** subject to cleanup when this event is completely distributed */
-    private transient final Map<Object,EventFormat> subjectsToCleanUp = new IdentityHashMap<>();
-
     /** for proper dependency management, when a listener and subject aren't the same identity */
     private transient final Map<Object,Object> listenersToRelatedSubjects = new IdentityHashMap<>();
 
-    /** the last listener notified, the next one will be beyond it in the list */
-    private transient int nextToNotify;
-
     /**
      * A mix of different subjects and listeners pairs in a deliberate order.
      * We should be careful not to make changes to this list directly and instead
-     * create a copy as necessary
+     * create a copy as necessary. This is <code>null</code> when listeners have
+     * been added or removed since it was last built.
      */
     private transient List<SubjectAndListener> subjectAndListeners = Collections.emptyList();
 
     /**
-     * We use copy-on-write on the listeners list. This is a copy of the
-     * listeners list as it looked immediately before the current change
-     * started. If there is no change going on (reentrantFireEventCount == 0),
-     * then this should be null.
+     * The positions in {@link #subjectAndListeners} of each subject's listeners,
+     * so that firing an event doesn't need to search for them. This is rebuilt
+     * along with that list.
+     */
+    private transient Map<Object,int[]> listenerIndices = Collections.emptyMap();
+
+    /**
+     * The independent branches of each subject's listeners, found as they're
+     * needed. This is replaced whenever {@link #subjectAndListeners} is rebuilt.
+     */
+    private transient Map<Object,int[][]> branches = new IdentityHashMap<>();
+
+    /** the state of the event being fired */
+    private transient final Dispatch dispatch = new Dispatch(null);
+
+    /** notifies independent branches concurrently, or <code>null</code> to notify all listeners on the firing thread */
+    private transient final Executor executor;
+    /** the most branches to notify concurrently */
+    private transient final int maxBranches;
+    /** the branch being notified by the current thread, if any */
+    private transient final ThreadLocal<Dispatch> branchDispatch;
+
+    /**
+     * observes the list events fired through this publisher, or <code>null</code>.
+     * It isn't serialized, so a deserialized publisher has no recorder.
      */
-    private transient List<SubjectAndListener> subjectsAndListenersForCurrentEvent;
+    private transient final ListEventRecorder recorder;
 
-    /** Returns a proper initialized publisher object during deserialization. */
+    /** the dependency graph, with a node for each subject and related subject */
+    private transient final Map<Object,Node> nodes = new IdentityHashMap<>();
+    /** the nodes in a topological order, with <code>null</code> for removed nodes */
+    private transient final List<Node> nodeOrder = new ArrayList<>();
+    /** all subject and listener pairs, keyed by listener */
+    private transient final IdentityMultimap<Object,SubjectAndListener> listenerToPairs = new IdentityMultimap<>();
+
+    /**
+     * Create a publisher that notifies all listeners on the thread that
+     * fires each event.
+     */
+    SequenceDependenciesEventPublisher() {
+        this(null, 1, null);
+    }
+
+    /**
+     * Create a publisher that notifies independent branches of the listener
+     * graph concurrently, using the specified {@link Executor}.
+     *
+     * @param executor runs the branches, or <code>null</code> to notify all
+     *      listeners on the thread that fires each event
+     * @param maxBranches the most branches to notify at once. Smaller branches
+     *      are combined to stay within this limit.
+     * @param recorder observes the list events fired through this publisher,
+     *      or <code>null</code>
+     */
+    SequenceDependenciesEventPublisher(Executor executor, int maxBranches, ListEventRecorder recorder) {
+        this.executor = executor;
+        this.maxBranches = maxBranches;
+        this.branchDispatch = (executor == null) ? null : new ThreadLocal<Dispatch>();
+        this.recorder = recorder;
+    }
+
+    /**
+     * Get the {@link ListEventRecorder} that observes the list events fired
+     * through this publisher, or <code>null</code> if there is none.
+     */
+    ListEventRecorder getRecorder() {
+        return recorder;
+    }
+
+    /**
+     * Returns a proper initialized publisher object during deserialization.
+     * Like the listeners, the executor and recorder are not serialized, so
+     * the new publisher notifies on the firing thread and records nothing.
+     */
     private Object readResolve() throws ObjectStreamException {
         return new SequenceDependenciesEventPublisher();
     }
 
     /**
-     * Rebuild the subject and listeners list so that all required invariants
-     * are met with respect to notification order. That is, for any listener
-     * T, all of the subjects S that T listens to have been updated before T
-     * receives a change event from any S.
+     * Get the subject and listeners list, rebuilding it if listeners have been
+     * added or removed since it was last built. The list is ordered so that
+     * all required invariants are met with respect to notification order.
+     * That is, for any listener T, all of the subjects S that T listens to
+     * have been updated before T receives a change event from any S.
      *
-     * <p>This implementation still has some problems and work left to do:
-     *  <li>it's big! Can we optimize it? Perhaps shortcutting all the graph
-     *     work for simple cases (the 99% case)
-     *  <li>it's complex! Can we simplify it?
-     *  <li>could we keep the datastructures around? it may be wasteful to
-     *     reconstruct them every single time a listener is added
+     * <p>Since the dependency graph is kept in topological order as listeners
+     * come and go, this simply lists the pairs targeting each node in that
+     * order. Stale listeners are dropped along the way.
      */
-    private List<SubjectAndListener> orderSubjectsAndListeners(List<SubjectAndListener> subjectsAndListeners) {
-
-        // since we're regenerating the subjectAndListeners list, clear it and re-add the elements
-        List<SubjectAndListener> result = new ArrayList<>();
-
-        // HashMaps of unprocessed elements, keyed by both source and target
-        IdentityMultimap<Object,SubjectAndListener> sourceToPairs = new IdentityMultimap<>();
-        IdentityMultimap<Object,SubjectAndListener> targetToPairs = new IdentityMultimap<>();
-
-        // everything that has all of its listeners already notified in subjectAndListeners
-        Map<Object,Boolean> satisfied = new IdentityHashMap<>();
-        // everything that has a listener already notified
-        List<Object> satisfiedToDo = new ArrayList<>();
-
-        // prepare the initial collections: maps that show how each element is
-        // used as source and target in directed edges, plus a list of nodes
-        // that have no incoming edges
-        for(int i = 0, size = subjectsAndListeners.size(); i < size; i++) {
-            SubjectAndListener subjectAndListener = subjectsAndListeners.get(i);
-            Object source = subjectAndListener.subject;
-            Object target = getRelatedSubject(subjectAndListener.listener);
-            sourceToPairs.addValue(source, subjectAndListener);
-            targetToPairs.addValue(target, subjectAndListener);
-
-            satisfied.remove(target);
-            if(targetToPairs.count(source) == 0) {
-                satisfied.put(source, Boolean.TRUE);
+    private synchronized List<SubjectAndListener> orderedSubjectsAndListeners() {
+        if(subjectAndListeners != null) return subjectAndListeners;
+
+        // drop the stale listeners, such as those from weak references
+        List<SubjectAndListener> stale = null;
+        for(int n = 0, size = nodeOrder.size(); n < size; n++) {
+            Node node = nodeOrder.get(n);
+            if(node == null) continue;
+            for(SubjectAndListener subjectAndListener : node.incoming) {
+                if(!subjectAndListener.eventFormat.isStale(subjectAndListener.subject, subjectAndListener.listener)) continue;
+                if(stale == null) stale = new ArrayList<>();
+                stale.add(subjectAndListener);
             }
         }
-
-        // start with the initial set of sources that don't have dependencies
-        satisfiedToDo.addAll(satisfied.keySet());
-
-        // We have a subject which has all of its dependencies satisfied.
-        // ie. all edges where this subject is a target are already in
-        // subjectAndListeners. Now we want to find further edges from this
-        // subject to further objects. We find all of its listeners, and look
-        // for one of them where all of its dependencies are in the
-        // satisfied list. If we find such a listener, add all its edges
-        // to subjectAndListeners and enque it to find it's listeners
-        // iteratively
-        while(!satisfiedToDo.isEmpty()) {
-
-            // for everything that's not a target,
-            Object subject = satisfiedToDo.remove(0);
-
-            // get all listeners to this subject, we try this set because
-            // we know at least one of their edges is satisfied, and
-            // we hope that all of their edges is satisfied.
-            List<SubjectAndListener> sourceTargets = sourceToPairs.get(subject);
-
-            // can we satisfy this target?
-            tryEachTarget:
-            for(int t = 0, targetsSize = sourceTargets.size(); t < targetsSize; t++) {
-                Object sourceTarget = getRelatedSubject(sourceTargets.get(t).listener);
-
-                // make sure we can satisfy this if all its sources are in satisfiedSources
-                List<SubjectAndListener> allSourcesForSourceTarget = targetToPairs.get(sourceTarget);
-                // we've since processed this entire target, we shouldn't process it twice
-                if(allSourcesForSourceTarget.size() == 0) continue;
-                for(int s = 0, sourcesSize = allSourcesForSourceTarget.size(); s < sourcesSize; s++) {
-                    SubjectAndListener sourceAndTarget = allSourcesForSourceTarget.get(s);
-                    if(!satisfied.containsKey(sourceAndTarget.subject)) {
-                        continue tryEachTarget;
-                    }
-                }
-
-                // we know we can satisfy this target, add all its edges
-                result.addAll(allSourcesForSourceTarget);
-                targetToPairs.remove(sourceTarget);
-
-                // this target is no longer considered a target, since all
-                // its dependencies are satisfied
-                satisfiedToDo.add(sourceTarget);
-                satisfied.put(sourceTarget, Boolean.TRUE);
+        if(stale != null) {
+            for(int i = 0, size = stale.size(); i < size; i++) {
+                unlink(stale.get(i));
             }
         }
 
-        // if there's remaining targets, we never covered everything
-        if(!targetToPairs.isEmpty()) {
-            throw new IllegalStateException("Listener cycle detected, " + targetToPairs.values());
+        List<SubjectAndListener> result = new ArrayList<>(listenerToPairs.size());
+        Map<Object,int[]> indices = new IdentityHashMap<>();
+        for(int n = 0, size = nodeOrder.size(); n < size; n++) {
+            Node node = nodeOrder.get(n);
+            if(node == null) continue;
+            result.addAll(node.incoming);
+            if(!node.outgoing.isEmpty()) indices.put(node.subject, new int[node.outgoing.size()]);
         }
-
-        // success!
+        for(int i = 0, size = result.size(); i < size; i++) {
+            Node source = result.get(i).source;
+            int[] sourceIndices = indices.get(source.subject);
+            sourceIndices[source.indicesWritten++] = i;
+        }
+        for(int n = 0, size = nodeOrder.size(); n < size; n++) {
+            Node node = nodeOrder.get(n);
+            if(node != null) node.indicesWritten = 0;
+        }
+        listenerIndices = indices;
+        branches = new IdentityHashMap<>();
+        subjectAndListeners = result;
         return result;
     }
+
     private Object getRelatedSubject(Object listener) {
         Object subject = listenersToRelatedSubjects.get(listener);
         if(subject == null) return listener;
@@ -194,8 +216,7 @@ final class SequenceDependenciesEventPublisher implements ListEventPublisher, Se
      * subject whenever they are fired.
      */
     public synchronized <Subject,Listener,Event> void addListener(Subject subject, Listener listener, EventFormat<Subject,Listener,Event> eventFormat) {
-        List<SubjectAndListener> unordered = updateListEventListeners(subject, listener, null, eventFormat);
-        subjectAndListeners = orderSubjectsAndListeners(unordered);
+        link(new SubjectAndListener<>(subject, listener, eventFormat));
     }
 
     /**
@@ -203,57 +224,154 @@ final class SequenceDependenciesEventPublisher implements ListEventPublisher, Se
      * subject.
      */
     public synchronized void removeListener(Object subject, Object listener) {
-        subjectAndListeners = updateListEventListeners(subject, null, listener, null);
+        List<SubjectAndListener> pairs = listenerToPairs.get(listener);
+        for(int i = 0, size = pairs.size(); i < size; i++) {
+            SubjectAndListener subjectAndListener = pairs.get(i);
+            if(subjectAndListener.subject != subject) continue;
+            unlink(subjectAndListener);
+            return;
+        }
+
+        // sanity check to ensure we found the listener we were asked to remove
+        if(DO_NONEXISTENT_LISTENER_CHECK) {
+            throw new IllegalArgumentException("Cannot remove nonexistent listener " + listener);
+        }
     }
 
     /**
-     * Support method for adding and removing listeners, that also cleans up
-     * stale listeners, such as those from weak references.
+     * Add the specified pair to the dependency graph, reordering the graph
+     * if the pair's listener is currently ordered before its subject.
      *
-     * @param listenerToAdd a listener to be added, or <code>null</code>
-     * @param listenerToRemove a listener to be removed, or <code>null</code>
+     * <p>This uses the dynamic topological sort of Pearce and Kelly: only the
+     * nodes between the listener and subject that depend on the listener, or
+     * that the subject depends on, are visited and reordered. Those nodes
+     * swap positions amongst themselves, leaving the rest of the order intact.
      */
-    private <Subject,Listener,Event> List<SubjectAndListener> updateListEventListeners(Subject subject, Listener listenerToAdd, Listener listenerToRemove, EventFormat<Subject,Listener,Event> eventFormat) {
-        // we'll want to output a copy of all the listeners
-        int anticipatedSize = this.subjectAndListeners.size() + (listenerToAdd == null ? - 1 : 1);
-        // removing a non-existent listener can lead to negative size
-        if (anticipatedSize < 0) {
-            anticipatedSize = 0;
+    private void link(SubjectAndListener subjectAndListener) {
+        Node source = nodeFor(subjectAndListener.subject);
+        Node target = nodeFor(getRelatedSubject(subjectAndListener.listener));
+
+        if(source == target) {
+            removeIfUnused(source);
+            throw new IllegalStateException("Listener cycle detected, " + subjectAndListener);
+        } else if(source.order > target.order) {
+            try {
+                reorder(source, target);
+            } catch(IllegalStateException e) {
+                removeIfUnused(source);
+                removeIfUnused(target);
+                throw new IllegalStateException("Listener cycle detected, " + subjectAndListener, e);
+            }
         }
 
-        List<SubjectAndListener> result = new ArrayList<>(anticipatedSize);
+        subjectAndListener.source = source;
+        subjectAndListener.target = target;
+        source.outgoing.add(subjectAndListener);
+        target.incoming.add(subjectAndListener);
+        listenerToPairs.addValue(subjectAndListener.listener, subjectAndListener);
+        subjectAndListeners = null;
+    }
 
-        // walk through, adding all the old listeners to the new listeners list,
-        // unless a particular listener is slated for removal for some reaosn
-        for(int i = 0, n = subjectAndListeners.size(); i < n; i++) {
-            final SubjectAndListener originalSubjectAndListener = subjectAndListeners.get(i);
+    /**
+     * Remove the specified pair from the dependency graph.
+     */
+    private void unlink(SubjectAndListener subjectAndListener) {
+        subjectAndListener.source.outgoing.remove(subjectAndListener);
+        subjectAndListener.target.incoming.remove(subjectAndListener);
+        listenerToPairs.removeValue(subjectAndListener.listener, subjectAndListener);
+        removeIfUnused(subjectAndListener.source);
+        removeIfUnused(subjectAndListener.target);
+        subjectAndListeners = null;
+    }
 
-            // if we're supposed to remove this listener, skip it
-            if(originalSubjectAndListener.listener == listenerToRemove && originalSubjectAndListener.subject == subject) {
-                listenerToRemove = null;
-                continue;
-            }
+    private Node nodeFor(Object subject) {
+        Node node = nodes.get(subject);
+        if(node == null) {
+            node = new Node(subject, nodeOrder.size());
+            nodes.put(subject, node);
+            nodeOrder.add(node);
+        }
+        return node;
+    }
 
-            // if this listener is stale, skip it
-            if(originalSubjectAndListener.eventFormat.isStale(originalSubjectAndListener.subject, originalSubjectAndListener.listener)) {
-                continue;
+    private void removeIfUnused(Node node) {
+        if(!node.incoming.isEmpty() || !node.outgoing.isEmpty()) return;
+        if(nodeOrder.get(node.order) != node) return;
+        nodeOrder.set(node.order, null);
+        nodes.remove(node.subject);
+
+        // compact the order once it's mostly removed nodes
+        if(nodeOrder.size() > 2 * nodes.size() + 16) {
+            int size = 0;
+            for(int n = 0, oldSize = nodeOrder.size(); n < oldSize; n++) {
+                Node remaining = nodeOrder.get(n);
+                if(remaining == null) continue;
+                remaining.order = size;
+                nodeOrder.set(size++, remaining);
             }
-
-            // this listener's still good, keep it!
-            result.add(originalSubjectAndListener);
+            nodeOrder.subList(size, nodeOrder.size()).clear();
         }
+    }
 
-        // sanity check to ensure we found the listener we were asked to remove, if any
-        if(DO_NONEXISTENT_LISTENER_CHECK && listenerToRemove != null) {
-            throw new IllegalArgumentException("Cannot remove nonexistent listener " + listenerToRemove);
+    /**
+     * Restore the topological order, which is about to be broken by an edge
+     * from <code>source</code> to <code>target</code>, where target is currently
+     * ordered before source.
+     *
+     * @throws IllegalStateException if source depends on target, so that the
+     *      edge would create a cycle
+     */
+    private void reorder(Node source, Node target) {
+        // everything that depends on target, and is ordered before source
+        List<Node> forward = new ArrayList<>();
+        try {
+            collect(target, source.order, true, forward);
+        } finally {
+            for(int i = 0, size = forward.size(); i < size; i++) forward.get(i).visited = false;
         }
+        // everything source depends on, and is ordered after target
+        List<Node> backward = new ArrayList<>();
+        collect(source, target.order, false, backward);
+        for(int i = 0, size = backward.size(); i < size; i++) backward.get(i).visited = false;
+
+        // the affected nodes keep their relative order, with source and the
+        // nodes it depends on moving ahead of target and its dependents
+        Collections.sort(forward, NODE_ORDER);
+        Collections.sort(backward, NODE_ORDER);
+        int[] orders = new int[forward.size() + backward.size()];
+        for(int i = 0; i < backward.size(); i++) orders[i] = backward.get(i).order;
+        for(int i = 0; i < forward.size(); i++) orders[backward.size() + i] = forward.get(i).order;
+        Arrays.sort(orders);
+        for(int i = 0; i < backward.size(); i++) place(backward.get(i), orders[i]);
+        for(int i = 0; i < forward.size(); i++) place(forward.get(i), orders[backward.size() + i]);
+    }
 
-        // add the listener we were asked to add, if any
-        if(listenerToAdd != null) {
-            result.add(new SubjectAndListener(subject, listenerToAdd, eventFormat));
+    /**
+     * Collect the nodes reachable from <code>start</code>, following edges
+     * forward or backward, whose order is between the start's order and
+     * <code>bound</code>. This uses an explicit stack since pipelines can be
+     * very deep.
+     *
+     * @throws IllegalStateException if a node at <code>bound</code> is reached
+     */
+    private static void collect(Node start, int bound, boolean forward, List<Node> result) {
+        start.visited = true;
+        result.add(start);
+        for(int i = 0; i < result.size(); i++) {
+            Node node = result.get(i);
+            for(SubjectAndListener edge : (forward ? node.outgoing : node.incoming)) {
+                Node next = forward ? edge.target : edge.source;
+                if(next.order == bound) throw new IllegalStateException();
+                if(next.visited || (forward ? next.order > bound : next.order < bound)) continue;
+                next.visited = true;
+                result.add(next);
+            }
         }
+    }
 
-        return result;
+    private void place(Node node, int order) {
+        node.order = order;
+        nodeOrder.set(order, node);
     }
 
     /** {@inheritDoc} */
@@ -285,24 +403,42 @@ final class SequenceDependenciesEventPublisher implements ListEventPublisher, Se
 
     /** {@inheritDoc} */
     @Override
-    public void setRelatedSubject(Object listener, Object relatedSubject) {
+    public synchronized void setRelatedSubject(Object listener, Object relatedSubject) {
         if(relatedSubject != null) {
             listenersToRelatedSubjects.put(listener, relatedSubject);
         } else {
             listenersToRelatedSubjects.remove(listener);
         }
+        relink(listener);
     }
 
     /** {@inheritDoc} */
     @Override
-    public void clearRelatedSubject(Object listener) {
+    public synchronized void clearRelatedSubject(Object listener) {
         listenersToRelatedSubjects.remove(listener);
+        relink(listener);
+    }
+
+    /**
+     * Move the pairs of the specified listener to its current related subject.
+     */
+    private void relink(Object listener) {
+        List<SubjectAndListener> pairs = listenerToPairs.get(listener);
+        if(pairs.isEmpty()) return;
+        pairs = new ArrayList<>(pairs);
+        for(int i = 0, size = pairs.size(); i < size; i++) {
+            unlink(pairs.get(i));
+        }
+        for(int i = 0, size = pairs.size(); i < size; i++) {
+            link(pairs.get(i));
+        }
     }
 
     /**
      * Get all listeners of the specified object.
      */
     public synchronized <Listener> List<Listener> getListeners(Object subject) {
+        List<SubjectAndListener> subjectAndListeners = orderedSubjectsAndListeners();
         List<Listener> result = new ArrayList<>();
         for(int i = 0, size = subjectAndListeners.size(); i < size; i++) {
             SubjectAndListener<?,Listener,?> subjectAndListener = subjectAndListeners.get(i);
@@ -321,54 +457,250 @@ final class SequenceDependenciesEventPublisher implements ListEventPublisher, Se
      *     used for a callback when this event is complete
      */
     public <Subject,Listener,Event> void fireEvent(Subject subject, Event event, EventFormat<Subject,Listener,Event> eventFormat) {
-        // keep the subjects and listeners as they are at the beginning of
-        // the topmost event, the list won't change because we copy on write
-        if(reentrantFireEventCount == 0) {
-            subjectsAndListenersForCurrentEvent = subjectAndListeners;
-            nextToNotify = Integer.MAX_VALUE;
+        Dispatch current = dispatch;
+        if(branchDispatch != null) {
+            Dispatch branch = branchDispatch.get();
+            if(branch != null) current = branch;
         }
+        final Object flightRecording = FlightRecorderEvents.beginPublish(subject, event);
+        current.fireEvent(subject, event, eventFormat);
+        FlightRecorderEvents.end(flightRecording);
+    }
 
-        // keep track of whether this method is being reentered because one
-        // event caused another event. If so, we'll fire later
-        reentrantFireEventCount++;
-        try {
+    /**
+     * Get the independent branches of the specified subject's listeners, or
+     * <code>null</code> if they can't be notified concurrently.
+     */
+    private int[][] getBranches(Object subject, Dispatch dispatch) {
+        int[][] result = dispatch.branchesForCurrentEvent.get(subject);
+        if(result == null) {
+            result = findBranches(subject, dispatch.subjectsAndListenersForCurrentEvent, dispatch.listenerIndicesForCurrentEvent, maxBranches);
+            dispatch.branchesForCurrentEvent.put(subject, result);
+        }
+        return result.length > 1 ? result : null;
+    }
 
-            // record this subject as firing an event, so we can clean up later
-            EventFormat previous = subjectsToCleanUp.put(subject, eventFormat);
-            if(previous != null) throw new IllegalStateException("Reentrant fireEvent() by \"" + subject + "\"");
-
-            // Mark the listeners who need this event
-            int subjectAndListenersSize = subjectsAndListenersForCurrentEvent.size();
-            // was i = lastNotified + 1
-            for(int i = 0; i < subjectAndListenersSize; i++) {
-                SubjectAndListener subjectAndListener = subjectsAndListenersForCurrentEvent.get(i);
-                if(subjectAndListener.subject != subject) continue;
-                if(i < nextToNotify) nextToNotify = i;
-                subjectAndListener.addPendingEvent(event);
+    /**
+     * Partition everything downstream of the specified subject into branches
+     * that share no subjects, so that each branch can be notified without
+     * waiting for the others. Each branch is described by the positions of its
+     * subject and listener pairs, in notification order.
+     *
+     * <p>Small branches are combined so there are no more than
+     * <code>maxBranches</code>.
+     */
+    private static int[][] findBranches(Object subject, List<SubjectAndListener> pairs, Map<Object,int[]> listenerIndices, int maxBranches) {
+        int[] roots = listenerIndices.get(subject);
+        if(roots == null || roots.length < 2) return NO_BRANCHES;
+
+        // walk downstream from each of the subject's listeners, merging the
+        // branches of listeners that reach the same subject
+        int[] union = new int[roots.length];
+        Map<Object,Integer> owners = new IdentityHashMap<>();
+        List<Object> toVisit = new ArrayList<>();
+        for(int r = 0; r < roots.length; r++) {
+            union[r] = r;
+            toVisit.add(pairs.get(roots[r]).target.subject);
+            while(!toVisit.isEmpty()) {
+                Object visiting = toVisit.remove(toVisit.size() - 1);
+                Integer owner = owners.get(visiting);
+                if(owner != null) {
+                    union[find(union, owner.intValue())] = find(union, r);
+                    continue;
+                }
+                owners.put(visiting, Integer.valueOf(r));
+                int[] listeners = listenerIndices.get(visiting);
+                if(listeners == null) continue;
+                for(int i = 0; i < listeners.length; i++) {
+                    toVisit.add(pairs.get(listeners[i]).target.subject);
+                }
             }
+        }
 
-            // If this method is reentrant, let someone higher up the stack handle this
-            if(reentrantFireEventCount != 1) return;
+        // collect the pairs of each branch
+        Map<Integer,IntArrayList> branchPairs = new LinkedHashMap<>();
+        for(int r = 0; r < roots.length; r++) {
+            branchPairs.computeIfAbsent(Integer.valueOf(find(union, r)), key -> new IntArrayList()).add(roots[r]);
+        }
+        for(Map.Entry<Object,Integer> owned : owners.entrySet()) {
+            int[] listeners = listenerIndices.get(owned.getKey());
+            if(listeners == null) continue;
+            IntArrayList branch = branchPairs.get(Integer.valueOf(find(union, owned.getValue().intValue())));
+            for(int i = 0; i < listeners.length; i++) branch.add(listeners[i]);
+        }
+        if(branchPairs.size() < 2) return NO_BRANCHES;
+
+        // combine the branches, largest first, so there aren't too many
+        List<IntArrayList> sorted = new ArrayList<>(branchPairs.values());
+        Collections.sort(sorted, (a, b) -> b.size() - a.size());
+        int[][] result = new int[Math.min(sorted.size(), maxBranches)][];
+        int[] sizes = new int[result.length];
+        IntArrayList[] combined = new IntArrayList[result.length];
+        for(int i = 0, size = sorted.size(); i < size; i++) {
+            int smallest = 0;
+            for(int c = 1; c < combined.length; c++) {
+                if(sizes[c] < sizes[smallest]) smallest = c;
+            }
+            if(combined[smallest] == null) combined[smallest] = new IntArrayList();
+            IntArrayList branch = sorted.get(i);
+            for(int p = 0, branchSize = branch.size(); p < branchSize; p++) combined[smallest].add(branch.get(p));
+            sizes[smallest] += branch.size();
+        }
+        for(int c = 0; c < result.length; c++) {
+            result[c] = new int[combined[c].size()];
+            for(int p = 0; p < result[c].length; p++) result[c][p] = combined[c].get(p);
+            Arrays.sort(result[c]);
+        }
+        return result;
+    }
+    private static int find(int[] union, int member) {
+        while(union[member] != member) member = union[member];
+        return member;
+    }
 
-            // remember any runtime exceptions thrown to rethrow later
-            RuntimeException toRethrow = null;
+    /**
+     * The state of an event while it's being fired. A parallel publisher has
+     * an extra dispatch for each branch it is notifying concurrently.
+     */
+    private final class Dispatch {
+
+        /** keep track of how many times the fireEvent() method is on the stack */
+        private int reentrantFireEventCount;
+
+        /** subject to cleanup when this event is completely distributed */
+        private final Map<Object,EventFormat> subjectsToCleanUp = new IdentityHashMap<>();
+        /** the same subjects in the order they fired, so cleanup can visit them without allocating */
+        private final List<Object> cleanUpSubjects = new ArrayList<>();
+        private final List<EventFormat> cleanUpFormats = new ArrayList<>();
+
+        /** the last listener notified, the next one will be beyond it in the list */
+        private int nextToNotify;
+
+        /**
+         * We use copy-on-write on the listeners list. This is a copy of the
+         * listeners list as it looked immediately before the current change
+         * started. If there is no change going on (reentrantFireEventCount == 0),
+         * then this should be null.
+         */
+        private List<SubjectAndListener> subjectsAndListenersForCurrentEvent;
+        private Map<Object,int[]> listenerIndicesForCurrentEvent;
+        private Map<Object,int[][]> branchesForCurrentEvent;
+
+        /** the positions of the only pairs this may notify, or <code>null</code> for all pairs */
+        private final int[] scope;
+        /** the first exception thrown while notifying a branch */
+        private RuntimeException toRethrow;
+
+        Dispatch(int[] scope) {
+            this.scope = scope;
+        }
+
+        <Subject,Listener,Event> void fireEvent(Subject subject, Event event, EventFormat<Subject,Listener,Event> eventFormat) {
+            // keep the subjects and listeners as they are at the beginning of
+            // the topmost event, the list won't change because we copy on write
+            if(reentrantFireEventCount == 0) {
+                subjectsAndListenersForCurrentEvent = subjectAndListeners;
+                if(subjectsAndListenersForCurrentEvent == null) subjectsAndListenersForCurrentEvent = orderedSubjectsAndListeners();
+                listenerIndicesForCurrentEvent = listenerIndices;
+                branchesForCurrentEvent = branches;
+                nextToNotify = Integer.MAX_VALUE;
+            }
+
+            // keep track of whether this method is being reentered because one
+            // event caused another event. If so, we'll fire later
+            reentrantFireEventCount++;
+            try {
+
+                // record this subject as firing an event, so we can clean up later
+                EventFormat previous = subjectsToCleanUp.put(subject, eventFormat);
+                if(previous != null) throw new IllegalStateException("Reentrant fireEvent() by \"" + subject + "\"");
+                cleanUpSubjects.add(subject);
+                cleanUpFormats.add(eventFormat);
+
+                // If this method is reentrant, let someone higher up the stack handle this
+                if(reentrantFireEventCount != 1) {
+                    markListeners(subject, event);
+                    return;
+                }
 
-            // fire events to listeners in order
+                // notify independent branches concurrently, or all listeners in order
+                RuntimeException toRethrow = null;
+                int[][] subjectBranches = (executor != null) ? getBranches(subject, this) : null;
+                if(subjectBranches != null) {
+                    toRethrow = fireBranches(subjectBranches, subject, event, eventFormat);
+                } else {
+                    markListeners(subject, event);
+                    toRethrow = firePendingEvents(toRethrow);
+                }
+
+                // clean up all the subjects now that we're done firing events
+                toRethrow = cleanUp(toRethrow);
+
+                // this event is completely finished
+                subjectsAndListenersForCurrentEvent = null;
+                listenerIndicesForCurrentEvent = null;
+                branchesForCurrentEvent = null;
+
+                // rethrow any exceptions
+                if(toRethrow != null) throw toRethrow;
+
+            } finally {
+                reentrantFireEventCount--;
+            }
+        }
+
+        /**
+         * Mark the listeners who need this event.
+         */
+        private void markListeners(Object subject, Object event) {
+            int[] subjectListenerIndices = listenerIndicesForCurrentEvent.get(subject);
+            if(subjectListenerIndices == null) return;
+            for(int i : subjectListenerIndices) {
+                // a branch can't notify listeners outside of it without racing the other branches
+                if(scope != null && Arrays.binarySearch(scope, i) < 0) {
+                    throw new IllegalStateException("Event by \"" + subject + "\" escapes the concurrently notified branch, to " + subjectsAndListenersForCurrentEvent.get(i));
+                }
+                markListener(i, event);
+            }
+        }
+        private void markListener(int index, Object event) {
+            if(index < nextToNotify) nextToNotify = index;
+            subjectsAndListenersForCurrentEvent.get(index).addPendingEvent(event);
+        }
+
+        /**
+         * Fire events to listeners in order, until none are pending.
+         */
+        private RuntimeException firePendingEvents(RuntimeException toRethrow) {
+            List<SubjectAndListener> subjectsAndListeners = subjectsAndListenersForCurrentEvent;
+            int subjectAndListenersSize = subjectsAndListeners.size();
             while(true) {
                 SubjectAndListener nextToFire = null;
 
                 // find the next listener still pending
-                for(int i = nextToNotify; i < subjectAndListenersSize; i++) {
-                    SubjectAndListener subjectAndListener = subjectsAndListenersForCurrentEvent.get(i);
-                    if(subjectAndListener.hasPendingEvent()) {
-                        nextToFire = subjectAndListener;
-                        nextToNotify = i + 1;
-                        break;
+                if(scope == null) {
+                    for(int i = nextToNotify; i < subjectAndListenersSize; i++) {
+                        SubjectAndListener subjectAndListener = subjectsAndListeners.get(i);
+                        if(subjectAndListener.hasPendingEvent()) {
+                            nextToFire = subjectAndListener;
+                            nextToNotify = i + 1;
+                            break;
+                        }
+                    }
+                } else {
+                    int s = Arrays.binarySearch(scope, nextToNotify);
+                    for(s = (s < 0) ? -s - 1 : s; s < scope.length; s++) {
+                        SubjectAndListener subjectAndListener = subjectsAndListeners.get(scope[s]);
+                        if(subjectAndListener.hasPendingEvent()) {
+                            nextToFire = subjectAndListener;
+                            nextToNotify = scope[s] + 1;
+                            break;
+                        }
                     }
                 }
 
                 // there's nobody to notify, we're done firing events
-                if(nextToFire == null) break;
+                if(nextToFire == null) return toRethrow;
 
                 // notify this listener
                 try {
@@ -377,26 +709,96 @@ final class SequenceDependenciesEventPublisher implements ListEventPublisher, Se
                     if(toRethrow == null) toRethrow = e;
                 }
             }
+        }
 
-            // clean up all the subjects now that we're done firing events
-            for(Iterator<Map.Entry<Object,EventFormat>> i = subjectsToCleanUp.entrySet().iterator(); i.hasNext(); ) {
-                Map.Entry<Object,EventFormat> subjectAndEventFormat = i.next();
+        /**
+         * Notify each branch on its own thread, and wait for them all to finish.
+         * This thread notifies the first branch itself.
+         */
+        private <Subject,Listener,Event> RuntimeException fireBranches(int[][] subjectBranches, Subject subject, Event event, EventFormat<Subject,Listener,Event> eventFormat) {
+            final Dispatch[] children = new Dispatch[subjectBranches.length];
+            for(int b = 0; b < children.length; b++) {
+                children[b] = new Dispatch(subjectBranches[b]);
+                children[b].subjectsAndListenersForCurrentEvent = subjectsAndListenersForCurrentEvent;
+                children[b].listenerIndicesForCurrentEvent = listenerIndicesForCurrentEvent;
+                children[b].nextToNotify = Integer.MAX_VALUE;
+                children[b].reentrantFireEventCount = 1;
+
+                // each branch gets its own copy of the event, since listeners iterate it
+                Event branchEvent = (b == 0) ? event : eventFormat.copy(event);
+                for(int i : listenerIndicesForCurrentEvent.get(subject)) {
+                    if(Arrays.binarySearch(subjectBranches[b], i) >= 0) children[b].markListener(i, branchEvent);
+                }
+            }
+
+            final CountDownLatch finished = new CountDownLatch(children.length - 1);
+            for(int b = 1; b < children.length; b++) {
+                final Dispatch child = children[b];
                 try {
-                    subjectAndEventFormat.getValue().postEvent(subjectAndEventFormat.getKey());
-                } catch(RuntimeException e) {
-                    if(toRethrow == null) toRethrow = e;
+                    executor.execute(() -> {
+                        try {
+                            child.fireBranch();
+                        } finally {
+                            finished.countDown();
+                        }
+                    });
+                } catch(RejectedExecutionException e) {
+                    child.fireBranch();
+                    finished.countDown();
                 }
             }
-            subjectsToCleanUp.clear();
+            children[0].fireBranch();
 
-            // this event is completely finished
-            subjectsAndListenersForCurrentEvent = null;
+            // wait for the other branches, even if we're interrupted
+            boolean interrupted = false;
+            while(true) {
+                try {
+                    finished.await();
+                    break;
+                } catch(InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if(interrupted) Thread.currentThread().interrupt();
 
-            // rethrow any exceptions
-            if(toRethrow != null) throw toRethrow;
+            // the subjects fired within each branch are cleaned up with ours
+            RuntimeException toRethrow = null;
+            for(int b = 0; b < children.length; b++) {
+                if(toRethrow == null) toRethrow = children[b].toRethrow;
+                cleanUpSubjects.addAll(children[b].cleanUpSubjects);
+                cleanUpFormats.addAll(children[b].cleanUpFormats);
+            }
+            return toRethrow;
+        }
 
-        } finally {
-            reentrantFireEventCount--;
+        /**
+         * Notify the listeners in this branch, with any events they fire
+         * handled by this dispatch.
+         */
+        private void fireBranch() {
+            branchDispatch.set(this);
+            try {
+                toRethrow = firePendingEvents(null);
+            } finally {
+                branchDispatch.remove();
+            }
+        }
+
+        /**
+         * Notify each subject that its event has been completely distributed.
+         */
+        private RuntimeException cleanUp(RuntimeException toRethrow) {
+            for(int i = 0, size = cleanUpSubjects.size(); i < size; i++) {
+                try {
+                    cleanUpFormats.get(i).postEvent(cleanUpSubjects.get(i));
+                } catch(RuntimeException e) {
+                    if(toRethrow == null) toRethrow = e;
+                }
+            }
+            subjectsToCleanUp.clear();
+            cleanUpSubjects.clear();
+            cleanUpFormats.clear();
+            return toRethrow;
         }
     }
 
@@ -423,6 +825,15 @@ final class SequenceDependenciesEventPublisher implements ListEventPublisher, Se
          * the listener will be silently removed and no longer receive events.
          */
         boolean isStale(Subject subject, Listener listener);
+
+        /**
+         * Create a copy of the specified event that can be delivered on another
+         * thread while the original is being delivered. The default shares the
+         * event, which is only safe if listeners don't change it.
+         */
+        default Event copy(Event event) {
+            return event;
+        }
     }
 
     /**
@@ -456,6 +867,9 @@ final class SequenceDependenciesEventPublisher implements ListEventPublisher, Se
         private final Listener listener;
         private final EventFormat<Subject,Listener,Event> eventFormat;
         private Event pendingEvent;
+        /** the nodes of the subject and its listener's related subject */
+        private Node source;
+        private Node target;
 
         public SubjectAndListener(Subject subject, Listener listener, EventFormat<Subject,Listener,Event> eventFormat) {
             this.subject = subject;
@@ -488,4 +902,29 @@ final class SequenceDependenciesEventPublisher implements ListEventPublisher, Se
             return subject + separator + listener;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * A subject in the dependency graph, and its position in the topological order.
+     */
+    private static class Node {
+        private final Object subject;
+        private int order;
+        /** the pairs whose listeners are related to this subject, in the order they were added */
+        private final Set<SubjectAndListener> incoming = new LinkedHashSet<>();
+        /** the pairs listening to this subject */
+        private final Set<SubjectAndListener> outgoing = new LinkedHashSet<>();
+        /** whether this node has been visited while reordering */
+        private boolean visited;
+        /** the number of listener indices recorded so far, while rebuilding */
+        private int indicesWritten;
+
+        public Node(Object subject, int order) {
+            this.subject = subject;
+            this.order = order;
+        }
+    }
+
+    private static final int[][] NO_BRANCHES = new int[0][];
+
+    private static final Comparator<Node> NODE_ORDER = (a, b) -> Integer.compare(a.order, b.order);
+}
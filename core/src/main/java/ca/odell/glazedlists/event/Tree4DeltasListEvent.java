@@ -18,6 +18,10 @@ class Tree4DeltasListEvent<E> extends ListEvent<E> {
     private Tree4Deltas.Iterator deltasIterator;
     private BlockSequence.Iterator linearIterator;
 
+    /** iterators kept between events, so that firing an event doesn't allocate */
+    private Tree4Deltas.Iterator deltasIteratorCache;
+    private BlockSequence.Iterator linearIteratorCache;
+
     private ListEventAssembler deltasAssembler;
 
     public Tree4DeltasListEvent(ListEventAssembler deltasAssembler, EventList<E> sourceList) {
@@ -41,12 +45,16 @@ class Tree4DeltasListEvent<E> extends ListEvent<E> {
     public void reset() {
         // prefer to use the linear blocks, which are faster
         if(deltasAssembler.getUseListBlocksLinear()) {
-            this.linearIterator = deltasAssembler.getListBlocksLinear().iterator();
+            if(linearIteratorCache == null) linearIteratorCache = deltasAssembler.getListBlocksLinear().iterator();
+            else linearIteratorCache.reset();
+            this.linearIterator = linearIteratorCache;
             this.deltasIterator = null;
 
         // otherwise use the deltas, which are more general
         } else {
-            this.deltasIterator = deltasAssembler.getListDeltas().iterator();
+            if(deltasIteratorCache == null) deltasIteratorCache = deltasAssembler.getListDeltas().iterator();
+            else deltasIteratorCache.reset();
+            this.deltasIterator = deltasIteratorCache;
             this.linearIterator = null;
         }
     }
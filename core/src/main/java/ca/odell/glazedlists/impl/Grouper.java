@@ -75,10 +75,12 @@ public class Grouper<E> {
 
         // Populate the barcode by examining adjacent entries within the
         // source SortedList to check if they belong to the same group.
-        barcode = new Barcode();
-        for (int i = 0, n = sortedList.size(); i < n; i++) {
-            barcode.add(i, groupTogether(i, i-1) ? DUPLICATE : UNIQUE, 1);
+        final boolean[] unique = new boolean[sortedList.size()];
+        for (int i = 0; i < unique.length; i++) {
+            unique[i] = !groupTogether(i, i-1);
         }
+        barcode = new Barcode();
+        barcode.bulkLoad(unique);
     }
 
     /**
@@ -0,0 +1,370 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.impl;
+
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.impl.adt.barcode2.Element;
+import ca.odell.glazedlists.impl.adt.barcode2.SimpleTree;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Groups the elements of a source list whose keys are equal, as defined by
+ * {@link Object#hashCode()} and {@link Object#equals(Object)}. Unlike
+ * {@link Grouper}, this doesn't need a sorted source: a group is found in
+ * constant time from its key, so the source may be in any order.
+ *
+ * <p>Groups are kept in the order they were created, which is the order in
+ * which their keys were first seen. The members of each group are kept in
+ * source order.
+ */
+public class HashGrouper<E> {
+
+    private final EventList<E> source;
+    private final Function<? super E, ?> keyFunction;
+    private final Client<E> client;
+
+    /** a node for each source element, in source order */
+    private final SimpleTree<Member<E>> members = new SimpleTree<>();
+    /** the groups, in the order they were created */
+    private final SimpleTree<Group> groups = new SimpleTree<>();
+    /** the groups, by key */
+    private final Map<Object,Group> groupsByKey = new HashMap<>();
+
+    /**
+     * Create a new {@link HashGrouper} that groups the elements of the specified
+     * source by the keys produced by the specified {@link Function}.
+     */
+    public HashGrouper(EventList<E> source, Function<? super E, ?> keyFunction, Client<E> client) {
+        this.source = source;
+        this.keyFunction = keyFunction;
+        this.client = client;
+
+        for(int i = 0, n = source.size(); i < n; i++) {
+            insert(i, source.get(i), false);
+        }
+    }
+
+    /**
+     * The number of groups.
+     */
+    public int size() {
+        return groups.size();
+    }
+
+    /**
+     * Get the group at the specified index.
+     */
+    public Group getGroup(int index) {
+        return groups.get(index).get();
+    }
+
+    /**
+     * Get the index of the specified group.
+     */
+    public int indexOfGroup(Group group) {
+        return groups.indexOfNode(group.node, (byte)1);
+    }
+
+    /**
+     * Get the group that the specified value belongs to, or <code>null</code>
+     * if there is no such group.
+     */
+    public Group getGroupOf(E value) {
+        return groupsByKey.get(keyFunction.apply(value));
+    }
+
+    /**
+     * Update the groups for the changes to the source list, notifying the
+     * client of each group that's inserted, updated or deleted as a result.
+     */
+    public void listChanged(ListEvent<E> listChanges) {
+        if(listChanges.isReordering()) {
+            reorder(listChanges.getReorderMap());
+            return;
+        }
+
+        while(listChanges.next()) {
+            final int index = listChanges.getIndex();
+            final int type = listChanges.getType();
+            if(type == ListEvent.INSERT) {
+                insert(index, source.get(index), true);
+            } else if(type == ListEvent.DELETE) {
+                delete(index);
+            } else if(type == ListEvent.UPDATE) {
+                update(index, source.get(index));
+            }
+        }
+    }
+
+    /**
+     * Add the element at the specified source index to the group of its key,
+     * creating that group at the end if it doesn't exist yet.
+     */
+    private void insert(int index, E value, boolean fireEvents) {
+        final Object key = keyFunction.apply(value);
+        Group group = groupsByKey.get(key);
+        final boolean created = (group == null);
+        if(created) {
+            group = new Group(key);
+            group.node = groups.add(groups.size(), group, 1);
+            groupsByKey.put(key, group);
+        }
+
+        final E oldRepresentative = created ? null : group.get(0);
+        final Element<Member<E>> node = members.add(index, new Member<>(group, value), 1);
+        group.addMember(node, index);
+
+        if(!fireEvents) return;
+        client.memberChanged(group, node.get(), ListEvent.INSERT, ListEvent.<E>unknownValue(), value);
+        if(created) {
+            client.groupChanged(groups.size() - 1, ListEvent.INSERT, ListEvent.<E>unknownValue(), value);
+        } else {
+            client.groupChanged(indexOfGroup(group), ListEvent.UPDATE, oldRepresentative, group.get(0));
+        }
+    }
+
+    /**
+     * Remove the element at the specified source index from its group,
+     * removing that group if it's left empty.
+     */
+    private void delete(int index) {
+        final Element<Member<E>> node = members.get(index);
+        final Member<E> member = node.get();
+        final Group group = member.group;
+        final E oldValue = member.value;
+        final E oldRepresentative = group.get(0);
+        final int groupIndex = indexOfGroup(group);
+
+        group.removeMember(node, index);
+        members.remove(node);
+        client.memberChanged(group, member, ListEvent.DELETE, oldValue, ListEvent.<E>unknownValue());
+
+        if(group.isEmpty()) {
+            groups.remove(group.node);
+            group.node = null;
+            groupsByKey.remove(group.key);
+            client.groupChanged(groupIndex, ListEvent.DELETE, oldRepresentative, ListEvent.<E>unknownValue());
+        } else {
+            client.groupChanged(groupIndex, ListEvent.UPDATE, oldRepresentative, group.get(0));
+        }
+    }
+
+    /**
+     * Replace the value of the element at the specified source index, moving
+     * it to another group if its key has changed.
+     */
+    private void update(int index, E value) {
+        final Element<Member<E>> node = members.get(index);
+        final Member<E> member = node.get();
+        final Group group = member.group;
+        if(groupsByKey.get(keyFunction.apply(value)) != group) {
+            delete(index);
+            insert(index, value, true);
+            return;
+        }
+
+        final E oldRepresentative = group.get(0);
+        final E oldValue = member.value;
+        member.value = value;
+        client.memberChanged(group, member, ListEvent.UPDATE, oldValue, value);
+        client.groupChanged(indexOfGroup(group), ListEvent.UPDATE, oldRepresentative, group.get(0));
+    }
+
+    /**
+     * Move the source elements to their reordered indices. The groups keep
+     * their order, but all of them are updated since their members move.
+     */
+    private void reorder(int[] reorderMap) {
+        final List<Member<E>> previous = new ArrayList<>(members.size());
+        for(int i = 0, n = members.size(); i < n; i++) {
+            previous.add(members.get(i).get());
+        }
+        members.clear();
+        for(int g = 0, n = groups.size(); g < n; g++) {
+            groups.get(g).get().members.clear();
+        }
+        for(int i = 0; i < reorderMap.length; i++) {
+            final Member<E> member = previous.get(reorderMap[i]);
+            member.group.members.add(members.add(i, member, 1));
+        }
+
+        for(int g = 0, n = groups.size(); g < n; g++) {
+            final Group group = groups.get(g).get();
+            client.groupChanged(g, ListEvent.UPDATE, ListEvent.<E>unknownValue(), group.get(0));
+        }
+    }
+
+    /**
+     * A source element, with its value and group.
+     */
+    public static final class Member<E> {
+        private final HashGrouper<E>.Group group;
+        private E value;
+        /** data kept by the {@link Client} for this member */
+        private Object attachment;
+
+        Member(HashGrouper<E>.Group group, E value) {
+            this.group = group;
+            this.value = value;
+        }
+
+        /**
+         * Get the value of this member.
+         */
+        public E getValue() {
+            return value;
+        }
+
+        /**
+         * Get the data the {@link Client} has attached to this member, or
+         * <code>null</code> if there is none.
+         */
+        public Object getAttachment() {
+            return attachment;
+        }
+
+        /**
+         * Attach data to this member, such as what the {@link Client} derived
+         * from its current value. The data is kept until the member is deleted,
+         * including when its value is updated.
+         */
+        public void setAttachment(Object attachment) {
+            this.attachment = attachment;
+        }
+    }
+
+    /**
+     * A group of source elements with equal keys. This is a read-only view of
+     * their values in source order, whose first value represents the group.
+     */
+    public final class Group extends AbstractList<E> {
+        private final Object key;
+        /** the group's position in the tree of groups, or <code>null</code> once it's removed */
+        private Element<Group> node;
+        /** the group's members, in source order */
+        private final List<Element<Member<E>>> members = new ArrayList<>(2);
+
+        private Group(Object key) {
+            this.key = key;
+        }
+
+        /**
+         * Get the key shared by the members of this group.
+         */
+        public Object getKey() {
+            return key;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public E get(int index) {
+            return members.get(index).get().value;
+        }
+
+        /**
+         * Get the member at the specified index.
+         */
+        public Member<E> getMember(int index) {
+            return members.get(index).get();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int size() {
+            return members.size();
+        }
+
+        /**
+         * Get the source index of the member at the specified index.
+         */
+        public int getSourceIndex(int index) {
+            return HashGrouper.this.members.indexOfNode(members.get(index), (byte)1);
+        }
+
+        /**
+         * Whether this group still belongs to the grouper. Groups are removed
+         * once they have no members.
+         */
+        public boolean isAlive() {
+            return node != null;
+        }
+
+        /**
+         * Add the specified node at the specified source index to this group,
+         * keeping the members in source order. Elements are usually added to
+         * the end of a group, which takes constant time.
+         */
+        private void addMember(Element<Member<E>> node, int sourceIndex) {
+            members.add(search(sourceIndex), node);
+        }
+
+        /**
+         * Remove the specified node at the specified source index from this group.
+         */
+        private void removeMember(Element<Member<E>> node, int sourceIndex) {
+            final int last = members.size() - 1;
+            if(members.get(last) == node) {
+                members.remove(last);
+            } else {
+                members.remove(search(sourceIndex));
+            }
+        }
+
+        /**
+         * Find the position of the first member at or after the specified
+         * source index.
+         */
+        private int search(int sourceIndex) {
+            if(members.isEmpty() || getSourceIndex(members.size() - 1) < sourceIndex) return members.size();
+            int low = 0;
+            int high = members.size() - 1;
+            while(low < high) {
+                final int mid = (low + high) >>> 1;
+                if(getSourceIndex(mid) < sourceIndex) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Handle changes to the groups.
+     */
+    public interface Client<E> {
+
+        /**
+         * The group at the specified index has been inserted, updated or
+         * deleted.
+         *
+         * @param oldValue the value that represented the group before the
+         *      change, or {@link ListEvent#unknownValue()} for an insert
+         * @param newValue the value that represents the group after the change,
+         *      or {@link ListEvent#unknownValue()} for a delete
+         */
+        void groupChanged(int groupIndex, int groupChangeType, E oldValue, E newValue);
+
+        /**
+         * A member of the specified group has been inserted, updated or
+         * deleted. This is called before the resulting call to
+         * {@link #groupChanged}, so a group is seen here before it's inserted
+         * and after its last member is deleted.
+         *
+         * @param member the member, whose value is already the new value
+         * @param oldValue the member's previous value, or
+         *      {@link ListEvent#unknownValue()} for an insert
+         * @param newValue the member's new value, or
+         *      {@link ListEvent#unknownValue()} for a delete
+         */
+        default void memberChanged(HashGrouper<E>.Group group, Member<E> member, int memberChangeType, E oldValue, E newValue) {
+            // most clients only need changes to the groups
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.impl;
+
+import ca.odell.glazedlists.DoubleComparator;
+import ca.odell.glazedlists.DoubleEventList;
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.IntEventList;
+import ca.odell.glazedlists.LongComparator;
+import ca.odell.glazedlists.LongEventList;
+import ca.odell.glazedlists.matchers.DoubleMatcher;
+import ca.odell.glazedlists.matchers.LongMatcher;
+import ca.odell.glazedlists.matchers.Matcher;
+
+import java.util.Comparator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntPredicate;
+
+/**
+ * Adapts primitive {@link Matcher}s and {@link Comparator}s to read the
+ * values of a primitive {@link EventList} by index, so they are never boxed.
+ */
+public final class PrimitiveLists {
+
+    private PrimitiveLists() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Get a predicate that tests the source element at an index with the
+     * specified {@link Matcher} without boxing it.
+     *
+     * @return the predicate, or <code>null</code> if the {@link Matcher} isn't
+     *      a primitive Matcher for the source's values
+     */
+    public static IntPredicate matcherAt(EventList<?> source, Matcher<?> matcher) {
+        if (matcher instanceof DoubleMatcher) {
+            final DoubleMatcher doubleMatcher = (DoubleMatcher) matcher;
+            if (source instanceof DoubleEventList) {
+                final DoubleEventList values = (DoubleEventList) source;
+                return index -> doubleMatcher.matchesDouble(values.getDouble(index));
+            } else if (source instanceof LongEventList) {
+                final LongEventList values = (LongEventList) source;
+                return index -> doubleMatcher.matchesDouble(values.getLong(index));
+            } else if (source instanceof IntEventList) {
+                final IntEventList values = (IntEventList) source;
+                return index -> doubleMatcher.matchesDouble(values.getInt(index));
+            }
+        } else if (matcher instanceof LongMatcher) {
+            final LongMatcher longMatcher = (LongMatcher) matcher;
+            if (source instanceof LongEventList) {
+                final LongEventList values = (LongEventList) source;
+                return index -> longMatcher.matchesLong(values.getLong(index));
+            } else if (source instanceof IntEventList) {
+                final IntEventList values = (IntEventList) source;
+                return index -> longMatcher.matchesLong(values.getInt(index));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get an operator that compares the source elements at two indices with
+     * the specified {@link Comparator} without boxing them.
+     *
+     * @return the operator, or <code>null</code> if the {@link Comparator}
+     *      isn't a primitive Comparator for the source's values
+     */
+    public static IntBinaryOperator comparatorAt(EventList<?> source, Comparator<?> comparator) {
+        if (comparator instanceof DoubleComparator) {
+            final DoubleComparator doubleComparator = (DoubleComparator) comparator;
+            if (source instanceof DoubleEventList) {
+                final DoubleEventList values = (DoubleEventList) source;
+                return (alpha, beta) -> doubleComparator.compareDouble(values.getDouble(alpha), values.getDouble(beta));
+            } else if (source instanceof LongEventList) {
+                final LongEventList values = (LongEventList) source;
+                return (alpha, beta) -> doubleComparator.compareDouble(values.getLong(alpha), values.getLong(beta));
+            } else if (source instanceof IntEventList) {
+                final IntEventList values = (IntEventList) source;
+                return (alpha, beta) -> doubleComparator.compareDouble(values.getInt(alpha), values.getInt(beta));
+            }
+        } else if (comparator instanceof LongComparator) {
+            final LongComparator longComparator = (LongComparator) comparator;
+            if (source instanceof LongEventList) {
+                final LongEventList values = (LongEventList) source;
+                return (alpha, beta) -> longComparator.compareLong(values.getLong(alpha), values.getLong(beta));
+            } else if (source instanceof IntEventList) {
+                final IntEventList values = (IntEventList) source;
+                return (alpha, beta) -> longComparator.compareLong(values.getInt(alpha), values.getInt(beta));
+            }
+        }
+        return null;
+    }
+}
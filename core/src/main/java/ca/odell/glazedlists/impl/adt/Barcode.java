@@ -254,6 +254,43 @@ public final class Barcode {
         root = null;
     }
 
+    /**
+     * Replaces the contents of this barcode with the specified colours. The
+     * underlying tree is built bottom-up and perfectly balanced, which takes
+     * <code>O(N)</code> time rather than the <code>O(N log N)</code> time of
+     * adding the values one at a time.
+     *
+     * @param black whether each value is BLACK, or otherwise WHITE
+     */
+    public void bulkLoad(boolean[] black) {
+        // measure the runs, each is a sequence of WHITE followed by one of BLACK
+        int runCount = 0;
+        for(int i = 0; i < black.length; i++) {
+            if(black[i] && (i == 0 || !black[i - 1])) runCount++;
+        }
+        int[] whiteSpaces = new int[runCount];
+        int[] rootSizes = new int[runCount];
+        int run = -1;
+        int white = 0;
+        for(int i = 0; i < black.length; i++) {
+            if(black[i]) {
+                if(i == 0 || !black[i - 1]) {
+                    run++;
+                    whiteSpaces[run] = white;
+                    white = 0;
+                }
+                rootSizes[run]++;
+            } else {
+                white++;
+            }
+        }
+
+        // build the tree, trailing WHITE values are kept outside of it
+        root = BarcodeNode.bulkLoad(this, null, whiteSpaces, rootSizes, 0, runCount);
+        treeSize = root == null ? 0 : root.size();
+        whiteSpace = white;
+    }
+
     /**
      * Gets the root for this Barcode.  This method is exposed for
      * Iterators on Barcode whose set() operations may create a
@@ -57,6 +57,36 @@ final class BarcodeNode {
         this.rootSize = values;
     }
 
+    /**
+     * Builds a perfectly balanced subtree for the runs in the range
+     * <code>[start, end)</code>. Each run is a sequence of WHITE followed by a
+     * non-empty sequence of BLACK.
+     *
+     * @return the root of the subtree, or <code>null</code> if the range is empty
+     */
+    static BarcodeNode bulkLoad(Barcode host, BarcodeNode parent, int[] whiteSpaces, int[] rootSizes, int start, int end) {
+        if(start == end) return null;
+
+        // the middle run is the root, so both subtrees differ in size by at most one
+        int middle = (start + end) >>> 1;
+        BarcodeNode node = new BarcodeNode(host, parent, rootSizes[middle], whiteSpaces[middle]);
+        node.left = bulkLoad(host, node, whiteSpaces, rootSizes, start, middle);
+        node.right = bulkLoad(host, node, whiteSpaces, rootSizes, middle + 1, end);
+
+        // update the cached sizes and height from the completed children
+        if(node.left != null) {
+            node.blackLeftSize = node.left.blackSize();
+            node.treeLeftSize = node.left.size();
+        }
+        if(node.right != null) {
+            node.blackRightSize = node.right.blackSize();
+            node.treeRightSize = node.right.size();
+        }
+        node.recalculateHeight();
+
+        return node;
+    }
+
     /**
      * Returns the size of the subtree rooted at this node
      */
@@ -28,6 +28,24 @@ public class IdentityMultimap<K,V> extends IdentityHashMap<K, List<V>> {
         List<V> values = super.get(key);
         return values == null ? Collections.<V>emptyList() : values;
     }
+    /**
+     * Remove the specified value, by identity, from the values of the
+     * specified key. The key is removed once it has no values.
+     *
+     * @return <code>true</code> if the value was found
+     */
+    public boolean removeValue(K key, V value) {
+        List<V> values = super.get(key);
+        if(values == null) return false;
+        for(int i = 0, n = values.size(); i < n; i++) {
+            if(values.get(i) != value) continue;
+            values.remove(i);
+            if(values.isEmpty()) remove(key);
+            return true;
+        }
+        return false;
+    }
+
     public int count(Object key) {
         List<V> values = super.get(key);
         return values == null ? 0 : values.size();
@@ -111,6 +111,25 @@ public class BciiTreeIterator/*[ TYPELIST_START ]*/ <T0,T1> /*[ TYPELIST_END ]*/
         return result;
     }
 
+    /**
+     * Move this iterator back to before the start of the tree, so that it can
+     * be reused instead of creating a new one.
+     */
+    public void reset() {
+        /*[ GENERATED_CODE_START
+        forloop(`i', 0, VAR_LAST_COLOR_INDEX, `counti(i) = 0;
+        ')
+        GENERATED_CODE_END
+        EXAMPLE_START ]*/
+        count1 = 0;
+        count2 = 0;
+        count4 = 0;
+        /*[ EXAMPLE_END ]*/
+
+        node = null;
+        index = 0;
+    }
+
     /**
      * @return <code>true</code> if there's an element of the specified color in
      *     this tree following the current element.
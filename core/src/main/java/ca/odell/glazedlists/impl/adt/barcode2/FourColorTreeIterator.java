@@ -156,6 +156,25 @@ public class FourColorTreeIterator <  T0>   {
         return result;
     }
 
+    /**
+     * Move this iterator back to before the start of the tree, so that it can
+     * be reused instead of creating a new one.
+     */
+    public void reset() {
+
+
+        count1 = 0;
+        count2 = 0;
+        count4 = 0;
+        count8 = 0;
+
+
+
+
+        node = null;
+        index = 0;
+    }
+
     /**
      * @return <code>true</code> if there's an element of the specified color in
      *     this tree following the current element.
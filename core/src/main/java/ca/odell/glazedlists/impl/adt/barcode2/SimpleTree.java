@@ -771,6 +771,48 @@ public class SimpleTree <  T0>   {
         root = null;
     }
 
+    /**
+     * Replace the contents of this tree with one node for each of the specified
+     * values, in order. The tree is built bottom-up and perfectly balanced,
+     * which takes <code>O(N)</code> time rather than the <code>O(N log N)</code>
+     * time and rotations of adding the values one at a time. In a colored
+     * tree, every inserted node has the color given as the first argument.
+     *
+     * @param values the node values, in tree order
+     * @param elements if non-<code>null</code>, this array is populated with
+     *      the element created for each value, at the value's index
+     */
+    public void bulkLoad(T0[] values, Element<T0>[] elements) {
+        zeroQueue.clear();
+        root = bulkLoadSubtree(values, elements, 0, values.length, null);
+        assert(valid());
+    }
+
+    /**
+     * Build a perfectly balanced subtree of the values in the range
+     * <code>[start, end)</code>.
+     *
+     * @return the root of the subtree, or <code>null</code> if the range is empty
+     */
+    private  SimpleNode <  T0>   bulkLoadSubtree(T0[] values, Element<T0>[] elements, int start, int end,  SimpleNode <  T0>   parent) {
+        if(start == end) return null;
+
+        // the middle value is the root, so both subtrees differ in size by at most one
+        int middle = (start + end) >>> 1;
+         SimpleNode <  T0>   node = new  SimpleNode <  T0>  (1, values[middle], parent);
+        if(elements != null) elements[middle] = node;
+        node.left = bulkLoadSubtree(values, elements, start, middle, node);
+        node.right = bulkLoadSubtree(values, elements, middle + 1, end, node);
+
+        // update height and counts from the completed children
+        byte leftHeight = node.left != null ? node.left.height : 0;
+        byte rightHeight = node.right != null ? node.right.height : 0;
+        node.height = (byte)(Math.max(leftHeight, rightHeight) + 1);
+        node.refreshCounts(!zeroQueue.contains(node));
+
+        return node;
+    }
+
     /**
      * Get the index of the specified element, counting only the colors
      * specified.
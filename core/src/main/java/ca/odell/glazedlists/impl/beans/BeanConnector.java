@@ -202,6 +202,25 @@ public class BeanConnector<E> implements ObservableElementList.Connector<E> {
         this.list = list;
     }
 
+    /**
+     * Start a group of changes to the observed beans, such as all the
+     * properties updated by a single price tick. The changes are delivered
+     * together when the matching {@link #endChanges()} is called, if the
+     * {@link ObservableElementList} supports it.
+     */
+    public void beginChanges() {
+        final ObservableElementChangeHandler<? extends E> handler = list;
+        if (handler != null) handler.beginElementChanges();
+    }
+
+    /**
+     * End a group of changes started by {@link #beginChanges()}.
+     */
+    public void endChanges() {
+        final ObservableElementChangeHandler<? extends E> handler = list;
+        if (handler != null) handler.endElementChanges();
+    }
+
     /**
      * Returns the event matcher. It matches those PropertyChangeEvents, which should be delivered
      * to the ObservableElementList. In other words, it serves as a filter for PropertyChangeEvents.
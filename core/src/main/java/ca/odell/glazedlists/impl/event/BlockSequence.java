@@ -6,6 +6,7 @@ package ca.odell.glazedlists.impl.event;
 import ca.odell.glazedlists.event.ListEvent;
 import ca.odell.glazedlists.impl.adt.IntArrayList;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -26,6 +27,9 @@ public class BlockSequence<E> {
     /** the impacted values */
     private List<E> oldValues = new ArrayList<>();
     private List<E> newValues = new ArrayList<>();
+    /** the impacted values of blocks that carry one value per element, or null */
+    private List<List<? extends E>> oldValueRuns = new ArrayList<>();
+    private List<List<? extends E>> newValueRuns = new ArrayList<>();
 
     /**
      * @param startIndex the first updated element, inclusive
@@ -83,17 +87,41 @@ public class BlockSequence<E> {
             lastNewValue = newValues.get(size - 1);
         }
 
+        // a delete just before the previous delete, such as when removing
+        // from the end of a list one element at a time, extends it backwards
+        if(type == ListEvent.DELETE && lastType == ListEvent.DELETE && endIndex == lastStartIndex
+                && startIndex >= (size > 1 ? changedIndex(size - 2) : 0)) {
+            if(oldValue == lastOldValue && !hasValueRun(size - 1)) {
+                starts.set(size - 1, startIndex);
+                return true;
+            }
+            if(endIndex - startIndex == 1 && canGrowValueRun(size - 1, true)) {
+                growValueRun(size - 1, true, oldValue, newValue);
+                starts.set(size - 1, startIndex);
+                return true;
+            }
+            return false;
+        }
+
         // this change breaks the linear-ordering requirement, convert
         // to a more powerful list blocks manager
         if(startIndex < lastChangedIndex) {
             return false;
 
         // concatenate this change on to the previous one
-        } else if(lastChangedIndex == startIndex && lastType == type && oldValue == lastOldValue && newValue == lastNewValue) {
+        } else if(lastChangedIndex == startIndex && lastType == type && oldValue == lastOldValue && newValue == lastNewValue && !hasValueRun(size - 1)) {
             int newLength = (lastEndIndex - lastStartIndex) + (endIndex - startIndex);
             ends.set(size - 1, lastStartIndex + newLength);
             return true;
 
+        // a single element with its own value just after the previous change
+        // of the same type, such as when appending to a list one element at
+        // a time, grows the previous change's values rather than adding a block
+        } else if(lastChangedIndex == startIndex && lastType == type && endIndex - startIndex == 1 && canGrowValueRun(size - 1, false)) {
+            growValueRun(size - 1, false, oldValue, newValue);
+            ends.set(size - 1, lastEndIndex + 1);
+            return true;
+
         // add this change to the end of the list
         } else {
             starts.add(startIndex);
@@ -101,10 +129,93 @@ public class BlockSequence<E> {
             types.add(type);
             oldValues.add(oldValue);
             newValues.add(newValue);
+            oldValueRuns.add(null);
+            newValueRuns.add(null);
             return true;
         }
     }
 
+    /**
+     * Add a block of changes that carries a distinct value for each changed
+     * element, or return <code>false</code> if that failed because the change
+     * is not in increasing order. The block is recorded in constant time
+     * regardless of its length.
+     *
+     * @param oldValues the replaced or removed values, one per element, or
+     *      <code>null</code> for an insert
+     * @param newValues the inserted or updated values, one per element, or
+     *      <code>null</code> for a delete
+     * @return true if the change was successfully applied, or <code>false</code>
+     *      if no change was made because this change could not be handled.
+     */
+    public boolean addChange(int type, int startIndex, List<? extends E> oldValues, List<? extends E> newValues) {
+        final int length = (oldValues != null) ? oldValues.size() : newValues.size();
+        final int size = types.size();
+        if(size != 0) {
+            int lastType = types.get(size - 1);
+            int lastChangedIndex = (lastType == ListEvent.DELETE) ? starts.get(size - 1) : ends.get(size - 1);
+            if(startIndex < lastChangedIndex) return false;
+        }
+
+        starts.add(startIndex);
+        ends.add(startIndex + length);
+        types.add(type);
+        this.oldValues.add(ListEvent.<E>unknownValue());
+        this.newValues.add(ListEvent.<E>unknownValue());
+        oldValueRuns.add(oldValues);
+        newValueRuns.add(newValues);
+        return true;
+    }
+
+    private boolean hasValueRun(int blockIndex) {
+        return oldValueRuns.get(blockIndex) != null || newValueRuns.get(blockIndex) != null;
+    }
+
+    /**
+     * The index that the specified block leaves off at, after which the next
+     * block may start.
+     */
+    private int changedIndex(int blockIndex) {
+        return (types.get(blockIndex) == ListEvent.DELETE) ? starts.get(blockIndex) : ends.get(blockIndex);
+    }
+
+    /**
+     * Whether the specified block can take one more element with its own values,
+     * at its start or its end. That's true if it shares a single value among its
+     * elements, or if its values are a {@link ValueRun} that grows the same way.
+     */
+    private boolean canGrowValueRun(int blockIndex, boolean atStart) {
+        final List<? extends E> oldRun = oldValueRuns.get(blockIndex);
+        final List<? extends E> newRun = newValueRuns.get(blockIndex);
+        if(oldRun == null && newRun == null) return true;
+        final List<? extends E> run = (oldRun != null) ? oldRun : newRun;
+        return run instanceof ValueRun && ((ValueRun<?>) run).atStart == atStart;
+    }
+
+    /**
+     * Add the values of one more element to the specified block, converting
+     * its shared values into a {@link ValueRun} if necessary. Inserts only
+     * keep new values, and deletes only keep old values.
+     */
+    private void growValueRun(int blockIndex, boolean atStart, E oldValue, E newValue) {
+        final int type = types.get(blockIndex);
+        if(type != ListEvent.INSERT) growValueRun(oldValueRuns, oldValues, blockIndex, atStart, oldValue);
+        if(type != ListEvent.DELETE) growValueRun(newValueRuns, newValues, blockIndex, atStart, newValue);
+    }
+    private void growValueRun(List<List<? extends E>> runs, List<E> sharedValues, int blockIndex, boolean atStart, E value) {
+        ValueRun<E> run = (ValueRun<E>) runs.get(blockIndex);
+        if(run == null) {
+            final E shared = sharedValues.get(blockIndex);
+            run = new ValueRun<>(atStart);
+            for(int i = starts.get(blockIndex); i < ends.get(blockIndex); i++) {
+                run.grow(shared);
+            }
+            runs.set(blockIndex, run);
+            sharedValues.set(blockIndex, ListEvent.<E>unknownValue());
+        }
+        run.grow(value);
+    }
+
     public boolean isEmpty() {
         return types.isEmpty();
     }
@@ -115,6 +226,8 @@ public class BlockSequence<E> {
         types.clear();
         oldValues.clear();
         newValues.clear();
+        oldValueRuns.clear();
+        newValueRuns.clear();
     }
 
     public Iterator iterator() {
@@ -149,6 +262,34 @@ public class BlockSequence<E> {
         return result.toString();
     }
 
+    /**
+     * The values of a block that grows one element at a time, either at its
+     * end or at its start. Growing takes constant time either way.
+     */
+    private static final class ValueRun<E> extends AbstractList<E> {
+        private final List<E> values = new ArrayList<>();
+        /** true if elements are added at the start, so values are held in reverse */
+        private final boolean atStart;
+
+        ValueRun(boolean atStart) {
+            this.atStart = atStart;
+        }
+
+        void grow(E value) {
+            values.add(value);
+        }
+
+        @Override
+        public E get(int index) {
+            return atStart ? values.get(values.size() - 1 - index) : values.get(index);
+        }
+
+        @Override
+        public int size() {
+            return values.size();
+        }
+    }
+
     /**
      * Iterate through the list of changes in this sequence.
      */
@@ -171,6 +312,18 @@ public class BlockSequence<E> {
             return result;
         }
 
+        /**
+         * Move this iterator back to before the first change, so that it can
+         * be reused instead of creating a new one.
+         */
+        public void reset() {
+            blockIndex = -1;
+            offset = 0;
+            startIndex = -1;
+            endIndex = -1;
+            type = -1;
+        }
+
         public int getIndex() {
             if(type == ListEvent.INSERT || type == ListEvent.UPDATE) {
                 return startIndex + offset;
@@ -193,10 +346,36 @@ public class BlockSequence<E> {
             return type;
         }
         public E getOldValue() {
-            return oldValues.get(blockIndex);
+            return getOldValue(offset);
         }
         public E getNewValue() {
-            return newValues.get(blockIndex);
+            return getNewValue(offset);
+        }
+
+        /**
+         * @return true if the current block carries one value per element,
+         *      rather than a single value shared by all of its elements
+         */
+        public boolean hasValueRun() {
+            return BlockSequence.this.hasValueRun(blockIndex);
+        }
+
+        /**
+         * Get the old value of the element at the specified offset within
+         * the current block.
+         */
+        public E getOldValue(int offset) {
+            final List<? extends E> run = oldValueRuns.get(blockIndex);
+            return (run != null) ? run.get(offset) : oldValues.get(blockIndex);
+        }
+
+        /**
+         * Get the new value of the element at the specified offset within
+         * the current block.
+         */
+        public E getNewValue(int offset) {
+            final List<? extends E> run = newValueRuns.get(blockIndex);
+            return (run != null) ? run.get(offset) : newValues.get(blockIndex);
         }
 
         /**
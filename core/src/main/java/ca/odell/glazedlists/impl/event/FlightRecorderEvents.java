@@ -0,0 +1,57 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.impl.event;
+
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.event.ListEvent;
+
+/**
+ * Emits Java Flight Recorder events as lists commit their changes and
+ * listeners handle them, so that recordings can show which list changes
+ * were slow.
+ *
+ * <p>This is the Java 8 implementation, which does nothing. On Java 11 and
+ * later, the implementation in <code>META-INF/versions/11</code> of the
+ * multi-release jar is loaded instead.
+ *
+ * <p>Each <code>begin</code> method returns a token that must be passed to
+ * {@link #end} when the timed work is done, or <code>null</code> if the event
+ * isn't being recorded.
+ */
+public final class FlightRecorderEvents {
+
+    private FlightRecorderEvents() {
+        // static methods only
+    }
+
+    /**
+     * Begin timing a list committing an event and publishing it to its listeners.
+     */
+    public static Object beginCommit(EventList<?> list, ListEvent<?> event) {
+        return null;
+    }
+
+    /**
+     * Begin timing a publisher delivering an event of the specified subject.
+     */
+    public static Object beginPublish(Object subject, Object event) {
+        return null;
+    }
+
+    /**
+     * Begin timing a listener handling an event.
+     */
+    public static Object beginListChanged(EventList<?> source, Object listener, ListEvent<?> event) {
+        return null;
+    }
+
+    /**
+     * Finish timing, and record the event.
+     *
+     * @param token the result of a <code>begin</code> method
+     */
+    public static void end(Object token) {
+        // nothing to record
+    }
+}
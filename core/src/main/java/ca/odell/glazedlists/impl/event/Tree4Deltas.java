@@ -211,6 +211,24 @@ public class Tree4Deltas<E> {
             int blockStart = i.getBlockStart();
             int blockEnd = i.getBlockEnd();
             int type = i.getType();
+
+            // blocks with a value per element must be split up, since each
+            // node in the tree holds a single value
+            if(i.hasValueRun()) {
+                for(int offset = 0; offset < blockEnd - blockStart; offset++) {
+                    if(type == ListEvent.INSERT) {
+                        targetInsert(blockStart + offset, blockStart + offset + 1, i.getNewValue(offset));
+                    } else if(type == ListEvent.UPDATE) {
+                        targetUpdate(blockStart + offset, blockStart + offset + 1, i.getOldValue(offset), i.getNewValue(offset));
+                    } else if(type == ListEvent.DELETE) {
+                        targetDelete(blockStart, blockStart + 1, i.getOldValue(offset));
+                    } else {
+                        throw new IllegalStateException();
+                    }
+                }
+                continue;
+            }
+
             E oldValue = i.getOldValue();
             E newValue = i.getNewValue();
 
@@ -263,6 +281,14 @@ public class Tree4Deltas<E> {
             return new Iterator<>(tree, treeIterator.copy());
         }
 
+        /**
+         * Move this iterator back to before the first change, so that it can
+         * be reused instead of creating a new one.
+         */
+        public void reset() {
+            treeIterator.reset();
+        }
+
         public int getIndex() {
             return treeIterator.index(TARGET_INDICES);
         }
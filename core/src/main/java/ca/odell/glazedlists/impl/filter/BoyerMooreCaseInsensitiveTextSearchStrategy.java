@@ -131,5 +131,48 @@ public class BoyerMooreCaseInsensitiveTextSearchStrategy extends AbstractTextSea
         // if we fall out of the search loop then we couldn't find the subtext
         return -1;
     }
-    
+
+    /**
+     * The same search as {@link #indexOf(String)}, over characters that have
+     * already been mapped.
+     */
+    @Override
+    public int indexOf(char[] mappedText) {
+        // ensure we are in a state to search the text
+        if(this.subtextCharsUpper == null) {
+            throw new IllegalStateException("setSubtext must be called with a valid value before this method can operate");
+        }
+
+        int textPosition = this.lastSubtextIndex;
+        char textChar = ' ';
+        int subtextPosition;
+        final int textLength = mappedText.length;
+
+        while(textPosition < textLength) {
+            subtextPosition = this.lastSubtextIndex;
+
+            if(subtextPosition >= 0) {
+                textChar = mappedText[textPosition];
+
+                // check for matching character from the end to the beginning of the subtext
+                while(subtextPosition >= 0 &&
+                      (this.subtextCharsLower[subtextPosition] == textChar ||
+                       this.subtextCharsUpper[subtextPosition] == textChar)) {
+                    textPosition--;
+                    if(textPosition != -1) {
+                        textChar = mappedText[textPosition];
+                    }
+                    subtextPosition--;
+                }
+            }
+
+            if(subtextPosition == -1) {
+                return textPosition + 1;
+            }
+
+            textPosition += Math.max(this.shiftTable[textChar % CHARACTER_CACHE_SIZE], this.subtextLength-subtextPosition);
+        }
+
+        return -1;
+    }
 }
\ No newline at end of file
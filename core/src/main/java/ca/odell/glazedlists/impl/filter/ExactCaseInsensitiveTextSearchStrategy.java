@@ -28,4 +28,12 @@ public class ExactCaseInsensitiveTextSearchStrategy extends StartsWithCaseInsens
 
         return super.indexOf(text);
     }
+
+    @Override
+    public int indexOf(char[] mappedText) {
+        if (mappedText.length != subtextLength)
+            return -1;
+
+        return super.indexOf(mappedText);
+    }
 }
\ No newline at end of file
@@ -60,4 +60,19 @@ public class SingleCharacterCaseInsensitiveTextSearchStrategy extends AbstractTe
         // we didn't find the subtextChar so return -1
         return -1;
     }
+
+    /** {@inheritDoc} */
+    @Override
+    public int indexOf(char[] mappedText) {
+        // ensure we are in a state to search the text
+        if(!this.subtextInitialized) throw new IllegalStateException("setSubtext must be called with a valid value before this method can operate");
+
+        for(int i = 0; i < mappedText.length; i++) {
+            if(mappedText[i] == this.subtextCharLower || mappedText[i] == this.subtextCharUpper) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
 }
\ No newline at end of file
@@ -49,13 +49,23 @@ public class StartsWithCaseInsensitiveTextSearchStrategy extends AbstractTextSea
         return indexOfStrategy.indexOf(text);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public int indexOf(char[] mappedText) {
+        // ensure we are in a state to search the text
+        if (indexOfStrategy == null)
+            throw new IllegalStateException("setSubtext must be called with a valid value before this method can operate");
+
+        return indexOfStrategy.indexOf(mappedText);
+    }
+
     /**
      * Implementations of this interface are used to provide the return value
      * for {@link StartsWithCaseInsensitiveTextSearchStrategy#indexOf}.
      */
-    @FunctionalInterface
     private interface IndexOfStrategy {
         public int indexOf(String text);
+        public int indexOf(char[] mappedText);
     }
 
     /**
@@ -82,6 +92,16 @@ public class StartsWithCaseInsensitiveTextSearchStrategy extends AbstractTextSea
 
             return (c == this.upperCase || c == this.lowerCase) ? 0 : -1;
         }
+
+        @Override
+        public int indexOf(char[] mappedText) {
+            if (mappedText.length < 1)
+                return -1;
+
+            char c = mappedText[0];
+
+            return (c == this.upperCase || c == this.lowerCase) ? 0 : -1;
+        }
     }
 
     /**
@@ -120,5 +140,20 @@ public class StartsWithCaseInsensitiveTextSearchStrategy extends AbstractTextSea
 
             return 0;
         }
+
+        @Override
+        public int indexOf(char[] mappedText) {
+            if (mappedText.length < subtextLength)
+                return -1;
+
+            for (int i = 0; i < subtextLength; i++) {
+                char c = mappedText[i];
+
+                if (subtextCharsLower[i] != c && subtextCharsUpper[i] != c)
+                    return -1;
+            }
+
+            return 0;
+        }
     }
 }
\ No newline at end of file
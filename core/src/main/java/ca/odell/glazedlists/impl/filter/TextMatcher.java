@@ -5,6 +5,9 @@ package ca.odell.glazedlists.impl.filter;
 
 import ca.odell.glazedlists.TextFilterable;
 import ca.odell.glazedlists.TextFilterator;
+import ca.odell.glazedlists.impl.GlazedListsImpl;
+import ca.odell.glazedlists.impl.adt.barcode2.Element;
+import ca.odell.glazedlists.impl.matchers.IndexedMatcher;
 import ca.odell.glazedlists.matchers.Matcher;
 import ca.odell.glazedlists.matchers.TextMatcherEditor;
 
@@ -16,7 +19,7 @@ import java.util.*;
  * @author James Lemieux
  * @author <a href="mailto:jesse@swank.ca">Jesse Wilson</a>
  */
-public class TextMatcher<E> implements Matcher<E> {
+public class TextMatcher<E> implements IndexedMatcher<E, TextMatchers.FilterStrings<E>> {
 
     /** the filterator is used as an alternative to implementing the TextFilterable interface */
     private final TextFilterator<? super E> filterator;
@@ -33,8 +36,14 @@ public class TextMatcher<E> implements Matcher<E> {
     /** a parallel array to locate filter substrings in arbitrary text */
     private final TextSearchStrategy[] filterStrategies;
 
-    /** a heavily recycled list of filter Strings, call clear() before use */
-    private final List<String> filterStrings = new ArrayList<>();
+    /** a heavily recycled list of filter Strings for each thread, since matchers may be called concurrently; call clear() before use */
+    private static final ThreadLocal<List<String>> FILTER_STRINGS = ThreadLocal.withInitial(ArrayList::new);
+
+    /** whether a FilterList should keep the mapped filter strings of each element */
+    private final boolean filterStringsCached;
+
+    /** whether a FilterList should keep an index of the trigrams in the filter strings of each element */
+    private final boolean filterStringsIndexed;
 
     /**
      * @param searchTerms an array of search terms to be matched
@@ -50,6 +59,30 @@ public class TextMatcher<E> implements Matcher<E> {
      *      which indicates what kind of algorithm to use when determining a match
      */
     public TextMatcher(SearchTerm[] searchTerms, TextFilterator<? super E> filterator, int mode, Object strategy) {
+        this(searchTerms, filterator, mode, strategy, false, false);
+    }
+
+    /**
+     * @param searchTerms an array of search terms to be matched
+     * @param filterator the object that will extract filter Strings from each
+     *      object to be matched; <code>null</code> indicates the objects
+     *      implement {@link TextFilterable}
+     * @param mode one of {@link TextMatcherEditor#CONTAINS},
+     *      {@link TextMatcherEditor#STARTS_WITH} or {@link TextMatcherEditor#REGULAR_EXPRESSION}
+     *      which indicates where to locate the search terms for a successful match
+     * @param strategy one of {@link TextMatcherEditor#IDENTICAL_STRATEGY},
+     *      {@link TextMatcherEditor#NORMALIZED_STRATEGY} or
+     *      {@link ca.odell.glazedlists.matchers.GlazedListsICU4J#UNICODE_TEXT_SEARCH_STRATEGY}
+     *      which indicates what kind of algorithm to use when determining a match
+     * @param filterStringsCached <tt>true</tt> if a FilterList should keep
+     *      the mapped filter strings of each element, rather than extracting
+     *      them each time the element is matched
+     * @param filterStringsIndexed <tt>true</tt> if a FilterList should also
+     *      keep an index of the trigrams in the filter strings of each
+     *      element, and only match the elements that contain the trigrams of
+     *      the search terms
+     */
+    public TextMatcher(SearchTerm[] searchTerms, TextFilterator<? super E> filterator, int mode, Object strategy, boolean filterStringsCached, boolean filterStringsIndexed) {
         if (mode == TextMatcherEditor.REGULAR_EXPRESSION && strategy == TextMatcherEditor.NORMALIZED_STRATEGY)
             throw new IllegalArgumentException("TextMatcher does not support normalized character matching with Regular Expressions");
 
@@ -57,6 +90,8 @@ public class TextMatcher<E> implements Matcher<E> {
         this.searchTerms = TextMatchers.normalizeSearchTerms(searchTerms, (TextSearchStrategy.Factory)strategy);
         this.mode = mode;
         this.strategy = strategy;
+        this.filterStringsCached = filterStringsCached;
+        this.filterStringsIndexed = filterStringsIndexed;
 
         // build the parallel list of TextSearchStrategies for the new searchTerms
         filterStrategies = new TextSearchStrategy[this.searchTerms.length];
@@ -86,6 +121,22 @@ public class TextMatcher<E> implements Matcher<E> {
         return strategy;
     }
 
+    /**
+     * Returns <tt>true</tt> if a FilterList should keep the mapped filter
+     * strings of each element.
+     */
+    public boolean isFilterStringsCached() {
+        return filterStringsCached;
+    }
+
+    /**
+     * Returns <tt>true</tt> if a FilterList should keep an index of the
+     * trigrams in the filter strings of each element.
+     */
+    public boolean isFilterStringsIndexed() {
+        return filterStringsIndexed;
+    }
+
     /**
      * Returns the searchTerms strings matched by this {@link TextMatcher}.
      */
@@ -108,7 +159,56 @@ public class TextMatcher<E> implements Matcher<E> {
     /** {@inheritDoc} */
     @Override
     public boolean matches(E element) {
-        return TextMatchers.matches(filterStrings, filterator, searchTerms, filterStrategies, element);
+        return TextMatchers.matches(FILTER_STRINGS.get(), filterator, searchTerms, filterStrategies, element);
+    }
+
+    /**
+     * TextMatchers that extract their filter strings with the same filterator
+     * and map them with the same character map share prepared forms, so the
+     * filter strings survive changes to the search terms and mode. Indexed
+     * filter strings are only shared with other indexed TextMatchers.
+     */
+    @Override
+    public Object getPreparationKey() {
+        return filterStringsCached || filterStringsIndexed ? Arrays.asList(filterator, getCharacterMap(), Boolean.valueOf(filterStringsIndexed)) : null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public TextMatchers.FilterStrings<E> prepare(E element) {
+        return TextMatchers.prepare(FILTER_STRINGS.get(), filterator, getCharacterMap(), element);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean matchesPrepared(TextMatchers.FilterStrings<E> prepared) {
+        return TextMatchers.matches(prepared, searchTerms, filterStrategies);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public IndexedMatcher.Index<TextMatchers.FilterStrings<E>> createIndex() {
+        return filterStringsIndexed ? new TrigramIndex<E>(getCharacterMap()) : null;
+    }
+
+    /**
+     * The candidates are the elements that contain the trigrams of each
+     * search term. Only the case insensitive strategies can be looked up,
+     * since the trigrams of other strategies may differ from their matches.
+     */
+    @Override
+    public Collection<Element<TextMatchers.FilterStrings<E>>> getCandidates(IndexedMatcher.Index<TextMatchers.FilterStrings<E>> index, int limit) {
+        if (strategy != TextMatcherEditor.IDENTICAL_STRATEGY && strategy != TextMatcherEditor.NORMALIZED_STRATEGY) return null;
+        return ((TrigramIndex<E>) index).getCandidates(searchTerms, mode, limit);
+    }
+
+    /**
+     * The character map applied to the filter strings before they are
+     * searched, matching the one applied to the search terms by
+     * {@link TextMatchers#normalizeSearchTerms(SearchTerm[], TextSearchStrategy.Factory)}.
+     */
+    private char[] getCharacterMap() {
+        return strategy == TextMatcherEditor.NORMALIZED_STRATEGY ? GlazedListsImpl.getLatinDiacriticsStripper() : null;
     }
 
     /**
@@ -116,7 +216,7 @@ public class TextMatcher<E> implements Matcher<E> {
      * given <code>mode</code>.
      */
     public TextMatcher<E> newMode(int mode) {
-        return new TextMatcher<>(searchTerms, filterator, mode, strategy);
+        return new TextMatcher<>(searchTerms, filterator, mode, strategy, filterStringsCached, filterStringsIndexed);
     }
 
     /**
@@ -124,7 +224,7 @@ public class TextMatcher<E> implements Matcher<E> {
      * given <code>filterator</code>.
      */
     public TextMatcher<E> newFilterator(TextFilterator<? super E> filterator) {
-        return new TextMatcher<>(searchTerms, filterator, mode, strategy);
+        return new TextMatcher<>(searchTerms, filterator, mode, strategy, filterStringsCached, filterStringsIndexed);
     }
 
     /**
@@ -132,7 +232,23 @@ public class TextMatcher<E> implements Matcher<E> {
      * given <code>strategy</code>.
      */
     public TextMatcher<E> newStrategy(Object strategy) {
-        return new TextMatcher<>(searchTerms, filterator, mode, strategy);
+        return new TextMatcher<>(searchTerms, filterator, mode, strategy, filterStringsCached, filterStringsIndexed);
+    }
+
+    /**
+     * Return a new TextMatcher identical to this TextMatcher save for whether
+     * its filter strings are cached.
+     */
+    public TextMatcher<E> newFilterStringsCached(boolean filterStringsCached) {
+        return new TextMatcher<>(searchTerms, filterator, mode, strategy, filterStringsCached, filterStringsIndexed);
+    }
+
+    /**
+     * Return a new TextMatcher identical to this TextMatcher save for whether
+     * its filter strings are indexed.
+     */
+    public TextMatcher<E> newFilterStringsIndexed(boolean filterStringsIndexed) {
+        return new TextMatcher<>(searchTerms, filterator, mode, strategy, filterStringsCached, filterStringsIndexed);
     }
 
     /**
@@ -157,7 +273,7 @@ public class TextMatcher<E> implements Matcher<E> {
 
     /**
      * TextMatcher objects are considered equal if they agree on the mode,
-     * strategy, and set of SearchTerms.
+     * strategy, caching and indexing of filter strings and set of SearchTerms.
      */
     @Override
     public boolean equals(Object o) {
@@ -170,6 +286,8 @@ public class TextMatcher<E> implements Matcher<E> {
         Set<SearchTerm> thatSearchTerms = new HashSet<>(Arrays.asList(that.searchTerms));
 
         if (mode != that.mode) return false;
+        if (filterStringsCached != that.filterStringsCached) return false;
+        if (filterStringsIndexed != that.filterStringsIndexed) return false;
         if (!thisSearchTerms.equals(thatSearchTerms)) return false;
         if (!strategy.equals(that.strategy)) return false;
 
@@ -36,6 +36,9 @@ public final class TextMatchers {
     /** A Matcher that only accepts SearchTerms without null Fields. */
     private static final Matcher<SearchTerm> FIELD_MATCHER = Matchers.invert(NO_FIELD_MATCHER);
 
+    /** A recyclable list for each thread of the filter strings extracted by the TextFilterator of a SearchTerm's Field. */
+    private static final ThreadLocal<List<String>> FIELD_FILTER_STRINGS = ThreadLocal.withInitial(ArrayList::new);
+
     /**
      * Execute the logic that determines whether the given <code>element</code>
      * is matched by all of the given <code>filterStrategies</code>. An optional
@@ -68,7 +71,7 @@ public final class TextMatchers {
             // if the SearchTerm has a Field, use its TextFilterator to extract the filterStrings
             final List<String> strings;
             if (searchTermField != null) {
-                strings = searchTerm.getFieldFilterStrings();
+                strings = FIELD_FILTER_STRINGS.get();
                 // populate the strings for this object using the SearchTerm's TextFilterator
                 strings.clear();
                 searchTermField.getTextFilterator().getFilterStrings(strings, element);
@@ -123,6 +126,114 @@ public final class TextMatchers {
         return true;
     }
 
+    /**
+     * Extract the filter strings from the given <code>element</code> and map
+     * each of their characters through the <code>characterMap</code>, so that
+     * they can be searched repeatedly by
+     * {@link #matches(FilterStrings, SearchTerm[], TextSearchStrategy[])}
+     * without being extracted again.
+     *
+     * @param filterStrings a recyclable List into which the filter Strings can stored
+     * @param filterator the logic capable of extracting filtering Strings from the <code>element</code>
+     * @param characterMap the map applied to each character, or <code>null</code>
+     *      to keep the characters unchanged
+     * @param element the list element on which we are text filtering
+     */
+    public static <E> FilterStrings<E> prepare(List<String> filterStrings, TextFilterator<? super E> filterator, char[] characterMap, E element) {
+        filterStrings.clear();
+        if(filterator == null) {
+            ((TextFilterable)element).getFilterStrings(filterStrings);
+        } else {
+            filterator.getFilterStrings(filterStrings, element);
+        }
+
+        final char[][] mapped = new char[filterStrings.size()][];
+        for(int i = 0; i < mapped.length; i++) {
+            // arbitrary objects are allowed in the filterStrings list, as in matches()
+            final Object filterString = filterStrings.get(i);
+            if(filterString == null) continue;
+
+            mapped[i] = filterString.toString().toCharArray();
+            if(characterMap != null) {
+                final char[] chars = mapped[i];
+                for(int c = 0; c < chars.length; c++) {
+                    if(chars[c] < characterMap.length) chars[c] = characterMap[chars[c]];
+                }
+            }
+        }
+        filterStrings.clear();
+        return new FilterStrings<>(element, mapped);
+    }
+
+    /**
+     * The same logic as {@link #matches(List, TextFilterator, SearchTerm[], TextSearchStrategy[], Object)},
+     * over filter strings that have already been extracted and mapped by
+     * {@link #prepare}. SearchTerms with a Field still extract their filter
+     * strings from the element.
+     */
+    public static <E> boolean matches(FilterStrings<E> prepared, SearchTerm<E>[] searchTerms, TextSearchStrategy[] filterStrategies) {
+        // ensure each filter matches at least one field
+        filters:
+        for(int f = 0; f < filterStrategies.length; f++) {
+            TextSearchStrategy textSearchStrategy = filterStrategies[f];
+            SearchTerm<E> searchTerm = searchTerms[f];
+
+            // a SearchTerm with a Field isn't prepared, so extract its filter strings as usual
+            final SearchEngineTextMatcherEditor.Field<E> searchTermField = searchTerm.getField();
+            if(searchTermField != null) {
+                final List<String> fieldStrings = FIELD_FILTER_STRINGS.get();
+                fieldStrings.clear();
+                searchTermField.getTextFilterator().getFilterStrings(fieldStrings, prepared.element);
+
+                boolean found = false;
+                for(int i = 0, n = fieldStrings.size(); i < n && !found; i++) {
+                    Object filterString = fieldStrings.get(i);
+                    found = filterString != null && textSearchStrategy.indexOf(filterString.toString()) != -1;
+                }
+                if(found == searchTerm.isNegated()) return false;
+                continue;
+            }
+
+            final char[][] strings = prepared.strings;
+            if(searchTerm.isNegated()) {
+                // if a match was found, then we have violated the negated search term
+                for(int i = 0; i < strings.length; i++) {
+                    if(strings[i] != null && textSearchStrategy.indexOf(strings[i]) != -1)
+                        return false;
+                }
+
+            } else {
+                // if a match was found, then proceed to the next filter string
+                for(int i = 0; i < strings.length; i++) {
+                    if(strings[i] != null && textSearchStrategy.indexOf(strings[i]) != -1)
+                        continue filters;
+                }
+
+                // no field matched this filter
+                return false;
+            }
+        }
+
+        // all filters have been matched
+        return true;
+    }
+
+    /**
+     * The filter strings of an element, extracted and mapped in advance by
+     * {@link TextMatchers#prepare}.
+     */
+    public static final class FilterStrings<E> {
+        /** the element, for SearchTerms with their own Field */
+        final E element;
+        /** the mapped characters of each filter string, or <code>null</code> for null strings */
+        final char[][] strings;
+
+        private FilterStrings(E element, char[][] strings) {
+            this.element = element;
+            this.strings = strings;
+        }
+    }
+
     /**
      * This convenience method returns a copy of the <code>searchTerms</code>
      * with null and <code>""</code> values removed. It also removes irrelevant
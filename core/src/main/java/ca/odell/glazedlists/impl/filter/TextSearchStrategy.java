@@ -48,6 +48,25 @@ public interface TextSearchStrategy {
      */
     public int indexOf(String text);
 
+    /**
+     * Returns the index of the first occurrence of <code>subtext</code> within
+     * <code>mappedText</code>, whose characters have already been mapped by
+     * the character map given to {@link #setCharacterMap(char[])}; or
+     * <code>-1</code> if <code>subtext</code> does not occur within it.
+     *
+     * <p>By default, this searches a String of the characters, so it is only
+     * suitable for strategies whose character map maps each mapped character
+     * to itself.
+     *
+     * @param mappedText the mapped characters in which to locate <code>subtext</code>
+     * @return the index of the first occurrence of <code>subtext</code> within
+     *      <code>mappedText</code>; or <code>-1</code>
+     * @throws IllegalStateException if no subtext has been set
+     */
+    public default int indexOf(char[] mappedText) {
+        return indexOf(new String(mappedText));
+    }
+
     /**
      * The factory for building implementations of {@link TextSearchStrategy}
      * which is used as an identifier for the strategy itself.
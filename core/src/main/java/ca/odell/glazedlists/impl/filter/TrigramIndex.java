@@ -0,0 +1,367 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.impl.filter;
+
+import ca.odell.glazedlists.TextFilterator;
+import ca.odell.glazedlists.impl.adt.barcode2.Element;
+import ca.odell.glazedlists.impl.matchers.IndexedMatcher;
+import ca.odell.glazedlists.matchers.SearchEngineTextMatcherEditor;
+import ca.odell.glazedlists.matchers.TextMatcherEditor;
+
+import java.util.*;
+
+/**
+ * An inverted index from each trigram, or sequence of three characters, to
+ * the elements whose filter strings contain it. An element can only contain
+ * a search term if it contains all of the search term's trigrams, so the
+ * candidates for a {@link TextMatcher} are found by intersecting the nodes of
+ * those trigrams rather than by searching every element.
+ *
+ * <p>Characters are case folded before they are indexed, the same way for
+ * filter strings and search terms. Each filter string is bracketed by
+ * boundary characters, so that {@link TextMatcherEditor#STARTS_WITH} and
+ * {@link TextMatcherEditor#EXACT} search terms of any length have trigrams.
+ * {@link TextMatcherEditor#CONTAINS} search terms need at least three
+ * characters.
+ *
+ * <p>Each node is indexed through an {@link Entry}, so that a node can be
+ * replaced when the list is reordered without indexing its trigrams again.
+ *
+ * <p>The filter strings of a {@link SearchEngineTextMatcherEditor.Field}
+ * aren't prepared, so they are indexed separately, the first time a search
+ * term for that Field is looked up.
+ */
+final class TrigramIndex<E> implements IndexedMatcher.Index<TextMatchers.FilterStrings<E>> {
+
+    /** brackets each filter string, so that its start and end have trigrams of their own */
+    private static final char BOUNDARY = '\0';
+
+    /** the character map applied to the filter strings of Fields, or <code>null</code> */
+    private final char[] characterMap;
+
+    /** the entry of each node in the index */
+    private final Map<Element<TextMatchers.FilterStrings<E>>, Entry<E>> entries = new IdentityHashMap<>();
+
+    /** the trigrams of the prepared filter strings */
+    private final Postings<E> postings = new Postings<>(null);
+
+    /** the trigrams of the filter strings of each Field */
+    private final Map<SearchEngineTextMatcherEditor.Field<E>, Postings<E>> fieldPostings = new HashMap<>();
+
+    /** a heavily recycled list of filter Strings, call clear() before use */
+    private final List<String> filterStrings = new ArrayList<>();
+
+    /**
+     * @param characterMap the map applied to each character of the filter
+     *      strings of Fields, or <code>null</code> to keep the characters
+     *      unchanged
+     */
+    TrigramIndex(char[] characterMap) {
+        this.characterMap = characterMap;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void add(Element<TextMatchers.FilterStrings<E>> node) {
+        final Entry<E> entry = new Entry<>(node);
+        entries.put(node, entry);
+        postings.add(entry, trigrams(node.get().strings));
+        for (Postings<E> fieldPosting : fieldPostings.values()) {
+            fieldPosting.add(entry, fieldTrigrams(fieldPosting.filterator, node.get().element));
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void remove(Element<TextMatchers.FilterStrings<E>> node) {
+        final Entry<E> entry = entries.remove(node);
+        entry.node = null;
+        postings.remove(entry);
+        for (Postings<E> fieldPosting : fieldPostings.values()) {
+            fieldPosting.remove(entry);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void move(Element<TextMatchers.FilterStrings<E>> from, Element<TextMatchers.FilterStrings<E>> to) {
+        final Entry<E> entry = entries.remove(from);
+        entry.node = to;
+        entries.put(to, entry);
+    }
+
+    /**
+     * Find the elements that contain the trigrams of every search term that
+     * must be present. Negated search terms and those without trigrams don't
+     * narrow the candidates.
+     *
+     * @param searchTerms the search terms, already mapped by the character map
+     * @param mode the mode in which the search terms are located
+     * @param limit the number of candidates at which to give up
+     * @return the candidates, or <code>null</code> if no search term narrows
+     *      them below the <code>limit</code>
+     */
+    Collection<Element<TextMatchers.FilterStrings<E>>> getCandidates(SearchTerm<E>[] searchTerms, int mode, int limit) {
+        // the trigrams that must be present, and the postings to find them in
+        final List<Postings<E>> termPostings = new ArrayList<>(searchTerms.length);
+        final List<long[]> termTrigrams = new ArrayList<>(searchTerms.length);
+        for (int t = 0; t < searchTerms.length; t++) {
+            if (searchTerms[t].isNegated()) continue;
+
+            final long[] trigrams = searchTrigrams(searchTerms[t].getText(), mode);
+            if (trigrams == null) continue;
+
+            final SearchEngineTextMatcherEditor.Field<E> field = searchTerms[t].getField();
+            termPostings.add(field == null ? postings : getFieldPostings(field));
+            termTrigrams.add(trigrams);
+        }
+
+        // find the rarest trigram, whose nodes are the only possible candidates
+        PostingList<E> rarest = null;
+        for (int t = 0; t < termTrigrams.size(); t++) {
+            for (long trigram : termTrigrams.get(t)) {
+                final PostingList<E> postingList = termPostings.get(t).lists.get(Long.valueOf(trigram));
+                if (postingList == null) return Collections.emptyList();
+                if (rarest == null || postingList.liveSize() < rarest.liveSize()) rarest = postingList;
+            }
+        }
+        if (rarest == null || rarest.liveSize() >= limit) return null;
+
+        // keep the nodes that contain every other trigram too
+        final List<Element<TextMatchers.FilterStrings<E>>> candidates = new ArrayList<>(rarest.liveSize());
+        entries:
+        for (int n = 0; n < rarest.size; n++) {
+            final Entry<E> entry = rarest.entries[n];
+            if (entry.node == null) continue;
+
+            for (int t = 0; t < termTrigrams.size(); t++) {
+                final long[] entryTrigrams = termPostings.get(t).trigrams(entry);
+                for (long trigram : termTrigrams.get(t)) {
+                    if (Arrays.binarySearch(entryTrigrams, trigram) < 0) continue entries;
+                }
+            }
+            candidates.add(entry.node);
+        }
+        return candidates;
+    }
+
+    /**
+     * Get the postings of the specified Field, indexing its filter strings
+     * for every element if this is the first time it's used.
+     */
+    private Postings<E> getFieldPostings(SearchEngineTextMatcherEditor.Field<E> field) {
+        // Fields are equal by name, so check the filterator is the same too
+        Postings<E> result = fieldPostings.get(field);
+        if (result == null || result.filterator != field.getTextFilterator()) {
+            result = new Postings<>(field.getTextFilterator());
+            for (Entry<E> entry : entries.values()) {
+                result.add(entry, fieldTrigrams(result.filterator, entry.node.get().element));
+            }
+            fieldPostings.remove(field);
+            fieldPostings.put(field, result);
+        }
+        return result;
+    }
+
+    /**
+     * Extract the filter strings of a Field from the specified element and
+     * get their trigrams.
+     */
+    private long[] fieldTrigrams(TextFilterator<? super E> filterator, E element) {
+        return trigrams(TextMatchers.prepare(filterStrings, filterator, characterMap, element).strings);
+    }
+
+    /**
+     * Get the distinct trigrams of the specified filter strings, bracketed
+     * by boundaries, in sorted order.
+     */
+    private static long[] trigrams(char[][] strings) {
+        int count = 0;
+        for (int s = 0; s < strings.length; s++) {
+            if (strings[s] != null) count += strings[s].length;
+        }
+
+        final long[] result = new long[count];
+        int r = 0;
+        for (int s = 0; s < strings.length; s++) {
+            final char[] chars = strings[s];
+            if (chars == null) continue;
+
+            // slide a window of three characters over the bracketed string
+            long trigram = BOUNDARY;
+            for (int c = 0; c <= chars.length; c++) {
+                trigram = push(trigram, c < chars.length ? fold(chars[c]) : BOUNDARY);
+                if (c > 0) result[r++] = trigram;
+            }
+        }
+        return distinct(result);
+    }
+
+    /**
+     * Get the distinct trigrams that an element's filter strings must
+     * contain to match the specified search term, or <code>null</code> if
+     * the search term is too short to have any.
+     */
+    private static long[] searchTrigrams(String text, int mode) {
+        // the case conversions used to search must not change the length of the text
+        if (text.toUpperCase().length() != text.length() || text.toLowerCase().length() != text.length()) return null;
+
+        final StringBuilder bracketed = new StringBuilder(text.length() + 2);
+        if (mode == TextMatcherEditor.STARTS_WITH || mode == TextMatcherEditor.EXACT) {
+            bracketed.append(BOUNDARY);
+        } else if (mode != TextMatcherEditor.CONTAINS) {
+            return null;
+        }
+        for (int c = 0; c < text.length(); c++) {
+            bracketed.append(fold(text.charAt(c)));
+        }
+        if (mode == TextMatcherEditor.EXACT) bracketed.append(BOUNDARY);
+        if (bracketed.length() < 3) return null;
+
+        final long[] result = new long[bracketed.length() - 2];
+        long trigram = push(bracketed.charAt(0), bracketed.charAt(1));
+        for (int c = 2; c < bracketed.length(); c++) {
+            trigram = push(trigram, bracketed.charAt(c));
+            result[c - 2] = trigram;
+        }
+        return distinct(result);
+    }
+
+    /**
+     * Append a character to the specified trigram, dropping its first.
+     */
+    private static long push(long trigram, char c) {
+        return ((trigram << 16) | c) & 0xFFFFFFFFFFFFL;
+    }
+
+    /**
+     * Map a character to the same value as its other cases.
+     */
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /**
+     * Sort the specified trigrams and remove duplicates.
+     */
+    private static long[] distinct(long[] trigrams) {
+        Arrays.sort(trigrams);
+        int count = 0;
+        for (int i = 0; i < trigrams.length; i++) {
+            if (count == 0 || trigrams[count - 1] != trigrams[i]) trigrams[count++] = trigrams[i];
+        }
+        return count == trigrams.length ? trigrams : Arrays.copyOf(trigrams, count);
+    }
+
+    /**
+     * A node in the index, which is replaced if the list is reordered.
+     */
+    private static final class Entry<E> {
+        /** the node, or <code>null</code> once it's removed from the index */
+        private Element<TextMatchers.FilterStrings<E>> node;
+
+        /** the sorted trigrams of the prepared filter strings */
+        private long[] trigrams;
+
+        private Entry(Element<TextMatchers.FilterStrings<E>> node) {
+            this.node = node;
+        }
+    }
+
+    /**
+     * The trigrams of one set of filter strings for each entry, and the
+     * entries of each trigram.
+     */
+    private static final class Postings<E> {
+        /** the filterator of the Field, or <code>null</code> for the prepared filter strings */
+        private final TextFilterator<? super E> filterator;
+
+        /** the sorted trigrams of each entry in the index, if they're for a Field */
+        private final Map<Entry<E>, long[]> fieldTrigrams = new IdentityHashMap<>();
+
+        /** the entries that contain each trigram */
+        private final Map<Long, PostingList<E>> lists = new HashMap<>();
+
+        private Postings(TextFilterator<? super E> filterator) {
+            this.filterator = filterator;
+        }
+
+        /**
+         * Get the sorted trigrams of the specified entry.
+         */
+        private long[] trigrams(Entry<E> entry) {
+            return filterator == null ? entry.trigrams : fieldTrigrams.get(entry);
+        }
+
+        private void add(Entry<E> entry, long[] entryTrigrams) {
+            if (filterator == null) entry.trigrams = entryTrigrams;
+            else fieldTrigrams.put(entry, entryTrigrams);
+            for (int t = 0; t < entryTrigrams.length; t++) {
+                final Long trigram = Long.valueOf(entryTrigrams[t]);
+                PostingList<E> postingList = lists.get(trigram);
+                if (postingList == null) {
+                    postingList = new PostingList<>();
+                    lists.put(trigram, postingList);
+                }
+                postingList.add(entry);
+            }
+        }
+
+        /**
+         * Remove the specified entry. It stays in the posting lists of its
+         * trigrams until enough entries have been removed from them to make
+         * compacting them worthwhile.
+         */
+        private void remove(Entry<E> entry) {
+            final long[] entryTrigrams = filterator == null ? entry.trigrams : fieldTrigrams.remove(entry);
+            for (int t = 0; t < entryTrigrams.length; t++) {
+                final Long trigram = Long.valueOf(entryTrigrams[t]);
+                final PostingList<E> postingList = lists.get(trigram);
+                postingList.removed++;
+                if (postingList.liveSize() == 0) {
+                    lists.remove(trigram);
+                } else if (postingList.removed > postingList.liveSize()) {
+                    postingList.compact();
+                }
+            }
+        }
+    }
+
+    /**
+     * The entries that contain a trigram, including some that have been
+     * removed from the index.
+     */
+    private static final class PostingList<E> {
+        /** the entries, in the order they were added */
+        private Entry<E>[] entries = new Entry[4];
+
+        /** the number of entries */
+        private int size = 0;
+
+        /** the number of entries that have been removed from the index */
+        private int removed = 0;
+
+        private void add(Entry<E> entry) {
+            if (size == entries.length) entries = Arrays.copyOf(entries, size * 2);
+            entries[size++] = entry;
+        }
+
+        private int liveSize() {
+            return size - removed;
+        }
+
+        /**
+         * Drop the entries that have been removed from the index.
+         */
+        private void compact() {
+            int count = 0;
+            for (int n = 0; n < size; n++) {
+                if (entries[n].node != null) entries[count++] = entries[n];
+            }
+            Arrays.fill(entries, count, size, null);
+            size = count;
+            removed = 0;
+        }
+    }
+}
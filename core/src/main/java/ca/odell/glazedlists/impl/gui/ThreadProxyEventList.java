@@ -9,8 +9,9 @@ import ca.odell.glazedlists.TransformedList;
 import ca.odell.glazedlists.event.ListEvent;
 import ca.odell.glazedlists.event.ListEventAssembler;
 import ca.odell.glazedlists.event.ListEventListener;
+import ca.odell.glazedlists.impl.adt.barcode2.SimpleTree;
+import ca.odell.glazedlists.impl.adt.barcode2.SimpleTreeAsList;
 
-import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.RandomAccess;
@@ -53,7 +54,9 @@ import java.util.RandomAccess;
  *
  * <p>The {@link ThreadProxyEventList} keeps a private copy of the elements of the
  * source {@link EventList}. This enables interested classes to read a consistent
- * (albeit potentially out of date) view of the data at all times.
+ * (albeit potentially out of date) view of the data at all times. The copy is
+ * held in a tree, so that small changes to large lists are applied in
+ * <code>O(log N)</code> per change rather than by copying the whole list.
  *
  * <p><strong><font color="#FF0000">Important:</font></strong> ThreadProxyEventList
  * relies heavily on its ability to pause changes to its source EventList
@@ -68,7 +71,7 @@ import java.util.RandomAccess;
 public abstract class ThreadProxyEventList<E> extends TransformedList<E, E> implements RandomAccess {
 
     /** a local cache of the source list */
-    private List<E> localCache = new ArrayList<>();
+    private List<E> localCache;
 
     /** propagates events on the proxy thread */
     private UpdateRunner updateRunner = new UpdateRunner();
@@ -91,7 +94,7 @@ public abstract class ThreadProxyEventList<E> extends TransformedList<E, E> impl
         super(source);
 
         // populate the initial cache value
-        localCache.addAll(source);
+        localCache = createCache(source);
 
         // handle my own events to update the internal state
         cacheUpdates.addListEventListener(updateRunner);
@@ -136,6 +139,8 @@ public abstract class ThreadProxyEventList<E> extends TransformedList<E, E> impl
     /** {@inheritDoc} */
     @Override
     public final E get(int index) {
+        // the tree doesn't check its bounds, but the Swing models rely on them
+        if(index < 0 || index >= localCache.size()) throw new IndexOutOfBoundsException("Cannot get at " + index + " on list of size " + localCache.size());
         return localCache.get(index);
     }
 
@@ -148,53 +153,47 @@ public abstract class ThreadProxyEventList<E> extends TransformedList<E, E> impl
     /**
      * Apply the {@link ListEvent} to the {@link List}.
      *
+     * <p>Each change is applied to the <code>localCache</code> in place. If
+     * there are so many changes that this would be slower than copying the
+     * <code>source</code>, a new cache is created from the source instead.
+     *
      * @param source the EventList whose changes are being proxied to another thread
      * @param listChanges the list of changes from the <code>source</code> to be applied
      * @param localCache a private snapshot of the <code>source</code> which
      *      is now out of sync with that source list and will be repaired
-     * @return a new List to serve as the up-to-date local cache
+     * @return the up-to-date local cache, which may be <code>localCache</code>
+     *      or a new List
      */
     protected List<E> applyChangeToCache(EventList<E> source, ListEvent<E> listChanges, List<E> localCache) {
-        List<E> result = new ArrayList<>(source.size());
-
-        // cacheOffset is the running index delta between localCache and result
-        int resultIndex = 0;
-        int cacheOffset = 0;
-
-        while(true) {
-
-            // find the next change (or the end of the list)
-            int changeIndex;
-            int changeType;
-            if(listChanges.next()) {
-                changeIndex = listChanges.getIndex();
-                changeType = listChanges.getType();
-            } else {
-                changeIndex = source.size();
-                changeType = -1;
-            }
-
-            // perform all the updates before this change
-            for(; resultIndex < changeIndex; resultIndex++) {
-                result.add(resultIndex, localCache.get(resultIndex + cacheOffset));
-            }
+        // count the changes, to decide between patching and copying
+        int changeCount = 0;
+        while(listChanges.next()) changeCount++;
+        listChanges.reset();
+
+        // each change costs about one walk down the tree
+        final int depth = 32 - Integer.numberOfLeadingZeros(localCache.size() + 1);
+        if((long)changeCount * depth >= source.size()) {
+            return createCache(source);
+        }
 
-            // perform this change
-            if(changeType == ListEvent.DELETE) {
-                cacheOffset++;
-            } else if(changeType == ListEvent.UPDATE) {
-                result.add(resultIndex, source.get(changeIndex));
-                resultIndex++;
-            } else if(changeType == ListEvent.INSERT) {
-                result.add(resultIndex, source.get(changeIndex));
-                resultIndex++;
-                cacheOffset--;
-            } else if(changeType == -1) {
-                break;
+        while(listChanges.next()) {
+            final int index = listChanges.getIndex();
+            switch(listChanges.getType()) {
+                case ListEvent.DELETE: localCache.remove(index); break;
+                case ListEvent.INSERT: localCache.add(index, source.get(index)); break;
+                case ListEvent.UPDATE: localCache.set(index, source.get(index)); break;
             }
         }
+        return localCache;
+    }
 
-        return result;
+    /**
+     * Create a local cache holding the current elements of the specified list.
+     */
+    private static <E> List<E> createCache(EventList<E> source) {
+        final SimpleTree<E> tree = new SimpleTree<>();
+        tree.bulkLoad((E[]) source.toArray(), null);
+        return new SimpleTreeAsList<>(tree);
     }
 
     /** {@inheritDoc} */
@@ -0,0 +1,66 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.impl.matchers;
+
+import ca.odell.glazedlists.FilterList;
+import ca.odell.glazedlists.impl.adt.barcode2.Element;
+
+import java.util.Collection;
+
+/**
+ * A {@link PreparedMatcher} that can look up the elements it may match in an
+ * index of their prepared forms.
+ *
+ * <p>A {@link FilterList} keeps such an index up to date as its source
+ * changes, alongside the prepared forms. When the filter changes, it tests
+ * only the candidates found in the index rather than every element, which
+ * makes selective filters over large lists much faster.
+ */
+public interface IndexedMatcher<E, P> extends PreparedMatcher<E, P> {
+
+    /**
+     * Create an empty index, to be shared by all Matchers with an equal
+     * preparation key.
+     *
+     * @return the new index, or <code>null</code> if this Matcher doesn't
+     *      use an index
+     */
+    Index<P> createIndex();
+
+    /**
+     * Find the elements that this Matcher may match. Every element that it
+     * matches must be a candidate, but the candidates are tested again with
+     * {@link #matchesPrepared}.
+     *
+     * @param index an index created by an equivalent Matcher
+     * @param limit the number of candidates at which the index is no help,
+     *      since testing every element would be as fast
+     * @return the candidates, or <code>null</code> if every element must be
+     *      tested instead
+     */
+    Collection<Element<P>> getCandidates(Index<P> index, int limit);
+
+    /**
+     * An index of prepared forms. Each is held in a tree node, which
+     * identifies its element while the element's position in the list changes.
+     */
+    interface Index<P> {
+
+        /**
+         * Add the prepared form in the specified node to this index.
+         */
+        void add(Element<P> node);
+
+        /**
+         * Remove the prepared form in the specified node from this index.
+         */
+        void remove(Element<P> node);
+
+        /**
+         * Move the prepared form in the specified node to a new node, as when
+         * the list is reordered.
+         */
+        void move(Element<P> from, Element<P> to);
+    }
+}
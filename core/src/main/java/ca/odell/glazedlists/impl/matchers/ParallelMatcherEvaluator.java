@@ -0,0 +1,146 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.impl.matchers;
+
+import ca.odell.glazedlists.matchers.Matcher;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Evaluates a {@link Matcher} over an array of values by splitting the array
+ * into chunks and matching the chunks concurrently on an {@link Executor}.
+ *
+ * <p>The calling thread takes part in the work: it claims chunks from the same
+ * counter as the tasks it submits to the {@link Executor}. This guarantees
+ * progress even when the {@link Executor} is saturated, rejects the tasks or
+ * is the pool the calling thread itself belongs to.
+ *
+ * <p>The {@link Matcher} must be safe to call from multiple threads at once.
+ */
+public final class ParallelMatcherEvaluator {
+
+    /** the smallest number of values handed to a single task */
+    private static final int MIN_CHUNK_SIZE = 1024;
+
+    /** the number of chunks to create per available processor, to balance uneven matchers */
+    private static final int CHUNKS_PER_PROCESSOR = 4;
+
+    private ParallelMatcherEvaluator() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns an array where element <code>i</code> is the result of
+     * <code>matcher.matches(values[i])</code>.
+     *
+     * @throws RuntimeException the first exception thrown by the matcher, if any
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> boolean[] matches(Matcher<? super E> matcher, Object[] values, Executor executor) {
+        final boolean[] results = new boolean[values.length];
+        final int processors = Runtime.getRuntime().availableProcessors();
+        final int chunkSize = Math.max(MIN_CHUNK_SIZE, values.length / (processors * CHUNKS_PER_PROCESSOR) + 1);
+        final int chunkCount = (values.length + chunkSize - 1) / chunkSize;
+
+        // small inputs aren't worth the hand-off
+        if (chunkCount <= 1) {
+            for (int i = 0; i < values.length; i++) {
+                results[i] = matcher.matches((E) values[i]);
+            }
+            return results;
+        }
+
+        final ChunkRunner<E> runner = new ChunkRunner<>(matcher, values, results, chunkSize, chunkCount);
+        final int helpers = Math.min(chunkCount - 1, processors - 1);
+        for (int i = 0; i < helpers; i++) {
+            try {
+                executor.execute(runner);
+            } catch (RejectedExecutionException e) {
+                // the calling thread will do the remaining work itself
+                break;
+            }
+        }
+        runner.run();
+        runner.awaitCompletion();
+        return results;
+    }
+
+    /**
+     * Claims and matches chunks until none remain. The same instance is run by
+     * the calling thread and by every helper task.
+     */
+    private static final class ChunkRunner<E> implements Runnable {
+        private final Matcher<? super E> matcher;
+        private final Object[] values;
+        private final boolean[] results;
+        private final int chunkSize;
+        private final int chunkCount;
+
+        /** the next chunk to be claimed */
+        private final AtomicInteger nextChunk = new AtomicInteger();
+
+        /** the number of chunks that have not been completed yet */
+        private final AtomicInteger remainingChunks;
+
+        /** the first failure reported by the matcher */
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        ChunkRunner(Matcher<? super E> matcher, Object[] values, boolean[] results, int chunkSize, int chunkCount) {
+            this.matcher = matcher;
+            this.values = values;
+            this.results = results;
+            this.chunkSize = chunkSize;
+            this.chunkCount = chunkCount;
+            this.remainingChunks = new AtomicInteger(chunkCount);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void run() {
+            for (int chunk = nextChunk.getAndIncrement(); chunk < chunkCount; chunk = nextChunk.getAndIncrement()) {
+                try {
+                    // once something has failed, just drain the remaining chunks
+                    if (failure.get() == null) {
+                        final int end = Math.min(values.length, (chunk + 1) * chunkSize);
+                        for (int i = chunk * chunkSize; i < end; i++) {
+                            results[i] = matcher.matches((E) values[i]);
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    if (remainingChunks.decrementAndGet() == 0) {
+                        synchronized (this) {
+                            notifyAll();
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Blocks until every chunk has been matched. The chunks still pending
+         * here have already been claimed by running helpers.
+         */
+        void awaitCompletion() {
+            boolean interrupted = false;
+            synchronized (this) {
+                while (remainingChunks.get() > 0) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            }
+            if (interrupted) Thread.currentThread().interrupt();
+
+            final RuntimeException e = failure.get();
+            if (e != null) throw e;
+        }
+    }
+}
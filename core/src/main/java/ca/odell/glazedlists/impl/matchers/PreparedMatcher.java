@@ -0,0 +1,37 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.impl.matchers;
+
+import ca.odell.glazedlists.FilterList;
+import ca.odell.glazedlists.matchers.Matcher;
+
+/**
+ * A {@link Matcher} that matches a prepared form of each element, such as
+ * its filter strings extracted and normalized in advance.
+ *
+ * <p>A {@link FilterList} keeps the prepared form of each of its source
+ * elements while it uses such a Matcher, and prepares them again only when the
+ * source elements change. The prepared forms are kept for the next Matcher
+ * with an equal {@link #getPreparationKey() preparation key}, so changing the
+ * filter doesn't prepare the elements again.
+ */
+public interface PreparedMatcher<E, P> extends Matcher<E> {
+
+    /**
+     * Matchers with equal preparation keys prepare elements identically, so
+     * they can share prepared forms. A <code>null</code> key means elements
+     * should not be prepared in advance.
+     */
+    Object getPreparationKey();
+
+    /**
+     * Create the prepared form of the specified element.
+     */
+    P prepare(E element);
+
+    /**
+     * Returns true if the element with the specified prepared form matches.
+     */
+    boolean matchesPrepared(P prepared);
+}
@@ -0,0 +1,34 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.matchers;
+
+/**
+ * A {@link Matcher} of numbers that matches their <code>double</code> values.
+ *
+ * <p>A {@link ca.odell.glazedlists.FilterList} whose source is a
+ * {@link ca.odell.glazedlists.DoubleEventList},
+ * {@link ca.odell.glazedlists.LongEventList} or
+ * {@link ca.odell.glazedlists.IntEventList} reads the source values with their
+ * primitive getters and passes them to {@link #matchesDouble}, so filtering
+ * doesn't box them. Any other source is matched through
+ * {@link #matches(Number)}.
+ *
+ * <p>For example, <code>new FilterList&lt;Double&gt;(prices, (DoubleMatcher) price -&gt; price &gt; 100.0)</code>.
+ *
+ * @see LongMatcher
+ */
+@FunctionalInterface
+public interface DoubleMatcher extends Matcher<Number> {
+
+    /**
+     * Return true if a value matches a filter.
+     */
+    boolean matchesDouble(double value);
+
+    /** {@inheritDoc} */
+    @Override
+    default boolean matches(Number item) {
+        return matchesDouble(item.doubleValue());
+    }
+}
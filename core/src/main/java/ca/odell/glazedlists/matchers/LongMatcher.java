@@ -0,0 +1,33 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.matchers;
+
+/**
+ * A {@link Matcher} of numbers that matches their <code>long</code> values.
+ *
+ * <p>A {@link ca.odell.glazedlists.FilterList} whose source is a
+ * {@link ca.odell.glazedlists.LongEventList} or
+ * {@link ca.odell.glazedlists.IntEventList} reads the source values with their
+ * primitive getters and passes them to {@link #matchesLong}, so filtering
+ * doesn't box them. Any other source is matched through
+ * {@link #matches(Number)}.
+ *
+ * <p>For example, <code>new FilterList&lt;Long&gt;(sizes, (LongMatcher) size -&gt; size &gt;= 1000)</code>.
+ *
+ * @see DoubleMatcher
+ */
+@FunctionalInterface
+public interface LongMatcher extends Matcher<Number> {
+
+    /**
+     * Return true if a value matches a filter.
+     */
+    boolean matchesLong(long value);
+
+    /** {@inheritDoc} */
+    @Override
+    default boolean matches(Number item) {
+        return matchesLong(item.longValue());
+    }
+}
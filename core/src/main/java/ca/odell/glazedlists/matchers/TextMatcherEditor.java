@@ -151,6 +151,12 @@ public class TextMatcherEditor<E> extends AbstractMatcherEditor<E> {
     /** one of {@link #IDENTICAL_STRATEGY} or {@link #NORMALIZED_STRATEGY} */
     private TextSearchStrategy.Factory strategy = (TextSearchStrategy.Factory)IDENTICAL_STRATEGY;
 
+    /** whether a FilterList keeps the normalized filter strings of each element */
+    private boolean filterStringCacheEnabled = false;
+
+    /** whether a FilterList keeps an index of the trigrams in the filter strings of each element */
+    private boolean filterIndexEnabled = false;
+
     /**
      * Creates a {@link TextMatcherEditor} whose Matchers can test only elements which
      * implement the {@link TextFilterable} interface.
@@ -285,6 +291,98 @@ public class TextMatcherEditor<E> extends AbstractMatcherEditor<E> {
         return strategy;
     }
 
+    /**
+     * Set whether a {@link ca.odell.glazedlists.FilterList} using this
+     * {@link TextMatcherEditor} keeps the filter strings of each of its
+     * elements, already normalized for the current strategy. The filter
+     * strings are then extracted only when an element is inserted or updated,
+     * rather than each time the filter text changes. This makes filtering
+     * large lists faster when the filter strings are expensive to extract,
+     * such as formatted numbers and dates, at the cost of holding the strings
+     * in memory.
+     *
+     * <p>Elements must not change their filter strings without the
+     * {@link ca.odell.glazedlists.FilterList}'s source firing an update for
+     * them, or they'll be matched against their old filter strings.
+     *
+     * @param filterStringCacheEnabled <tt>true</tt> to keep the filter strings
+     *      of each element; <tt>false</tt> to extract them each time an element
+     *      is matched, which is the default
+     */
+    public void setFilterStringCacheEnabled(boolean filterStringCacheEnabled) {
+        if (filterStringCacheEnabled == this.filterStringCacheEnabled) {
+            return;
+        }
+        this.filterStringCacheEnabled = filterStringCacheEnabled;
+
+        // if no filter text exists, the next Matcher will use the new setting
+        final TextMatcher<E> currentTextMatcher = getCurrentTextMatcher();
+        if (currentTextMatcher == null) {
+            return;
+        }
+
+        fireChanged(currentTextMatcher.newFilterStringsCached(filterStringCacheEnabled));
+    }
+
+    /**
+     * Returns <tt>true</tt> if a {@link ca.odell.glazedlists.FilterList} using
+     * this {@link TextMatcherEditor} keeps the normalized filter strings of
+     * each of its elements.
+     */
+    public boolean isFilterStringCacheEnabled() {
+        return filterStringCacheEnabled;
+    }
+
+    /**
+     * Set whether a {@link ca.odell.glazedlists.FilterList} using this
+     * {@link TextMatcherEditor} keeps an index of the trigrams, or sequences
+     * of three characters, in the normalized filter strings of each of its
+     * elements. When the filter text changes, only the elements that contain
+     * every trigram of the filter text are matched, rather than all of them.
+     * This makes selective filters over large lists much faster, at the cost
+     * of holding the index in memory and updating it as the list changes.
+     *
+     * <p>The index is used in {@link #CONTAINS} mode for filter text of at
+     * least three characters, and in {@link #STARTS_WITH} and {@link #EXACT}
+     * modes for filter text of at least two and one characters respectively.
+     * Shorter filter text, negated search terms, regular expressions and
+     * other strategies than {@link #IDENTICAL_STRATEGY} and
+     * {@link #NORMALIZED_STRATEGY} match every element as usual. Search
+     * terms for a {@link SearchEngineTextMatcherEditor.Field} are looked up in
+     * an index of that Field's filter strings, built the first time the Field
+     * is searched. The filter
+     * strings of each element are also kept, as by
+     * {@link #setFilterStringCacheEnabled(boolean)}, and the same caution
+     * applies to elements that change.
+     *
+     * @param filterIndexEnabled <tt>true</tt> to index the filter strings of
+     *      each element; <tt>false</tt> to match every element each time the
+     *      filter text changes, which is the default
+     */
+    public void setFilterIndexEnabled(boolean filterIndexEnabled) {
+        if (filterIndexEnabled == this.filterIndexEnabled) {
+            return;
+        }
+        this.filterIndexEnabled = filterIndexEnabled;
+
+        // if no filter text exists, the next Matcher will use the new setting
+        final TextMatcher<E> currentTextMatcher = getCurrentTextMatcher();
+        if (currentTextMatcher == null) {
+            return;
+        }
+
+        fireChanged(currentTextMatcher.newFilterStringsIndexed(filterIndexEnabled));
+    }
+
+    /**
+     * Returns <tt>true</tt> if a {@link ca.odell.glazedlists.FilterList} using
+     * this {@link TextMatcherEditor} keeps an index of the trigrams in the
+     * filter strings of each of its elements.
+     */
+    public boolean isFilterIndexEnabled() {
+        return filterIndexEnabled;
+    }
+
     /**
      * Return the current Matcher if it is a {@link TextMatcher} or
      * <code>null</code> if no current Matcher exists or is something other
@@ -313,7 +411,7 @@ public class TextMatcherEditor<E> extends AbstractMatcherEditor<E> {
         }
 
         // adjust the TextMatcher
-        setTextMatcher(new TextMatcher<E>(searchTerms, getFilterator(), getMode(), getStrategy()));
+        setTextMatcher(new TextMatcher<E>(searchTerms, getFilterator(), getMode(), getStrategy(), isFilterStringCacheEnabled(), isFilterIndexEnabled()));
     }
 
     /**
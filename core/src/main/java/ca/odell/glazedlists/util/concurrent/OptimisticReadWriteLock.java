@@ -0,0 +1,48 @@
+/* Glazed Lists                                                 (c) 2003-2018 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.util.concurrent;
+
+/**
+ * A {@link ReadWriteLock} that also supports optimistic reads. An optimistic
+ * read doesn't acquire any lock, so many readers don't contend with each
+ * other. Instead the reader checks afterwards whether a writer has interfered,
+ * and retries if so.
+ *
+ * <p>A typical optimistic read looks like this:
+ * <pre>
+ * long stamp = lock.tryOptimisticRead();
+ * Object result = ... read the shared state ...
+ * if(stamp == 0 || !lock.validate(stamp)) {
+ *     lock.readLock().lock();
+ *     try {
+ *         result = ... read the shared state again ...
+ *     } finally {
+ *         lock.readLock().unlock();
+ *     }
+ * }
+ * </pre>
+ *
+ * @see java.util.concurrent.locks.StampedLock
+ * @see ca.odell.glazedlists.EventList#readOptimistic(java.util.function.Function)
+ */
+public interface OptimisticReadWriteLock extends ReadWriteLock {
+
+    /**
+     * Start an optimistic read.
+     *
+     * @return a stamp to {@link #validate} once the read is complete, or
+     *      <code>0</code> if the write lock is held and so the read can't be
+     *      optimistic
+     */
+    public long tryOptimisticRead();
+
+    /**
+     * Whether the write lock has been acquired since the specified stamp was
+     * returned by {@link #tryOptimisticRead()}. If it has, whatever was read
+     * in the meantime may be inconsistent and must be discarded.
+     *
+     * @return <code>true</code> if the read was consistent
+     */
+    public boolean validate(long stamp);
+}
@@ -0,0 +1,176 @@
+/* Glazed Lists                                                 (c) 2003-2018 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.util.concurrent;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * An implementation of {@link LockFactory} whose {@link ReadWriteLock}s are
+ * built on {@link StampedLock}, and so support optimistic reads.
+ *
+ * <p>Optimistic reads don't write to the lock's shared state, so they scale
+ * better than {@link J2SE50LockFactory} when many threads read the same
+ * {@link ca.odell.glazedlists.EventList} and writes are rare. Use them with
+ * {@link ca.odell.glazedlists.EventList#readOptimistic(java.util.function.Function)}.
+ * Regular reads and writes behave like those of {@link J2SE50LockFactory}.
+ *
+ * <p>To use it, pass a lock to the constructor of the source list:
+ * <pre>
+ * EventList&lt;String&gt; source = new BasicEventList&lt;&gt;(null, new StampedLockFactory().createReadWriteLock());
+ * </pre>
+ */
+public class StampedLockFactory implements LockFactory {
+    @Override
+    public ReadWriteLock createReadWriteLock() {
+        return new StampedReadWriteLock();
+    }
+
+    @Override
+    public Lock createLock() {
+        return new LockAdapter(new java.util.concurrent.locks.ReentrantLock());
+    }
+}
+
+/**
+ * A reentrant {@link OptimisticReadWriteLock} on top of a {@link StampedLock},
+ * which is not reentrant by itself.
+ *
+ * <p>Like {@link java.util.concurrent.locks.ReentrantReadWriteLock}, the thread
+ * holding the write lock may also acquire the read lock, and releasing the
+ * write lock while still holding the read lock downgrades it to a read lock.
+ * Upgrading a read lock to a write lock is not supported.
+ */
+final class StampedReadWriteLock implements OptimisticReadWriteLock, Serializable {
+
+    /** For versioning as a {@link Serializable} */
+    private static final long serialVersionUID = -1409478370553741578L;
+
+    private transient final StampedLock delegate = new StampedLock();
+
+    private transient final Lock readLock = new ReadLock();
+    private transient final Lock writeLock = new WriteLock();
+
+    /**
+     * The thread holding the write lock, or <code>null</code>. This is only
+     * written by the owning thread, so a thread only ever finds itself here
+     * if it holds the write lock.
+     */
+    private transient Thread writeOwner;
+    /** the number of times the owning thread has acquired the write lock */
+    private transient int writeHolds;
+    /** the stamp to release the write lock */
+    private transient long writeStamp;
+
+    /** the number of times each thread has acquired the read lock */
+    private transient final ThreadLocal<int[]> readHolds = ThreadLocal.withInitial(() -> new int[1]);
+
+    /** Use a {@link SerializedReadWriteLock} as a placeholder in the serialization stream. */
+    private Object writeReplace() throws ObjectStreamException {
+        return new SerializedReadWriteLock();
+    }
+
+    /**
+     * Return the lock used for reading.
+     */
+    @Override
+    public Lock readLock() {
+        return readLock;
+    }
+
+    /**
+     * Return the lock used for writing.
+     */
+    @Override
+    public Lock writeLock() {
+        return writeLock;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long tryOptimisticRead() {
+        return delegate.tryOptimisticRead();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean validate(long stamp) {
+        return delegate.validate(stamp);
+    }
+
+    /**
+     * A thread holds the delegate's read lock whenever it has read holds and
+     * doesn't own the write lock. Reads by the write lock's owner are counted
+     * but needn't lock the delegate.
+     */
+    private final class ReadLock implements Lock {
+        @Override
+        public void lock() {
+            final int[] holds = readHolds.get();
+            if(holds[0] == 0 && writeOwner != Thread.currentThread()) delegate.readLock();
+            holds[0]++;
+        }
+
+        @Override
+        public boolean tryLock() {
+            final int[] holds = readHolds.get();
+            if(holds[0] == 0 && writeOwner != Thread.currentThread() && delegate.tryReadLock() == 0) return false;
+            holds[0]++;
+            return true;
+        }
+
+        @Override
+        public void unlock() {
+            final int[] holds = readHolds.get();
+            if(holds[0] == 0) throw new IllegalMonitorStateException("Read lock is not held by " + Thread.currentThread().getName());
+            holds[0]--;
+            if(holds[0] == 0 && writeOwner != Thread.currentThread()) delegate.tryUnlockRead();
+        }
+    }
+
+    /**
+     * The write lock counts reentrant acquisitions, and downgrades to a read
+     * lock when it's released by a thread that still has read holds.
+     */
+    private final class WriteLock implements Lock {
+        @Override
+        public void lock() {
+            if(writeOwner == Thread.currentThread()) {
+                writeHolds++;
+                return;
+            }
+            writeStamp = delegate.writeLock();
+            writeOwner = Thread.currentThread();
+            writeHolds = 1;
+        }
+
+        @Override
+        public boolean tryLock() {
+            if(writeOwner == Thread.currentThread()) {
+                writeHolds++;
+                return true;
+            }
+            final long stamp = delegate.tryWriteLock();
+            if(stamp == 0L) return false;
+            writeStamp = stamp;
+            writeOwner = Thread.currentThread();
+            writeHolds = 1;
+            return true;
+        }
+
+        @Override
+        public void unlock() {
+            if(writeOwner != Thread.currentThread()) throw new IllegalMonitorStateException("Write lock is not held by " + Thread.currentThread().getName());
+            writeHolds--;
+            if(writeHolds > 0) return;
+
+            final long stamp = writeStamp;
+            writeOwner = null;
+            writeStamp = 0L;
+            if(readHolds.get()[0] > 0) delegate.tryConvertToReadLock(stamp);
+            else delegate.unlockWrite(stamp);
+        }
+    }
+}
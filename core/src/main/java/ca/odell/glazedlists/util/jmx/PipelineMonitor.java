@@ -0,0 +1,280 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.util.jmx;
+
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.event.ListEventAssembler;
+import ca.odell.glazedlists.event.ListEventListener;
+import ca.odell.glazedlists.event.ListEventPublisher;
+import ca.odell.glazedlists.event.ListEventRecorder;
+import ca.odell.glazedlists.impl.Preconditions;
+import ca.odell.glazedlists.util.concurrent.LockFactory;
+import ca.odell.glazedlists.util.concurrent.ReadWriteLock;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Records statistics about each stage of an {@link EventList} pipeline, and
+ * publishes them as MBeans. To monitor a pipeline, create its source list with
+ * the monitor's {@link #getPublisher() publisher} and
+ * {@link #getReadWriteLock() lock}:
+ *
+ * <pre><code>
+ * PipelineMonitor monitor = new PipelineMonitor("orders");
+ * EventList&lt;Order&gt; orders = new BasicEventList&lt;&gt;(monitor.getPublisher(), monitor.getReadWriteLock());
+ * FilterList&lt;Order&gt; open = new FilterList&lt;&gt;(orders, openMatcher);
+ * monitor.setStageName(open, "open orders");
+ * monitor.register();
+ * </code></pre>
+ *
+ * <p>The pipeline is registered as
+ * <code>ca.odell.glazedlists:type=Pipeline,name=<i>name</i></code> and each
+ * stage as <code>ca.odell.glazedlists:type=PipelineStage,pipeline=<i>name</i>,name=<i>stage</i></code>.
+ * Stages are found as they fire and receive events. They are unregistered
+ * once they have been garbage collected.
+ *
+ * <p>Pipelines that don't use a monitor's publisher aren't affected by
+ * monitoring at all.
+ */
+public final class PipelineMonitor implements ListEventRecorder, PipelineMonitorMBean {
+
+    private static final String DOMAIN = "ca.odell.glazedlists";
+
+    private final String name;
+    private final ListEventPublisher publisher;
+    private final TimedReadWriteLock readWriteLock;
+
+    /** the statistics of each stage, keyed by the stage's identity */
+    private final Map<StageKey,StageStatistics> stages = new HashMap<>();
+    private final ReferenceQueue<Object> collectedStages = new ReferenceQueue<>();
+    private int stagesSeen = 0;
+
+    /** where the MBeans are registered, or <code>null</code> if they aren't */
+    private MBeanServer server;
+
+    /**
+     * Create a monitor for the pipeline of the specified name.
+     */
+    public PipelineMonitor(String name) {
+        Preconditions.checkNotNull(name, "Name is undefined");
+        this.name = name;
+        this.publisher = ListEventAssembler.createListEventPublisher(this);
+        this.readWriteLock = new TimedReadWriteLock(LockFactory.DEFAULT.createReadWriteLock());
+    }
+
+    /**
+     * The publisher that the lists of the pipeline must share to be monitored.
+     */
+    public ListEventPublisher getPublisher() {
+        return publisher;
+    }
+
+    /**
+     * A lock for the lists of the pipeline that records how long threads wait
+     * for, and hold, its read and write locks.
+     */
+    public ReadWriteLock getReadWriteLock() {
+        return readWriteLock;
+    }
+
+    /**
+     * Register this monitor and its stages with the platform
+     * {@link MBeanServer}.
+     */
+    public void register() {
+        register(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    /**
+     * Register this monitor and its stages with the specified {@link MBeanServer}.
+     * Stages found later are registered as they're found.
+     */
+    public synchronized void register(MBeanServer server) {
+        Preconditions.checkNotNull(server, "MBeanServer is undefined");
+        if(this.server != null) throw new IllegalStateException("Pipeline \"" + name + "\" is already registered");
+        try {
+            server.registerMBean(this, pipelineName());
+        } catch(JMException e) {
+            throw new IllegalStateException("Cannot register pipeline \"" + name + "\"", e);
+        }
+        this.server = server;
+        for(StageStatistics stage : stages.values()) {
+            registerStage(stage);
+        }
+    }
+
+    /**
+     * Remove this monitor and its stages from the {@link MBeanServer}.
+     */
+    public synchronized void unregister() {
+        if(server == null) return;
+        for(StageStatistics stage : stages.values()) {
+            unregisterStage(stage);
+        }
+        unregisterQuietly(pipelineName());
+        server = null;
+    }
+
+    /**
+     * Name the specified stage, which is an {@link EventList} or
+     * {@link ListEventListener} of the pipeline. Stages are otherwise named by
+     * the order they were found in and their class.
+     */
+    public synchronized void setStageName(Object stage, String stageName) {
+        Preconditions.checkNotNull(stageName, "Stage name is undefined");
+        final StageStatistics statistics = getStageStatistics(stage);
+        if(server != null) unregisterStage(statistics);
+        statistics.setName(stageName);
+        if(server != null) registerStage(statistics);
+    }
+
+    /**
+     * Get the statistics of the specified stage, which is an {@link EventList}
+     * or {@link ListEventListener} of the pipeline.
+     */
+    public synchronized StageStatistics getStageStatistics(Object stage) {
+        Preconditions.checkNotNull(stage, "Stage is undefined");
+        final StageStatistics existing = stages.get(new StageKey(stage, null));
+        if(existing != null) return existing;
+
+        expungeCollectedStages();
+        final StageStatistics created = new StageStatistics("#" + stagesSeen++ + " " + stage.getClass().getSimpleName(), stage.getClass().getName());
+        stages.put(new StageKey(stage, collectedStages), created);
+        if(server != null) registerStage(created);
+        return created;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void eventFired(EventList<?> source, ListEvent<?> event) {
+        getStageStatistics(source).eventFired(event);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void eventReceived(EventList<?> source, ListEventListener<?> listener, ListEvent<?> event, long nanos) {
+        getStageStatistics(listener).eventReceived(nanos);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized String[] getStageNames() {
+        final List<String> result = new ArrayList<>(stages.size());
+        for(StageStatistics stage : stages.values()) {
+            result.add(stage.getName());
+        }
+        return result.toArray(new String[result.size()]);
+    }
+
+    @Override public long getReadLockAcquisitions() { return readWriteLock.readLock().acquisitions.sum(); }
+    @Override public long getReadLockWaitNanos() { return readWriteLock.readLock().waitNanos.sum(); }
+    @Override public long getReadLockHoldNanos() { return readWriteLock.readLock().holdNanos.sum(); }
+    @Override public long getMaxReadLockWaitNanos() { return readWriteLock.readLock().maxWaitNanos.get(); }
+    @Override public long getMaxReadLockHoldNanos() { return readWriteLock.readLock().maxHoldNanos.get(); }
+
+    @Override public long getWriteLockAcquisitions() { return readWriteLock.writeLock().acquisitions.sum(); }
+    @Override public long getWriteLockWaitNanos() { return readWriteLock.writeLock().waitNanos.sum(); }
+    @Override public long getWriteLockHoldNanos() { return readWriteLock.writeLock().holdNanos.sum(); }
+    @Override public long getMaxWriteLockWaitNanos() { return readWriteLock.writeLock().maxWaitNanos.get(); }
+    @Override public long getMaxWriteLockHoldNanos() { return readWriteLock.writeLock().maxHoldNanos.get(); }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void reset() {
+        readWriteLock.readLock().reset();
+        readWriteLock.writeLock().reset();
+        for(StageStatistics stage : stages.values()) {
+            stage.reset();
+        }
+    }
+
+    /**
+     * Forget the stages that have been garbage collected.
+     */
+    private void expungeCollectedStages() {
+        for(StageKey key; (key = (StageKey) collectedStages.poll()) != null; ) {
+            final StageStatistics stage = stages.remove(key);
+            if(stage != null && server != null) unregisterStage(stage);
+        }
+    }
+
+    private ObjectName pipelineName() {
+        return objectName("type=Pipeline,name=" + ObjectName.quote(name));
+    }
+
+    private ObjectName stageName(StageStatistics stage) {
+        return objectName("type=PipelineStage,pipeline=" + ObjectName.quote(name) + ",name=" + ObjectName.quote(stage.getName()));
+    }
+
+    private static ObjectName objectName(String properties) {
+        try {
+            return new ObjectName(DOMAIN + ":" + properties);
+        } catch(JMException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private void registerStage(StageStatistics stage) {
+        try {
+            server.registerMBean(stage, stageName(stage));
+        } catch(JMException e) {
+            throw new IllegalStateException("Cannot register stage \"" + stage.getName() + "\" of pipeline \"" + name + "\"", e);
+        }
+    }
+
+    private void unregisterStage(StageStatistics stage) {
+        unregisterQuietly(stageName(stage));
+    }
+
+    private void unregisterQuietly(ObjectName objectName) {
+        try {
+            server.unregisterMBean(objectName);
+        } catch(JMException e) {
+            // it has already been unregistered by someone else
+        }
+    }
+
+    /**
+     * Identifies a stage by identity without keeping it from being garbage
+     * collected, since lists often define equality by their contents.
+     */
+    private static final class StageKey extends WeakReference<Object> {
+        private final int hashCode;
+
+        StageKey(Object stage, ReferenceQueue<Object> queue) {
+            super(stage, queue);
+            this.hashCode = System.identityHashCode(stage);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if(this == other) return true;
+            if(!(other instanceof StageKey)) return false;
+            final Object stage = get();
+            return stage != null && stage == ((StageKey) other).get();
+        }
+    }
+}
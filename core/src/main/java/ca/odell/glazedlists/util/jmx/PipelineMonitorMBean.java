@@ -0,0 +1,39 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.util.jmx;
+
+/**
+ * The management interface of a {@link PipelineMonitor}. The lock statistics
+ * are only recorded for lists that use the monitor's
+ * {@link PipelineMonitor#getReadWriteLock() lock}. Times are in nanoseconds.
+ */
+public interface PipelineMonitorMBean {
+
+    /**
+     * The name of the monitored pipeline.
+     */
+    String getName();
+
+    /**
+     * The names of the pipeline's stages that have fired or received events.
+     */
+    String[] getStageNames();
+
+    long getReadLockAcquisitions();
+    long getReadLockWaitNanos();
+    long getReadLockHoldNanos();
+    long getMaxReadLockWaitNanos();
+    long getMaxReadLockHoldNanos();
+
+    long getWriteLockAcquisitions();
+    long getWriteLockWaitNanos();
+    long getWriteLockHoldNanos();
+    long getMaxWriteLockWaitNanos();
+    long getMaxWriteLockHoldNanos();
+
+    /**
+     * Set the statistics of the lock and of all the stages back to zero.
+     */
+    void reset();
+}
@@ -0,0 +1,180 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.util.jmx;
+
+import ca.odell.glazedlists.event.ListEvent;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The statistics recorded by a {@link PipelineMonitor} for one stage of its
+ * pipeline. A stage is an {@link ca.odell.glazedlists.EventList} or another
+ * {@link ca.odell.glazedlists.event.ListEventListener} of the pipeline.
+ *
+ * <p>This class is thread safe.
+ */
+public final class StageStatistics implements StageStatisticsMBean {
+
+    /** histogram bounds from one microsecond to about one second, in factors of four */
+    private static final long[] HISTOGRAM_BOUNDS = new long[11];
+    static {
+        long bound = 1000;
+        for(int i = 0; i < HISTOGRAM_BOUNDS.length; i++) {
+            HISTOGRAM_BOUNDS[i] = bound;
+            bound *= 4;
+        }
+    }
+
+    private final String type;
+    private volatile String name;
+
+    private final LongAdder eventsReceived = new LongAdder();
+    private final LongAdder eventsFired = new LongAdder();
+    private final LongAdder blocksFired = new LongAdder();
+    private final LongAdder elementsChanged = new LongAdder();
+    private final LongAdder listChangedNanos = new LongAdder();
+    private final AtomicLong maxListChangedNanos = new AtomicLong();
+    private final AtomicLongArray listChangedHistogram = new AtomicLongArray(HISTOGRAM_BOUNDS.length + 1);
+
+    StageStatistics(String name, String type) {
+        this.name = name;
+        this.type = type;
+    }
+
+    /**
+     * Count an event fired by this stage, along with its blocks and changed
+     * elements.
+     */
+    void eventFired(ListEvent<?> event) {
+        int blocks = 0;
+        int elements = 0;
+        while(event.nextBlock()) {
+            blocks++;
+            elements += event.getBlockEndIndex() - event.getBlockStartIndex() + 1;
+        }
+        event.reset();
+
+        eventsFired.increment();
+        blocksFired.add(blocks);
+        elementsChanged.add(elements);
+    }
+
+    /**
+     * Count an event handled by this stage, and the time it took.
+     */
+    void eventReceived(long nanos) {
+        eventsReceived.increment();
+        listChangedNanos.add(nanos);
+        maxListChangedNanos.accumulateAndGet(nanos, Math::max);
+
+        int bucket = 0;
+        while(bucket < HISTOGRAM_BOUNDS.length && nanos >= HISTOGRAM_BOUNDS[bucket]) bucket++;
+        listChangedHistogram.incrementAndGet(bucket);
+    }
+
+    void setName(String name) {
+        this.name = name;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getType() {
+        return type;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getEventsReceived() {
+        return eventsReceived.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getEventsFired() {
+        return eventsFired.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getBlocksFired() {
+        return blocksFired.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getBlocksPerEvent() {
+        final long events = eventsFired.sum();
+        return events == 0 ? 0 : (double) blocksFired.sum() / events;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getElementsChanged() {
+        return elementsChanged.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getListChangedNanos() {
+        return listChangedNanos.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getMeanListChangedNanos() {
+        final long events = eventsReceived.sum();
+        return events == 0 ? 0 : (double) listChangedNanos.sum() / events;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getMaxListChangedNanos() {
+        return maxListChangedNanos.get();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long[] getListChangedHistogram() {
+        final long[] result = new long[listChangedHistogram.length()];
+        for(int i = 0; i < result.length; i++) {
+            result[i] = listChangedHistogram.get(i);
+        }
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long[] getListChangedHistogramBounds() {
+        return HISTOGRAM_BOUNDS.clone();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void reset() {
+        eventsReceived.reset();
+        eventsFired.reset();
+        blocksFired.reset();
+        elementsChanged.reset();
+        listChangedNanos.reset();
+        maxListChangedNanos.set(0);
+        for(int i = 0; i < listChangedHistogram.length(); i++) {
+            listChangedHistogram.set(i, 0);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return name + ": " + getEventsReceived() + " received in " + getListChangedNanos() + "ns, "
+                + getEventsFired() + " fired with " + getBlocksFired() + " blocks";
+    }
+}
@@ -0,0 +1,80 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.util.jmx;
+
+/**
+ * The management interface of the statistics recorded for one stage of a
+ * pipeline.
+ */
+public interface StageStatisticsMBean {
+
+    /**
+     * The name of this stage, unique within its pipeline.
+     */
+    String getName();
+
+    /**
+     * The class of the stage, such as <code>ca.odell.glazedlists.FilterList</code>.
+     */
+    String getType();
+
+    /**
+     * The number of events this stage has handled.
+     */
+    long getEventsReceived();
+
+    /**
+     * The number of events this stage has fired.
+     */
+    long getEventsFired();
+
+    /**
+     * The total number of change blocks in the events this stage has fired.
+     */
+    long getBlocksFired();
+
+    /**
+     * The mean number of change blocks per event this stage has fired.
+     */
+    double getBlocksPerEvent();
+
+    /**
+     * The total number of inserted, updated and deleted elements in the
+     * events this stage has fired.
+     */
+    long getElementsChanged();
+
+    /**
+     * The total time spent handling events, in nanoseconds.
+     */
+    long getListChangedNanos();
+
+    /**
+     * The mean time spent handling an event, in nanoseconds.
+     */
+    double getMeanListChangedNanos();
+
+    /**
+     * The longest time spent handling a single event, in nanoseconds.
+     */
+    long getMaxListChangedNanos();
+
+    /**
+     * The number of events handled within each of the bounds of
+     * {@link #getListChangedHistogramBounds()}. The last element counts the
+     * events that took longer than the greatest bound.
+     */
+    long[] getListChangedHistogram();
+
+    /**
+     * The exclusive upper bound of each bucket of
+     * {@link #getListChangedHistogram()}, in nanoseconds.
+     */
+    long[] getListChangedHistogramBounds();
+
+    /**
+     * Set all the statistics of this stage back to zero.
+     */
+    void reset();
+}
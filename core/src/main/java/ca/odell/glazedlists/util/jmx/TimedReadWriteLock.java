@@ -0,0 +1,106 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.util.jmx;
+
+import ca.odell.glazedlists.util.concurrent.Lock;
+import ca.odell.glazedlists.util.concurrent.ReadWriteLock;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link ReadWriteLock} that measures how long threads wait for, and hold,
+ * each of the locks of another {@link ReadWriteLock}.
+ */
+final class TimedReadWriteLock implements ReadWriteLock {
+
+    private final TimedLock readLock;
+    private final TimedLock writeLock;
+
+    TimedReadWriteLock(ReadWriteLock delegate) {
+        this.readLock = new TimedLock(delegate.readLock());
+        this.writeLock = new TimedLock(delegate.writeLock());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public TimedLock readLock() {
+        return readLock;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public TimedLock writeLock() {
+        return writeLock;
+    }
+
+    /**
+     * Times a reentrant {@link Lock}. A thread holds the lock from its
+     * outermost acquisition until the matching release.
+     */
+    static final class TimedLock implements Lock {
+
+        private final Lock delegate;
+
+        /** for each thread, its reentrant hold count and when it acquired the lock */
+        private final ThreadLocal<long[]> holds = ThreadLocal.withInitial(() -> new long[2]);
+
+        final LongAdder acquisitions = new LongAdder();
+        final LongAdder waitNanos = new LongAdder();
+        final LongAdder holdNanos = new LongAdder();
+        final AtomicLong maxWaitNanos = new AtomicLong();
+        final AtomicLong maxHoldNanos = new AtomicLong();
+
+        TimedLock(Lock delegate) {
+            this.delegate = delegate;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void lock() {
+            final long start = System.nanoTime();
+            delegate.lock();
+            final long acquired = System.nanoTime();
+            acquired(acquired - start, acquired);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean tryLock() {
+            if(!delegate.tryLock()) return false;
+            acquired(0, System.nanoTime());
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void unlock() {
+            final long[] hold = holds.get();
+            if(hold[0] == 1) {
+                final long nanos = System.nanoTime() - hold[1];
+                holdNanos.add(nanos);
+                maxHoldNanos.accumulateAndGet(nanos, Math::max);
+            }
+            if(hold[0] > 0) hold[0]--;
+            delegate.unlock();
+        }
+
+        private void acquired(long wait, long now) {
+            final long[] hold = holds.get();
+            if(hold[0]++ != 0) return;
+            hold[1] = now;
+            acquisitions.increment();
+            waitNanos.add(wait);
+            maxWaitNanos.accumulateAndGet(wait, Math::max);
+        }
+
+        void reset() {
+            acquisitions.reset();
+            waitNanos.reset();
+            holdNanos.reset();
+            maxWaitNanos.set(0);
+            maxHoldNanos.set(0);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.impl.event;
+
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.event.ListEvent;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emits Java Flight Recorder events as lists commit their changes and
+ * listeners handle them, so that recordings can show which list changes
+ * were slow.
+ *
+ * <p>This is the Java 11 implementation, packaged in
+ * <code>META-INF/versions/11</code> of the multi-release jar. When an event
+ * type isn't enabled in any recording, its <code>begin</code> method returns
+ * <code>null</code> without examining the list event.
+ *
+ * <p>Each <code>begin</code> method returns a token that must be passed to
+ * {@link #end} when the timed work is done, or <code>null</code> if the event
+ * isn't being recorded.
+ */
+public final class FlightRecorderEvents {
+
+    private FlightRecorderEvents() {
+        // static methods only
+    }
+
+    /**
+     * Begin timing a list committing an event and publishing it to its listeners.
+     */
+    public static Object beginCommit(EventList<?> list, ListEvent<?> event) {
+        final CommitEvent result = new CommitEvent();
+        if(!result.isEnabled()) return null;
+        event.reset();
+        result.describe(list, event);
+        result.begin();
+        return result;
+    }
+
+    /**
+     * Begin timing a publisher delivering an event of the specified subject.
+     */
+    public static Object beginPublish(Object subject, Object event) {
+        final PublishEvent result = new PublishEvent();
+        if(!result.isEnabled()) return null;
+        if(subject instanceof EventList && event instanceof ListEvent) {
+            ((ListEvent<?>) event).reset();
+            result.describe((EventList<?>) subject, (ListEvent<?>) event);
+        } else {
+            result.listClass = subject.getClass();
+        }
+        result.begin();
+        return result;
+    }
+
+    /**
+     * Begin timing a listener handling an event.
+     */
+    public static Object beginListChanged(EventList<?> source, Object listener, ListEvent<?> event) {
+        final ListChangedEvent result = new ListChangedEvent();
+        if(!result.isEnabled()) return null;
+        result.describe(source, event);
+        result.listenerClass = listener.getClass();
+        result.begin();
+        return result;
+    }
+
+    /**
+     * Finish timing, and record the event.
+     *
+     * @param token the result of a <code>begin</code> method
+     */
+    public static void end(Object token) {
+        if(token != null) ((Event) token).commit();
+    }
+
+    /**
+     * The fields shared by all events about a {@link ListEvent}.
+     */
+    @Category("Glazed Lists")
+    abstract static class ListEventEvent extends Event {
+        @Label("List Class")
+        Class<?> listClass;
+
+        @Label("Changed Elements")
+        @Description("The number of inserted, updated and deleted elements, or the size of a reordered list")
+        int changedElements;
+
+        @Label("Blocks")
+        @Description("The number of blocks of changes")
+        int blocks;
+
+        @Label("Reordering")
+        boolean reordering;
+
+        /**
+         * Describe the specified event, which must have been reset. It is
+         * reset again afterwards.
+         */
+        void describe(EventList<?> list, ListEvent<?> event) {
+            listClass = list.getClass();
+            reordering = event.isReordering();
+            if(reordering) {
+                changedElements = event.getReorderMap().length;
+                blocks = 1;
+                return;
+            }
+            while(event.nextBlock()) {
+                blocks++;
+                changedElements += event.getBlockEndIndex() - event.getBlockStartIndex() + 1;
+            }
+            event.reset();
+        }
+    }
+
+    @Name("ca.odell.glazedlists.ListEventCommit")
+    @Label("List Event Commit")
+    @Description("A list commits a change and publishes it to its listeners")
+    static final class CommitEvent extends ListEventEvent {
+    }
+
+    @Name("ca.odell.glazedlists.ListEventPublish")
+    @Label("List Event Publish")
+    @Description("A publisher delivers a list change to the listeners that depend on it")
+    static final class PublishEvent extends ListEventEvent {
+    }
+
+    @Name("ca.odell.glazedlists.ListChanged")
+    @Label("List Changed")
+    @Description("A listener handles a list change")
+    static final class ListChangedEvent extends ListEventEvent {
+        @Label("Listener Class")
+        Class<?> listenerClass;
+    }
+}
@@ -3,11 +3,14 @@
 /*                                                     O'Dell Engineering Ltd.*/
 package ca.odell.glazedlists;
 
+import ca.odell.glazedlists.event.ListEvent;
 import ca.odell.glazedlists.event.ListEventAssembler;
+import ca.odell.glazedlists.event.ListEventListener;
 import ca.odell.glazedlists.event.ListEventPublisher;
 import ca.odell.glazedlists.impl.testing.GlazedListsTests;
 import ca.odell.glazedlists.impl.testing.GlazedListsTests.SerializableListener;
 import ca.odell.glazedlists.impl.testing.GlazedListsTests.UnserializableListener;
+import ca.odell.glazedlists.impl.testing.ListConsistencyListener;
 import ca.odell.glazedlists.util.concurrent.LockFactory;
 import ca.odell.glazedlists.util.concurrent.ReadWriteLock;
 
@@ -246,4 +249,136 @@ public class BasicEventListTest {
 
         assertEquals( Arrays.asList( "Two", "Three" ), list );
     }
+
+    /**
+     * Bulk operations should fire a single block per contiguous run of changes,
+     * carrying the values of the changed elements.
+     */
+    @Test
+    public void testBulkChangesFireBlocks() {
+        EventList<String> list = new BasicEventList<>();
+        ListConsistencyListener<String> consistencyListener = ListConsistencyListener.install(list);
+        consistencyListener.setPreviousElementTracked(true);
+        BlockCountingListener<String> blockListener = new BlockCountingListener<>();
+        list.addListEventListener(blockListener);
+
+        list.addAll(GlazedListsTests.stringToList("ABCDEF"));
+        list.addAll(2, GlazedListsTests.stringToList("XYZ"));
+        assertEquals(GlazedListsTests.stringToList("ABXYZCDEF"), list);
+        assertEquals(Arrays.asList(1, 1), blockListener.blockCounts);
+
+        list.removeIf(s -> s.equals("A") || s.equals("X") || s.equals("Y") || s.equals("E"));
+        assertEquals(GlazedListsTests.stringToList("BZCDF"), list);
+        assertEquals(3, blockListener.blockCounts.get(2).intValue());
+        assertEquals(GlazedListsTests.stringToList("AXYE"), blockListener.oldValues);
+
+        blockListener.oldValues.clear();
+        list.replaceAll(s -> s.equals("Z") || s.equals("C") ? s.toLowerCase() : s);
+        assertEquals(GlazedListsTests.stringToList("BzcDF"), list);
+        assertEquals(1, blockListener.blockCounts.get(3).intValue());
+        assertEquals(GlazedListsTests.stringToList("ZC"), blockListener.oldValues);
+
+        blockListener.oldValues.clear();
+        list.clear();
+        assertEquals(1, blockListener.blockCounts.get(4).intValue());
+        assertEquals(GlazedListsTests.stringToList("BzcDF"), blockListener.oldValues);
+        assertEquals(5, consistencyListener.getEventCount());
+    }
+
+    /**
+     * Snapshots don't change when the list changes, whichever way it changes.
+     */
+    @Test
+    public void testSnapshot() {
+        BasicEventList<String> list = new BasicEventList<>();
+        list.addAll(GlazedListsTests.stringToList("ABCDEF"));
+
+        List<String> abcdef = list.snapshot();
+        list.add("G");
+        list.set(0, "a");
+        List<String> abcdefg = list.snapshot();
+        list.remove(1);
+        list.removeIf(s -> s.equals("C"));
+        list.replaceAll(String::toLowerCase);
+        List<String> adefg = list.snapshot();
+        list.clear();
+
+        assertEquals(GlazedListsTests.stringToList("ABCDEF"), abcdef);
+        assertEquals(GlazedListsTests.stringToList("aBCDEFG"), abcdefg);
+        assertEquals(GlazedListsTests.stringToList("adefg"), adefg);
+        assertEquals(0, list.size());
+
+        try {
+            adefg.set(0, "z");
+            fail();
+        } catch(UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    /**
+     * A list given to the deprecated constructor keeps seeing the changes
+     * after a snapshot is taken.
+     */
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testSnapshotOfGivenList() {
+        List<String> data = new ArrayList<>(GlazedListsTests.stringToList("ABC"));
+        BasicEventList<String> list = new BasicEventList<>(data);
+
+        List<String> abc = list.snapshot();
+        list.add("D");
+        list.set(0, "a");
+
+        assertEquals(GlazedListsTests.stringToList("ABC"), abc);
+        assertEquals(GlazedListsTests.stringToList("aBCD"), data);
+        assertEquals(data, list);
+    }
+
+    /**
+     * Snapshots can be read while another thread writes.
+     */
+    @Test
+    public void testSnapshotWhileWriting() throws InterruptedException {
+        final BasicEventList<Integer> list = new BasicEventList<>();
+        for(int i = 0; i < 1000; i++) list.add(Integer.valueOf(i));
+
+        final Thread writer = new Thread(() -> {
+            for(int i = 0; i < 10000; i++) {
+                list.acceptWithWriteLock(l -> l.add(l.remove(0)));
+            }
+        });
+        writer.start();
+        try {
+            for(int i = 0; i < 200; i++) {
+                List<Integer> snapshot = list.snapshot();
+                int total = 0;
+                for(Integer value : snapshot) total += value.intValue();
+                assertEquals(499500, total);
+                assertEquals(1000, snapshot.size());
+            }
+        } finally {
+            writer.join();
+        }
+    }
+
+    /**
+     * Count the blocks in each event and record the previous values.
+     */
+    private static class BlockCountingListener<E> implements ListEventListener<E> {
+        final List<Integer> blockCounts = new ArrayList<>();
+        final List<E> oldValues = new ArrayList<>();
+
+        @Override
+        public void listChanged(ListEvent<E> listChanges) {
+            int blocks = 0;
+            while(listChanges.nextBlock()) blocks++;
+            blockCounts.add(blocks);
+
+            listChanges.reset();
+            while(listChanges.next()) {
+                if(listChanges.getType() != ListEvent.INSERT) oldValues.add(listChanges.getOldValue());
+            }
+        }
+    }
 }
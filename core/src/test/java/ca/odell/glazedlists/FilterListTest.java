@@ -13,6 +13,8 @@ import ca.odell.glazedlists.matchers.Matchers;
 import ca.odell.glazedlists.matchers.TextMatcherEditor;
 
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.Test;
 
@@ -249,6 +251,152 @@ public class FilterListTest {
         editor.setFilterText(new String[] {"C"});
         assertEquals(0, counter.getCountAndReset());
     }
+
+    /**
+     * Parallel matching must produce exactly the same ListEvents as serial
+     * matching when the filter is changed, constrained and relaxed.
+     */
+    @Test
+    public void testParallelMatching() {
+        final EventList<Integer> source = new BasicEventList<>();
+        for (int i = 0; i < 20000; i++) {
+            source.add(Integer.valueOf((i * 7919) % 1000));
+        }
+
+        final AtLeastMatcherEditor serialEditor = new AtLeastMatcherEditor();
+        final FilterList<Integer> serial = new FilterList<>(source, serialEditor);
+        final ListConsistencyListener<Integer> serialListener = ListConsistencyListener.install(serial);
+        serialListener.setPreviousElementTracked(true);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final AtLeastMatcherEditor parallelEditor = new AtLeastMatcherEditor();
+            final FilterList<Integer> parallel = new FilterList<>(source, parallelEditor);
+            parallel.setMatcherExecutor(executor);
+            parallel.setParallelThreshold(100);
+            final ListConsistencyListener<Integer> parallelListener = ListConsistencyListener.install(parallel);
+            parallelListener.setPreviousElementTracked(true);
+
+            final int[] minimums = { 500, 900, 100, 0, 750, 250 };
+            for (int m = 0; m < minimums.length; m++) {
+                serialEditor.setMinimum(minimums[m]);
+                parallelEditor.setMinimum(minimums[m]);
+                assertEquals(serial, parallel);
+                assertEquals(serialListener.getEventCount(), parallelListener.getEventCount());
+                assertEquals(serialListener.getChangeCount(m), parallelListener.getChangeCount(m));
+            }
+
+            serial.setMatcher(GlazedListsTests.matchAtLeast(333));
+            parallel.setMatcher(GlazedListsTests.matchAtLeast(333));
+            assertEquals(serial, parallel);
+            assertEquals(Matchers.select(source, GlazedListsTests.matchAtLeast(333)), parallel);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Prepared elements are matched concurrently with the same results as
+     * matching the elements serially.
+     */
+    @Test
+    public void testParallelMatchingPreparedElements() {
+        final EventList<String> source = new BasicEventList<>();
+        for (int i = 0; i < 20000; i++) {
+            source.add(Integer.toString(i));
+        }
+        final TextMatcherEditor<String> serialEditor = new TextMatcherEditor<>(GlazedLists.toStringTextFilterator());
+        final FilterList<String> serial = new FilterList<>(source, serialEditor);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final TextMatcherEditor<String> parallelEditor = new TextMatcherEditor<>(GlazedLists.toStringTextFilterator());
+            parallelEditor.setFilterStringCacheEnabled(true);
+            final FilterList<String> parallel = new FilterList<>(source, parallelEditor);
+            parallel.setMatcherExecutor(executor);
+            parallel.setParallelThreshold(0);
+            ListConsistencyListener.install(parallel);
+
+            final String[] filters = { "1", "12", "123", "23", "", "9" };
+            for (int f = 0; f < filters.length; f++) {
+                serialEditor.setFilterText(new String[] { filters[f] });
+                parallelEditor.setFilterText(new String[] { filters[f] });
+                assertEquals(serial, parallel);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Text and regular expression Matchers can be shared by the worker threads.
+     */
+    @Test
+    public void testParallelMatchingText() {
+        final EventList<String> source = new BasicEventList<>();
+        for (int i = 0; i < 20000; i++) {
+            source.add(Integer.toString(i));
+        }
+        final TextMatcherEditor<String> serialEditor = new TextMatcherEditor<>(GlazedLists.toStringTextFilterator());
+        final FilterList<String> serial = new FilterList<>(source, serialEditor);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final TextMatcherEditor<String> parallelEditor = new TextMatcherEditor<>(GlazedLists.toStringTextFilterator());
+            final FilterList<String> parallel = new FilterList<>(source, parallelEditor);
+            parallel.setMatcherExecutor(executor);
+            parallel.setParallelThreshold(0);
+            ListConsistencyListener.install(parallel);
+
+            final String[] filters = { "1", "12", "9" };
+            for (int f = 0; f < filters.length; f++) {
+                serialEditor.setFilterText(new String[] { filters[f] });
+                parallelEditor.setFilterText(new String[] { filters[f] });
+                assertEquals(serial, parallel);
+            }
+
+            serialEditor.setMode(TextMatcherEditor.REGULAR_EXPRESSION);
+            parallelEditor.setMode(TextMatcherEditor.REGULAR_EXPRESSION);
+            final String[] expressions = { "1.*2", "[0-4]+", "9+" };
+            for (int e = 0; e < expressions.length; e++) {
+                serialEditor.setFilterText(new String[] { expressions[e] });
+                parallelEditor.setFilterText(new String[] { expressions[e] });
+                assertEquals(serial, parallel);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * An exception thrown by the Matcher on a worker thread is rethrown to the
+     * caller.
+     */
+    @Test
+    public void testParallelMatchingFailure() {
+        final EventList<Integer> source = new BasicEventList<>();
+        for (int i = 0; i < 20000; i++) {
+            source.add(Integer.valueOf(i));
+        }
+        final FilterList<Integer> filtered = new FilterList<>(source);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            filtered.setMatcherExecutor(executor);
+            filtered.setParallelThreshold(0);
+            filtered.setMatcher(new Matcher<Integer>() {
+                @Override
+                public boolean matches(Integer item) {
+                    if (item.intValue() == 15000) throw new IllegalStateException();
+                    return true;
+                }
+            });
+            fail("expected the matcher's exception");
+        } catch (IllegalStateException e) {
+            // expected
+        } finally {
+            executor.shutdown();
+        }
+    }
 }
 
 /**
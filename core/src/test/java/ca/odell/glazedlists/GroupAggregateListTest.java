@@ -0,0 +1,172 @@
+/* Glazed Lists                                                 (c) 2003-2018 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.impl.testing.GlazedListsTests;
+import ca.odell.glazedlists.impl.testing.ListConsistencyListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class GroupAggregateListTest {
+
+    private static final double DELTA = 0.0000001;
+
+    @Test
+    public void testConstruct() {
+        final EventList<String> source = GlazedLists.eventList(GlazedListsTests.delimitedStringToList("B4 A1 B2 A5 C3 A3"));
+        final GroupAggregateList<String> summaries = GroupAggregateList.create(source, s -> s.charAt(0), s -> Double.parseDouble(s.substring(1)));
+
+        assertEquals(3, summaries.size());
+        assertSummary(summaries.get(0), 'B', 2, 6, 2, 4);
+        assertSummary(summaries.get(1), 'A', 3, 9, 1, 5);
+        assertSummary(summaries.get(2), 'C', 1, 3, 3, 3);
+        assertEquals(3.0, summaries.get(1).getAverage(), DELTA);
+        assertEquals(GlazedListsTests.delimitedStringToList("A1 A5 A3"), summaries.get(1).getElements());
+        assertEquals(1, summaries.indexOfGroup("A9"));
+        assertEquals(-1, summaries.indexOfGroup("D9"));
+    }
+
+    @Test
+    public void testChanges() {
+        final EventList<String> source = new BasicEventList<>();
+        final GroupAggregateList<String> summaries = GroupAggregateList.create(source, s -> s.charAt(0), s -> Double.parseDouble(s.substring(1)));
+        final ListConsistencyListener<GroupAggregateList.Summary<String>> listConsistencyListener = ListConsistencyListener.install(summaries);
+        listConsistencyListener.setPreviousElementTracked(false);
+
+        source.addAll(GlazedListsTests.delimitedStringToList("A1 B2 A5"));
+        assertEquals(2, summaries.size());
+        final GroupAggregateList.Summary<String> a = summaries.get(0);
+        assertSummary(a, 'A', 2, 6, 1, 5);
+
+        // summaries are updated in place
+        source.add("A7");
+        assertSame(a, summaries.get(0));
+        assertSummary(a, 'A', 3, 13, 1, 7);
+
+        // removing the minimum or maximum finds the next one
+        source.remove("A1");
+        assertSummary(a, 'A', 2, 12, 5, 7);
+        source.set(source.indexOf("A7"), "A2");
+        assertSummary(a, 'A', 2, 7, 2, 5);
+
+        // changing an element's key moves it to another group
+        source.set(source.indexOf("A5"), "B8");
+        assertSummary(a, 'A', 1, 2, 2, 2);
+        assertSummary(summaries.get(1), 'B', 2, 10, 2, 8);
+
+        // removing a group's last element removes its summary
+        source.remove("A2");
+        assertEquals(1, summaries.size());
+        assertSummary(summaries.get(0), 'B', 2, 10, 2, 8);
+        source.clear();
+        assertEquals(0, summaries.size());
+    }
+
+    /**
+     * An element changed in place reports the same object as its old and new
+     * value, so the old value must come from the summary rather than the element.
+     */
+    @Test
+    public void testUpdateInPlace() {
+        final EventList<Item> source = new BasicEventList<>();
+        final Item a1 = new Item("A", 1);
+        source.add(a1);
+        source.add(new Item("A", 2));
+        final GroupAggregateList<Item> summaries = GroupAggregateList.create(source, item -> item.key, item -> item.value);
+        assertEquals(3, summaries.get(0).getSum(), DELTA);
+
+        a1.value = 10;
+        source.set(0, a1);
+        assertEquals(12, summaries.get(0).getSum(), DELTA);
+        assertEquals(2, summaries.get(0).getMin(), DELTA);
+        assertEquals(10, summaries.get(0).getMax(), DELTA);
+
+        a1.value = -4;
+        source.set(0, a1);
+        assertEquals(-2, summaries.get(0).getSum(), DELTA);
+        assertEquals(-4, summaries.get(0).getMin(), DELTA);
+        assertEquals(2, summaries.get(0).getMax(), DELTA);
+
+        source.remove(0);
+        assertEquals(2, summaries.get(0).getSum(), DELTA);
+        assertEquals(2, summaries.get(0).getMin(), DELTA);
+    }
+
+    @Test
+    public void testRandom() {
+        final Random dice = new Random(3);
+        final TransactionList<Integer> source = new TransactionList<>(new BasicEventList<Integer>(), true);
+        final GroupAggregateList<Integer> summaries = GroupAggregateList.create(source, i -> Integer.valueOf(i.intValue() % 13), Integer::doubleValue);
+        final ListConsistencyListener<GroupAggregateList.Summary<Integer>> listConsistencyListener = ListConsistencyListener.install(summaries);
+        listConsistencyListener.setPreviousElementTracked(false);
+
+        for (int i = 0; i < 300; i++) {
+            source.beginEvent(true);
+            for (int j = 0, changes = 1 + dice.nextInt(6); j < changes; j++) {
+                final int operation = dice.nextInt(3);
+                if (operation == 0 || source.isEmpty()) {
+                    source.add(dice.nextInt(source.size() + 1), Integer.valueOf(dice.nextInt(200)));
+                } else if (operation == 1) {
+                    source.remove(dice.nextInt(source.size()));
+                } else {
+                    source.set(dice.nextInt(source.size()), Integer.valueOf(dice.nextInt(200)));
+                }
+            }
+            source.commitEvent();
+
+            // compare each summary to one calculated from scratch
+            final Map<Integer, List<Integer>> groups = new HashMap<>();
+            for (Integer value : source) {
+                groups.computeIfAbsent(Integer.valueOf(value.intValue() % 13), k -> new ArrayList<>()).add(value);
+            }
+            assertEquals(groups.size(), summaries.size());
+            for (GroupAggregateList.Summary<Integer> summary : summaries) {
+                final List<Integer> group = groups.get(summary.getKey());
+                int sum = 0;
+                int min = Integer.MAX_VALUE;
+                int max = Integer.MIN_VALUE;
+                for (Integer value : group) {
+                    sum += value.intValue();
+                    min = Math.min(min, value.intValue());
+                    max = Math.max(max, value.intValue());
+                }
+                assertEquals(group, summary.getElements());
+                assertEquals(group.size(), summary.getCount());
+                assertEquals(sum, summary.getSum(), DELTA);
+                assertEquals(min, summary.getMin(), DELTA);
+                assertEquals(max, summary.getMax(), DELTA);
+            }
+        }
+    }
+
+    /**
+     * A mutable element, for changes made in place.
+     */
+    private static final class Item {
+        private final String key;
+        private double value;
+
+        Item(String key, double value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private static void assertSummary(GroupAggregateList.Summary<String> summary, char key, int count, double sum, double min, double max) {
+        assertEquals(Character.valueOf(key), summary.getKey());
+        assertEquals(count, summary.getCount());
+        assertEquals(sum, summary.getSum(), DELTA);
+        assertEquals(min, summary.getMin(), DELTA);
+        assertEquals(max, summary.getMax(), DELTA);
+    }
+}
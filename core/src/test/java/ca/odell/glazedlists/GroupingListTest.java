@@ -13,9 +13,13 @@ import ca.odell.glazedlists.matchers.Matcher;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
 
 public class GroupingListTest {
 
@@ -1187,4 +1191,84 @@ public class GroupingListTest {
         ON, OFF;
     }
     
+
+    @Test
+    public void testHashed() {
+        final EventList<String> source = GlazedLists.eventList(GlazedListsTests.delimitedStringToList("Apple Banana avocado cherry blueberry apricot"));
+        final GroupingList<String> groupList = GroupingList.createHashed(source, s -> Character.toLowerCase(s.charAt(0)));
+        ListConsistencyListener<List<String>> listConsistencyListener = ListConsistencyListener.install(groupList);
+        listConsistencyListener.setPreviousElementTracked(false);
+
+        // groups are in the order they were first seen, members in source order
+        assertEquals(3, groupList.size());
+        assertEquals(GlazedListsTests.delimitedStringToList("Apple avocado apricot"), groupList.get(0));
+        assertEquals(GlazedListsTests.delimitedStringToList("Banana blueberry"), groupList.get(1));
+        assertEquals(GlazedListsTests.delimitedStringToList("cherry"), groupList.get(2));
+        assertEquals(1, groupList.indexOfGroup("bilberry"));
+        assertEquals(-1, groupList.indexOfGroup("date"));
+
+        source.add(0, "date");
+        assertEquals(4, groupList.size());
+        assertEquals(GlazedListsTests.delimitedStringToList("date"), groupList.get(3));
+
+        source.remove("cherry");
+        assertEquals(3, groupList.size());
+        assertEquals(GlazedListsTests.delimitedStringToList("date"), groupList.get(2));
+
+        // writes to a group are writes to the source
+        final List<String> bGroup = groupList.get(1);
+        bGroup.add("bilberry");
+        assertEquals(GlazedListsTests.delimitedStringToList("Banana blueberry bilberry"), bGroup);
+        assertEquals("bilberry", source.get(source.indexOf("blueberry") + 1));
+        bGroup.set(0, "banana");
+        bGroup.remove(1);
+        assertEquals(GlazedListsTests.delimitedStringToList("banana bilberry"), groupList.get(1));
+
+        groupList.get(0).clear();
+        assertEquals(GlazedListsTests.delimitedStringToList("date banana bilberry"), source);
+        assertEquals(2, groupList.size());
+        assertEquals(GlazedListsTests.delimitedStringToList("banana bilberry"), groupList.get(0));
+
+        groupList.remove(0);
+        assertEquals(GlazedListsTests.delimitedStringToList("date"), source);
+    }
+
+    @Test
+    public void testHashedRandom() {
+        final Random dice = new Random(7);
+        final TransactionList<Integer> source = new TransactionList<>(new BasicEventList<Integer>(), true);
+        final GroupingList<Integer> groupList = GroupingList.createHashed(source, i -> Integer.valueOf(i.intValue() % 20));
+        ListConsistencyListener<List<Integer>> listConsistencyListener = ListConsistencyListener.install(groupList);
+        listConsistencyListener.setPreviousElementTracked(false);
+
+        for(int i = 0; i < 200; i++) {
+            source.beginEvent(true);
+            for(int j = 0, changes = 1 + dice.nextInt(5); j < changes; j++) {
+                final int operation = dice.nextInt(3);
+                if(operation == 0 || source.isEmpty()) {
+                    source.add(dice.nextInt(source.size() + 1), Integer.valueOf(dice.nextInt(100)));
+                } else if(operation == 1) {
+                    source.remove(dice.nextInt(source.size()));
+                } else {
+                    source.set(dice.nextInt(source.size()), Integer.valueOf(dice.nextInt(100)));
+                }
+            }
+            source.commitEvent();
+
+            // every group holds the source elements of its key, in source order
+            final Set<Integer> keys = new HashSet<>();
+            int total = 0;
+            for(List<Integer> group : groupList) {
+                final Integer key = Integer.valueOf(group.get(0).intValue() % 20);
+                assertTrue(keys.add(key));
+                final List<Integer> expected = new ArrayList<>();
+                for(Integer value : source) {
+                    if(value.intValue() % 20 == key.intValue()) expected.add(value);
+                }
+                assertEquals(expected, group);
+                total += group.size();
+            }
+            assertEquals(source.size(), total);
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package ca.odell.glazedlists;
 
 import ca.odell.glazedlists.impl.testing.GlazedListsTests;
+import ca.odell.glazedlists.util.concurrent.StampedLockFactory;
 
 import org.junit.Test;
 
@@ -70,4 +71,23 @@ public class GuardTest {
         assertEquals(2, sum);
     }
 
+    @Test
+    public void testReadOptimistic() {
+        // without an optimistic lock, the read lock is used
+        EventList<String> source = new BasicEventList<>();
+        source.addAll(GlazedListsTests.stringToList("ABC"));
+        RangeList<String> rangeList = new RangeList<>(source);
+        rangeList.setHeadRange(0, 2);
+        int sum = Guard.readOptimistic(rangeList, list -> list.getStartIndex() + list.getEndIndex());
+        assertEquals(2, sum);
+
+        EventList<String> stamped = new BasicEventList<>(new StampedLockFactory().createReadWriteLock());
+        stamped.addAll(GlazedListsTests.stringToList("ABC"));
+        assertEquals("B", stamped.readOptimistic(list -> list.get(1)));
+
+        // the write lock's owner reads with the read lock
+        String result = stamped.applyWithWriteLock(list -> list.readOptimistic(l -> l.get(2)));
+        assertEquals("C", result);
+    }
+
 }
@@ -3,9 +3,12 @@
 /*                                                     O'Dell Engineering Ltd.*/
 package ca.odell.glazedlists;
 
+import ca.odell.glazedlists.event.ListEvent;
 import ca.odell.glazedlists.impl.testing.GlazedListsTests;
 import ca.odell.glazedlists.impl.testing.ListConsistencyListener;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.After;
@@ -269,6 +272,45 @@ public class NestedEventsTest {
         }
     }
 
+    /**
+     * Validates that appending and removing from the end one element at a
+     * time are each fired as a single block.
+     */
+    @Test
+    public void testAppendsAndRemovesFromEnd() {
+        final List<String> blocks = new ArrayList<>();
+        nestableSource.addListEventListener(listChanges -> {
+            final StringBuilder description = new StringBuilder();
+            while(listChanges.nextBlock()) {
+                description.append(listChanges.getType()).append(':').append(listChanges.getBlockStartIndex())
+                        .append('-').append(listChanges.getBlockEndIndex()).append(' ');
+            }
+            blocks.add(description.toString().trim());
+        });
+        counter.setPreviousElementTracked(true);
+        nestableSource.beginEvent(false);
+        source.addAll(GlazedListsTests.stringToList("AB"));
+        nestableSource.commitEvent();
+        blocks.clear();
+
+        nestableSource.beginEvent(false);
+        for(String value : GlazedListsTests.stringToList("CDEFG")) {
+            source.add(value);
+        }
+        nestableSource.commitEvent();
+        assertEquals(GlazedListsTests.stringToList("ABCDEFG"), nestableSource);
+
+        nestableSource.beginEvent(false);
+        while(source.size() > 3) {
+            source.remove(source.size() - 1);
+        }
+        nestableSource.commitEvent();
+        assertEquals(GlazedListsTests.stringToList("ABC"), nestableSource);
+
+        assertEquals(Arrays.asList(ListEvent.INSERT + ":2-6", ListEvent.DELETE + ":3-6"), blocks);
+        assertEquals(3, counter.getEventCount());
+    }
+
     /**
      * Validates that complex contradicting events throw an exception if not allowed.
      */
@@ -3,6 +3,7 @@
 /*                                                     O'Dell Engineering Ltd.*/
 package ca.odell.glazedlists;
 
+import ca.odell.glazedlists.event.ListEvent;
 import ca.odell.glazedlists.impl.beans.BeanConnector;
 import ca.odell.glazedlists.impl.testing.ListConsistencyListener;
 import ca.odell.glazedlists.matchers.Matcher;
@@ -13,11 +14,16 @@ import java.awt.Component;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EventListener;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import javax.swing.JLabel;
 
@@ -69,6 +75,140 @@ public class ObservableElementListTest {
         assertEquals(1, counter.getChangeCount(3));
     }
 
+    /**
+     * Changed elements are found at their current indices, including
+     * duplicates, after the list has been edited around them.
+     */
+    @Test
+    public void testElementChangedAfterEdits() {
+        final JLabel moved = new JLabel("moved");
+        final JLabel duplicated = new JLabel("duplicated");
+        final JLabel replaced = new JLabel("replaced");
+        labels.add(new JLabel("A"));
+        labels.add(moved);
+        labels.add(duplicated);
+        labels.add(replaced);
+        labels.add(0, duplicated);
+        labels.add(0, new JLabel("B"));
+        labels.remove(2);
+        labels.set(4, new JLabel("C"));
+        labels.add(duplicated);
+
+        final List<Integer> updatedIndices = new ArrayList<>();
+        labels.addListEventListener(listChanges -> {
+            while (listChanges.next()) {
+                if (listChanges.getType() == ListEvent.UPDATE) updatedIndices.add(listChanges.getIndex());
+            }
+        });
+
+        moved.setText("still here");
+        assertEquals(2, labels.indexOf(moved));
+        assertEquals(Arrays.asList(2), updatedIndices);
+
+        updatedIndices.clear();
+        // a listener is installed per occurrence, so each one reports the change
+        duplicated.setText("thrice");
+        assertEquals(Arrays.asList(1, 3, 5, 1, 3, 5, 1, 3, 5), updatedIndices);
+
+        updatedIndices.clear();
+        replaced.setText("gone");
+        assertEquals(0, updatedIndices.size());
+
+        // removing one occurrence leaves the others observed
+        labels.remove(1);
+        updatedIndices.clear();
+        duplicated.setText("twice");
+        assertEquals(Arrays.asList(2, 4, 2, 4), updatedIndices);
+    }
+
+    /**
+     * Coalesced changes are delivered as one event, with each changed
+     * element updated once.
+     */
+    @Test
+    public void testCoalescing() {
+        final List<JLabel> elements = new ArrayList<>();
+        for (int i = 0; i < 6; i++) elements.add(new JLabel("" + i));
+        labels.addAll(elements);
+        final int events = counter.getEventCount();
+
+        labels.setCoalescing(true);
+        elements.get(4).setText("four");
+        elements.get(1).setText("one");
+        elements.get(2).setText("two");
+        elements.get(4).setToolTipText("four");
+        assertEquals(events, counter.getEventCount());
+
+        labels.flush();
+        assertEquals(events + 1, counter.getEventCount());
+        assertEquals(3, counter.getChangeCount(events));
+
+        // nothing to flush
+        labels.flush();
+        assertEquals(events + 1, counter.getEventCount());
+
+        // turning coalescing off flushes
+        elements.get(0).setText("zero");
+        labels.setCoalescing(false);
+        assertEquals(events + 2, counter.getEventCount());
+        elements.get(0).setText("zero again");
+        assertEquals(events + 3, counter.getEventCount());
+    }
+
+    /**
+     * Changes between the connector's begin and end are delivered together.
+     */
+    @Test
+    public void testConnectorChangeGroups() {
+        final BeanConnector<JLabel> connector = new BeanConnector<>(JLabel.class);
+        final ObservableElementList<JLabel> grouped = new ObservableElementList<>(new BasicEventList<JLabel>(), connector);
+        final ListConsistencyListener<JLabel> groupedCounter = ListConsistencyListener.install(grouped);
+        final JLabel first = new JLabel("first");
+        final JLabel second = new JLabel("second");
+        grouped.add(first);
+        grouped.add(second);
+
+        connector.beginChanges();
+        first.setText("1");
+        connector.beginChanges();
+        second.setText("2");
+        connector.endChanges();
+        assertEquals(2, groupedCounter.getEventCount());
+        first.setText("one");
+        connector.endChanges();
+        assertEquals(3, groupedCounter.getEventCount());
+        assertEquals(2, groupedCounter.getChangeCount(2));
+
+        try {
+            connector.endChanges();
+            fail("failed to detect unbalanced endChanges()");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Changes are flushed once the coalescing window has passed.
+     */
+    @Test
+    public void testCoalescingWindow() throws InterruptedException {
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            final JLabel label = new JLabel("label");
+            labels.add(label);
+            final CountDownLatch delivered = new CountDownLatch(1);
+            labels.addListEventListener(listChanges -> delivered.countDown());
+
+            labels.setCoalescingWindow(scheduler, 10, TimeUnit.MILLISECONDS);
+            label.setText("a");
+            label.setText("b");
+            assertTrue(delivered.await(5, TimeUnit.SECONDS));
+            assertEquals(2, counter.getEventCount());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
     @Test
     public void testAddRemoveListeners() {
         final JLabel listElement1 = new JLabel();
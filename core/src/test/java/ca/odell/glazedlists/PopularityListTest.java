@@ -12,6 +12,7 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
+import java.util.function.Function;
 
 import org.junit.Test;
 
@@ -96,6 +97,29 @@ public class PopularityListTest {
         }
     }
 
+    /**
+     * Tests that a hashed PopularityList ranks elements by frequency.
+     */
+    @Test
+    public void testRandomHashed() {
+        Random dice = new Random(0);
+
+        EventList<Integer> source = new BasicEventList<>();
+        SortedList<Integer> sortedSource = SortedList.create(source);
+        PopularityList<Integer> popularityList = PopularityList.createHashed(source, Function.identity());
+        new PopularityListValidator(popularityList, sortedSource);
+
+        for(int i = 0; i < 1000; i++) {
+            source.add(Integer.valueOf(dice.nextInt(50)));
+        }
+        for(int i = 0; i < 900; i++) {
+            source.remove(dice.nextInt(source.size()));
+        }
+        for(int i = 0; i < 800; i++) {
+            source.set(dice.nextInt(source.size()), Integer.valueOf(dice.nextInt(50)));
+        }
+    }
+
     /**
      * Tests that the PopularityList can handle multiple simultaneous events.
      */
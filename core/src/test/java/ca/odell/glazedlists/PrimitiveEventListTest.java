@@ -0,0 +1,334 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.event.ListEventListener;
+import ca.odell.glazedlists.matchers.DoubleMatcher;
+import ca.odell.glazedlists.matchers.LongMatcher;
+import ca.odell.glazedlists.matchers.Matcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Makes sure that {@link IntEventList}, {@link LongEventList} and
+ * {@link DoubleEventList} behave like a {@link BasicEventList} of boxed values.
+ */
+public class PrimitiveEventListTest {
+
+    private final Random random = new Random(11);
+
+    /**
+     * Apply random primitive and boxed changes, and compare against a
+     * {@link BasicEventList}.
+     */
+    @Test
+    public void testDoubleEventList() {
+        DoubleEventList list = new DoubleEventList(0);
+        BasicEventList<Double> expected = new BasicEventList<>();
+        MirrorListener<Double> mirror = new MirrorListener<>(list);
+
+        for(int i = 0; i < 500; i++) {
+            int operation = random.nextInt(6);
+            double value = random.nextInt(100) / 4.0;
+            if(operation == 0 || list.isEmpty()) {
+                int index = random.nextInt(list.size() + 1);
+                list.addDouble(index, value);
+                expected.add(index, value);
+            } else if(operation == 1) {
+                int index = random.nextInt(list.size());
+                assertEquals(expected.set(index, value).doubleValue(), list.setDouble(index, value), 0.0);
+            } else if(operation == 2) {
+                int index = random.nextInt(list.size());
+                assertEquals(expected.remove(index).doubleValue(), list.removeDouble(index), 0.0);
+            } else if(operation == 3) {
+                list.addAll(new double[] { value, value + 1, value + 2 });
+                expected.addAll(Arrays.asList(value, value + 1, value + 2));
+            } else if(operation == 4) {
+                int index = random.nextInt(list.size());
+                list.set(index, Double.valueOf(value));
+                expected.set(index, value);
+            } else {
+                int index = random.nextInt(list.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            }
+            assertEquals(expected, list);
+            assertEquals(expected, mirror.values);
+        }
+
+        list.clear();
+        assertEquals(0, mirror.values.size());
+        assertEquals(0, list.size());
+        assertEquals(0, list.toDoubleArray().length);
+    }
+
+    /**
+     * The values are available without boxing, and through transformed lists.
+     */
+    @Test
+    public void testPrimitiveAccessors() {
+        IntEventList ints = new IntEventList();
+        ints.addAll(new int[] { 5, 3, 9 });
+        ints.addInt(1, 7);
+        assertEquals(7, ints.getInt(1));
+        assertTrue(Arrays.equals(new int[] { 5, 7, 3, 9 }, ints.toIntArray()));
+
+        SortedList<Integer> sorted = SortedList.create(ints);
+        assertEquals(Arrays.asList(3, 5, 7, 9), sorted);
+        ints.setInt(0, 1);
+        ints.removeInt(3);
+        assertEquals(Arrays.asList(1, 3, 7), sorted);
+
+        LongEventList longs = new LongEventList();
+        longs.addLong(Long.MAX_VALUE);
+        longs.add(Long.valueOf(1));
+        assertEquals(Long.MAX_VALUE, longs.getLong(0));
+        assertEquals(Long.valueOf(1), longs.get(1));
+    }
+
+    /**
+     * The primitive {@link ListEvent} accessors read new values from a
+     * primitive source, and unbox the values of any other source.
+     */
+    @Test
+    public void testPrimitiveEventAccessors() {
+        DoubleEventList doubles = new DoubleEventList();
+        PrimitiveMirrorListener doublesMirror = new PrimitiveMirrorListener(doubles);
+        FilterList<Double> filtered = new FilterList<>(doubles);
+        PrimitiveMirrorListener filteredMirror = new PrimitiveMirrorListener(filtered);
+
+        for(int i = 0; i < 200; i++) {
+            int operation = random.nextInt(3);
+            double value = random.nextInt(100) / 4.0;
+            if(operation == 0 || doubles.isEmpty()) {
+                doubles.addDouble(random.nextInt(doubles.size() + 1), value);
+            } else if(operation == 1) {
+                doubles.setDouble(random.nextInt(doubles.size()), value);
+            } else {
+                doubles.removeDouble(random.nextInt(doubles.size()));
+            }
+            assertEquals(doubles, doublesMirror.values);
+            assertEquals(doubles, filteredMirror.values);
+        }
+
+        IntEventList ints = new IntEventList();
+        ints.addAll(new int[] { 4, 8 });
+        final List<String> seen = new ArrayList<>();
+        ints.addListEventListener(listChanges -> {
+            while(listChanges.next()) {
+                if(listChanges.getType() == ListEvent.UPDATE) {
+                    seen.add(listChanges.getOldInt() + " " + listChanges.getNewLong() + " " + listChanges.getNewDouble());
+                }
+            }
+        });
+        ints.setInt(1, 15);
+        assertEquals(Collections.singletonList("8 15 15.0"), seen);
+    }
+
+    /**
+     * A primitive {@link Matcher} reads the values of a primitive source
+     * without boxing, and gives the same result as matching boxed values.
+     */
+    @Test
+    public void testPrimitiveMatcher() {
+        DoubleEventList doubles = new DoubleEventList();
+        BasicEventList<Double> expected = new BasicEventList<>();
+        FilterList<Double> filtered = new FilterList<>(doubles, new UnboxedDoubleMatcher(10.0));
+        FilterList<Double> expectedFiltered = new FilterList<>(expected, (Matcher<Double>) element -> element > 10.0);
+
+        for(int i = 0; i < 500; i++) {
+            int operation = random.nextInt(4);
+            double value = random.nextInt(100) / 4.0;
+            if(operation == 0 || doubles.isEmpty()) {
+                int index = random.nextInt(doubles.size() + 1);
+                doubles.addDouble(index, value);
+                expected.add(index, value);
+            } else if(operation == 1) {
+                int index = random.nextInt(doubles.size());
+                doubles.setDouble(index, value);
+                expected.set(index, value);
+            } else if(operation == 2) {
+                int index = random.nextInt(doubles.size());
+                doubles.removeDouble(index);
+                expected.remove(index);
+            } else {
+                double threshold = random.nextInt(25);
+                filtered.setMatcher(new UnboxedDoubleMatcher(threshold));
+                expectedFiltered.setMatcher(element -> element > threshold);
+            }
+            assertEquals(expectedFiltered, filtered);
+        }
+
+        // ints are matched as longs
+        IntEventList ints = new IntEventList();
+        ints.addAll(new int[] { 3, -1, 4, -1, 5 });
+        FilterList<Integer> positive = new FilterList<>(ints, (LongMatcher) value -> value > 0);
+        assertEquals(Arrays.asList(3, 4, 5), positive);
+        ints.setInt(1, 2);
+        assertEquals(Arrays.asList(3, 2, 4, 5), positive);
+    }
+
+    /**
+     * A primitive {@link java.util.Comparator} reads the values of a primitive
+     * source without boxing, both when sorting in bulk and one at a time.
+     */
+    @Test
+    public void testPrimitiveComparator() {
+        LongEventList longs = new LongEventList();
+        for(int i = 0; i < 200; i++) {
+            longs.addLong(random.nextInt(500));
+        }
+        SortedList<Long> sorted = new SortedList<>(longs, new UnboxedLongComparator(false));
+        assertSorted(longs, sorted, false);
+
+        for(int i = 0; i < 200; i++) {
+            int operation = random.nextInt(3);
+            if(operation == 0) {
+                longs.addLong(random.nextInt(longs.size() + 1), random.nextInt(500));
+            } else if(operation == 1) {
+                longs.setLong(random.nextInt(longs.size()), random.nextInt(500));
+            } else {
+                longs.removeLong(random.nextInt(longs.size()));
+            }
+        }
+        assertSorted(longs, sorted, false);
+
+        // a large insert is sorted as a batch
+        long[] batch = new long[1200];
+        for(int b = 0; b < batch.length; b++) {
+            batch[b] = random.nextInt(500);
+        }
+        longs.addAll(batch);
+        assertSorted(longs, sorted, false);
+
+        sorted.setComparator(new UnboxedLongComparator(true));
+        assertSorted(longs, sorted, true);
+
+        // ints are compared as doubles
+        IntEventList ints = new IntEventList();
+        ints.addAll(new int[] { 3, -1, 4, -1, 5 });
+        SortedList<Integer> sortedInts = new SortedList<>(ints, (DoubleComparator) Double::compare);
+        assertEquals(Arrays.asList(-1, -1, 3, 4, 5), sortedInts);
+    }
+
+    private static void assertSorted(List<Long> source, List<Long> sorted, boolean reversed) {
+        List<Long> expected = new ArrayList<>(source);
+        Collections.sort(expected);
+        if(reversed) Collections.reverse(expected);
+        assertEquals(expected, sorted);
+    }
+
+    /**
+     * Matches values greater than a threshold, and fails if it's given a boxed value.
+     */
+    private static class UnboxedDoubleMatcher implements DoubleMatcher {
+        private final double threshold;
+
+        UnboxedDoubleMatcher(double threshold) {
+            this.threshold = threshold;
+        }
+
+        @Override
+        public boolean matchesDouble(double value) {
+            return value > threshold;
+        }
+
+        @Override
+        public boolean matches(Number item) {
+            throw new AssertionError("Boxed value " + item);
+        }
+    }
+
+    /**
+     * Compares values, and fails if it's given boxed values.
+     */
+    private static class UnboxedLongComparator implements LongComparator {
+        private final boolean reversed;
+
+        UnboxedLongComparator(boolean reversed) {
+            this.reversed = reversed;
+        }
+
+        @Override
+        public int compareLong(long alpha, long beta) {
+            return reversed ? Long.compare(beta, alpha) : Long.compare(alpha, beta);
+        }
+
+        @Override
+        public int compare(Number alpha, Number beta) {
+            throw new AssertionError("Boxed values " + alpha + ", " + beta);
+        }
+    }
+
+    /**
+     * Applies each change to a copy of the list using the primitive
+     * {@link ListEvent} accessors.
+     */
+    private static class PrimitiveMirrorListener implements ListEventListener<Double> {
+        private final List<Double> values;
+
+        PrimitiveMirrorListener(EventList<Double> source) {
+            this.values = new ArrayList<>(source);
+            source.addListEventListener(this);
+        }
+
+        @Override
+        public void listChanged(ListEvent<Double> listChanges) {
+            while(listChanges.next()) {
+                final int index = listChanges.getIndex();
+                switch(listChanges.getType()) {
+                    case ListEvent.INSERT: values.add(index, listChanges.getNewDouble()); break;
+                    case ListEvent.DELETE: assertEquals(values.remove(index), listChanges.getOldDouble(), 0.0); break;
+                    case ListEvent.UPDATE: assertEquals(values.set(index, listChanges.getNewDouble()), listChanges.getOldDouble(), 0.0); break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies each change to a copy of the list, checking the reported old
+     * values by equality since boxed values aren't identical between reads.
+     */
+    private static class MirrorListener<E> implements ListEventListener<E> {
+        private final List<E> values;
+
+        MirrorListener(EventList<E> source) {
+            this.values = new ArrayList<>(source);
+            source.addListEventListener(this);
+        }
+
+        @Override
+        public void listChanged(ListEvent<E> listChanges) {
+            final List<E> source = listChanges.getSourceList();
+            while(listChanges.next()) {
+                final int index = listChanges.getIndex();
+                switch(listChanges.getType()) {
+                    case ListEvent.INSERT: values.add(index, source.get(index)); break;
+                    case ListEvent.DELETE: assertEquals(values.remove(index), listChanges.getOldValue()); break;
+                    case ListEvent.UPDATE: assertEquals(values.set(index, source.get(index)), listChanges.getOldValue()); break;
+                }
+            }
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfBounds() {
+        DoubleEventList list = new DoubleEventList();
+        list.addDouble(1.0);
+        list.getDouble(1);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testAddNull() {
+        new LongEventList().add(null);
+    }
+}
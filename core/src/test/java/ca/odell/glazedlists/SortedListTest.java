@@ -1440,6 +1440,136 @@ public class SortedListTest {
         assertSame(theUnquestionableTruth, sortedList.get(6));
     }
 
+    /**
+     * Ensures that re-sorting with the bulk array sort fires the same reorder
+     * events as inserting each element into the sorted tree, which keeps
+     * elements that compare equally in source order.
+     */
+    @Test
+    public void testBulkSetComparator() {
+        BasicEventList<String> source = new BasicEventList<>();
+        for(int i = 0; i < 5000; i++) {
+            source.add(Integer.toString(random.nextInt(1000)));
+        }
+
+        SortedList<String> bulk = new SortedList<>(source, null);
+        ListConsistencyListener<String> bulkListener = ListConsistencyListener.install(bulk);
+        List<int[]> bulkReorders = new ArrayList<>();
+        bulk.addListEventListener(listChanges -> {
+            if(listChanges.isReordering()) bulkReorders.add(listChanges.getReorderMap());
+        });
+
+        List<Comparator<? super String>> comparators = new ArrayList<>();
+        comparators.add(GlazedLists.comparableComparator());
+        comparators.add(new StringLengthComparator());
+        comparators.add(new ReverseStringComparator());
+        comparators.add(null);
+        comparators.add(new AlwaysEqualComparator());
+        comparators.add(GlazedLists.comparableComparator());
+        for(Comparator<? super String> comparator : comparators) {
+            // the previous sorted index of each source index
+            int[] previousIndices = new int[source.size()];
+            for(int i = 0; i < bulk.size(); i++) {
+                previousIndices[bulk.getSourceIndex(i)] = i;
+            }
+
+            // a stable sort of the source indices gives the order of the tree
+            List<Integer> sourceIndices = new ArrayList<>();
+            for(int i = 0; i < source.size(); i++) sourceIndices.add(Integer.valueOf(i));
+            if(comparator != null) sourceIndices.sort((alpha, beta) -> comparator.compare(source.get(alpha.intValue()), source.get(beta.intValue())));
+            int[] expectedReorder = new int[source.size()];
+            for(int i = 0; i < expectedReorder.length; i++) {
+                expectedReorder[i] = previousIndices[sourceIndices.get(i).intValue()];
+            }
+
+            bulkReorders.clear();
+            bulk.setComparator(comparator);
+            for(int i = 0; i < bulk.size(); i++) {
+                assertEquals(sourceIndices.get(i).intValue(), bulk.getSourceIndex(i));
+            }
+            assertEquals(1, bulkReorders.size());
+            assertTrue(Arrays.equals(expectedReorder, bulkReorders.get(0)));
+        }
+        assertEquals(comparators.size(), bulkListener.getEventCount());
+
+        // the bulk sorted tree must still support incremental changes
+        source.add("500");
+        source.remove(0);
+        source.set(10, "1");
+        List<String> expected = new ArrayList<>(source);
+        Collections.sort(expected);
+        assertEquals(expected, bulk);
+    }
+
+    /**
+     * Ensures that inserting a large change as a batch leaves the list in the
+     * same state as inserting each element separately, and fires the inserts
+     * as contiguous blocks.
+     */
+    @Test
+    public void testBatchInsert() {
+        BasicEventList<String> source = new BasicEventList<>();
+        TransactionList<String> transaction = new TransactionList<>(source);
+        for(int mode : new int[] { SortedList.STRICT_SORT_ORDER, SortedList.AVOID_MOVING_ELEMENTS }) {
+            for(Comparator<? super String> comparator : Arrays.<Comparator<? super String>>asList(GlazedLists.comparableComparator(), new AlwaysEqualComparator(), null)) {
+                transaction.clear();
+                SortedList<String> batch = new SortedList<>(transaction, comparator);
+                SortedList<String> oneByOne = new SortedList<>(transaction, comparator);
+                batch.setMode(mode);
+                oneByOne.setMode(mode);
+                batch.setBatchInsertThreshold(10);
+                oneByOne.setBatchInsertThreshold(Integer.MAX_VALUE);
+                ListConsistencyListener.install(batch);
+                ListConsistencyListener.install(oneByOne);
+                List<Integer> blockCounts = new ArrayList<>();
+                batch.addListEventListener(listChanges -> {
+                    int blocks = 0;
+                    while(listChanges.nextBlock()) blocks++;
+                    blockCounts.add(blocks);
+                });
+
+                // an empty list is built from the batch alone
+                transaction.addAll(randomStrings(500));
+                assertEquals(oneByOne, batch);
+                if(comparator != null) assertEquals(Integer.valueOf(1), blockCounts.get(0));
+
+                // a batch that is large relative to the list is merged
+                transaction.addAll(100, randomStrings(400));
+                assertEquals(oneByOne, batch);
+
+                // a small batch is inserted one element at a time, in order
+                transaction.addAll(randomStrings(20));
+                assertEquals(oneByOne, batch);
+
+                // inserts mixed with deletes and updates in the same event
+                transaction.beginEvent(true);
+                for(int i = 0; i < 50; i++) {
+                    transaction.remove(i);
+                }
+                for(int i = 0; i < 30; i++) {
+                    transaction.set(i * 10, Integer.toString(random.nextInt(100)));
+                }
+                transaction.addAll(200, randomStrings(600));
+                transaction.commitEvent();
+                assertEquals(oneByOne, batch);
+
+                batch.dispose();
+                oneByOne.dispose();
+            }
+        }
+    }
+
+    /**
+     * Creates the specified number of random numeric strings, with duplicates.
+     */
+    private List<String> randomStrings(int count) {
+        List<String> result = new ArrayList<>(count);
+        for(int i = 0; i < count; i++) {
+            result.add(Integer.toString(random.nextInt(100)));
+        }
+        return result;
+    }
+
     /** test a sorted list for equality */
     public void assertSortedEquals(List<Comparable> unsorted, SortedList sorted) {
         // create a protective copy to muck with
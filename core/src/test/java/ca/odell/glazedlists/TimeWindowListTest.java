@@ -0,0 +1,134 @@
+/* Glazed Lists                                                 (c) 2003-2018 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.impl.testing.ListConsistencyListener;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TimeWindowListTest {
+
+    @Test
+    public void testExpire() {
+        final EventList<Integer> source = GlazedLists.eventListOf(10, 20, 30, 40);
+        final TimeWindowList<Integer> window = new TimeWindowList<>(source, Integer::longValue, Duration.ofMillis(15));
+        final ListConsistencyListener<Integer> listConsistencyListener = ListConsistencyListener.install(window);
+        listConsistencyListener.setPreviousElementTracked(true);
+        assertEquals(source, window);
+
+        // each expiry removes the elements that have left the window in one event
+        window.expire(46);
+        assertEquals(Arrays.asList(40), window);
+        assertEquals(1, listConsistencyListener.getEventCount());
+        assertEquals(3, listConsistencyListener.getChangeCount(0));
+        window.expire(50);
+        assertEquals(1, listConsistencyListener.getEventCount());
+
+        // new elements join the window
+        source.addAll(Arrays.asList(50, 60));
+        assertEquals(Arrays.asList(40, 50, 60), window);
+        window.expire(70);
+        assertEquals(Arrays.asList(60), window);
+        assertEquals(3, listConsistencyListener.getEventCount());
+        assertEquals(5, window.getSourceIndex(0));
+    }
+
+    @Test
+    public void testEvictExpired() {
+        final EventList<Integer> source = GlazedLists.eventListOf(10, 20, 30, 40);
+        final TimeWindowList<Integer> window = new TimeWindowList<>(source, Integer::longValue, Duration.ofMillis(15));
+        final ListConsistencyListener<Integer> listConsistencyListener = ListConsistencyListener.install(window);
+        listConsistencyListener.setPreviousElementTracked(true);
+
+        // elements hidden before eviction is enabled are evicted on the next expiry
+        window.expire(36);
+        assertEquals(Arrays.asList(30, 40), window);
+        assertEquals(4, source.size());
+        window.setEvictExpired(true);
+        window.expire(46);
+        assertEquals(Arrays.asList(40), window);
+        assertEquals(Arrays.asList(40), source);
+        assertEquals(2, listConsistencyListener.getEventCount());
+        assertEquals(1, listConsistencyListener.getChangeCount(1));
+        assertEquals(0, window.getSourceIndex(0));
+
+        // the source no longer grows, but only its expired prefix is evicted
+        source.addAll(Arrays.asList(50, 60, 5));
+        window.expire(70);
+        assertEquals(Arrays.asList(60, 5), window);
+        assertEquals(Arrays.asList(60, 5), source);
+        assertEquals(4, listConsistencyListener.getEventCount());
+        assertEquals(2, listConsistencyListener.getChangeCount(3));
+    }
+
+    @Test
+    public void testSourceChanges() {
+        final EventList<Integer> source = GlazedLists.eventListOf(10, 20, 30, 40);
+        final TimeWindowList<Integer> window = new TimeWindowList<>(source, Integer::longValue, Duration.ofMillis(15));
+        final ListConsistencyListener<Integer> listConsistencyListener = ListConsistencyListener.install(window);
+        listConsistencyListener.setPreviousElementTracked(true);
+        window.expire(46);
+
+        // changes to expired elements aren't seen
+        source.remove(0);
+        source.add(0, 5);
+        source.set(1, 25);
+        assertEquals(Arrays.asList(40), window);
+        assertEquals(1, listConsistencyListener.getEventCount());
+
+        // changes to the window are forwarded
+        source.set(3, 45);
+        source.add(55);
+        assertEquals(Arrays.asList(45, 55), window);
+        window.remove(0);
+        assertEquals(Arrays.asList(55), window);
+        assertEquals(Arrays.asList(5, 25, 30, 55), source);
+
+        // a reordering shows all of the elements until the next expiry
+        final SortedList<Integer> sorted = SortedList.create(source);
+        final TimeWindowList<Integer> sortedWindow = new TimeWindowList<>(sorted, Integer::longValue, Duration.ofMillis(15));
+        ListConsistencyListener.install(sortedWindow);
+        sortedWindow.expire(46);
+        assertEquals(Arrays.asList(55), sortedWindow);
+        sorted.setComparator(GlazedLists.reverseComparator());
+        assertEquals(4, sortedWindow.size());
+        sorted.setComparator(GlazedLists.comparableComparator());
+        sortedWindow.expire(46);
+        assertEquals(Arrays.asList(55), sortedWindow);
+    }
+
+    @Test
+    public void testScheduledExpiry() throws InterruptedException {
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            final long now = System.currentTimeMillis();
+            final EventList<Long> source = GlazedLists.eventListOf(now - 60000, now - 30000, now);
+            final TimeWindowList<Long> window = new TimeWindowList<>(source, Long::longValue, Duration.ofSeconds(45), scheduler, Duration.ofMillis(10));
+
+            for (int i = 0; i < 200 && size(window) == 3; i++) {
+                Thread.sleep(10);
+            }
+            assertEquals(2, size(window));
+            window.dispose();
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private static int size(EventList<?> list) {
+        list.getReadWriteLock().readLock().lock();
+        try {
+            return list.size();
+        } finally {
+            list.getReadWriteLock().readLock().unlock();
+        }
+    }
+}
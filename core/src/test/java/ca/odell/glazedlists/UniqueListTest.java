@@ -1728,4 +1728,124 @@ public class UniqueListTest {
 
         assertEquals("B", uniqueList.get(0));
     }
+
+    @Test
+    public void testHashed() {
+        final EventList<String> source = GlazedLists.eventList(GlazedListsTests.stringToList("CABACB"));
+        final UniqueList<String> uniqueList = UniqueList.createHashed(source);
+        ListConsistencyListener.install(uniqueList);
+
+        // unique elements are in the order they were first seen
+        assertEquals(GlazedListsTests.stringToList("CAB"), uniqueList);
+        assertEquals(2, uniqueList.getCount(0));
+        assertEquals(2, uniqueList.getCount("A"));
+        assertEquals(0, uniqueList.getCount("Z"));
+        assertEquals(2, uniqueList.indexOf("B"));
+        assertEquals(-1, uniqueList.indexOf("Z"));
+        assertEquals(GlazedListsTests.stringToList("BB"), uniqueList.getAll("B"));
+
+        // new keys are added to the end, regardless of their source index
+        source.add(0, "D");
+        assertEquals(GlazedListsTests.stringToList("CABD"), uniqueList);
+        source.remove("D");
+        source.removeAll(GlazedListsTests.stringToList("C"));
+        assertEquals(GlazedListsTests.stringToList("AB"), uniqueList);
+        source.add("C");
+        assertEquals(GlazedListsTests.stringToList("ABC"), uniqueList);
+
+        // writes remove all duplicates
+        uniqueList.remove(0);
+        assertEquals(GlazedListsTests.stringToList("BBC"), source);
+        uniqueList.set(0, "E");
+        assertEquals(GlazedListsTests.stringToList("EC"), source);
+
+        // a new key is seen last, even when it replaces an existing element
+        assertEquals(GlazedListsTests.stringToList("CE"), uniqueList);
+    }
+
+    @Test
+    public void testHashedKeyFunction() {
+        final EventList<String> source = GlazedLists.eventList(GlazedListsTests.delimitedStringToList("Apple avocado Banana apricot blueberry cherry"));
+        final UniqueList<String> uniqueList = UniqueList.createHashed(source, s -> Character.toLowerCase(s.charAt(0)));
+        ListConsistencyListener.install(uniqueList);
+
+        assertEquals(GlazedListsTests.delimitedStringToList("Apple Banana cherry"), uniqueList);
+        assertEquals(GlazedListsTests.delimitedStringToList("Apple avocado apricot"), uniqueList.getAll(0));
+        assertEquals(3, uniqueList.getCount("almond"));
+
+        // the first member of a group represents it
+        source.remove("Apple");
+        assertEquals(GlazedListsTests.delimitedStringToList("avocado Banana cherry"), uniqueList);
+
+        // changing an element's key moves it to another group
+        source.set(source.indexOf("cherry"), "banana");
+        assertEquals(GlazedListsTests.delimitedStringToList("avocado Banana"), uniqueList);
+        assertEquals(3, uniqueList.getCount(1));
+    }
+
+    @Test
+    public void testHashedReordering() {
+        final EventList<String> source = GlazedLists.eventList(GlazedListsTests.stringToList("bAaCcB"));
+        final SortedList<String> sorted = SortedList.create(source);
+        final UniqueList<String> uniqueList = UniqueList.createHashed(sorted, String::toUpperCase);
+        ListConsistencyListener<String> listConsistencyListener = ListConsistencyListener.install(uniqueList);
+        listConsistencyListener.setPreviousElementTracked(false);
+
+        assertEquals(GlazedListsTests.stringToList("ABC"), uniqueList);
+        assertEquals(GlazedListsTests.stringToList("Aa"), uniqueList.getAll(0));
+
+        // groups keep their order when the source is reordered
+        sorted.setComparator(GlazedLists.reverseComparator());
+        assertEquals(GlazedListsTests.stringToList("cbaCBA"), sorted);
+        assertEquals(GlazedListsTests.stringToList("abc"), uniqueList);
+        assertEquals(GlazedListsTests.stringToList("cC"), uniqueList.getAll(2));
+        assertEquals(1, listConsistencyListener.getEventCount());
+    }
+
+    @Test
+    public void testHashedRandom() {
+        final Random dice = new Random(11);
+        final TransactionList<Integer> source = new TransactionList<>(new BasicEventList<Integer>(), true);
+        final UniqueList<Integer> uniqueList = UniqueList.createHashed(source);
+        ListConsistencyListener<Integer> listConsistencyListener = ListConsistencyListener.install(uniqueList);
+        listConsistencyListener.setPreviousElementTracked(false);
+
+        // the keys in the order they were first seen, tracked one change at a time
+        final List<Integer> expected = new ArrayList<>();
+        for(int i = 0; i < 2000; i++) {
+            final int operation = dice.nextInt(3);
+            if(operation == 0 || source.isEmpty()) {
+                source.add(dice.nextInt(source.size() + 1), Integer.valueOf(dice.nextInt(40)));
+            } else if(operation == 1) {
+                source.remove(dice.nextInt(source.size()));
+            } else {
+                source.set(dice.nextInt(source.size()), Integer.valueOf(dice.nextInt(40)));
+            }
+            expected.retainAll(source);
+            for(Integer value : source) {
+                if(!expected.contains(value)) expected.add(value);
+            }
+
+            assertEquals(expected, uniqueList);
+            for(int u = 0; u < uniqueList.size(); u++) {
+                assertEquals(Collections.frequency(source, uniqueList.get(u)), uniqueList.getCount(u));
+            }
+        }
+
+        // multiple changes in a single event
+        for(int i = 0; i < 50; i++) {
+            source.beginEvent(true);
+            for(int j = 0; j < 10; j++) {
+                if(dice.nextBoolean() && !source.isEmpty()) source.remove(dice.nextInt(source.size()));
+                else source.add(dice.nextInt(source.size() + 1), Integer.valueOf(dice.nextInt(40)));
+            }
+            source.commitEvent();
+
+            assertEquals(new TreeSet<>(source), new TreeSet<>(uniqueList));
+            assertEquals(uniqueList.size(), new TreeSet<>(uniqueList).size());
+            for(int u = 0; u < uniqueList.size(); u++) {
+                assertEquals(Collections.frequency(source, uniqueList.get(u)), uniqueList.getCount(u));
+            }
+        }
+    }
 }
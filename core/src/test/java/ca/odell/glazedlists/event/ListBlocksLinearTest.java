@@ -5,6 +5,8 @@ package ca.odell.glazedlists.event;
 
 import ca.odell.glazedlists.impl.event.BlockSequence;
 
+import java.util.Arrays;
+
 import org.junit.Test;
 
 import static org.junit.Assert.*;
@@ -100,7 +102,14 @@ public class ListBlocksLinearTest {
         listBlocks = new BlockSequence();
         assertTrue(listBlocks.delete(2, 4));
         assertTrue(listBlocks.delete(2, 3));
-        assertFalse(listBlocks.delete(1, 2));
+        assertFalse(listBlocks.delete(0, 1));
+
+        // a delete just before the previous one extends it backwards
+        listBlocks = new BlockSequence();
+        assertTrue(listBlocks.insert(0, 1));
+        assertTrue(listBlocks.delete(2, 4));
+        assertTrue(listBlocks.delete(1, 2));
+        assertFalse(listBlocks.delete(0, 1));
 
         listBlocks = new BlockSequence();
         assertTrue(listBlocks.update(2, 4));
@@ -165,6 +174,86 @@ public class ListBlocksLinearTest {
         assertEquals(false, iterator.hasNextBlock());
     }
 
+    /**
+     * Test that blocks carrying one value per element keep their values and
+     * are never merged with neighbouring blocks.
+     */
+    @Test
+    public void testValueRuns() {
+        BlockSequence<String> listBlocks = new BlockSequence<>();
+        assertTrue(listBlocks.addChange(ListEvent.INSERT, 0, null, Arrays.asList("A", "B", "C")));
+        assertTrue(listBlocks.insert(3, 4));
+        assertTrue(listBlocks.addChange(ListEvent.DELETE, 5, Arrays.asList("D", "E"), null));
+        assertFalse(listBlocks.addChange(ListEvent.UPDATE, 4, Arrays.asList("F"), Arrays.asList("G")));
+
+        BlockSequence<String>.Iterator iterator = listBlocks.iterator();
+        assertNextBlock(0, 3, ListEvent.INSERT, iterator);
+        assertTrue(iterator.hasValueRun());
+        assertEquals("A", iterator.getNewValue());
+        assertNextBlock(3, 4, ListEvent.INSERT, iterator);
+        assertFalse(iterator.hasValueRun());
+        assertNextBlock(5, 7, ListEvent.DELETE, iterator);
+        assertEquals(false, iterator.hasNextBlock());
+
+        iterator = listBlocks.iterator();
+        assertNext(0, ListEvent.INSERT, iterator);
+        assertEquals("A", iterator.getNewValue());
+        assertNext(1, ListEvent.INSERT, iterator);
+        assertEquals("B", iterator.getNewValue());
+        assertNext(2, ListEvent.INSERT, iterator);
+        assertEquals("C", iterator.getNewValue());
+        assertNext(3, ListEvent.INSERT, iterator);
+        assertNext(5, ListEvent.DELETE, iterator);
+        assertEquals("D", iterator.getOldValue());
+        assertNext(5, ListEvent.DELETE, iterator);
+        assertEquals("E", iterator.getOldValue());
+        assertEquals(false, iterator.hasNext());
+    }
+
+    /**
+     * Test that appending one element at a time, or removing from the end
+     * one element at a time, grows a single block that keeps each value.
+     */
+    @Test
+    public void testAppendsAndRemovesFromEnd() {
+        final String unknown = ListEvent.<String>unknownValue();
+        BlockSequence<String> listBlocks = new BlockSequence<>();
+        assertTrue(listBlocks.addChange(ListEvent.INSERT, 2, 3, unknown, "A"));
+        assertTrue(listBlocks.addChange(ListEvent.INSERT, 3, 4, unknown, "A"));
+        assertTrue(listBlocks.addChange(ListEvent.INSERT, 4, 5, unknown, "B"));
+        assertTrue(listBlocks.addChange(ListEvent.INSERT, 5, 6, unknown, "C"));
+
+        BlockSequence<String>.Iterator iterator = listBlocks.iterator();
+        assertNextBlock(2, 6, ListEvent.INSERT, iterator);
+        assertTrue(iterator.hasValueRun());
+        assertEquals(Arrays.asList("A", "A", "B", "C"), Arrays.asList(iterator.getNewValue(0), iterator.getNewValue(1), iterator.getNewValue(2), iterator.getNewValue(3)));
+        assertEquals(false, iterator.hasNextBlock());
+
+        listBlocks = new BlockSequence<>();
+        assertTrue(listBlocks.addChange(ListEvent.UPDATE, 0, 1, "A", "B"));
+        assertTrue(listBlocks.addChange(ListEvent.DELETE, 9, 10, "J", unknown));
+        assertTrue(listBlocks.addChange(ListEvent.DELETE, 8, 9, "I", unknown));
+        assertTrue(listBlocks.addChange(ListEvent.DELETE, 7, 8, "H", unknown));
+
+        iterator = listBlocks.iterator();
+        assertNextBlock(0, 1, ListEvent.UPDATE, iterator);
+        assertNext(7, ListEvent.DELETE, iterator);
+        assertEquals("H", iterator.getOldValue());
+        assertNext(7, ListEvent.DELETE, iterator);
+        assertEquals("I", iterator.getOldValue());
+        assertNext(7, ListEvent.DELETE, iterator);
+        assertEquals("J", iterator.getOldValue());
+        assertEquals(false, iterator.hasNext());
+
+        // a run that grows backwards can't also grow forwards
+        assertTrue(listBlocks.addChange(ListEvent.DELETE, 7, 8, "K", unknown));
+        iterator = listBlocks.iterator();
+        assertNextBlock(0, 1, ListEvent.UPDATE, iterator);
+        assertNextBlock(7, 10, ListEvent.DELETE, iterator);
+        assertNextBlock(7, 8, ListEvent.DELETE, iterator);
+        assertEquals("K", iterator.getOldValue());
+    }
+
     public static final void assertNext(int index, int type, BlockSequence.Iterator iterator) {
         assertEquals(true, iterator.hasNext());
         assertEquals(true, iterator.next());
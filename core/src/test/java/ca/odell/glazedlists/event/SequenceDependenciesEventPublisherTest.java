@@ -6,13 +6,24 @@ package ca.odell.glazedlists.event;
 import ca.odell.glazedlists.*;
 import ca.odell.glazedlists.impl.testing.GlazedListsTests;
 import ca.odell.glazedlists.impl.testing.ListConsistencyListener;
+import ca.odell.glazedlists.matchers.Matcher;
+import ca.odell.glazedlists.util.concurrent.LockFactory;
+import ca.odell.glazedlists.util.concurrent.ReadWriteLock;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 /**
@@ -271,6 +282,176 @@ public class SequenceDependenciesEventPublisherTest {
     }
 
 
+    /**
+     * Listeners added in an arbitrary order must be reordered so that each
+     * is notified after everything it depends on, even as the graph grows.
+     */
+    @Test
+    public void testRandomGraphOrder() {
+        Random dice = new Random(13);
+        SequenceDependenciesEventPublisher publisher = new SequenceDependenciesEventPublisher();
+        Vertex[] vertices = new Vertex[40];
+        for(int i = 0; i < vertices.length; i++) {
+            vertices[i] = new Vertex(publisher);
+        }
+
+        // edges always go from a lower to a higher index, but are added randomly
+        for(int edge = 0; edge < 120; edge++) {
+            int from = dice.nextInt(vertices.length - 1);
+            int to = from + 1 + dice.nextInt(vertices.length - from - 1);
+            vertices[from].addListener(vertices[to]);
+
+            // a cycle is rejected, and leaves the publisher consistent
+            try {
+                publisher.addListener(vertices[to], vertices[from], VertexEventFormat.INSTANCE);
+                fail("Cycle not detected");
+            } catch(IllegalStateException e) {
+                // expected
+            }
+
+            vertices[dice.nextInt(vertices.length)].fire();
+        }
+
+        // remove some edges, and make sure the rest are still ordered
+        for(int edge = 0; edge < 40; edge++) {
+            Vertex from = vertices[dice.nextInt(vertices.length)];
+            if(from.downstream.isEmpty()) continue;
+            from.removeListener(from.downstream.get(dice.nextInt(from.downstream.size())));
+            vertices[dice.nextInt(vertices.length)].fire();
+        }
+
+        for(int i = 0; i < vertices.length; i++) {
+            vertices[i].fire();
+        }
+    }
+
+    /**
+     * A parallel publisher notifies independent branches on other threads,
+     * while listeners that depend on each other are still notified in order.
+     */
+    @Test
+    public void testParallelBranches() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            ListEventPublisher publisher = new SequenceDependenciesEventPublisher(executor, 4, null);
+            ReadWriteLock lock = LockFactory.DEFAULT.createReadWriteLock();
+            EventList<Integer> source = new BasicEventList<>(publisher, lock);
+
+            // independent branches, each with a sorted view of a filtered source
+            Set<Thread> notifyingThreads = Collections.newSetFromMap(new ConcurrentHashMap<>());
+            List<EventList<Integer>> branches = new ArrayList<>();
+            for(int b = 0; b < 6; b++) {
+                final int divisor = b + 2;
+                FilterList<Integer> filtered = new FilterList<>(source, (Matcher<Integer>) value -> value.intValue() % divisor == 0);
+                SortedList<Integer> sorted = SortedList.create(filtered);
+                sorted.addListEventListener(listChanges -> notifyingThreads.add(Thread.currentThread()));
+                branches.add(sorted);
+                ListConsistencyListener.install(sorted);
+            }
+
+            // a diamond, whose lists must be notified on a single thread
+            CompositeList<Integer> diamond = new CompositeList<>(publisher, lock);
+            diamond.addMemberList(new FilterList<>(source, (Matcher<Integer>) value -> value.intValue() < 50));
+            diamond.addMemberList(new FilterList<>(source, (Matcher<Integer>) value -> value.intValue() >= 50));
+            ListConsistencyListener.install(diamond);
+
+            Random dice = new Random(14);
+            for(int i = 0; i < 300; i++) {
+                if(source.isEmpty() || dice.nextInt(3) != 0) {
+                    source.add(dice.nextInt(source.size() + 1), Integer.valueOf(dice.nextInt(100)));
+                } else if(dice.nextBoolean()) {
+                    source.set(dice.nextInt(source.size()), Integer.valueOf(dice.nextInt(100)));
+                } else {
+                    source.remove(dice.nextInt(source.size()));
+                }
+            }
+
+            for(int b = 0; b < branches.size(); b++) {
+                final int divisor = b + 2;
+                List<Integer> expected = new ArrayList<>();
+                for(Integer value : source) {
+                    if(value.intValue() % divisor == 0) expected.add(value);
+                }
+                Collections.sort(expected);
+                assertEquals(expected, branches.get(b));
+            }
+            List<Integer> expected = new ArrayList<>(source);
+            List<Integer> actual = new ArrayList<>(diamond);
+            Collections.sort(expected);
+            Collections.sort(actual);
+            assertEquals(expected, actual);
+
+            assertTrue(notifyingThreads.size() > 1);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * A subject that forwards each event to its listeners, and makes sure
+     * that everything upstream has been notified first.
+     */
+    private static class Vertex {
+        private static int latestRound = 0;
+        private static Set<Vertex> affected;
+        private final SequenceDependenciesEventPublisher publisher;
+        private final List<Vertex> upstream = new ArrayList<>();
+        private final List<Vertex> downstream = new ArrayList<>();
+        private int round = 0;
+
+        Vertex(SequenceDependenciesEventPublisher publisher) {
+            this.publisher = publisher;
+        }
+        void addListener(Vertex listener) {
+            downstream.add(listener);
+            listener.upstream.add(this);
+            publisher.addListener(this, listener, VertexEventFormat.INSTANCE);
+        }
+        void removeListener(Vertex listener) {
+            downstream.remove(listener);
+            listener.upstream.remove(this);
+            publisher.removeListener(this, listener);
+        }
+        void fire() {
+            affected = new HashSet<>();
+            collectDownstream(this);
+            round = ++latestRound;
+            publisher.fireEvent(this, Integer.valueOf(round), VertexEventFormat.INSTANCE);
+            for(Vertex vertex : affected) {
+                assertEquals(round, vertex.round);
+            }
+        }
+        private static void collectDownstream(Vertex vertex) {
+            if(!affected.add(vertex)) return;
+            for(Vertex listener : vertex.downstream) collectDownstream(listener);
+        }
+        void received(int round) {
+            if(this.round == round) return;
+            for(Vertex subject : upstream) {
+                if(affected.contains(subject) && subject.round != round) {
+                    fail("Notified before an upstream subject");
+                }
+            }
+            this.round = round;
+            publisher.fireEvent(this, Integer.valueOf(round), VertexEventFormat.INSTANCE);
+        }
+    }
+    private static class VertexEventFormat implements SequenceDependenciesEventPublisher.EventFormat<Vertex,Vertex,Integer> {
+        public static final VertexEventFormat INSTANCE = new VertexEventFormat();
+        @Override
+        public void fire(Vertex subject, Integer event, Vertex listener) {
+            listener.received(event.intValue());
+        }
+        @Override
+        public void postEvent(Vertex subject) {
+            // do nothing
+        }
+        @Override
+        public boolean isStale(Vertex subject, Vertex listener) {
+            return false;
+        }
+    }
+
     /**
      * An interesting subject that uses a single integer to maintain state. The
      * integer can increase at any subject, and  all downstream listeners must
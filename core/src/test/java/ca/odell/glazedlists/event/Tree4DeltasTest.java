@@ -3,8 +3,11 @@
 /*                                                     O'Dell Engineering Ltd.*/
 package ca.odell.glazedlists.event;
 
+import ca.odell.glazedlists.impl.event.BlockSequence;
 import ca.odell.glazedlists.impl.event.Tree4Deltas;
 
+import java.util.Arrays;
+
 import org.junit.Test;
 
 import static org.junit.Assert.*;
@@ -84,4 +87,27 @@ public class Tree4DeltasTest {
         assertEquals("u", deltas.getTargetValue(8));
         assertEquals(ListEvent.UNKNOWN_VALUE, deltas.getTargetValue(0));
     }
+
+    /**
+     * Make sure blocks with one value per element keep their values when they
+     * are converted from the linear holder.
+     */
+    @Test
+    public void testAddAllValueRuns() {
+        BlockSequence<String> blocks = new BlockSequence<>();
+        blocks.addChange(ListEvent.INSERT, 1, null, Arrays.asList("A", "B"));
+        blocks.addChange(ListEvent.UPDATE, 4, Arrays.asList("C", "D"), Arrays.asList("E", "F"));
+        blocks.addChange(ListEvent.DELETE, 6, Arrays.asList("G", "H"), null);
+
+        Tree4Deltas<String> deltas = new Tree4Deltas<>();
+        deltas.reset(8);
+        deltas.addAll(blocks);
+        assertEquals("_++_UUXX__", deltas.toString());
+        assertEquals("A", deltas.getTargetValue(1));
+        assertEquals("B", deltas.getTargetValue(2));
+        assertEquals("C", deltas.getSourceValue(2));
+        assertEquals("D", deltas.getSourceValue(3));
+        assertEquals("G", deltas.getSourceValue(4));
+        assertEquals("H", deltas.getSourceValue(5));
+    }
 }
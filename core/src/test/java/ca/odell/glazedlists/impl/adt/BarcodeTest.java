@@ -56,6 +56,43 @@ public class BarcodeTest {
         assertEquals(Barcode.BLACK, barcode.get(0));
     }
 
+    /**
+     * Tests that a bulk loaded barcode is equivalent to one built one value at a time.
+     */
+    @Test
+    public void testBulkLoad() {
+        for(int size = 0; size < 200; size++) {
+            boolean[] black = new boolean[size];
+            Barcode control = new Barcode();
+            for(int i = 0; i < size; i++) {
+                black[i] = random.nextInt(3) != 0;
+                control.add(i, black[i] ? Barcode.BLACK : Barcode.WHITE, 1);
+            }
+
+            barcode.add(0, Barcode.WHITE, 3);
+            barcode.bulkLoad(black);
+            barcode.validate();
+            assertEquals(control.size(), barcode.size());
+            assertEquals(control.blackSize(), barcode.blackSize());
+            assertEquals(control.whiteSize(), barcode.whiteSize());
+            for(int i = 0; i < size; i++) {
+                assertEquals(control.get(i), barcode.get(i));
+                assertEquals(control.getBlackIndex(i), barcode.getBlackIndex(i));
+            }
+
+            // the bulk loaded barcode must remain mutable
+            if(size > 0) {
+                int index = random.nextInt(size);
+                control.setWhite(index, 1);
+                barcode.setWhite(index, 1);
+                control.addBlack(index, 2);
+                barcode.addBlack(index, 2);
+                barcode.validate();
+                assertEquals(control.toString(), barcode.toString());
+            }
+        }
+    }
+
     /**
      * Tests that adding works for Barcode.WHITEs at the end of the tree
      */
@@ -50,6 +50,36 @@ public class Tree1Test {
     }
 
 
+    /**
+     * Make sure bulk loaded trees are balanced and hold their values in order.
+     */
+    @Test
+    public void testBulkLoad() {
+        for(int size = 0; size < 100; size++) {
+            String[] values = new String[size];
+            for(int i = 0; i < size; i++) {
+                values[i] = Integer.toString(i);
+            }
+            Element<String>[] elements = new Element[size];
+
+            SimpleTree<String> tree = new SimpleTree<>();
+            tree.add(0, "X", 1);
+            tree.bulkLoad(values, elements);
+
+            assertEquals(size, tree.size());
+            for(int i = 0; i < size; i++) {
+                assertSame(values[i], tree.get(i).get());
+                assertSame(elements[i], tree.get(i));
+                assertEquals(i, tree.indexOfNode(elements[i], allColors));
+            }
+
+            // the bulk loaded tree must remain mutable
+            tree.add(size / 2, "Y", 1);
+            tree.remove(0, size / 3);
+            assertEquals(size + 1 - size / 3, tree.size());
+        }
+    }
+
     /**
      * Tests to verify that the SimpleTree is consistent after a long
      * series of list operations.
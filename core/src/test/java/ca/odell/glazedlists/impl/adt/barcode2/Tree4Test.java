@@ -36,6 +36,28 @@ public class Tree4Test {
     private static final String april = "April";
     private static final String may = "May";
 
+    @Test
+    public void testBulkLoad() {
+        FourColorTree<String> tree = new FourColorTree<>(Tree4Test.coder);
+        String[] values = { Tree4Test.january, Tree4Test.february, Tree4Test.march, Tree4Test.april, Tree4Test.may };
+        Element<String>[] elements = new Element[values.length];
+        tree.bulkLoad(Tree4Test.b, values, elements);
+
+        assertEquals(5, tree.size(Tree4Test.b));
+        assertEquals(0, tree.size(Tree4Test.a));
+        for(int i = 0; i < values.length; i++) {
+            assertEquals(values[i], tree.get(i, Tree4Test.allColors).get());
+            assertEquals(i, tree.indexOfNode(elements[i], Tree4Test.b));
+        }
+
+        // recolor and insert into the bulk loaded tree
+        tree.set(1, Tree4Test.allColors, Tree4Test.a, Tree4Test.february, 1);
+        tree.add(5, Tree4Test.allColors, Tree4Test.c, Tree4Test.january, 2);
+        assertEquals(1, tree.size(Tree4Test.a));
+        assertEquals(4, tree.size(Tree4Test.b));
+        assertEquals(2, tree.size(Tree4Test.c));
+    }
+
     @Test
     public void testThreeColorInserts() {
         FourColorTree<String> tree = new FourColorTree<>(Tree4Test.coder);
@@ -0,0 +1,77 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.impl.gui;
+
+import ca.odell.glazedlists.BasicEventList;
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.impl.testing.ListConsistencyListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Makes sure that {@link ThreadProxyEventList} keeps its local cache in sync,
+ * whether it patches the cache or rebuilds it.
+ */
+public class ThreadProxyEventListTest {
+
+    private final Random dice = new Random(7);
+
+    /**
+     * Apply batches of random changes, small and large, before the proxy
+     * thread runs.
+     */
+    @Test
+    public void testCacheFollowsSource() {
+        final EventList<Integer> source = new BasicEventList<>();
+        for(int i = 0; i < 500; i++) source.add(Integer.valueOf(i));
+        final ManualThreadProxy<Integer> proxy = new ManualThreadProxy<>(source);
+        final ListConsistencyListener<Integer> consistency = ListConsistencyListener.install(proxy);
+        consistency.setPreviousElementTracked(false);
+
+        for(int batch = 0; batch < 100; batch++) {
+            // most batches are small enough to patch, some need a rebuild
+            final int changes = batch % 10 == 0 ? 300 : dice.nextInt(5) + 1;
+            for(int c = 0; c < changes; c++) {
+                final int operation = dice.nextInt(3);
+                if(operation == 0 || source.isEmpty()) {
+                    source.add(dice.nextInt(source.size() + 1), Integer.valueOf(dice.nextInt(1000)));
+                } else if(operation == 1) {
+                    source.remove(dice.nextInt(source.size()));
+                } else {
+                    source.set(dice.nextInt(source.size()), Integer.valueOf(dice.nextInt(1000)));
+                }
+            }
+            proxy.runScheduled();
+            assertEquals(source, new ArrayList<>(proxy));
+        }
+        assertEquals(100, consistency.getEventCount());
+    }
+
+    /**
+     * A {@link ThreadProxyEventList} whose proxy thread runs when the test says so.
+     */
+    private static class ManualThreadProxy<E> extends ThreadProxyEventList<E> {
+        private final List<Runnable> scheduled = new ArrayList<>();
+
+        ManualThreadProxy(EventList<E> source) {
+            super(source);
+        }
+
+        @Override
+        protected void schedule(Runnable runnable) {
+            scheduled.add(runnable);
+        }
+
+        void runScheduled() {
+            for(Runnable runnable : scheduled) runnable.run();
+            scheduled.clear();
+        }
+    }
+}
@@ -7,9 +7,11 @@ import ca.odell.glazedlists.BasicEventList;
 import ca.odell.glazedlists.EventList;
 import ca.odell.glazedlists.FilterList;
 import ca.odell.glazedlists.GlazedLists;
+import ca.odell.glazedlists.SortedList;
 import ca.odell.glazedlists.TextFilterator;
 import ca.odell.glazedlists.impl.filter.TextMatcher;
 import ca.odell.glazedlists.impl.filter.TextMatchers;
+import ca.odell.glazedlists.impl.testing.ListConsistencyListener;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -17,6 +19,7 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
 
 import org.junit.Test;
 
@@ -459,6 +462,198 @@ public class TextMatcherTest {
         assertEquals(uberString, list.get(0));
     }
 
+    @Test
+    public void testFilterStringCache() {
+        final List<Object> extracted = new ArrayList<>();
+        final TextFilterator<String> countingFilterator = (baseList, element) -> {
+            extracted.add(element);
+            baseList.add(element);
+        };
+        final EventList<String> source = GlazedLists.eventListOf("r\u00e9sum\u00e9", "Bj\u00f6rk", "M\u00fcller");
+        final TextMatcherEditor<String> textMatcherEditor = new TextMatcherEditor<>(countingFilterator);
+        textMatcherEditor.setFilterStringCacheEnabled(true);
+        textMatcherEditor.setStrategy(TextMatcherEditor.NORMALIZED_STRATEGY);
+        final FilterList<String> list = new FilterList<>(source, textMatcherEditor);
+
+        // the filter strings are extracted once, when the filter is first set
+        textMatcherEditor.setFilterText(new String[] {"o"});
+        assertEquals(Arrays.asList("Bj\u00f6rk"), list);
+        assertEquals(3, extracted.size());
+        textMatcherEditor.setFilterText(new String[] {"m"});
+        assertEquals(Arrays.asList("r\u00e9sum\u00e9", "M\u00fcller"), list);
+        textMatcherEditor.setMode(TextMatcherEditor.STARTS_WITH);
+        assertEquals(Arrays.asList("M\u00fcller"), list);
+        textMatcherEditor.setFilterText(new String[0]);
+        textMatcherEditor.setFilterText(new String[] {"MU"});
+        assertEquals(Arrays.asList("M\u00fcller"), list);
+        assertEquals(3, extracted.size());
+
+        // changed elements are extracted again
+        source.set(0, "Mus\u00e9e");
+        source.add("Zo\u00eb");
+        assertEquals(Arrays.asList("Mus\u00e9e", "M\u00fcller"), list);
+        assertEquals(5, extracted.size());
+
+        // the identical strategy maps characters differently, so it extracts them again
+        textMatcherEditor.setStrategy(TextMatcherEditor.IDENTICAL_STRATEGY);
+        assertEquals(Arrays.asList("Mus\u00e9e"), list);
+        assertEquals(9, extracted.size());
+        textMatcherEditor.setFilterStringCacheEnabled(false);
+        assertEquals(Arrays.asList("Mus\u00e9e"), list);
+        assertEquals(13, extracted.size());
+    }
+
+    @Test
+    public void testFilterStringCacheRandom() {
+        final Random dice = new Random(11);
+        final String letters = "abcAB\u00e9\u00c9\u00fc";
+        final EventList<String> base = new BasicEventList<>();
+        final SortedList<String> source = SortedList.create(base);
+        source.setMode(SortedList.AVOID_MOVING_ELEMENTS);
+        final TextMatcherEditor<String> cachedEditor = new TextMatcherEditor<>(GlazedLists.toStringTextFilterator());
+        cachedEditor.setFilterStringCacheEnabled(true);
+        final TextMatcherEditor<String> plainEditor = new TextMatcherEditor<>(GlazedLists.toStringTextFilterator());
+        final FilterList<String> cached = new FilterList<>(source, cachedEditor);
+        final FilterList<String> plain = new FilterList<>(source, plainEditor);
+        ListConsistencyListener.install(cached);
+
+        for (int i = 0; i < 500; i++) {
+            final int operation = dice.nextInt(8);
+            if (operation == 0) {
+                final String[] filters = new String[dice.nextInt(3)];
+                for (int f = 0; f < filters.length; f++) filters[f] = randomString(dice, letters, 1 + dice.nextInt(2));
+                cachedEditor.setFilterText(filters);
+                plainEditor.setFilterText(filters);
+            } else if (operation == 1) {
+                final int mode = dice.nextInt(4) == 0 ? TextMatcherEditor.EXACT : dice.nextBoolean() ? TextMatcherEditor.CONTAINS : TextMatcherEditor.STARTS_WITH;
+                cachedEditor.setMode(mode);
+                plainEditor.setMode(mode);
+            } else if (operation == 2) {
+                final Object strategy = dice.nextBoolean() ? TextMatcherEditor.IDENTICAL_STRATEGY : TextMatcherEditor.NORMALIZED_STRATEGY;
+                cachedEditor.setStrategy(strategy);
+                plainEditor.setStrategy(strategy);
+            } else if (operation == 3) {
+                source.setComparator(dice.nextBoolean() ? GlazedLists.comparableComparator() : GlazedLists.reverseComparator());
+            } else if (operation == 4 && !base.isEmpty()) {
+                base.remove(dice.nextInt(base.size()));
+            } else if (operation == 5 && !base.isEmpty()) {
+                base.set(dice.nextInt(base.size()), randomString(dice, letters, 1 + dice.nextInt(4)));
+            } else {
+                base.add(randomString(dice, letters, 1 + dice.nextInt(4)));
+            }
+            assertEquals(plain, cached);
+        }
+    }
+
+    @Test
+    public void testFilterIndex() {
+        final List<Object> extracted = new ArrayList<>();
+        final TextFilterator<String> cityFilterator = (baseList, element) -> {
+            extracted.add(element);
+            baseList.add(element);
+        };
+        final EventList<String> source = new BasicEventList<>();
+        for (int i = 0; i < 50; i++) {
+            source.add("Ottawa");
+            source.add("Montr\u00e9al");
+        }
+        source.add(17, "Toronto");
+        source.add(60, "Toronto");
+        final SearchEngineTextMatcherEditor<String> textMatcherEditor = new SearchEngineTextMatcherEditor<>(GlazedLists.toStringTextFilterator());
+        textMatcherEditor.setFields(Collections.singleton(new SearchEngineTextMatcherEditor.Field<>("city", cityFilterator)));
+        textMatcherEditor.setFilterIndexEnabled(true);
+        textMatcherEditor.setStrategy(TextMatcherEditor.NORMALIZED_STRATEGY);
+        final FilterList<String> list = new FilterList<>(source, textMatcherEditor);
+        ListConsistencyListener.install(list);
+
+        // a Field is indexed the first time it's searched, then only its candidates are matched
+        textMatcherEditor.refilter("city:toronto");
+        assertEquals(Arrays.asList("Toronto", "Toronto"), list);
+        assertEquals(104, extracted.size());
+        extracted.clear();
+        textMatcherEditor.refilter("city:montreal");
+        assertEquals(50, list.size());
+        assertEquals(50, extracted.size());
+
+        // changed elements are indexed again
+        source.set(0, "Toronto");
+        source.remove(1);
+        source.add("Montr\u00e9al");
+        textMatcherEditor.refilter("TORONTO");
+        assertEquals(Arrays.asList("Toronto", "Toronto", "Toronto"), list);
+        textMatcherEditor.setMode(TextMatcherEditor.STARTS_WITH);
+        textMatcherEditor.refilter("mo");
+        assertEquals(50, list.size());
+        textMatcherEditor.setMode(TextMatcherEditor.EXACT);
+        textMatcherEditor.refilter("ottawa");
+        assertEquals(49, list.size());
+
+        // filter text without trigrams matches every element
+        textMatcherEditor.setMode(TextMatcherEditor.CONTAINS);
+        textMatcherEditor.refilter("ta");
+        assertEquals(49, list.size());
+        textMatcherEditor.refilter("-ta");
+        assertEquals(53, list.size());
+    }
+
+    @Test
+    public void testFilterIndexRandom() {
+        final Random dice = new Random(13);
+        final String letters = "abcAB\u00e9\u00c9";
+        final String[] prefixes = { "", "", "-", "+", "head:" };
+        final Set<SearchEngineTextMatcherEditor.Field<String>> fields = Collections.singleton(
+                new SearchEngineTextMatcherEditor.Field<>("head", (baseList, element) -> baseList.add(element.substring(0, Math.min(3, element.length())))));
+        final EventList<String> base = new BasicEventList<>();
+        for (int i = 0; i < 50; i++) base.add(randomString(dice, letters, 1 + dice.nextInt(8)));
+        final SortedList<String> source = SortedList.create(base);
+        source.setMode(SortedList.AVOID_MOVING_ELEMENTS);
+        final SearchEngineTextMatcherEditor<String> indexedEditor = new SearchEngineTextMatcherEditor<>(GlazedLists.toStringTextFilterator());
+        indexedEditor.setFields(fields);
+        indexedEditor.setFilterIndexEnabled(true);
+        final SearchEngineTextMatcherEditor<String> plainEditor = new SearchEngineTextMatcherEditor<>(GlazedLists.toStringTextFilterator());
+        plainEditor.setFields(fields);
+        final FilterList<String> indexed = new FilterList<>(source, indexedEditor);
+        final FilterList<String> plain = new FilterList<>(source, plainEditor);
+        ListConsistencyListener.install(indexed);
+
+        for (int i = 0; i < 1000; i++) {
+            final int operation = dice.nextInt(10);
+            if (operation < 3) {
+                final StringBuilder filter = new StringBuilder();
+                for (int f = dice.nextInt(3); f >= 0; f--) {
+                    filter.append(prefixes[dice.nextInt(prefixes.length)]).append(randomString(dice, letters, 1 + dice.nextInt(5))).append(' ');
+                }
+                indexedEditor.refilter(filter.toString());
+                plainEditor.refilter(filter.toString());
+            } else if (operation == 3) {
+                final int mode = dice.nextInt(4) == 0 ? TextMatcherEditor.EXACT : dice.nextBoolean() ? TextMatcherEditor.CONTAINS : TextMatcherEditor.STARTS_WITH;
+                indexedEditor.setMode(mode);
+                plainEditor.setMode(mode);
+            } else if (operation == 4) {
+                final Object strategy = dice.nextBoolean() ? TextMatcherEditor.IDENTICAL_STRATEGY : TextMatcherEditor.NORMALIZED_STRATEGY;
+                indexedEditor.setStrategy(strategy);
+                plainEditor.setStrategy(strategy);
+            } else if (operation == 5) {
+                source.setComparator(dice.nextBoolean() ? GlazedLists.comparableComparator() : GlazedLists.reverseComparator());
+            } else if (operation == 6 && !base.isEmpty()) {
+                base.remove(dice.nextInt(base.size()));
+            } else if (operation == 7 && !base.isEmpty()) {
+                base.set(dice.nextInt(base.size()), randomString(dice, letters, 1 + dice.nextInt(8)));
+            } else if (operation == 8 && dice.nextInt(10) == 0) {
+                indexedEditor.setFilterIndexEnabled(!indexedEditor.isFilterIndexEnabled());
+            } else {
+                base.add(randomString(dice, letters, 1 + dice.nextInt(8)));
+            }
+            assertEquals(plain, indexed);
+        }
+    }
+
+    private static String randomString(Random dice, String letters, int length) {
+        final StringBuilder result = new StringBuilder();
+        for (int i = 0; i < length; i++) result.append(letters.charAt(dice.nextInt(letters.length())));
+        return result.toString();
+    }
+
     @Test
     public void testTextMatcherEquals() {
         TextMatcher<String> matcherA = new TextMatcher<>(TextMatchers.parse("a b c"), GlazedLists.toStringTextFilterator(), TextMatcherEditor.CONTAINS, TextMatcherEditor.IDENTICAL_STRATEGY);
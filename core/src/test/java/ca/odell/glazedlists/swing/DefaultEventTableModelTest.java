@@ -423,10 +423,11 @@ public class DefaultEventTableModelTest extends SwingTestCase {
         selModel.setSelectionInterval(1, 1);
         assertEquals(GlazedListsTests.stringToList("B"), selModel.getSelected());
         assertEquals(GlazedListsTests.delimitedStringToList("A C D E F"), selModel.getDeselected());
-        list.removeAll(GlazedListsTests.delimitedStringToList("E F"));
+        // a non-contiguous removal is one ListEvent with a block for each run
+        list.removeAll(GlazedListsTests.delimitedStringToList("C E F"));
         assertEquals(2, counter.getCountAndReset());
         assertEquals(GlazedListsTests.stringToList("B"), selModel.getSelected());
-        assertEquals(GlazedListsTests.delimitedStringToList("A C D"), selModel.getDeselected());
+        assertEquals(GlazedListsTests.delimitedStringToList("A D"), selModel.getDeselected());
     }
 
 
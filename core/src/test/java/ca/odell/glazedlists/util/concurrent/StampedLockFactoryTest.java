@@ -0,0 +1,145 @@
+/* Glazed Lists                                                 (c) 2003-2018 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.util.concurrent;
+
+import ca.odell.glazedlists.BasicEventList;
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.FilterList;
+import ca.odell.glazedlists.GlazedLists;
+import ca.odell.glazedlists.SortedList;
+import ca.odell.glazedlists.impl.testing.GlazedListsTests;
+import ca.odell.glazedlists.matchers.Matcher;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the locks created by {@link StampedLockFactory}.
+ */
+public class StampedLockFactoryTest {
+
+    private final OptimisticReadWriteLock lock = (OptimisticReadWriteLock) new StampedLockFactory().createReadWriteLock();
+
+    /**
+     * Both locks are reentrant, and the writer may read.
+     */
+    @Test
+    public void testReentrant() {
+        lock.writeLock().lock();
+        lock.writeLock().lock();
+        lock.readLock().lock();
+        assertEquals(0L, lock.tryOptimisticRead());
+        lock.readLock().unlock();
+        lock.writeLock().unlock();
+        assertEquals(0L, lock.tryOptimisticRead());
+        lock.writeLock().unlock();
+        assertTrue(lock.tryOptimisticRead() != 0L);
+
+        lock.readLock().lock();
+        assertTrue(lock.readLock().tryLock());
+        lock.readLock().unlock();
+        lock.readLock().unlock();
+        assertTrue(lock.writeLock().tryLock());
+        lock.writeLock().unlock();
+    }
+
+    /**
+     * Releasing the write lock while holding the read lock keeps other writers out.
+     */
+    @Test
+    public void testDowngrade() throws InterruptedException {
+        lock.writeLock().lock();
+        lock.readLock().lock();
+        lock.writeLock().unlock();
+
+        assertTrue(lock.tryOptimisticRead() != 0L);
+        assertFalse(tryWriteLockOnOtherThread());
+
+        lock.readLock().unlock();
+        assertTrue(tryWriteLockOnOtherThread());
+    }
+
+    /**
+     * A write invalidates the optimistic reads that started before it.
+     */
+    @Test
+    public void testValidate() {
+        final long stamp = lock.tryOptimisticRead();
+        assertTrue(lock.validate(stamp));
+        lock.readLock().lock();
+        lock.readLock().unlock();
+        assertTrue(lock.validate(stamp));
+
+        lock.writeLock().lock();
+        lock.writeLock().unlock();
+        assertFalse(lock.validate(stamp));
+    }
+
+    @Test(expected = IllegalMonitorStateException.class)
+    public void testUnlockWithoutLock() {
+        lock.writeLock().unlock();
+    }
+
+    /**
+     * Optimistic reads see a consistent list while another thread writes to it.
+     */
+    @Test
+    public void testReadOptimistic() throws InterruptedException {
+        final EventList<Integer> source = new BasicEventList<>(null, lock);
+        for(int i = 0; i < 100; i++) source.add(Integer.valueOf(i));
+        final FilterList<Integer> filtered = new FilterList<>(source, (Matcher<Integer>) value -> value.intValue() % 3 != 0);
+        final SortedList<Integer> sorted = new SortedList<>(filtered, GlazedLists.reverseComparator());
+
+        // the writer keeps the total of all elements unchanged
+        final int expectedTotal = total(source);
+        final AtomicBoolean done = new AtomicBoolean();
+        final Thread writer = new Thread(() -> {
+            for(int i = 0; !done.get(); i++) {
+                source.acceptWithWriteLock(list -> {
+                    final Integer first = list.remove(0);
+                    list.add(first);
+                });
+            }
+        });
+        writer.start();
+        try {
+            for(int i = 0; i < 10000; i++) {
+                assertEquals(expectedTotal, source.readOptimistic(StampedLockFactoryTest::total).intValue());
+                assertEquals(66, sorted.readOptimistic(EventList::size).intValue());
+            }
+        } finally {
+            done.set(true);
+            writer.join();
+        }
+        assertEquals(GlazedListsTests.intArrayToIntegerCollection(new int[] { 98, 97, 95 }), sorted.subList(0, 3));
+    }
+
+    private static int total(EventList<Integer> list) {
+        int total = 0;
+        for(int i = 0, size = list.size(); i < size; i++) {
+            total += list.get(i).intValue();
+        }
+        return total;
+    }
+
+    private boolean tryWriteLockOnOtherThread() throws InterruptedException {
+        final AtomicBoolean acquired = new AtomicBoolean();
+        final CountDownLatch finished = new CountDownLatch(1);
+        new Thread(() -> {
+            if(lock.writeLock().tryLock()) {
+                acquired.set(true);
+                lock.writeLock().unlock();
+            }
+            finished.countDown();
+        }).start();
+        finished.await();
+        return acquired.get();
+    }
+}
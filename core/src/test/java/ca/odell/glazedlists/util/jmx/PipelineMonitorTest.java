@@ -0,0 +1,153 @@
+/* Glazed Lists                                                 (c) 2003-2018 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.util.jmx;
+
+import ca.odell.glazedlists.BasicEventList;
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.FilterList;
+import ca.odell.glazedlists.GlazedLists;
+import ca.odell.glazedlists.SortedList;
+import ca.odell.glazedlists.impl.testing.GlazedListsTests;
+import ca.odell.glazedlists.impl.testing.ListConsistencyListener;
+import ca.odell.glazedlists.matchers.Matcher;
+import ca.odell.glazedlists.util.concurrent.LockFactory;
+
+import java.util.Arrays;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the statistics recorded by {@link PipelineMonitor}.
+ */
+public class PipelineMonitorTest {
+
+    private static final Matcher<String> STARTS_WITH_A = value -> value.startsWith("A");
+
+    private final PipelineMonitor monitor = new PipelineMonitor("test");
+    private final EventList<String> source = new BasicEventList<>(monitor.getPublisher(), monitor.getReadWriteLock());
+
+    /**
+     * Each stage counts the events it fires and receives.
+     */
+    @Test
+    public void testStageStatistics() {
+        final FilterList<String> filtered = new FilterList<>(source, STARTS_WITH_A);
+        final SortedList<String> sorted = SortedList.create(filtered);
+        ListConsistencyListener.install(sorted);
+
+        source.addAll(GlazedListsTests.stringToList("ABCADA"));
+        source.set(1, "A");
+        source.remove(0);
+
+        final StageStatistics sourceStatistics = monitor.getStageStatistics(source);
+        assertEquals(3, sourceStatistics.getEventsFired());
+        assertEquals(0, sourceStatistics.getEventsReceived());
+        assertEquals(8, sourceStatistics.getElementsChanged());
+
+        final StageStatistics filterStatistics = monitor.getStageStatistics(filtered);
+        assertEquals(3, filterStatistics.getEventsReceived());
+        assertEquals(3, filterStatistics.getEventsFired());
+        assertEquals(5, filterStatistics.getElementsChanged());
+        assertTrue(filterStatistics.getBlocksFired() >= 3);
+        assertEquals(filterStatistics.getBlocksFired() / 3.0, filterStatistics.getBlocksPerEvent(), 0.0);
+
+        final StageStatistics sortedStatistics = monitor.getStageStatistics(sorted);
+        assertEquals(3, sortedStatistics.getEventsReceived());
+        assertTrue(sortedStatistics.getMaxListChangedNanos() <= sortedStatistics.getListChangedNanos());
+        final long[] histogram = sortedStatistics.getListChangedHistogram();
+        assertEquals(sortedStatistics.getListChangedHistogramBounds().length + 1, histogram.length);
+        long histogramTotal = 0;
+        for(long count : histogram) histogramTotal += count;
+        assertEquals(3, histogramTotal);
+
+        monitor.reset();
+        assertEquals(0, filterStatistics.getEventsReceived());
+        assertEquals(0, filterStatistics.getListChangedNanos());
+    }
+
+    /**
+     * The lock counts outermost acquisitions only.
+     */
+    @Test
+    public void testLockStatistics() {
+        source.getReadWriteLock().writeLock().lock();
+        try {
+            source.add("A");
+            source.getReadWriteLock().writeLock().lock();
+            source.getReadWriteLock().writeLock().unlock();
+        } finally {
+            source.getReadWriteLock().writeLock().unlock();
+        }
+        assertEquals(1, monitor.getWriteLockAcquisitions());
+        assertTrue(monitor.getMaxWriteLockHoldNanos() > 0);
+        assertEquals(monitor.getMaxWriteLockHoldNanos(), monitor.getWriteLockHoldNanos());
+
+        assertTrue(source.getReadWriteLock().readLock().tryLock());
+        source.getReadWriteLock().readLock().unlock();
+        assertEquals(1, monitor.getReadLockAcquisitions());
+        assertEquals(0, monitor.getReadLockWaitNanos());
+    }
+
+    /**
+     * The pipeline and its stages are registered as MBeans, including stages
+     * found after registration.
+     */
+    @Test
+    public void testRegister() throws Exception {
+        final MBeanServer server = MBeanServerFactory.newMBeanServer();
+        final FilterList<String> filtered = new FilterList<>(source, STARTS_WITH_A);
+        monitor.setStageName(filtered, "A only");
+        monitor.register(server);
+
+        final ObjectName pipelineName = new ObjectName("ca.odell.glazedlists:type=Pipeline,name=\"test\"");
+        final ObjectName filterName = new ObjectName("ca.odell.glazedlists:type=PipelineStage,pipeline=\"test\",name=\"A only\"");
+        assertTrue(server.isRegistered(pipelineName));
+        assertTrue(server.isRegistered(filterName));
+
+        source.addAll(GlazedListsTests.stringToList("ABA"));
+        assertEquals(Long.valueOf(1), server.getAttribute(filterName, "EventsReceived"));
+        assertEquals(Long.valueOf(2), server.getAttribute(filterName, "ElementsChanged"));
+        assertTrue(server.isRegistered(new ObjectName("ca.odell.glazedlists:type=PipelineStage,pipeline=\"test\",name=\"#1 BasicEventList\"")));
+        assertTrue(Arrays.asList((String[]) server.getAttribute(pipelineName, "StageNames")).contains("A only"));
+
+        monitor.unregister();
+        assertFalse(server.isRegistered(pipelineName));
+        assertFalse(server.isRegistered(filterName));
+    }
+
+    /**
+     * Lists that don't share a monitored publisher aren't recorded.
+     */
+    @Test
+    public void testUnmonitoredPipeline() {
+        final EventList<String> unmonitored = GlazedLists.eventListOf("A", "B");
+        final FilterList<String> filtered = new FilterList<>(unmonitored, STARTS_WITH_A);
+        unmonitored.add("A");
+        assertEquals(0, monitor.getStageNames().length);
+        assertEquals(2, filtered.size());
+    }
+
+    /**
+     * The recorder isn't serialized, so a deserialized pipeline isn't recorded.
+     */
+    @Test
+    public void testSerializedPipeline() throws Exception {
+        // the monitor's timed lock isn't serializable
+        final EventList<String> serializable = new BasicEventList<>(monitor.getPublisher(), LockFactory.DEFAULT.createReadWriteLock());
+        serializable.addAll(GlazedListsTests.stringToList("AB"));
+        final EventList<String> copy = GlazedListsTests.serialize(serializable);
+        copy.add("C");
+        assertEquals(GlazedListsTests.stringToList("ABC"), copy);
+        assertEquals(1, monitor.getStageNames().length);
+        assertEquals(1, monitor.getStageStatistics(serializable).getEventsFired());
+    }
+}
@@ -0,0 +1,84 @@
+/* Glazed Lists                                                 (c) 2003-2018 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.impl.event;
+
+import ca.odell.glazedlists.BasicEventList;
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.FilterList;
+import ca.odell.glazedlists.SortedList;
+import ca.odell.glazedlists.impl.testing.GlazedListsTests;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the Flight Recorder events of {@link FlightRecorderEvents}, by
+ * recording some list changes and parsing the recording.
+ */
+public class FlightRecorderEventsTest {
+
+    @Test
+    public void testEventsAreRecorded() throws Exception {
+        final EventList<String> source = new BasicEventList<>();
+        final FilterList<String> filtered = new FilterList<>(source, value -> !value.startsWith("X"));
+        final SortedList<String> sorted = SortedList.create(filtered);
+
+        final List<RecordedEvent> events;
+        final Path file = Files.createTempFile("glazedlists", ".jfr");
+        try(Recording recording = new Recording()) {
+            recording.enable("ca.odell.glazedlists.ListEventCommit").withThreshold(Duration.ZERO);
+            recording.enable("ca.odell.glazedlists.ListEventPublish").withThreshold(Duration.ZERO);
+            recording.enable("ca.odell.glazedlists.ListChanged").withThreshold(Duration.ZERO);
+            recording.start();
+            source.addAll(GlazedListsTests.stringToList("CABX"));
+            sorted.setComparator(Collections.reverseOrder());
+            recording.stop();
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        } finally {
+            Files.delete(file);
+        }
+
+        final List<RecordedEvent> commits = named(events, "ca.odell.glazedlists.ListEventCommit");
+        final RecordedEvent sourceCommit = commits.get(0);
+        assertEquals(BasicEventList.class.getName(), sourceCommit.getClass("listClass").getName());
+        assertEquals(4, sourceCommit.getInt("changedElements"));
+        assertFalse(sourceCommit.getBoolean("reordering"));
+        assertFalse(sourceCommit.getDuration().isNegative());
+
+        final RecordedEvent reorder = commits.get(commits.size() - 1);
+        assertEquals(SortedList.class.getName(), reorder.getClass("listClass").getName());
+        assertTrue(reorder.getBoolean("reordering"));
+        assertEquals(3, reorder.getInt("changedElements"));
+
+        final List<RecordedEvent> listChanged = named(events, "ca.odell.glazedlists.ListChanged");
+        assertEquals(FilterList.class.getName(), listChanged.get(0).getClass("listenerClass").getName());
+        assertEquals(BasicEventList.class.getName(), listChanged.get(0).getClass("listClass").getName());
+        assertEquals(SortedList.class.getName(), listChanged.get(1).getClass("listenerClass").getName());
+        assertEquals(3, listChanged.get(1).getInt("changedElements"));
+
+        assertFalse(named(events, "ca.odell.glazedlists.ListEventPublish").isEmpty());
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                .collect(Collectors.toList());
+    }
+}
@@ -23,6 +23,12 @@ import java.util.List;
  *   <li>{@link #updated} updates the value of this Calculation to include the replacement element and exclude the prior element</li>
  * </ul>
  *
+ * <p>Rather than calling {@link #setValue} for each element, subclasses may
+ * accumulate their state in primitive fields and override
+ * {@link #calculateValue} to convert that state into a value. It is called at
+ * most once per ListEvent, so a bulk change creates a single value and fires a
+ * single PropertyChangeEvent.
+ *
  * @author James Lemieux
  */
 public abstract class AbstractEventListCalculation<N, E> extends AbstractCalculation<N> implements ListEventListener<E> {
@@ -33,6 +39,9 @@ public abstract class AbstractEventListCalculation<N, E> extends AbstractCalcula
     /** a snapshot of the {@link #source} after the last ListEvent; used to retrieve deleted elements */
     private final List<E> snapshot;
 
+    /** whether {@link #calculateValue} must be called before the value is next reported */
+    private boolean stale;
+
     /**
      * @param initialValue the value that should immediately be reported as the
      *      value of this Calculation
@@ -48,6 +57,7 @@ public abstract class AbstractEventListCalculation<N, E> extends AbstractCalcula
         // of all existing elements
         for (E element : this.snapshot)
             inserted(element);
+        stale = true;
 
         // begin listening to the source for changes
         this.source.addListEventListener(this);
@@ -70,6 +80,33 @@ public abstract class AbstractEventListCalculation<N, E> extends AbstractCalcula
         this.source.removeListEventListener(this);
     }
 
+    /**
+     * Reports the value of this Calculation, calculating it first if the
+     * elements have changed since it was last reported.
+     */
+    @Override
+    public N getValue() {
+        if (stale) {
+            stale = false;
+            setValue(calculateValue());
+        }
+        return super.getValue();
+    }
+
+    /**
+     * Calculates the value of this Calculation from the state accumulated by
+     * {@link #inserted}, {@link #deleted} and {@link #updated}. Since the
+     * initial elements are inserted by this class's constructor, that state
+     * should be held in fields without initializers, which would otherwise
+     * reset it.
+     *
+     * <p>By default, this reports the value last given to {@link #setValue}
+     * unchanged.
+     */
+    protected N calculateValue() {
+        return super.getValue();
+    }
+
     /**
      * Updates the value of this Calculation to include the information from
      * the <code>newElement</code>.
@@ -152,6 +189,7 @@ public abstract class AbstractEventListCalculation<N, E> extends AbstractCalcula
         }
 
         // fetch the new value of this Calculation and try to fire an event
+        stale = true;
         final N newValue = getValue();
         fireValueChange(oldValue, newValue);
     }
@@ -3,7 +3,10 @@
 /*                                                     O'Dell Engineering Ltd.*/
 package ca.odell.glazedlists.calculation;
 
+import ca.odell.glazedlists.DoubleEventList;
 import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.IntEventList;
+import ca.odell.glazedlists.LongEventList;
 import ca.odell.glazedlists.matchers.Matcher;
 
 public final class Calculations {
@@ -48,6 +51,15 @@ public final class Calculations {
     /** A Calculation that sums the given <code>numbers</code> as a Long. */
     public static Calculation<Long> sumLongs(EventList<? extends Number> numbers) { return new Sum.SumLong(numbers); }
 
+    /** A Calculation that sums the given <code>numbers</code> as a Double, without boxing each value. */
+    public static Calculation<Double> sumDoubles(DoubleEventList numbers) { return new PrimitiveSum.SumDoubleList(numbers); }
+
+    /** A Calculation that sums the given <code>numbers</code> as an Integer, without boxing each value. */
+    public static Calculation<Integer> sumIntegers(IntEventList numbers) { return new PrimitiveSum.SumIntList(numbers); }
+
+    /** A Calculation that sums the given <code>numbers</code> as a Long, without boxing each value. */
+    public static Calculation<Long> sumLongs(LongEventList numbers) { return new PrimitiveSum.SumLongList(numbers); }
+
     //
     // Division
     //
@@ -84,6 +96,48 @@ public final class Calculations {
     /** A Calculation that reports the mean average of all the <code>numbers</code> as a Double. */
     public static Calculation<Double> meanDoubles(EventList<? extends Number> numbers) { return divideDoubles(sumDoubles(numbers), count(numbers)); }
 
+    /** A Calculation that reports the mean average of all the <code>numbers</code> as a Double, without boxing each value. */
+    public static Calculation<Double> meanDoubles(DoubleEventList numbers) { return divideDoubles(sumDoubles(numbers), count(numbers)); }
+
+    //
+    // Order Statistics
+    //
+
+    /** A Calculation that reports the smallest of the <code>numbers</code> as a Double, or NaN if there are none. */
+    public static Calculation<Double> minDoubles(EventList<? extends Number> numbers) { return percentileDoubles(numbers, 0); }
+
+    /** A Calculation that reports the largest of the <code>numbers</code> as a Double, or NaN if there are none. */
+    public static Calculation<Double> maxDoubles(EventList<? extends Number> numbers) { return percentileDoubles(numbers, 100); }
+
+    /** A Calculation that reports the median of the <code>numbers</code> as a Double, or NaN if there are none. */
+    public static Calculation<Double> medianDoubles(EventList<? extends Number> numbers) { return percentileDoubles(numbers, 50); }
+
+    /** A Calculation that reports the given <code>percentile</code>, from 0 to 100, of the <code>numbers</code> as a Double, interpolating between the closest two numbers, or NaN if there are none. */
+    public static Calculation<Double> percentileDoubles(EventList<? extends Number> numbers, double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) throw new IllegalArgumentException("percentile must be from 0 to 100: " + percentile);
+        return new OrderStatistic.PercentileDouble<>(numbers, percentile);
+    }
+
+    //
+    // Dispersion
+    //
+
+    /** A Calculation that reports the sample variance of the <code>numbers</code> as a Double, or NaN if there are fewer than two. */
+    public static Calculation<Double> varianceDoubles(EventList<? extends Number> numbers) { return new Variance.VarianceDouble<>(numbers, false); }
+
+    /** A Calculation that reports the sample standard deviation of the <code>numbers</code> as a Double, or NaN if there are fewer than two. */
+    public static Calculation<Double> standardDeviationDoubles(EventList<? extends Number> numbers) { return new Variance.VarianceDouble<>(numbers, true); }
+
+    //
+    // Sliding Windows
+    //
+
+    /** A Calculation that reports the smallest of the <code>numbers</code> as a Double, or NaN if there are none, in O(1) amortized time per change when <code>numbers</code> are appended to the end and removed from the start, as in a TimeWindowList. */
+    public static NumericCalculation<Double> windowMinDoubles(EventList<? extends Number> numbers) { return new WindowExtreme<>(numbers, false); }
+
+    /** A Calculation that reports the largest of the <code>numbers</code> as a Double, or NaN if there are none, in O(1) amortized time per change when <code>numbers</code> are appended to the end and removed from the start, as in a TimeWindowList. */
+    public static NumericCalculation<Double> windowMaxDoubles(EventList<? extends Number> numbers) { return new WindowExtreme<>(numbers, true); }
+
     //
     // Miscellaneous
     //
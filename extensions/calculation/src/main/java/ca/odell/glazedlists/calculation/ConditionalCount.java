@@ -15,7 +15,7 @@ import ca.odell.glazedlists.event.ListEventListener;
  *
  * @author James Lemieux
  */
-final class ConditionalCount<E> extends AbstractCalculation<Integer> implements ListEventListener<E> {
+final class ConditionalCount<E> extends AbstractCalculation<Integer> implements NumericCalculation<Integer>, ListEventListener<E> {
 
     private final FilterList<E> filtered;
 
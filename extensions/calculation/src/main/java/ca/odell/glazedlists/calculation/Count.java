@@ -12,7 +12,7 @@ import ca.odell.glazedlists.event.ListEventListener;
  *
  * @author James Lemieux
  */
-final class Count extends AbstractCalculation<Integer> implements ListEventListener {
+final class Count extends AbstractCalculation<Integer> implements NumericCalculation<Integer>, ListEventListener {
 
     private final EventList source;
 
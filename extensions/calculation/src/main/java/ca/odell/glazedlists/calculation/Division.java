@@ -11,7 +11,7 @@ package ca.odell.glazedlists.calculation;
  */
 final class Division {
 
-    static final class DivisionFloat extends AbstractCompositeCalculation<Float> {
+    static final class DivisionFloat extends AbstractCompositeCalculation<Float> implements NumericCalculation<Float> {
         public DivisionFloat(Calculation<? extends Number> numerator, Calculation<? extends Number> denominator) {
             super(new Calculation[] {numerator, denominator});
         }
@@ -24,7 +24,7 @@ final class Division {
         }
     }
 
-    static final class DivisionDouble extends AbstractCompositeCalculation<Double> {
+    static final class DivisionDouble extends AbstractCompositeCalculation<Double> implements NumericCalculation<Double> {
         public DivisionDouble(Calculation<? extends Number> numerator, Calculation<? extends Number> denominator) {
             super(new Calculation[] {numerator, denominator});
         }
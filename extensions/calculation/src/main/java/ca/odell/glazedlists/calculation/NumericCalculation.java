@@ -0,0 +1,33 @@
+/* Glazed Lists                                                 (c) 2003-2007 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.calculation;
+
+/**
+ * A Calculation of a number, which can also be read as a primitive. Those
+ * that keep their state in primitive fields report it without unboxing.
+ *
+ * <p>The numeric Calculations created by {@link Calculations} implement this
+ * interface, though most factories declare them as plain {@link Calculation}s.
+ * Check for it with <code>instanceof</code> to read them as primitives:
+ * <pre>
+ * Calculation&lt;Double&gt; sum = Calculations.sumDoubles(prices);
+ * if (sum instanceof NumericCalculation) total = ((NumericCalculation&lt;Double&gt;) sum).getDouble();
+ * </pre>
+ */
+public interface NumericCalculation<N extends Number> extends Calculation<N> {
+
+    /**
+     * @return the latest calculated value as a double
+     */
+    public default double getDouble() {
+        return getValue().doubleValue();
+    }
+
+    /**
+     * @return the latest calculated value as a long
+     */
+    public default long getLong() {
+        return getValue().longValue();
+    }
+}
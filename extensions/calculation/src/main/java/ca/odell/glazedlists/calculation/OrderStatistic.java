@@ -0,0 +1,76 @@
+/* Glazed Lists                                                 (c) 2003-2007 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.calculation;
+
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.GlazedLists;
+import ca.odell.glazedlists.impl.adt.barcode2.SimpleTree;
+
+
+/**
+ * Reports a percentile of the numeric elements within the backing EventList
+ * as the value of these Calculations. The minimum, median and maximum are the
+ * 0th, 50th and 100th percentiles. The elements are kept in a sorted tree, so
+ * each change and each calculated value takes O(log N) time, rather than a
+ * scan of all the elements.
+ */
+final class OrderStatistic {
+
+    static final class PercentileDouble<N extends Number> extends AbstractEventListCalculation<Double, N> implements NumericCalculation<Double> {
+
+        /** the percentile to report, from 0 to 100 */
+        private final double percentile;
+
+        /**
+         * the elements in sorted order. This is created by the first insert,
+         * since the superclass inserts the initial elements before this
+         * subclass is initialized
+         */
+        private SimpleTree<Double> sorted;
+
+        public PercentileDouble(EventList<N> source, double percentile) {
+            super(new Double(Double.NaN), source);
+            this.percentile = percentile;
+        }
+
+        @Override
+        protected void inserted(N element) {
+            if (sorted == null) sorted = new SimpleTree<Double>(GlazedLists.<Double>comparableComparator());
+            sorted.addInSortedOrder((byte) 1, new Double(element.doubleValue()), 1);
+        }
+        @Override
+        protected void deleted(N element) {
+            sorted.remove(sorted.indexOfValue(new Double(element.doubleValue()), true, false, (byte) 1), 1);
+        }
+        @Override
+        protected void updated(N oldElement, N newElement) {
+            if (Double.compare(oldElement.doubleValue(), newElement.doubleValue()) == 0) return;
+            deleted(oldElement);
+            inserted(newElement);
+        }
+
+        /**
+         * Interpolate between the two elements closest to the percentile, so
+         * the median of an even number of elements is the mean of the middle
+         * two.
+         */
+        @Override
+        protected Double calculateValue() {
+            return new Double(calculate());
+        }
+
+        private double calculate() {
+            final int size = sorted == null ? 0 : sorted.size();
+            if (size == 0) return Double.NaN;
+
+            final double position = (size - 1) * percentile / 100;
+            final int lower = (int) Math.floor(position);
+            final double lowerValue = sorted.get(lower).get().doubleValue();
+            if (lower == position || lower + 1 == size) return lowerValue;
+
+            final double upperValue = sorted.get(lower + 1).get().doubleValue();
+            return lowerValue + (position - lower) * (upperValue - lowerValue);
+        }
+    }
+}
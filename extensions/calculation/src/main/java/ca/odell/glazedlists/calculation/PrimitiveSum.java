@@ -0,0 +1,157 @@
+/* Glazed Lists                                                 (c) 2003-2007 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.calculation;
+
+import ca.odell.glazedlists.DoubleEventList;
+import ca.odell.glazedlists.IntEventList;
+import ca.odell.glazedlists.LongEventList;
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.event.ListEventListener;
+
+/**
+ * Reports the sum total of the values within a primitive-backed EventList as
+ * the value of these Calculations. Unlike {@link Sum}, the total is kept as a
+ * primitive and inserted values are read without boxing, so only the reported
+ * value is boxed, once per ListEvent.
+ */
+final class PrimitiveSum {
+
+    static final class SumDoubleList extends AbstractCalculation<Double> implements NumericCalculation<Double>, ListEventListener<Double> {
+        private final DoubleEventList source;
+        private double sum;
+
+        public SumDoubleList(DoubleEventList source) {
+            super(Double.valueOf(0d));
+            this.source = source;
+            for (int i = 0, n = source.size(); i < n; i++)
+                sum += source.getDouble(i);
+            setValue(Double.valueOf(sum));
+            source.addListEventListener(this);
+        }
+
+        @Override
+        public void dispose() {
+            source.removeListEventListener(this);
+        }
+
+        @Override
+        public double getDouble() { return sum; }
+
+        @Override
+        public long getLong() { return (long) sum; }
+
+        @Override
+        public void listChanged(ListEvent<Double> listChanges) {
+            // a reordering doesn't change the total
+            if (listChanges.isReordering()) return;
+
+            final double oldSum = sum;
+            while (listChanges.next()) {
+                switch (listChanges.getType()) {
+                    case ListEvent.INSERT: sum += source.getDouble(listChanges.getIndex()); break;
+                    case ListEvent.DELETE: sum -= listChanges.getOldValue().doubleValue(); break;
+                    case ListEvent.UPDATE: sum += source.getDouble(listChanges.getIndex()) - listChanges.getOldValue().doubleValue(); break;
+                }
+            }
+
+            if (sum != oldSum) {
+                final Double oldValue = getValue();
+                setValue(Double.valueOf(sum));
+                fireValueChange(oldValue, getValue());
+            }
+        }
+    }
+
+    static final class SumIntList extends AbstractCalculation<Integer> implements NumericCalculation<Integer>, ListEventListener<Integer> {
+        private final IntEventList source;
+        private int sum;
+
+        public SumIntList(IntEventList source) {
+            super(Integer.valueOf(0));
+            this.source = source;
+            for (int i = 0, n = source.size(); i < n; i++)
+                sum += source.getInt(i);
+            setValue(Integer.valueOf(sum));
+            source.addListEventListener(this);
+        }
+
+        @Override
+        public void dispose() {
+            source.removeListEventListener(this);
+        }
+
+        @Override
+        public double getDouble() { return sum; }
+
+        @Override
+        public long getLong() { return sum; }
+
+        @Override
+        public void listChanged(ListEvent<Integer> listChanges) {
+            // a reordering doesn't change the total
+            if (listChanges.isReordering()) return;
+
+            final int oldSum = sum;
+            while (listChanges.next()) {
+                switch (listChanges.getType()) {
+                    case ListEvent.INSERT: sum += source.getInt(listChanges.getIndex()); break;
+                    case ListEvent.DELETE: sum -= listChanges.getOldValue().intValue(); break;
+                    case ListEvent.UPDATE: sum += source.getInt(listChanges.getIndex()) - listChanges.getOldValue().intValue(); break;
+                }
+            }
+
+            if (sum != oldSum) {
+                final Integer oldValue = getValue();
+                setValue(Integer.valueOf(sum));
+                fireValueChange(oldValue, getValue());
+            }
+        }
+    }
+
+    static final class SumLongList extends AbstractCalculation<Long> implements NumericCalculation<Long>, ListEventListener<Long> {
+        private final LongEventList source;
+        private long sum;
+
+        public SumLongList(LongEventList source) {
+            super(Long.valueOf(0L));
+            this.source = source;
+            for (int i = 0, n = source.size(); i < n; i++)
+                sum += source.getLong(i);
+            setValue(Long.valueOf(sum));
+            source.addListEventListener(this);
+        }
+
+        @Override
+        public void dispose() {
+            source.removeListEventListener(this);
+        }
+
+        @Override
+        public double getDouble() { return sum; }
+
+        @Override
+        public long getLong() { return sum; }
+
+        @Override
+        public void listChanged(ListEvent<Long> listChanges) {
+            // a reordering doesn't change the total
+            if (listChanges.isReordering()) return;
+
+            final long oldSum = sum;
+            while (listChanges.next()) {
+                switch (listChanges.getType()) {
+                    case ListEvent.INSERT: sum += source.getLong(listChanges.getIndex()); break;
+                    case ListEvent.DELETE: sum -= listChanges.getOldValue().longValue(); break;
+                    case ListEvent.UPDATE: sum += source.getLong(listChanges.getIndex()) - listChanges.getOldValue().longValue(); break;
+                }
+            }
+
+            if (sum != oldSum) {
+                final Long oldValue = getValue();
+                setValue(Long.valueOf(sum));
+                fireValueChange(oldValue, getValue());
+            }
+        }
+    }
+}
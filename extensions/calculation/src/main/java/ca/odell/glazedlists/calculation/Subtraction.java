@@ -11,7 +11,7 @@ package ca.odell.glazedlists.calculation;
  */
 final class Subtraction {
 
-    static final class SubtractionFloat extends AbstractCompositeCalculation<Float> {
+    static final class SubtractionFloat extends AbstractCompositeCalculation<Float> implements NumericCalculation<Float> {
         public SubtractionFloat(Calculation<? extends Number> a, Calculation<? extends Number> b) {
             super(new Calculation[] {a, b});
         }
@@ -24,7 +24,7 @@ final class Subtraction {
         }
     }
 
-    static final class SubtractionDouble extends AbstractCompositeCalculation<Double> {
+    static final class SubtractionDouble extends AbstractCompositeCalculation<Double> implements NumericCalculation<Double> {
         public SubtractionDouble(Calculation<? extends Number> a, Calculation<? extends Number> b) {
             super(new Calculation[] {a, b});
         }
@@ -37,7 +37,7 @@ final class Subtraction {
         }
     }
 
-    static final class SubtractionInteger extends AbstractCompositeCalculation<Integer> {
+    static final class SubtractionInteger extends AbstractCompositeCalculation<Integer> implements NumericCalculation<Integer> {
         public SubtractionInteger(Calculation<? extends Number> a, Calculation<? extends Number> b) {
             super(new Calculation[] {a, b});
         }
@@ -50,7 +50,7 @@ final class Subtraction {
         }
     }
 
-    static final class SubtractionLong extends AbstractCompositeCalculation<Long> {
+    static final class SubtractionLong extends AbstractCompositeCalculation<Long> implements NumericCalculation<Long> {
         public SubtractionLong(Calculation<? extends Number> a, Calculation<? extends Number> b) {
             super(new Calculation[] {a, b});
         }
@@ -7,61 +7,94 @@ import ca.odell.glazedlists.EventList;
 
 /**
  * Reports the sum total of the numeric elements within the backing EventList
- * as the value of these Calculations.
+ * as the value of these Calculations. The total is accumulated in a primitive
+ * field, so it's boxed once per ListEvent rather than once per element.
  *
  * @author James Lemieux
  */
 final class Sum {
 
-    static final class SumFloat<N extends Number> extends AbstractEventListCalculation<Float, N> {
+    static final class SumFloat<N extends Number> extends AbstractEventListCalculation<Float, N> implements NumericCalculation<Float> {
+        private float sum;
+
         public SumFloat(EventList<N> source) {
             super(new Float(0), source);
         }
 
         @Override
-        protected void inserted(Number element) { setValue(new Float(getValue().floatValue() + element.floatValue())); }
+        protected void inserted(Number element) { sum += element.floatValue(); }
+        @Override
+        protected void deleted(Number element) { sum -= element.floatValue(); }
+        @Override
+        protected void updated(Number oldElement, Number newElement) { sum = sum - oldElement.floatValue() + newElement.floatValue(); }
+        @Override
+        protected Float calculateValue() { return new Float(sum); }
         @Override
-        protected void deleted(Number element) { setValue(new Float(getValue().floatValue() - element.floatValue())); }
+        public double getDouble() { return sum; }
         @Override
-        protected void updated(Number oldElement, Number newElement) { setValue(new Float(getValue().floatValue() - oldElement.floatValue() + newElement.floatValue())); }
+        public long getLong() { return (long) sum; }
     }
 
-    static final class SumDouble<N extends Number> extends AbstractEventListCalculation<Double, N> {
+    static final class SumDouble<N extends Number> extends AbstractEventListCalculation<Double, N> implements NumericCalculation<Double> {
+        private double sum;
+
         public SumDouble(EventList<N> source) {
             super(new Double(0), source);
         }
 
         @Override
-        protected void inserted(Number element) { setValue(new Double(getValue().doubleValue() + element.doubleValue())); }
+        protected void inserted(Number element) { sum += element.doubleValue(); }
+        @Override
+        protected void deleted(Number element) { sum -= element.doubleValue(); }
+        @Override
+        protected void updated(Number oldElement, Number newElement) { sum = sum - oldElement.doubleValue() + newElement.doubleValue(); }
+        @Override
+        protected Double calculateValue() { return new Double(sum); }
         @Override
-        protected void deleted(Number element) { setValue(new Double(getValue().doubleValue() - element.doubleValue())); }
+        public double getDouble() { return sum; }
         @Override
-        protected void updated(Number oldElement, Number newElement) { setValue(new Double(getValue().doubleValue() - oldElement.doubleValue() + newElement.doubleValue())); }
+        public long getLong() { return (long) sum; }
     }
 
-    static final class SumInteger<N extends Number> extends AbstractEventListCalculation<Integer, N> {
+    static final class SumInteger<N extends Number> extends AbstractEventListCalculation<Integer, N> implements NumericCalculation<Integer> {
+        private int sum;
+
         public SumInteger(EventList<N> source) {
             super(new Integer(0), source);
         }
 
         @Override
-        protected void inserted(Number element) { setValue(new Integer(getValue().intValue() + element.intValue())); }
+        protected void inserted(Number element) { sum += element.intValue(); }
+        @Override
+        protected void deleted(Number element) { sum -= element.intValue(); }
+        @Override
+        protected void updated(Number oldElement, Number newElement) { sum = sum - oldElement.intValue() + newElement.intValue(); }
+        @Override
+        protected Integer calculateValue() { return new Integer(sum); }
         @Override
-        protected void deleted(Number element) { setValue(new Integer(getValue().intValue() - element.intValue())); }
+        public double getDouble() { return sum; }
         @Override
-        protected void updated(Number oldElement, Number newElement) { setValue(new Integer(getValue().intValue() - oldElement.intValue() + newElement.intValue())); }
+        public long getLong() { return sum; }
     }
 
-    static final class SumLong<N extends Number> extends AbstractEventListCalculation<Long, N> {
+    static final class SumLong<N extends Number> extends AbstractEventListCalculation<Long, N> implements NumericCalculation<Long> {
+        private long sum;
+
         public SumLong(EventList<N> source) {
             super(new Long(0), source);
         }
 
         @Override
-        protected void inserted(Number element) { setValue(new Long(getValue().longValue() + element.longValue())); }
+        protected void inserted(Number element) { sum += element.longValue(); }
+        @Override
+        protected void deleted(Number element) { sum -= element.longValue(); }
+        @Override
+        protected void updated(Number oldElement, Number newElement) { sum = sum - oldElement.longValue() + newElement.longValue(); }
+        @Override
+        protected Long calculateValue() { return new Long(sum); }
         @Override
-        protected void deleted(Number element) { setValue(new Long(getValue().longValue() - element.longValue())); }
+        public double getDouble() { return sum; }
         @Override
-        protected void updated(Number oldElement, Number newElement) { setValue(new Long(getValue().longValue() - oldElement.longValue() + newElement.longValue())); }
+        public long getLong() { return sum; }
     }
-}
\ No newline at end of file
+}
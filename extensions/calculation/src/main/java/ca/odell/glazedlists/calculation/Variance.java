@@ -0,0 +1,76 @@
+/* Glazed Lists                                                 (c) 2003-2007 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.calculation;
+
+import ca.odell.glazedlists.EventList;
+
+/**
+ * Reports the sample variance or standard deviation of the numeric elements
+ * within the backing EventList as the value of these Calculations. The mean
+ * and the sum of squared differences from it are adjusted for each change
+ * using Welford's method, which avoids the cancellation error of subtracting
+ * a sum of squares.
+ */
+final class Variance {
+
+    static final class VarianceDouble<N extends Number> extends AbstractEventListCalculation<Double, N> implements NumericCalculation<Double> {
+
+        /** true to report the square root of the variance */
+        private final boolean standardDeviation;
+
+        /**
+         * the running count, mean and sum of squared differences from the
+         * mean. These have no initializers, since the superclass inserts the
+         * initial elements before this subclass is initialized
+         */
+        private int count;
+        private double mean;
+        private double squaredDifferences;
+
+        public VarianceDouble(EventList<N> source, boolean standardDeviation) {
+            super(new Double(Double.NaN), source);
+            this.standardDeviation = standardDeviation;
+        }
+
+        @Override
+        protected void inserted(N element) {
+            final double value = element.doubleValue();
+            count++;
+            final double difference = value - mean;
+            mean += difference / count;
+            squaredDifferences += difference * (value - mean);
+        }
+        @Override
+        protected void deleted(N element) {
+            final double value = element.doubleValue();
+            count--;
+            if (count == 0) {
+                // start over exactly, rather than carrying rounding errors forward
+                mean = 0;
+                squaredDifferences = 0;
+            } else {
+                final double difference = value - mean;
+                mean -= difference / count;
+                squaredDifferences -= difference * (value - mean);
+            }
+        }
+        @Override
+        protected void updated(N oldElement, N newElement) {
+            if (Double.compare(oldElement.doubleValue(), newElement.doubleValue()) == 0) return;
+            deleted(oldElement);
+            inserted(newElement);
+        }
+
+        @Override
+        protected Double calculateValue() {
+            return new Double(calculate());
+        }
+
+        private double calculate() {
+            if (count < 2) return Double.NaN;
+            final double variance = Math.max(squaredDifferences, 0) / (count - 1);
+            return standardDeviation ? Math.sqrt(variance) : variance;
+        }
+    }
+}
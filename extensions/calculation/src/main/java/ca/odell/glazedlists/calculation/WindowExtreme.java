@@ -0,0 +1,151 @@
+/* Glazed Lists                                                 (c) 2003-2007 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.calculation;
+
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.event.ListEventListener;
+
+/**
+ * Reports the minimum or maximum of the numeric elements within the backing
+ * EventList as the value of these Calculations, for a list that changes like a
+ * queue: elements are appended to the end and removed from the start, as in a
+ * {@link ca.odell.glazedlists.TimeWindowList TimeWindowList}.
+ *
+ * <p>The candidates for the extreme are kept in a monotonic deque: an element
+ * is dropped as soon as a later element is at least as extreme, since it can
+ * never be reported again. So each append and each removal takes O(1)
+ * amortized time. Any other change rebuilds the deque from the list.
+ */
+final class WindowExtreme<N extends Number> extends AbstractCalculation<Double> implements ListEventListener<N>, NumericCalculation<Double> {
+
+    private final EventList<N> source;
+
+    /** whether the maximum is reported, rather than the minimum */
+    private final boolean max;
+
+    /** the values of the candidates, from the first element of the list to the last */
+    private double[] values = new double[16];
+
+    /** the position of each candidate, counted from the first element ever appended */
+    private long[] positions = new long[16];
+
+    /** the index of the first candidate in the circular arrays */
+    private int head = 0;
+
+    /** the number of candidates */
+    private int count = 0;
+
+    /** the position of the first element of the list */
+    private long first = 0;
+
+    /** the number of elements in the list */
+    private int size = 0;
+
+    public WindowExtreme(EventList<N> source, boolean max) {
+        super(new Double(Double.NaN));
+        this.source = source;
+        this.max = max;
+
+        rebuild();
+        setValue(new Double(getDouble()));
+        source.addListEventListener(this);
+    }
+
+    /** @inheritDoc */
+    @Override
+    public void dispose() {
+        source.removeListEventListener(this);
+    }
+
+    /** @inheritDoc */
+    @Override
+    public double getDouble() {
+        return count == 0 ? Double.NaN : values[head];
+    }
+
+    /** @inheritDoc */
+    @Override
+    public void listChanged(ListEvent<N> listChanges) {
+        final Double oldValue = getValue();
+
+        boolean queued = !listChanges.isReordering();
+        while (queued && listChanges.next()) {
+            final int index = listChanges.getIndex();
+            final int type = listChanges.getType();
+            if (type == ListEvent.INSERT && index == size) {
+                append(source.get(index).doubleValue());
+            } else if (type == ListEvent.DELETE && index == 0) {
+                removeFirst();
+            } else {
+                queued = false;
+            }
+        }
+        if (!queued) rebuild();
+
+        setValue(new Double(getDouble()));
+        fireValueChange(oldValue, getValue());
+    }
+
+    /**
+     * Append a value to the end of the list, dropping the candidates that it
+     * is at least as extreme as.
+     */
+    private void append(double value) {
+        while (count > 0) {
+            final double last = values[(head + count - 1) % values.length];
+            if (max ? last > value : last < value) break;
+            count--;
+        }
+
+        if (count == values.length) grow();
+        final int tail = (head + count) % values.length;
+        values[tail] = value;
+        positions[tail] = first + size;
+        count++;
+        size++;
+    }
+
+    /**
+     * Remove the first element of the list, which is also the first candidate
+     * if no later element has been at least as extreme.
+     */
+    private void removeFirst() {
+        if (count > 0 && positions[head] == first) {
+            head = (head + 1) % values.length;
+            count--;
+        }
+        first++;
+        size--;
+    }
+
+    /**
+     * Recreate the candidates from the elements of the list.
+     */
+    private void rebuild() {
+        head = 0;
+        count = 0;
+        first = 0;
+        size = 0;
+        for (int i = 0, n = source.size(); i < n; i++) {
+            append(source.get(i).doubleValue());
+        }
+    }
+
+    /**
+     * Double the capacity of the circular arrays, moving the candidates to
+     * the start.
+     */
+    private void grow() {
+        final double[] newValues = new double[values.length * 2];
+        final long[] newPositions = new long[positions.length * 2];
+        for (int i = 0; i < count; i++) {
+            newValues[i] = values[(head + i) % values.length];
+            newPositions[i] = positions[(head + i) % positions.length];
+        }
+        values = newValues;
+        positions = newPositions;
+        head = 0;
+    }
+}
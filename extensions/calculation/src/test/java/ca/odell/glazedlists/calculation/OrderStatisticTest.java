@@ -0,0 +1,128 @@
+/* Glazed Lists                                                 (c) 2003-2007 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.calculation;
+
+import ca.odell.glazedlists.BasicEventList;
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.GlazedLists;
+import ca.odell.glazedlists.SortedList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public final class OrderStatisticTest {
+
+    @Test
+    public void testMinMaxMedian() {
+        final EventList<Integer> source = new BasicEventList<>();
+        final Calculation<Double> min = Calculations.minDoubles(source);
+        final Calculation<Double> max = Calculations.maxDoubles(source);
+        final Calculation<Double> median = Calculations.medianDoubles(source);
+
+        final PropertyChangeCounter counter = new PropertyChangeCounter();
+        min.addPropertyChangeListener(counter);
+
+        // there are no statistics of nothing
+        assertEquals(new Double(Double.NaN), min.getValue());
+        assertEquals(new Double(Double.NaN), median.getValue());
+
+        source.addAll(Arrays.asList(5, 1, 4));
+        assertEquals(new Double(1), min.getValue());
+        assertEquals(new Double(5), max.getValue());
+        assertEquals(new Double(4), median.getValue());
+        assertEquals(1, counter.getCountAndReset());
+
+        // the median of an even number of elements is the mean of the middle two
+        source.add(2);
+        assertEquals(new Double(3), median.getValue());
+        assertEquals(0, counter.getCountAndReset());
+
+        // test update and remove of the minimum
+        source.set(source.indexOf(1), 3);
+        assertEquals(new Double(2), min.getValue());
+        assertEquals(1, counter.getCountAndReset());
+        source.remove(Integer.valueOf(2));
+        assertEquals(new Double(3), min.getValue());
+        assertEquals(new Double(4), median.getValue());
+        assertEquals(1, counter.getCountAndReset());
+
+        source.clear();
+        assertEquals(new Double(Double.NaN), max.getValue());
+        assertEquals(1, counter.getCountAndReset());
+    }
+
+    @Test
+    public void testPercentile() {
+        final EventList<Double> source = GlazedLists.eventList(Arrays.asList(15d, 20d, 35d, 40d, 50d));
+        assertEquals(new Double(20), Calculations.percentileDoubles(source, 25).getValue());
+        assertEquals(new Double(29), Calculations.percentileDoubles(source, 40).getValue());
+        assertEquals(new Double(48), Calculations.percentileDoubles(source, 95).getValue());
+        assertEquals(new Double(50), Calculations.percentileDoubles(source, 100).getValue());
+
+        try {
+            Calculations.percentileDoubles(source, 101);
+            fail("failed to receive IllegalArgumentException for a percentile over 100");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testReordering() {
+        final EventList<Integer> source = GlazedLists.eventList(Arrays.asList(3, 1, 2, 1));
+        final SortedList<Integer> sorted = new SortedList<>(source, null);
+        final Calculation<Double> median = Calculations.medianDoubles(sorted);
+        assertEquals(new Double(1.5), median.getValue());
+
+        sorted.setComparator(GlazedLists.comparableComparator());
+        assertEquals(new Double(1.5), median.getValue());
+    }
+
+    @Test
+    public void testRandom() {
+        final Random dice = new Random(5);
+        final EventList<Integer> source = new BasicEventList<>();
+        final Calculation<Double> min = Calculations.minDoubles(source);
+        final Calculation<Double> median = Calculations.medianDoubles(source);
+        final Calculation<Double> p90 = Calculations.percentileDoubles(source, 90);
+
+        for (int i = 0; i < 1000; i++) {
+            final int operation = dice.nextInt(3);
+            if (operation == 0 || source.isEmpty()) {
+                source.add(dice.nextInt(source.size() + 1), Integer.valueOf(dice.nextInt(100)));
+            } else if (operation == 1) {
+                source.remove(dice.nextInt(source.size()));
+            } else {
+                source.set(dice.nextInt(source.size()), Integer.valueOf(dice.nextInt(100)));
+            }
+
+            final List<Integer> expected = new ArrayList<>(source);
+            Collections.sort(expected);
+            if (expected.isEmpty()) {
+                assertTrue(median.getValue().isNaN());
+                continue;
+            }
+            assertEquals(expected.get(0).doubleValue(), min.getValue().doubleValue(), 0);
+            assertEquals(percentile(expected, 50), median.getValue().doubleValue(), 0.0000001);
+            assertEquals(percentile(expected, 90), p90.getValue().doubleValue(), 0.0000001);
+        }
+    }
+
+    /**
+     * Calculate a percentile of the sorted values from scratch.
+     */
+    private static double percentile(List<Integer> sorted, double percentile) {
+        final double position = (sorted.size() - 1) * percentile / 100;
+        final int lower = (int) position;
+        if (lower + 1 == sorted.size()) return sorted.get(lower).doubleValue();
+        return sorted.get(lower) + (position - lower) * (sorted.get(lower + 1) - sorted.get(lower));
+    }
+}
@@ -4,8 +4,10 @@
 package ca.odell.glazedlists.calculation;
 
 import ca.odell.glazedlists.BasicEventList;
+import ca.odell.glazedlists.DoubleEventList;
 import ca.odell.glazedlists.EventList;
 import ca.odell.glazedlists.GlazedLists;
+import ca.odell.glazedlists.IntEventList;
 import ca.odell.glazedlists.SortedList;
 
 import java.util.Arrays;
@@ -187,4 +189,96 @@ public final class SumTest {
         assertEquals(13L, sum.getValue().longValue());
         assertEquals(1, counter.getCountAndReset());
     }
+
+    @Test
+    public void testSumDoubleEventList() {
+        final DoubleEventList source = new DoubleEventList();
+        source.addDouble(1);
+
+        final PropertyChangeCounter counter = new PropertyChangeCounter();
+        final Calculation<Double> sum = Calculations.sumDoubles(source);
+        sum.addPropertyChangeListener(counter);
+
+        // check the initial Sum state
+        assertEquals(new Double(1), sum.getValue());
+        assertEquals(0, counter.getCountAndReset());
+
+        // test add
+        source.addAll(new double[] {2, 3});
+        assertEquals(new Double(6), sum.getValue());
+        assertEquals(1, counter.getCountAndReset());
+
+        // test update with sum change
+        source.setDouble(1, 5);
+        assertEquals(new Double(9), sum.getValue());
+        assertEquals(1, counter.getCountAndReset());
+
+        // test update without sum change
+        source.setDouble(1, source.getDouble(1));
+        assertEquals(new Double(9), sum.getValue());
+        assertEquals(0, counter.getCountAndReset());
+
+        // test remove
+        source.removeDouble(1);
+        assertEquals(new Double(4), sum.getValue());
+        assertEquals(1, counter.getCountAndReset());
+
+        // test clear
+        source.clear();
+        assertEquals(new Double(0), sum.getValue());
+        assertEquals(1, counter.getCountAndReset());
+    }
+
+    @Test
+    public void testSumIntEventList() {
+        final IntEventList source = new IntEventList();
+        source.addAll(new int[] {1, 2, 3});
+        final Calculation<Integer> sum = Calculations.sumIntegers(source);
+        assertEquals(new Integer(6), sum.getValue());
+
+        source.add(0, 4);
+        source.remove(3);
+        assertEquals(new Integer(7), sum.getValue());
+
+        sum.dispose();
+        source.addInt(10);
+        assertEquals(new Integer(7), sum.getValue());
+    }
+
+    @Test
+    public void testBulkChanges() {
+        final EventList<Long> source = new BasicEventList<>();
+        final PropertyChangeCounter counter = new PropertyChangeCounter();
+        final NumericCalculation<Long> sum = (NumericCalculation<Long>) Calculations.sumLongs(source);
+        sum.addPropertyChangeListener(counter);
+
+        // a bulk insert is published as a single value
+        final Long[] values = new Long[50000];
+        for (int i = 0; i < values.length; i++)
+            values[i] = Long.valueOf(i);
+        source.addAll(Arrays.asList(values));
+        assertEquals(1, counter.getCountAndReset());
+        assertEquals(Long.valueOf(1249975000L), sum.getValue());
+        assertEquals(1249975000L, sum.getLong());
+        assertEquals(1249975000d, sum.getDouble(), 0);
+
+        source.removeAll(Arrays.asList(values).subList(0, 25000));
+        assertEquals(1, counter.getCountAndReset());
+        assertEquals(937487500L, sum.getLong());
+    }
+
+    @Test
+    public void testPrimitiveGetters() {
+        final EventList<Float> source = GlazedLists.eventList(Arrays.asList(new Float(1.5f), new Float(2f)));
+        final NumericCalculation<Float> floatSum = (NumericCalculation<Float>) Calculations.sumFloats(source);
+        assertEquals(3.5d, floatSum.getDouble(), 0);
+        assertEquals(3L, floatSum.getLong());
+
+        final NumericCalculation<Double> mean = (NumericCalculation<Double>) Calculations.meanDoubles(source);
+        assertEquals(1.75d, mean.getDouble(), 0);
+
+        final DoubleEventList doubles = new DoubleEventList();
+        doubles.addAll(new double[] {0.5, 2});
+        assertEquals(2.5d, ((NumericCalculation<Double>) Calculations.sumDoubles(doubles)).getDouble(), 0);
+    }
 }
@@ -0,0 +1,89 @@
+/* Glazed Lists                                                 (c) 2003-2007 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.calculation;
+
+import ca.odell.glazedlists.BasicEventList;
+import ca.odell.glazedlists.EventList;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public final class VarianceTest {
+
+    @Test
+    public void testVariance() {
+        final EventList<Integer> source = new BasicEventList<>();
+        source.add(2);
+
+        final PropertyChangeCounter counter = new PropertyChangeCounter();
+        final Calculation<Double> variance = Calculations.varianceDoubles(source);
+        final Calculation<Double> standardDeviation = Calculations.standardDeviationDoubles(source);
+        variance.addPropertyChangeListener(counter);
+
+        // a single value has no sample variance
+        assertTrue(variance.getValue().isNaN());
+
+        source.addAll(Arrays.asList(4, 4, 4, 5, 5, 7, 9));
+        assertEquals(32d / 7, variance.getValue().doubleValue(), 0.0000001);
+        assertEquals(Math.sqrt(32d / 7), standardDeviation.getValue().doubleValue(), 0.0000001);
+        assertEquals(1, counter.getCountAndReset());
+
+        // test update without a change
+        source.set(0, 2);
+        assertEquals(0, counter.getCountAndReset());
+
+        // test update and remove
+        source.set(0, 5);
+        assertEquals(3.125, variance.getValue().doubleValue(), 0.0000001);
+        assertEquals(1, counter.getCountAndReset());
+        source.remove(Integer.valueOf(9));
+        assertEquals(8d / 7, variance.getValue().doubleValue(), 0.0000001);
+        assertEquals(1, counter.getCountAndReset());
+
+        source.clear();
+        assertTrue(variance.getValue().isNaN());
+        source.addAll(Arrays.asList(1, 3));
+        assertEquals(2d, variance.getValue().doubleValue(), 0);
+    }
+
+    @Test
+    public void testLargeOffset() {
+        // values with a large common offset lose precision with a sum of squares
+        final EventList<Double> source = new BasicEventList<>();
+        final Calculation<Double> variance = Calculations.varianceDoubles(source);
+        for (int i = 0; i < 1000; i++) {
+            source.add(1e9 + (i % 2));
+        }
+        assertEquals(0.25 * 1000 / 999, variance.getValue().doubleValue(), 0.0000001);
+    }
+
+    @Test
+    public void testRandom() {
+        final Random dice = new Random(9);
+        final EventList<Integer> source = new BasicEventList<>();
+        final Calculation<Double> variance = Calculations.varianceDoubles(source);
+
+        for (int i = 0; i < 1000; i++) {
+            final int operation = dice.nextInt(3);
+            if (operation == 0 || source.isEmpty()) {
+                source.add(Integer.valueOf(dice.nextInt(1000)));
+            } else if (operation == 1) {
+                source.remove(dice.nextInt(source.size()));
+            } else {
+                source.set(dice.nextInt(source.size()), Integer.valueOf(dice.nextInt(1000)));
+            }
+
+            if (source.size() < 2) continue;
+            double mean = 0;
+            for (Integer value : source) mean += value.doubleValue() / source.size();
+            double squaredDifferences = 0;
+            for (Integer value : source) squaredDifferences += (value - mean) * (value - mean);
+            assertEquals(squaredDifferences / (source.size() - 1), variance.getValue().doubleValue(), 0.000001);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/* Glazed Lists                                                 (c) 2003-2007 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.calculation;
+
+import ca.odell.glazedlists.BasicEventList;
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.GlazedLists;
+import ca.odell.glazedlists.TimeWindowList;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public final class WindowExtremeTest {
+
+    @Test
+    public void testTimeWindow() {
+        final EventList<Integer> source = new BasicEventList<>();
+        final TimeWindowList<Integer> window = new TimeWindowList<>(source, i -> i.intValue() / 10, Duration.ofMillis(3));
+        final NumericCalculation<Double> min = Calculations.windowMinDoubles(window);
+        final NumericCalculation<Double> max = Calculations.windowMaxDoubles(window);
+
+        final PropertyChangeCounter counter = new PropertyChangeCounter();
+        max.addPropertyChangeListener(counter);
+        assertEquals(new Double(Double.NaN), min.getValue());
+
+        // each value's timestamp is its tens
+        source.addAll(Arrays.asList(19, 12, 25, 31, 33, 47));
+        assertEquals(12.0, min.getDouble(), 0);
+        assertEquals(47.0, max.getDouble(), 0);
+        assertEquals(1, counter.getCountAndReset());
+
+        // the minimum leaves the window
+        window.expire(5);
+        assertEquals(Arrays.asList(25, 31, 33, 47), window);
+        assertEquals(new Double(25), min.getValue());
+        assertEquals(0, counter.getCountAndReset());
+        window.expire(7);
+        assertEquals(new Double(47), min.getValue());
+
+        source.addAll(Arrays.asList(52, 61));
+        window.expire(8);
+        assertEquals(new Double(52), min.getValue());
+        assertEquals(new Double(61), max.getValue());
+        assertEquals(1, counter.getCountAndReset());
+
+        window.expire(10);
+        assertEquals(new Double(Double.NaN), max.getValue());
+        assertEquals(1, counter.getCountAndReset());
+    }
+
+    @Test
+    public void testRandom() {
+        final Random dice = new Random(7);
+        final EventList<Integer> source = new BasicEventList<>();
+        final NumericCalculation<Double> min = Calculations.windowMinDoubles(source);
+        final NumericCalculation<Double> max = Calculations.windowMaxDoubles(source);
+
+        for (int i = 0; i < 2000; i++) {
+            final int operation = dice.nextInt(10);
+            if (operation < 5 || source.isEmpty()) {
+                source.add(Integer.valueOf(dice.nextInt(50)));
+            } else if (operation < 9) {
+                source.remove(0);
+            } else if (dice.nextBoolean()) {
+                // anything other than a change to a queue rebuilds the deque
+                source.set(dice.nextInt(source.size()), Integer.valueOf(dice.nextInt(50)));
+            } else {
+                GlazedLists.replaceAll(source, Arrays.asList(3, 1, 2), false);
+            }
+
+            if (source.isEmpty()) {
+                assertTrue(Double.isNaN(min.getDouble()));
+            } else {
+                assertEquals(Collections.min(source).doubleValue(), min.getDouble(), 0);
+                assertEquals(Collections.max(source).doubleValue(), max.getDouble(), 0);
+            }
+        }
+    }
+}
@@ -42,6 +42,9 @@ public class UnicodeCaseInsensitiveTextSearchStrategy implements TextSearchStrat
         // used to denote differences between base characters. We use it to
         // make the StringSearch case insensitive.
         COLLATOR.setStrength(Collator.PRIMARY);
+
+        // a frozen Collator may be shared by strategies matching on different threads
+        COLLATOR.freeze();
     }
 
     /** The string to locate within a larger text. */
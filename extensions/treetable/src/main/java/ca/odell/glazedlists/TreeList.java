@@ -119,13 +119,18 @@ public final class TreeList<E> extends TransformedList<TreeList.Node<E>,E> {
         this.expansionModel = initializationData.expansionModel;
         this.initializationData = initializationData;
 
-        // insert the new elements like they were adds
+        // insert the new elements like they were adds, building the tree all at once
         NodeAttacher nodeAttacher = new NodeAttacher(false);
-        for(int i = 0; i < super.source.size(); i++) {
-            Node<E> node = super.source.get(i);
-            node.expanded = expansionModel.isExpanded(node.getElement(), node.path);
-            addNode(node, HIDDEN_REAL, i);
-            nodeAttacher.nodesToAttach.queueNewNodeForInserting(node);
+        Node<E>[] nodes = new Node[super.source.size()];
+        for(int i = 0; i < nodes.length; i++) {
+            nodes[i] = super.source.get(i);
+            nodes[i].expanded = expansionModel.isExpanded(nodes[i].getElement(), nodes[i].path);
+        }
+        Element<Node<E>>[] elements = new Element[nodes.length];
+        data.bulkLoad(HIDDEN_REAL, nodes, elements);
+        for(int i = 0; i < nodes.length; i++) {
+            nodes[i].element = elements[i];
+            nodeAttacher.nodesToAttach.queueNewNodeForInserting(nodes[i]);
         }
         // attach siblings and parent nodes
         nodeAttacher.attachAll();
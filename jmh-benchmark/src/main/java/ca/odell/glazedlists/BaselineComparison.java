@@ -0,0 +1,228 @@
+package ca.odell.glazedlists;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares the JSON results of a benchmark run against those of an earlier
+ * run, and reports each benchmark that got slower by more than a threshold.
+ *
+ * <p>A result only counts as a regression if the difference also exceeds the
+ * combined error of both scores, so that noisy benchmarks don't fail the run.
+ */
+final class BaselineComparison {
+
+    private final double thresholdPercent;
+
+    BaselineComparison(double thresholdPercent) {
+        this.thresholdPercent = thresholdPercent;
+    }
+
+    /**
+     * @return a description of each regression, or an empty list if there
+     *      are none
+     */
+    List<String> compare(Path baseline, Path current) throws IOException {
+        final Map<String, Score> baselineScores = read(baseline);
+        final Map<String, Score> currentScores = read(current);
+        final List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, Score> entry : currentScores.entrySet()) {
+            final Score before = baselineScores.get(entry.getKey());
+            final Score after = entry.getValue();
+            if (before == null || before.score == 0) continue;
+
+            // throughput is better when higher, all other modes when lower
+            final double worse = after.higherIsBetter ? before.score - after.score : after.score - before.score;
+            final double percent = 100.0 * worse / before.score;
+            if (percent > thresholdPercent && worse > before.error + after.error) {
+                regressions.add(String.format("%s: %.3f -> %.3f %s (%.1f%% worse)",
+                        entry.getKey(), before.score, after.score, after.unit, percent));
+            }
+        }
+        return regressions;
+    }
+
+    private static Map<String, Score> read(Path file) throws IOException {
+        final String json = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        final Map<String, Score> scores = new LinkedHashMap<>();
+        for (Object result : (List<?>) new JsonParser(json).parse()) {
+            final Map<?, ?> run = (Map<?, ?>) result;
+            final Map<?, ?> metric = (Map<?, ?>) run.get("primaryMetric");
+            final String mode = (String) run.get("mode");
+            final Score score = new Score(toDouble(metric.get("score")), toDouble(metric.get("scoreError")),
+                    (String) metric.get("scoreUnit"), "thrpt".equals(mode));
+            scores.put(key(run, mode), score);
+        }
+        return scores;
+    }
+
+    /**
+     * Identify a result by its benchmark, mode and sorted parameters.
+     */
+    private static String key(Map<?, ?> run, String mode) {
+        final StringBuilder key = new StringBuilder();
+        key.append(run.get("benchmark")).append(" [").append(mode).append("]");
+        final Map<?, ?> params = (Map<?, ?>) run.get("params");
+        if (params != null) {
+            for (Map.Entry<?, ?> param : new TreeMap<>(params).entrySet()) {
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue());
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * JMH writes unavailable values such as the error of a single iteration
+     * as the string "NaN", which is treated as no error at all.
+     */
+    private static double toDouble(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        return 0;
+    }
+
+    private static final class Score {
+        private final double score;
+        private final double error;
+        private final String unit;
+        private final boolean higherIsBetter;
+
+        Score(double score, double error, String unit, boolean higherIsBetter) {
+            this.score = score;
+            this.error = Double.isNaN(error) ? 0 : error;
+            this.unit = unit;
+            this.higherIsBetter = higherIsBetter;
+        }
+    }
+
+    /**
+     * Just enough of a JSON parser to read JMH's result files, producing maps,
+     * lists, strings, doubles, booleans and nulls.
+     */
+    private static final class JsonParser {
+        private final String json;
+        private int position = 0;
+
+        JsonParser(String json) {
+            this.json = json;
+        }
+
+        Object parse() {
+            final Object value = parseValue();
+            skipWhitespace();
+            if (position != json.length()) throw error("Unexpected trailing content");
+            return value;
+        }
+
+        private Object parseValue() {
+            skipWhitespace();
+            if (position == json.length()) throw error("Unexpected end of input");
+            final char c = json.charAt(position);
+            if (c == '{') return parseObject();
+            if (c == '[') return parseArray();
+            if (c == '"') return parseString();
+            if (json.startsWith("true", position)) { position += 4; return Boolean.TRUE; }
+            if (json.startsWith("false", position)) { position += 5; return Boolean.FALSE; }
+            if (json.startsWith("null", position)) { position += 4; return null; }
+            return parseNumber();
+        }
+
+        private Map<String, Object> parseObject() {
+            final Map<String, Object> result = new LinkedHashMap<>();
+            expect('{');
+            skipWhitespace();
+            if (peek() == '}') { position++; return result; }
+            while (true) {
+                skipWhitespace();
+                final String name = parseString();
+                skipWhitespace();
+                expect(':');
+                result.put(name, parseValue());
+                skipWhitespace();
+                if (peek() == ',') { position++; continue; }
+                expect('}');
+                return result;
+            }
+        }
+
+        private List<Object> parseArray() {
+            final List<Object> result = new ArrayList<>();
+            expect('[');
+            skipWhitespace();
+            if (peek() == ']') { position++; return result; }
+            while (true) {
+                result.add(parseValue());
+                skipWhitespace();
+                if (peek() == ',') { position++; continue; }
+                expect(']');
+                return result;
+            }
+        }
+
+        private String parseString() {
+            expect('"');
+            final StringBuilder result = new StringBuilder();
+            while (true) {
+                final char c = next();
+                if (c == '"') return result.toString();
+                if (c != '\\') { result.append(c); continue; }
+                final char escaped = next();
+                switch (escaped) {
+                    case 'b': result.append('\b'); break;
+                    case 'f': result.append('\f'); break;
+                    case 'n': result.append('\n'); break;
+                    case 'r': result.append('\r'); break;
+                    case 't': result.append('\t'); break;
+                    case 'u':
+                        if (position + 4 > json.length()) throw error("Bad unicode escape");
+                        result.append((char) Integer.parseInt(json.substring(position, position + 4), 16));
+                        position += 4;
+                        break;
+                    default: result.append(escaped);
+                }
+            }
+        }
+
+        private Double parseNumber() {
+            final int start = position;
+            while (position < json.length() && "+-0123456789.eE".indexOf(json.charAt(position)) != -1) {
+                position++;
+            }
+            if (start == position) throw error("Unexpected character");
+            return Double.valueOf(json.substring(start, position));
+        }
+
+        private void skipWhitespace() {
+            while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+                position++;
+            }
+        }
+
+        private char peek() {
+            if (position == json.length()) throw error("Unexpected end of input");
+            return json.charAt(position);
+        }
+
+        private char next() {
+            final char result = peek();
+            position++;
+            return result;
+        }
+
+        private void expect(char c) {
+            if (next() != c) throw error("Expected '" + c + "'");
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at offset " + position);
+        }
+    }
+}
@@ -1,15 +1,72 @@
 package ca.odell.glazedlists;
 
 import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.openjdk.jmh.Main;
 import org.openjdk.jmh.runner.RunnerException;
 
+/**
+ * Runs the benchmarks with JMH's usual command line, plus these options:
+ * <ul>
+ *   <li><code>--gc</code> adds JMH's GC profiler, to report allocation rates
+ *   <li><code>--baseline &lt;file&gt;</code> compares the results against the
+ *       JSON results of an earlier run, and exits with status 1 if any
+ *       benchmark regressed
+ *   <li><code>--threshold &lt;percent&gt;</code> is how much slower a benchmark
+ *       must get to be a regression, 10 by default
+ * </ul>
+ */
 public class BenchmarkMain {
 
+    private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
     public static void main(String[] args) {
+        final List<String> jmhArgs = new ArrayList<>();
+        String baseline = null;
+        double threshold = 10;
+        String resultFile = null;
+        for (int i = 0; i < args.length; i++) {
+            if ("--gc".equals(args[i])) {
+                jmhArgs.add("-prof");
+                jmhArgs.add("gc");
+            } else if ("--baseline".equals(args[i]) && i + 1 < args.length) {
+                baseline = args[++i];
+            } else if ("--threshold".equals(args[i]) && i + 1 < args.length) {
+                threshold = Double.parseDouble(args[++i]);
+            } else {
+                if ("-rff".equals(args[i]) && i + 1 < args.length) resultFile = args[i + 1];
+                jmhArgs.add(args[i]);
+            }
+        }
+
+        // the comparison needs the results of this run as JSON
+        if (baseline != null) {
+            jmhArgs.add("-rf");
+            jmhArgs.add("json");
+            if (resultFile == null) {
+                resultFile = DEFAULT_RESULT_FILE;
+                jmhArgs.add("-rff");
+                jmhArgs.add(resultFile);
+            }
+        }
+
         try {
-            Main.main(args);
+            Main.main(jmhArgs.toArray(new String[jmhArgs.size()]));
+            if (baseline == null) return;
+
+            final List<String> regressions = new BaselineComparison(threshold).compare(Paths.get(baseline), Paths.get(resultFile));
+            if (regressions.isEmpty()) {
+                System.out.println("No regressions against " + baseline);
+                return;
+            }
+            System.out.println(regressions.size() + " regression(s) against " + baseline + ":");
+            for (String regression : regressions) {
+                System.out.println("  " + regression);
+            }
+            System.exit(1);
         } catch (RunnerException | IOException e) {
             throw new RuntimeException(e);
         }
@@ -0,0 +1,78 @@
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.calculation.Calculation;
+import ca.odell.glazedlists.calculation.Calculations;
+import ca.odell.glazedlists.matchers.Matcher;
+
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the calculations of the calculation extension as their source
+ * changes.
+ */
+@State(Scope.Thread)
+public class CalculationBenchmark {
+
+    private static final int VALUE_RANGE = 1000;
+
+    @Param({ "1000", "100000" })
+    private int size;
+
+    @Param({ Mutations.UPDATE, Mutations.INSERT_REMOVE, Mutations.BULK, Mutations.MIXED })
+    private String mutation;
+
+    private final Random dice = new Random(0);
+    private EventList<Integer> sumSource;
+    private Calculation<Integer> sum;
+    private EventList<Integer> meanSource;
+    private Calculation<Double> mean;
+    private EventList<Integer> countSource;
+    private Calculation<Integer> conditionalCount;
+
+    @Setup
+    public void setUp() {
+        sumSource = Mutations.createSource(size, VALUE_RANGE, dice);
+        sum = Calculations.sumIntegers(sumSource);
+        meanSource = Mutations.createSource(size, VALUE_RANGE, dice);
+        mean = Calculations.meanDoubles(meanSource);
+        countSource = Mutations.createSource(size, VALUE_RANGE, dice);
+        final Matcher<Integer> even = value -> value.intValue() % 2 == 0;
+        conditionalCount = Calculations.count(countSource, even);
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public Integer testSum() {
+        Mutations.apply(mutation, sumSource, VALUE_RANGE, dice);
+        return sum.getValue();
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public Double testMean() {
+        Mutations.apply(mutation, meanSource, VALUE_RANGE, dice);
+        return mean.getValue();
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public Integer testConditionalCount() {
+        Mutations.apply(mutation, countSource, VALUE_RANGE, dice);
+        return conditionalCount.getValue();
+    }
+}
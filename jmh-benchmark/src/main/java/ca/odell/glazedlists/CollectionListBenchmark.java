@@ -0,0 +1,72 @@
+package ca.odell.glazedlists;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a {@link CollectionList} and a {@link CompositeList} that flatten
+ * the same number of member lists, as one of the members changes.
+ */
+@State(Scope.Thread)
+public class CollectionListBenchmark {
+
+    private static final int VALUE_RANGE = 1000;
+    private static final int MEMBERS = 10;
+
+    @Param({ "1000", "100000" })
+    private int size;
+
+    @Param({ Mutations.UPDATE, Mutations.INSERT_REMOVE, Mutations.BULK, Mutations.MIXED })
+    private String mutation;
+
+    private final Random dice = new Random(0);
+    private final List<EventList<Integer>> collectionMembers = new ArrayList<>();
+    private CollectionList<List<Integer>, Integer> collection;
+    private final List<EventList<Integer>> compositeMembers = new ArrayList<>();
+    private CompositeList<Integer> composite;
+
+    @Setup
+    public void setUp() {
+        final EventList<List<Integer>> parents = new BasicEventList<>();
+        composite = new CompositeList<>();
+        for (int m = 0; m < MEMBERS; m++) {
+            final EventList<Integer> collectionMember = Mutations.createSource(size / MEMBERS, VALUE_RANGE, dice);
+            collectionMembers.add(collectionMember);
+            parents.add(collectionMember);
+
+            final EventList<Integer> compositeMember = composite.createMemberList();
+            compositeMember.addAll(collectionMember);
+            compositeMembers.add(compositeMember);
+            composite.addMemberList(compositeMember);
+        }
+        collection = new CollectionList<>(parents, GlazedLists.<Integer>listCollectionListModel());
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public CollectionList<List<Integer>, Integer> testCollectionList() {
+        Mutations.apply(mutation, collectionMembers.get(dice.nextInt(MEMBERS)), VALUE_RANGE, dice);
+        return collection;
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public CompositeList<Integer> testCompositeList() {
+        Mutations.apply(mutation, compositeMembers.get(dice.nextInt(MEMBERS)), VALUE_RANGE, dice);
+        return composite;
+    }
+}
@@ -0,0 +1,68 @@
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.matchers.ThresholdMatcherEditor;
+
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a {@link FilterList} as its source changes, and as its matcher is
+ * constrained and relaxed. The <code>selectivity</code> is the fraction of
+ * the source that matches.
+ */
+@State(Scope.Thread)
+public class FilterListBenchmark {
+
+    private static final int VALUE_RANGE = 1000;
+
+    @Param({ "1000", "100000" })
+    private int size;
+
+    @Param({ Mutations.UPDATE, Mutations.INSERT_REMOVE, Mutations.BULK, Mutations.MIXED })
+    private String mutation;
+
+    @Param({ "0.1", "0.5", "0.9" })
+    private double selectivity;
+
+    private final Random dice = new Random(0);
+    private EventList<Integer> source;
+    private FilterList<Integer> filtered;
+    private ThresholdMatcherEditor<Integer, Integer> matcherEditor;
+    private int threshold;
+    private boolean constrained = false;
+
+    @Setup
+    public void setUp() {
+        source = Mutations.createSource(size, VALUE_RANGE, dice);
+        threshold = (int) (VALUE_RANGE * selectivity);
+        matcherEditor = new ThresholdMatcherEditor<>(Integer.valueOf(threshold), ThresholdMatcherEditor.LESS_THAN);
+        filtered = new FilterList<>(source, matcherEditor);
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public FilterList<Integer> testMutate() {
+        Mutations.apply(mutation, source, VALUE_RANGE, dice);
+        return filtered;
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public FilterList<Integer> testConstrainAndRelax() {
+        constrained = !constrained;
+        matcherEditor.setThreshold(Integer.valueOf(constrained ? threshold / 2 : threshold));
+        return filtered;
+    }
+}
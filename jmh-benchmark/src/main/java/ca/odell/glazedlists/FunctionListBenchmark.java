@@ -0,0 +1,56 @@
+package ca.odell.glazedlists;
+
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a {@link FunctionList} as its source changes, and as values are
+ * written back through it.
+ */
+@State(Scope.Thread)
+public class FunctionListBenchmark {
+
+    private static final int VALUE_RANGE = 1000;
+
+    @Param({ "1000", "100000" })
+    private int size;
+
+    @Param({ Mutations.UPDATE, Mutations.INSERT_REMOVE, Mutations.BULK, Mutations.MIXED })
+    private String mutation;
+
+    private final Random dice = new Random(0);
+    private EventList<Integer> source;
+    private FunctionList<Integer, String> function;
+
+    @Setup
+    public void setUp() {
+        source = Mutations.createSource(size, VALUE_RANGE, dice);
+        function = new FunctionList<>(source, String::valueOf, Integer::valueOf);
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public FunctionList<Integer, String> testMutate() {
+        Mutations.apply(mutation, source, VALUE_RANGE, dice);
+        return function;
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public FunctionList<Integer, String> testSetThroughFunction() {
+        function.set(dice.nextInt(size), String.valueOf(dice.nextInt(VALUE_RANGE)));
+        return function;
+    }
+}
@@ -0,0 +1,50 @@
+package ca.odell.glazedlists;
+
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a {@link GroupAggregateList} as its source changes, with the
+ * source's values keyed into the specified number of <code>groups</code>.
+ */
+@State(Scope.Thread)
+public class GroupAggregateListBenchmark {
+
+    @Param({ "1000", "100000" })
+    private int size;
+
+    @Param({ Mutations.UPDATE, Mutations.INSERT_REMOVE, Mutations.BULK, Mutations.MIXED })
+    private String mutation;
+
+    @Param({ "10", "1000" })
+    private int groups;
+
+    private final Random dice = new Random(0);
+    private int valueRange;
+    private EventList<Integer> source;
+    private GroupAggregateList<Integer> summaries;
+
+    @Setup
+    public void setUp() {
+        valueRange = groups * 100;
+        source = Mutations.createSource(size, valueRange, dice);
+        summaries = GroupAggregateList.create(source, value -> Integer.valueOf(value.intValue() % groups), Integer::doubleValue);
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public double testMutate() {
+        Mutations.apply(mutation, source, valueRange, dice);
+        return summaries.get(0).getMax();
+    }
+}
@@ -0,0 +1,48 @@
+package ca.odell.glazedlists;
+
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a {@link GroupingList} as its source changes, with the source's
+ * values spread over the specified number of <code>groups</code>.
+ */
+@State(Scope.Thread)
+public class GroupingListBenchmark {
+
+    @Param({ "1000", "100000" })
+    private int size;
+
+    @Param({ Mutations.UPDATE, Mutations.INSERT_REMOVE, Mutations.BULK, Mutations.MIXED })
+    private String mutation;
+
+    @Param({ "10", "1000" })
+    private int groups;
+
+    private final Random dice = new Random(0);
+    private EventList<Integer> source;
+    private GroupingList<Integer> grouped;
+
+    @Setup
+    public void setUp() {
+        source = Mutations.createSource(size, groups, dice);
+        grouped = new GroupingList<>(source);
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public GroupingList<Integer> testMutate() {
+        Mutations.apply(mutation, source, groups, dice);
+        return grouped;
+    }
+}
@@ -0,0 +1,73 @@
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.matchers.Matcher;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of delivering small changes through a
+ * {@link FilterList}, {@link SortedList} and {@link FunctionList} pipeline.
+ * Run with <code>-prof gc</code> to report the bytes allocated per change as
+ * <code>gc.alloc.rate.norm</code>, which should be close to zero. This is the
+ * check that list event delivery doesn't allocate, since the allocation
+ * counters are too noisy for a unit test.
+ */
+@State(Scope.Thread)
+public class ListEventAllocationBenchmark {
+
+    @Param({ "1000", "100000" })
+    private int baseSize;
+
+    private EventList<Integer> base;
+    private EventList<Integer> pipeline;
+
+    private int nextIndex = 0;
+
+    @Setup
+    public void setUp() {
+        base = new BasicEventList<>();
+        for(int i = 0; i < baseSize; i++) {
+            base.add(Integer.valueOf(i));
+        }
+        FilterList<Integer> filtered = new FilterList<>(base, (Matcher<Integer>) value -> (value.intValue() & 1) == 0);
+        SortedList<Integer> sorted = new SortedList<>(filtered, GlazedLists.comparableComparator());
+        pipeline = new FunctionList<>(sorted, value -> value);
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public EventList<Integer> testUpdate() {
+        int index = nextIndex();
+        base.set(index, base.get(index));
+        return pipeline;
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public EventList<Integer> testRemoveAndInsert() {
+        int index = nextIndex();
+        Integer value = base.remove(index);
+        base.add(index, value);
+        return pipeline;
+    }
+
+    /**
+     * Walk through the list with a stride, so that changes hit both filtered
+     * and unfiltered elements.
+     */
+    private int nextIndex() {
+        nextIndex = (nextIndex + 7) % baseSize;
+        return nextIndex;
+    }
+}
@@ -0,0 +1,89 @@
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.event.ListEventAssembler;
+import ca.odell.glazedlists.event.ListEventPublisher;
+import ca.odell.glazedlists.util.concurrent.LockFactory;
+import ca.odell.glazedlists.util.concurrent.ReadWriteLock;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures building and tearing down a pipeline with many stages sharing a
+ * single {@link ListEventPublisher}, as happens when a large workspace is
+ * opened and closed.
+ */
+@State(Scope.Thread)
+public class ListEventPublisherBenchmark {
+
+    @Param({ "1000", "10000", "50000" })
+    private int listeners;
+
+    /** a prebuilt pipeline to add stages to */
+    private TransformedList<Integer, Integer>[] pipeline;
+    private int nextStage = 0;
+
+    @Setup
+    public void setUp() {
+        pipeline = buildTree(new BasicEventList<>());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    @Fork(1)
+    public EventList<Integer> testBuildAndDispose() {
+        ListEventPublisher publisher = ListEventAssembler.createListEventPublisher();
+        ReadWriteLock lock = LockFactory.DEFAULT.createReadWriteLock();
+        EventList<Integer> root = new BasicEventList<>(publisher, lock);
+        TransformedList<Integer, Integer>[] stages = buildTree(root);
+
+        // deliver one change through the whole pipeline
+        root.add(Integer.valueOf(1));
+
+        for(int i = stages.length - 1; i >= 0; i--) {
+            stages[i].dispose();
+        }
+        return root;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public EventList<Integer> testAddAndRemoveStage() {
+        FunctionList<Integer, Integer> stage = new FunctionList<>(pipeline[nextStage++ % pipeline.length], value -> value);
+        stage.dispose();
+        return stage;
+    }
+
+    /**
+     * Create the stages, each of which listens to the root or an earlier stage.
+     */
+    @SuppressWarnings("unchecked")
+    private TransformedList<Integer, Integer>[] buildTree(EventList<Integer> root) {
+        Random dice = new Random(listeners);
+        TransformedList<Integer, Integer>[] stages = new TransformedList[listeners];
+        for(int i = 0; i < stages.length; i++) {
+            EventList<Integer> source = (i == 0) ? root : stages[dice.nextInt(i)];
+            stages[i] = new FunctionList<>(source, value -> value);
+        }
+        return stages;
+    }
+}
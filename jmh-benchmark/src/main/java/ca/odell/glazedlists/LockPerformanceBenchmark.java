@@ -0,0 +1,92 @@
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.util.concurrent.J2SE50LockFactory;
+import ca.odell.glazedlists.util.concurrent.LockFactory;
+import ca.odell.glazedlists.util.concurrent.StampedLockFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Compares the read throughput of the lock factories when many threads read
+ * a shared {@link BasicEventList} that a single thread writes to. This is the
+ * JMH counterpart of <code>LockPerformance</code> in the core tests.
+ */
+@State(Scope.Group)
+public class LockPerformanceBenchmark {
+
+    @Param({ "J2SE50", "Stamped" })
+    private String lockFactory;
+
+    private EventList<Integer> sharedList;
+
+    @Setup
+    public void setUp() {
+        final LockFactory factory = "Stamped".equals(lockFactory) ? new StampedLockFactory() : new J2SE50LockFactory();
+        sharedList = new BasicEventList<>(factory.createReadWriteLock());
+        for(int i = 0; i < 100; i++) {
+            sharedList.add(Integer.valueOf(i));
+        }
+    }
+
+    @Benchmark
+    @Group("readLock")
+    @GroupThreads(31)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public Integer testReadLockRead() {
+        return sharedList.applyWithReadLock(LockPerformanceBenchmark::readRandom);
+    }
+
+    @Benchmark
+    @Group("readLock")
+    @GroupThreads(1)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public void testReadLockWrite() {
+        write();
+    }
+
+    @Benchmark
+    @Group("optimistic")
+    @GroupThreads(31)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public Integer testOptimisticRead() {
+        return sharedList.readOptimistic(LockPerformanceBenchmark::readRandom);
+    }
+
+    @Benchmark
+    @Group("optimistic")
+    @GroupThreads(1)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public void testOptimisticWrite() {
+        write();
+    }
+
+    private static Integer readRandom(EventList<Integer> list) {
+        return list.get(ThreadLocalRandom.current().nextInt(list.size()));
+    }
+
+    private void write() {
+        sharedList.acceptWithWriteLock(list -> {
+            final int index = ThreadLocalRandom.current().nextInt(list.size());
+            list.set(index, Integer.valueOf(index));
+        });
+    }
+}
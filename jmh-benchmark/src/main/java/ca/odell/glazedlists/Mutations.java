@@ -0,0 +1,83 @@
+package ca.odell.glazedlists;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The changes a benchmark makes to its source list, selected by a
+ * <code>mutation</code> {@link org.openjdk.jmh.annotations.Param} so that each
+ * transformation can be measured under the same mix of changes. Every change
+ * keeps the size of the list the same, so that a benchmark measures the same
+ * thing in each iteration.
+ */
+final class Mutations {
+
+    /** replace a single value */
+    static final String UPDATE = "update";
+    /** insert a value and remove another */
+    static final String INSERT_REMOVE = "insertRemove";
+    /** replace a block of values as one insert and one delete */
+    static final String BULK = "bulk";
+    /** an even mix of the others */
+    static final String MIXED = "mixed";
+
+    /** the number of values replaced by a bulk change */
+    static final int BULK_SIZE = 100;
+
+    private Mutations() {
+        // static methods only
+    }
+
+    /**
+     * Create a list of random values between <code>0</code> and
+     * <code>valueRange</code>, exclusive.
+     */
+    static EventList<Integer> createSource(int size, int valueRange, Random dice) {
+        EventList<Integer> result = new BasicEventList<>(size);
+        List<Integer> values = new ArrayList<>(size);
+        for(int i = 0; i < size; i++) {
+            values.add(Integer.valueOf(dice.nextInt(valueRange)));
+        }
+        result.addAll(values);
+        return result;
+    }
+
+    /**
+     * Apply a single change of the specified kind to <code>list</code>,
+     * using random values between <code>0</code> and <code>valueRange</code>,
+     * exclusive.
+     */
+    static void apply(String mutation, EventList<Integer> list, int valueRange, Random dice) {
+        if(MIXED.equals(mutation)) {
+            int choice = dice.nextInt(3);
+            mutation = (choice == 0) ? UPDATE : (choice == 1) ? INSERT_REMOVE : BULK;
+        }
+
+        list.getReadWriteLock().writeLock().lock();
+        try {
+            if(UPDATE.equals(mutation)) {
+                list.set(dice.nextInt(list.size()), Integer.valueOf(dice.nextInt(valueRange)));
+
+            } else if(INSERT_REMOVE.equals(mutation)) {
+                list.add(dice.nextInt(list.size() + 1), Integer.valueOf(dice.nextInt(valueRange)));
+                list.remove(dice.nextInt(list.size()));
+
+            } else if(BULK.equals(mutation)) {
+                int blockSize = Math.min(BULK_SIZE, list.size());
+                int start = dice.nextInt(list.size() - blockSize + 1);
+                List<Integer> values = new ArrayList<>(blockSize);
+                for(int i = 0; i < blockSize; i++) {
+                    values.add(Integer.valueOf(dice.nextInt(valueRange)));
+                }
+                list.subList(start, start + blockSize).clear();
+                list.addAll(start, values);
+
+            } else {
+                throw new IllegalArgumentException("Unknown mutation: " + mutation);
+            }
+        } finally {
+            list.getReadWriteLock().writeLock().unlock();
+        }
+    }
+}
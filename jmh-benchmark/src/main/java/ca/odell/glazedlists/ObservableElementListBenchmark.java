@@ -0,0 +1,139 @@
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.impl.beans.BeanConnector;
+
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of editing several properties of every element in an
+ * {@link ObservableElementList}, delivering one {@link ca.odell.glazedlists.event.ListEvent}
+ * per property change, per bean or per batch.
+ */
+@State(Scope.Thread)
+public class ObservableElementListBenchmark {
+
+    @Param({ "10000" })
+    private int size;
+
+    private Bean[] beans;
+    private BeanConnector<Bean> connector;
+    private ObservableElementList<Bean> observed;
+    private long events;
+    private long invocations;
+
+    @Setup
+    public void setUp() {
+        beans = new Bean[size];
+        EventList<Bean> source = new BasicEventList<>();
+        for(int i = 0; i < size; i++) {
+            beans[i] = new Bean();
+            source.add(beans[i]);
+        }
+        connector = new BeanConnector<>(Bean.class);
+        observed = new ObservableElementList<>(source, connector);
+        observed.addListEventListener(listChanges -> events++);
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.println("ListEvents per invocation: " + (invocations == 0 ? 0 : events / invocations));
+        observed.dispose();
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public ObservableElementList<Bean> testEventPerChange() {
+        editAll();
+        return observed;
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public ObservableElementList<Bean> testEventPerBean() {
+        invocations++;
+        for(int i = 0; i < beans.length; i++) {
+            connector.beginChanges();
+            edit(beans[i]);
+            connector.endChanges();
+        }
+        return observed;
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public ObservableElementList<Bean> testEventPerBatch() {
+        connector.beginChanges();
+        editAll();
+        connector.endChanges();
+        return observed;
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public ObservableElementList<Bean> testCoalescing() {
+        observed.setCoalescing(true);
+        editAll();
+        observed.flush();
+        return observed;
+    }
+
+    private void editAll() {
+        invocations++;
+        for(int i = 0; i < beans.length; i++) {
+            edit(beans[i]);
+        }
+    }
+
+    private void edit(Bean bean) {
+        bean.setA(bean.getA() + 1);
+        bean.setB(bean.getB() + 1);
+        bean.setC(bean.getC() + 1);
+        bean.setD(bean.getD() + 1);
+        bean.setE(bean.getE() + 1);
+    }
+
+    /**
+     * A bean with five observable properties.
+     */
+    public static class Bean {
+        private final PropertyChangeSupport support = new PropertyChangeSupport(this);
+        private int a, b, c, d, e;
+
+        public void addPropertyChangeListener(PropertyChangeListener listener) {
+            support.addPropertyChangeListener(listener);
+        }
+        public void removePropertyChangeListener(PropertyChangeListener listener) {
+            support.removePropertyChangeListener(listener);
+        }
+
+        public int getA() { return a; }
+        public void setA(int a) { support.firePropertyChange("a", this.a, this.a = a); }
+        public int getB() { return b; }
+        public void setB(int b) { support.firePropertyChange("b", this.b, this.b = b); }
+        public int getC() { return c; }
+        public void setC(int c) { support.firePropertyChange("c", this.c, this.c = c); }
+        public int getD() { return d; }
+        public void setD(int d) { support.firePropertyChange("d", this.d, this.d = d); }
+        public int getE() { return e; }
+        public void setE(int e) { support.firePropertyChange("e", this.e, this.e = e); }
+    }
+}
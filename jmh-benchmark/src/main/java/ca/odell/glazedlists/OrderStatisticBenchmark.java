@@ -0,0 +1,91 @@
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.calculation.Calculation;
+import ca.odell.glazedlists.calculation.Calculations;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the order statistic and dispersion calculations as their source
+ * changes, against recalculating the 95th percentile by sorting a copy of
+ * the source after each change.
+ */
+@State(Scope.Thread)
+public class OrderStatisticBenchmark {
+
+    private static final int VALUE_RANGE = 1000000;
+
+    @Param({ "1000", "100000" })
+    private int size;
+
+    @Param({ Mutations.UPDATE, Mutations.INSERT_REMOVE, Mutations.BULK, Mutations.MIXED })
+    private String mutation;
+
+    private final Random dice = new Random(0);
+    private EventList<Integer> maxSource;
+    private Calculation<Double> max;
+    private EventList<Integer> percentileSource;
+    private Calculation<Double> percentile;
+    private EventList<Integer> standardDeviationSource;
+    private Calculation<Double> standardDeviation;
+    private EventList<Integer> rescanSource;
+
+    @Setup
+    public void setUp() {
+        maxSource = Mutations.createSource(size, VALUE_RANGE, dice);
+        max = Calculations.maxDoubles(maxSource);
+        percentileSource = Mutations.createSource(size, VALUE_RANGE, dice);
+        percentile = Calculations.percentileDoubles(percentileSource, 95);
+        standardDeviationSource = Mutations.createSource(size, VALUE_RANGE, dice);
+        standardDeviation = Calculations.standardDeviationDoubles(standardDeviationSource);
+        rescanSource = Mutations.createSource(size, VALUE_RANGE, dice);
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public Double testMax() {
+        Mutations.apply(mutation, maxSource, VALUE_RANGE, dice);
+        return max.getValue();
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public Double testPercentile() {
+        Mutations.apply(mutation, percentileSource, VALUE_RANGE, dice);
+        return percentile.getValue();
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public Double testStandardDeviation() {
+        Mutations.apply(mutation, standardDeviationSource, VALUE_RANGE, dice);
+        return standardDeviation.getValue();
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public int testRescanPercentile() {
+        Mutations.apply(mutation, rescanSource, VALUE_RANGE, dice);
+        final Integer[] sorted = rescanSource.toArray(new Integer[rescanSource.size()]);
+        Arrays.sort(sorted);
+        return sorted[(sorted.length - 1) * 95 / 100].intValue();
+    }
+}
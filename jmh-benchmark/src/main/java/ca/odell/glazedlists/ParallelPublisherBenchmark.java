@@ -0,0 +1,85 @@
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.event.ListEventAssembler;
+import ca.odell.glazedlists.event.ListEventPublisher;
+import ca.odell.glazedlists.matchers.Matcher;
+import ca.odell.glazedlists.util.concurrent.LockFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures bulk changes to a list feeding several independent
+ * {@link FilterList}/{@link SortedList} branches, notified one after
+ * another or concurrently.
+ */
+@State(Scope.Thread)
+public class ParallelPublisherBenchmark {
+
+    @Param({ "false", "true" })
+    private boolean parallel;
+
+    @Param({ "10" })
+    private int branches;
+
+    private ExecutorService executor;
+    private EventList<Integer> source;
+    private final Random dice = new Random(0);
+
+    @Setup
+    public void setUp() {
+        ListEventPublisher publisher;
+        if(parallel) {
+            executor = Executors.newCachedThreadPool();
+            publisher = ListEventAssembler.createParallelListEventPublisher(executor);
+        } else {
+            publisher = ListEventAssembler.createListEventPublisher();
+        }
+        source = new BasicEventList<>(publisher, LockFactory.DEFAULT.createReadWriteLock());
+        for(int i = 0; i < 100000; i++) {
+            source.add(Integer.valueOf(dice.nextInt()));
+        }
+        for(int b = 0; b < branches; b++) {
+            final int divisor = b + 2;
+            new SortedList<>(new FilterList<>(source, (Matcher<Integer>) value -> value.intValue() % divisor != 0), GlazedLists.comparableComparator());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if(executor != null) executor.shutdown();
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public EventList<Integer> testBulkUpdate() {
+        source.getReadWriteLock().writeLock().lock();
+        try {
+            int start = dice.nextInt(source.size() - 1000);
+            source.subList(start, start + 1000).clear();
+            List<Integer> values = new ArrayList<>(1000);
+            for(int i = 0; i < 1000; i++) {
+                values.add(Integer.valueOf(dice.nextInt()));
+            }
+            source.addAll(start, values);
+        } finally {
+            source.getReadWriteLock().writeLock().unlock();
+        }
+        return source;
+    }
+}
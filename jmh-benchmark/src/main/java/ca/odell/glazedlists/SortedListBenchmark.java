@@ -14,6 +14,8 @@ import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Random;
 
 /**
@@ -34,6 +36,13 @@ public class SortedListBenchmark {
 
    private Random dice = new Random(0);
 
+   /** the sorted list that is re-sorted by the setComparator benchmarks */
+   private SortedList<Integer> resorted;
+
+   /** the comparators to alternate between when re-sorting */
+   private final Comparator<Integer> naturalOrder = GlazedLists.comparableComparator();
+   private final Comparator<Integer> reverseOrder = Collections.reverseOrder();
+
    @Setup
    public void setUp() {
        if (baseSize == 0) {
@@ -47,6 +56,8 @@ public class SortedListBenchmark {
        for(int i = 0; i < baseSize; i++) {
            base.add(new Integer(dice.nextInt(Integer.MAX_VALUE)));
        }
+
+       resorted = new SortedList<>(GlazedLists.eventList(base));
    }
 
    @Benchmark
@@ -71,6 +82,29 @@ public class SortedListBenchmark {
        return sortedBase;
    }
 
+   @Benchmark
+   @Warmup(iterations = 5)
+   @Measurement(iterations = 10)
+   @Fork(1)
+   public EventList<Integer> testSetComparatorBulk() {
+       resort(resorted);
+       return resorted;
+   }
+
+   @Benchmark
+   @Warmup(iterations = 5)
+   @Measurement(iterations = 10)
+   @Fork(value = 1, jvmArgsAppend = "-Dglazedlists.compat.tree_insert_sort=true")
+   public EventList<Integer> testSetComparatorTreeInsert() {
+       resort(resorted);
+       return resorted;
+   }
+
+   /** flip between natural and reverse order, as a column header click does */
+   private void resort(SortedList<Integer> sorted) {
+       sorted.setComparator(sorted.getComparator() == naturalOrder ? reverseOrder : naturalOrder);
+   }
+
    private void doTest(EventList<Integer> baseCopy, EventList<Integer> sortedBase) {
        for(int i = 0; i < changeSize; i++) {
            baseCopy.add(new Integer(Integer.MAX_VALUE));
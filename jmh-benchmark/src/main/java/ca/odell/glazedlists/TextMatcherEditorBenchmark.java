@@ -0,0 +1,82 @@
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.matchers.TextMatcherEditor;
+
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a {@link FilterList} driven by a {@link TextMatcherEditor} as
+ * the user types a filter string one character at a time and then deletes it.
+ */
+@State(Scope.Thread)
+public class TextMatcherEditorBenchmark {
+
+    private static final String ALPHABET = "abcdefghij";
+    private static final String FILTER = "cafe";
+
+    @Param({ "1000", "100000" })
+    private int size;
+
+    @Param({ "contains", "startsWith", "exact" })
+    private String mode;
+
+    @Param({ "extracted", "cached", "indexed" })
+    private String filterStrings;
+
+    private EventList<String> source;
+    private TextMatcherEditor<String> matcherEditor;
+    private FilterList<String> filtered;
+    private int typed = 0;
+    private boolean deleting = false;
+
+    @Setup
+    public void setUp() {
+        final Random dice = new Random(0);
+        source = new BasicEventList<>(size);
+        for (int i = 0; i < size; i++) {
+            final StringBuilder word = new StringBuilder();
+            for (int c = 0; c < 6; c++) {
+                word.append(ALPHABET.charAt(dice.nextInt(ALPHABET.length())));
+            }
+            source.add(word.toString());
+        }
+        matcherEditor = new TextMatcherEditor<>(GlazedLists.<String>toStringTextFilterator());
+        if ("startsWith".equals(mode)) {
+            matcherEditor.setMode(TextMatcherEditor.STARTS_WITH);
+        } else if ("exact".equals(mode)) {
+            matcherEditor.setMode(TextMatcherEditor.EXACT);
+        }
+        matcherEditor.setFilterStringCacheEnabled("cached".equals(filterStrings));
+        matcherEditor.setFilterIndexEnabled("indexed".equals(filterStrings));
+        filtered = new FilterList<>(source, matcherEditor);
+    }
+
+    /**
+     * Each invocation either narrows the filter by typing the next character,
+     * or relaxes it by deleting the last one.
+     */
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public FilterList<String> testTypeAndDelete() {
+        if (deleting) {
+            typed--;
+            deleting = typed > 0;
+        } else {
+            typed++;
+            deleting = typed == FILTER.length();
+        }
+        matcherEditor.setFilterText(new String[] { FILTER.substring(0, typed) });
+        return filtered;
+    }
+}
@@ -78,6 +78,60 @@ public class ThreadProxyBenchmark {
         return threadProxied;
     }
 
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public EventList<Integer> testTreeCache() {
+        EventList<Integer> threadProxied = new TreeCacheThreadProxy<>(filtered);
+        matcherEditor.setMinimum(dice.nextInt(1000));
+        return threadProxied;
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public EventList<Integer> testSyncCopySingleUpdate() {
+        EventList<Integer> threadProxied = new SyncCopyThreadProxy<>(base);
+        updateSome();
+        return threadProxied;
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public EventList<Integer> testTreeCacheSingleUpdate() {
+        EventList<Integer> threadProxied = new TreeCacheThreadProxy<>(base);
+        updateSome();
+        return threadProxied;
+    }
+
+    /**
+     * Update a few elements, one at a time, as a live feed would.
+     */
+    private void updateSome() {
+        for (int i = 0; i < 10; i++) {
+            final int index = dice.nextInt(base.size());
+            base.set(index, Integer.valueOf(dice.nextInt(1000)));
+        }
+    }
+
+    /**
+     * A thread proxy that patches its tree-backed cache, which is the default.
+     */
+    public static class TreeCacheThreadProxy<T> extends ThreadProxyEventList<T> {
+        public TreeCacheThreadProxy(EventList<T> source) {
+            super(source);
+        }
+
+        @Override
+        protected void schedule(Runnable runnable) {
+            runnable.run();
+        }
+    }
+
     /**
      * A thread proxy that uses clear and add all to update from one list to another.
      */
@@ -0,0 +1,81 @@
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.calculation.Calculation;
+import ca.odell.glazedlists.calculation.Calculations;
+
+import java.time.Duration;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a stream of values through a {@link TimeWindowList}: each tick
+ * appends a batch of values and expires those that have left the window, then
+ * reads the windowed maximum. The monotonic deque of
+ * {@link Calculations#windowMaxDoubles} is compared against the sorted tree of
+ * {@link Calculations#maxDoubles}.
+ */
+@State(Scope.Thread)
+public class TimeWindowBenchmark {
+
+    private static final int VALUE_RANGE = 1000000;
+
+    /** the number of ticks in the window */
+    @Param({ "1000", "100000" })
+    private int window;
+
+    /** the number of values appended per tick */
+    @Param({ "1", "100" })
+    private int batch;
+
+    @Param({ "deque", "tree" })
+    private String calculation;
+
+    private final Random dice = new Random(0);
+    private EventList<long[]> source;
+    private TimeWindowList<long[]> windowList;
+    private Calculation<Double> max;
+    private long now;
+
+    @Setup
+    public void setUp() {
+        source = new BasicEventList<>();
+        windowList = new TimeWindowList<>(source, value -> value[0], Duration.ofMillis(window));
+        final FunctionList<long[], Long> values = new FunctionList<>(windowList, value -> Long.valueOf(value[1]));
+        max = "deque".equals(calculation) ? Calculations.windowMaxDoubles(values) : Calculations.maxDoubles(values);
+        while (now < window) tick();
+    }
+
+    private void tick() {
+        now++;
+        source.getReadWriteLock().writeLock().lock();
+        try {
+            for (int i = 0; i < batch; i++) {
+                source.add(new long[] { now, dice.nextInt(VALUE_RANGE) });
+            }
+            windowList.expire(now);
+            // keep the source from growing, as a streaming application would
+            if (source.size() > 2 * windowList.size() + batch) {
+                source.subList(0, source.size() - windowList.size()).clear();
+            }
+        } finally {
+            source.getReadWriteLock().writeLock().unlock();
+        }
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public Double testTick() {
+        tick();
+        return max.getValue();
+    }
+}
@@ -0,0 +1,70 @@
+package ca.odell.glazedlists;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a {@link TreeList} as its source changes. Each value is a leaf
+ * three levels deep, below its hundreds and its tens.
+ */
+@State(Scope.Thread)
+public class TreeListBenchmark {
+
+    private static final int VALUE_RANGE = 1000;
+
+    @Param({ "1000", "100000" })
+    private int size;
+
+    @Param({ Mutations.UPDATE, Mutations.INSERT_REMOVE, Mutations.BULK, Mutations.MIXED })
+    private String mutation;
+
+    private final Random dice = new Random(0);
+    private EventList<Integer> source;
+    private TreeList<Integer> tree;
+
+    @Setup
+    public void setUp() {
+        source = Mutations.createSource(size, VALUE_RANGE, dice);
+        tree = new TreeList<>(source, new DecimalFormat(), TreeList.<Integer>nodesStartExpanded());
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public TreeList<Integer> testMutate() {
+        Mutations.apply(mutation, source, VALUE_RANGE, dice);
+        return tree;
+    }
+
+    /**
+     * Nests each value below its hundreds and its tens.
+     */
+    private static class DecimalFormat implements TreeList.Format<Integer> {
+        @Override
+        public void getPath(List<Integer> path, Integer element) {
+            final int value = element.intValue();
+            path.add(Integer.valueOf(value - value % 100));
+            path.add(Integer.valueOf(value - value % 10));
+            path.add(element);
+        }
+        @Override
+        public boolean allowsChildren(Integer element) {
+            return true;
+        }
+        @Override
+        public Comparator<? super Integer> getComparator(int depth) {
+            return GlazedLists.comparableComparator();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package ca.odell.glazedlists;
+
+import java.util.Random;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a {@link UniqueList} and a {@link PopularityList} as their source
+ * changes, grouping duplicates either by sorting or by hashing. Each distinct
+ * value occurs <code>duplicates</code> times on average.
+ */
+@State(Scope.Thread)
+public class UniqueListBenchmark {
+
+    @Param({ "1000", "100000" })
+    private int size;
+
+    @Param({ Mutations.UPDATE, Mutations.INSERT_REMOVE, Mutations.BULK, Mutations.MIXED })
+    private String mutation;
+
+    @Param({ "1", "10", "1000" })
+    private int duplicates;
+
+    @Param({ "false", "true" })
+    private boolean hashed;
+
+    private final Random dice = new Random(0);
+    private int valueRange;
+    private EventList<Integer> uniqueSource;
+    private UniqueList<Integer> unique;
+    private EventList<Integer> popularitySource;
+    private PopularityList<Integer> popularity;
+
+    @Setup
+    public void setUp() {
+        valueRange = Math.max(1, size / duplicates);
+        uniqueSource = Mutations.createSource(size, valueRange, dice);
+        unique = hashed ? UniqueList.createHashed(uniqueSource) : new UniqueList<>(uniqueSource);
+        popularitySource = Mutations.createSource(size, valueRange, dice);
+        popularity = hashed ? PopularityList.createHashed(popularitySource, Function.identity()) : new PopularityList<>(popularitySource);
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public UniqueList<Integer> testUniqueList() {
+        Mutations.apply(mutation, uniqueSource, valueRange, dice);
+        return unique;
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public PopularityList<Integer> testPopularityList() {
+        Mutations.apply(mutation, popularitySource, valueRange, dice);
+        return popularity;
+    }
+}